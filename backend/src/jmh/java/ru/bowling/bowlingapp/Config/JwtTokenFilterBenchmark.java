@@ -0,0 +1,129 @@
+package ru.bowling.bowlingapp.Config;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.bowling.bowlingapp.Entity.Role;
+import ru.bowling.bowlingapp.Entity.User;
+import ru.bowling.bowlingapp.Security.UserPrincipal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность {@link JwtTokenFilter} на одном и том же наборе токенов:
+ * <ul>
+ *     <li>{@code legacyDoubleVerification} — прежняя схема: новый верификатор и проверка подписи
+ *     в {@code isValidToken}, затем ещё раз в {@code getAuthentication};</li>
+ *     <li>{@code filterWithoutCache} — фильтр с одним верификатором, кэш выключен;</li>
+ *     <li>{@code filterWithCache} — фильтр с кэшем проверенных токенов.</li>
+ * </ul>
+ * {@code distinctTokens} задаёт число разных пользователей, между которыми чередуются запросы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtTokenFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    @Param({"1", "1000"})
+    private int distinctTokens;
+
+    private Algorithm algorithm;
+    private JwtTokenFilter cachedFilter;
+    private JwtTokenFilter uncachedFilter;
+    private MockHttpServletRequest[] requests;
+    private String[] tokens;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        algorithm = Algorithm.HMAC256(SECRET);
+        JwtTokenProvider cachedProvider = provider(10_000);
+        cachedFilter = new JwtTokenFilter(cachedProvider);
+        uncachedFilter = new JwtTokenFilter(provider(0));
+
+        requests = new MockHttpServletRequest[distinctTokens];
+        tokens = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            Role role = new Role();
+            role.setName(i % 2 == 0 ? "MECHANIC" : "HEAD_MECHANIC");
+            tokens[i] = cachedProvider.generateAccessToken(User.builder()
+                    .userId((long) i + 1)
+                    .phone(String.format("+7900%07d", i))
+                    .role(role)
+                    .isActive(true)
+                    .build());
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/maintenance/requests");
+            request.setServletPath("/api/maintenance/requests");
+            request.addHeader("Authorization", "Bearer " + tokens[i]);
+            requests[i] = request;
+        }
+    }
+
+    @Benchmark
+    public void filterWithCache(Cursor cursor, Blackhole blackhole) throws Exception {
+        runFilter(cachedFilter, cursor, blackhole);
+    }
+
+    @Benchmark
+    public void filterWithoutCache(Cursor cursor, Blackhole blackhole) throws Exception {
+        runFilter(uncachedFilter, cursor, blackhole);
+    }
+
+    @Benchmark
+    public void legacyDoubleVerification(Cursor cursor, Blackhole blackhole) {
+        String token = tokens[next(cursor)];
+        JWT.require(algorithm).build().verify(token);
+        DecodedJWT decoded = JWT.require(algorithm).build().verify(token);
+        UserPrincipal principal = UserPrincipal.fromClaims(
+                Long.parseLong(decoded.getClaim("userId").asString()),
+                decoded.getSubject(),
+                decoded.getClaim("role").asString());
+        blackhole.consume(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private void runFilter(JwtTokenFilter filter, Cursor cursor, Blackhole blackhole) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(requests[next(cursor)], response, NOOP_CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    private int next(Cursor cursor) {
+        int index = cursor.next;
+        cursor.next = index + 1 == distinctTokens ? 0 : index + 1;
+        return index;
+    }
+
+    static JwtTokenProvider provider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secret", SECRET);
+        ReflectionTestUtils.setField(provider, "accessTokenValidity", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "refreshTokenValidity", 7_200_000L);
+        ReflectionTestUtils.setField(provider, "verifiedTokenCacheSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,71 @@
+package ru.bowling.bowlingapp.Config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.Authentication;
+import ru.bowling.bowlingapp.Entity.Role;
+import ru.bowling.bowlingapp.Entity.User;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtTokenProvider#getAuthentication} с кэшем проверенных токенов и без него.
+ * {@code distinctTokens} задаёт число разных пользователей, между которыми чередуются вызовы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"1", "1000"})
+    private int distinctTokens;
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String[] tokens;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachedProvider = JwtTokenFilterBenchmark.provider(10_000);
+        uncachedProvider = JwtTokenFilterBenchmark.provider(0);
+        tokens = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            Role role = new Role();
+            role.setName(i % 2 == 0 ? "MECHANIC" : "CLUB_OWNER");
+            tokens[i] = cachedProvider.generateAccessToken(User.builder()
+                    .userId((long) i + 1)
+                    .phone(String.format("+7901%07d", i))
+                    .role(role)
+                    .isActive(true)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Authentication withCache(Cursor cursor) {
+        return cachedProvider.getAuthentication(tokens[next(cursor)]);
+    }
+
+    @Benchmark
+    public Authentication withoutCache(Cursor cursor) {
+        return uncachedProvider.getAuthentication(tokens[next(cursor)]);
+    }
+
+    private int next(Cursor cursor) {
+        int index = cursor.next;
+        cursor.next = index + 1 == distinctTokens ? 0 : index + 1;
+        return index;
+    }
+}
@@ -0,0 +1,314 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.BowlingAppApplication;
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.DTO.NotificationEventType;
+import ru.bowling.bowlingapp.Entity.AccountType;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MaintenanceRequest;
+import ru.bowling.bowlingapp.Entity.MechanicProfile;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.RequestPart;
+import ru.bowling.bowlingapp.Entity.Role;
+import ru.bowling.bowlingapp.Entity.User;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Entity.WorkLog;
+import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
+import ru.bowling.bowlingapp.Entity.enums.PartStatus;
+import ru.bowling.bowlingapp.Entity.enums.WorkLogStatus;
+import ru.bowling.bowlingapp.Entity.enums.WorkType;
+import ru.bowling.bowlingapp.Enum.AccountTypeName;
+import ru.bowling.bowlingapp.Enum.RoleName;
+import ru.bowling.bowlingapp.Repository.AccountTypeRepository;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.MaintenanceRequestRepository;
+import ru.bowling.bowlingapp.Repository.MechanicProfileRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.RequestPartRepository;
+import ru.bowling.bowlingapp.Repository.RoleRepository;
+import ru.bowling.bowlingapp.Repository.UserRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Repository.WorkLogRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Spring-контекст с заполненной базой для бенчмарков сервисов. По умолчанию база — H2 в памяти;
+ * переменные окружения {@code BENCH_DATASOURCE_URL}, {@code BENCH_DATASOURCE_USERNAME} и
+ * {@code BENCH_DATASOURCE_PASSWORD} направляют контекст в отдельную PostgreSQL (например, контейнер
+ * Testcontainers). Схема создаётся при старте и удаляется при закрытии, поэтому база должна быть одноразовой.
+ * <p>
+ * {@code size} — число позиций каталога, записей журнала работ и уведомлений; клубов {@code size / 250},
+ * заявок {@code size / 10} по пять позиций и одна заявка на {@value #EXPORT_REQUEST_PARTS} позиций для выгрузки.
+ */
+public final class BenchmarkDataset implements AutoCloseable {
+
+    static final String[] WORDS = {"ремень", "датчик", "пинсеттер", "подшипник", "мотор", "плата", "щётка", "шкив"};
+    static final int EXPORT_REQUEST_PARTS = 200;
+    private static final int CHUNK = 500;
+
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transaction;
+    private final List<Long> clubIds = new ArrayList<>();
+    private Long adminUserId;
+    private Long mechanicUserId;
+    private Long exportRequestId;
+
+    private BenchmarkDataset(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    public static BenchmarkDataset start(int size) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        String url = System.getenv("BENCH_DATASOURCE_URL");
+        if (url == null || url.isBlank()) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        } else {
+            properties.put("spring.datasource.url", url);
+            properties.put("spring.datasource.username", System.getenv().getOrDefault("BENCH_DATASOURCE_USERNAME", "postgres"));
+            properties.put("spring.datasource.password", System.getenv().getOrDefault("BENCH_DATASOURCE_PASSWORD", ""));
+        }
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.allow-bean-definition-overriding", "true");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("server.port", "0");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql", "WARN");
+
+        // Аргументы командной строки перекрывают application.yml, в отличие от свойств по умолчанию.
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        BenchmarkDataset dataset = new BenchmarkDataset(new SpringApplicationBuilder(BowlingAppApplication.class).run(args));
+        try {
+            dataset.seed(size);
+        } catch (RuntimeException e) {
+            dataset.close();
+            throw e;
+        }
+        return dataset;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<Long> clubIds() {
+        return clubIds;
+    }
+
+    public Long adminUserId() {
+        return adminUserId;
+    }
+
+    public Long mechanicUserId() {
+        return mechanicUserId;
+    }
+
+    public Long exportRequestId() {
+        return exportRequestId;
+    }
+
+    /**
+     * Пользователь с ролью, профилем механика и аккаунтом, пригодный для использования вне транзакции.
+     */
+    public User loadUser(Long userId) {
+        return transaction.execute(status -> {
+            User user = bean(UserRepository.class).findById(userId).orElseThrow();
+            user.getRole().getName();
+            if (user.getAccountType() != null) {
+                user.getAccountType().getName();
+            }
+            if (user.getMechanicProfile() != null) {
+                user.getMechanicProfile().getProfileId();
+            }
+            return user;
+        });
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void seed(int size) {
+        int clubCount = Math.max(1, size / 250);
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < clubCount; i++) {
+                clubIds.add(bean(BowlingClubRepository.class).save(BowlingClub.builder()
+                        .name("Клуб " + i)
+                        .address("Город " + i % 10 + ", ул. Бенчмарка " + i)
+                        .isActive(true)
+                        .createdAt(LocalDate.now())
+                        .build()).getClubId());
+            }
+            seedUsers();
+        });
+
+        inChunks(size, i -> {
+            PartsCatalog part = bean(PartsCatalogRepository.class).save(PartsCatalog.builder()
+                    .catalogNumber(String.format("BN-%06d", i))
+                    .officialNameRu(WORDS[i % WORDS.length] + " " + i)
+                    .commonName(WORDS[(i / WORDS.length) % WORDS.length])
+                    .description("Запчасть для бенчмарка, серия " + i % 97)
+                    .categoryCode(String.format("%02d.%02d", i % 12, i % 7))
+                    .build());
+            return bean(WarehouseInventoryRepository.class).save(WarehouseInventory.builder()
+                    .warehouseId(Math.toIntExact(club(i)))
+                    .catalogId(part.getCatalogId().intValue())
+                    .quantity(i % 4 == 0 ? 0 : i % 20)
+                    .reservedQuantity(0)
+                    .build());
+        });
+
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+        inChunks(size, i -> bean(WorkLogRepository.class).save(WorkLog.builder()
+                .club(clubReference(i))
+                .laneNumber(1 + i % 24)
+                .createdBy(adminUserId)
+                .createdDate(base.plusMinutes(i * 37L))
+                .status(WorkLogStatus.values()[i % WorkLogStatus.values().length])
+                .workType(WorkType.values()[i % 10])
+                .priority(1 + i % 5)
+                .problemDescription("Замена: " + WORDS[i % WORDS.length] + " на дорожке " + (1 + i % 24))
+                .build()));
+
+        inChunks(size / 10, i -> {
+            MaintenanceRequest request = bean(MaintenanceRequestRepository.class).save(MaintenanceRequest.builder()
+                    .club(clubReference(i))
+                    .laneNumber(1 + i % 24)
+                    .requestDate(base.plusHours(i))
+                    .status(MaintenanceRequestStatus.values()[i % MaintenanceRequestStatus.values().length])
+                    .requestReason("Плановое обслуживание " + i)
+                    .build());
+            for (int line = 0; line < 5; line++) {
+                requestPart(request, String.format("BN-%06d", (i * 5 + line) % Math.max(1, size)));
+            }
+            return request;
+        });
+
+        exportRequestId = transaction.execute(status -> {
+            MaintenanceRequest request = bean(MaintenanceRequestRepository.class).save(MaintenanceRequest.builder()
+                    .club(clubReference(0))
+                    .laneNumber(7)
+                    .requestDate(LocalDateTime.now())
+                    .status(MaintenanceRequestStatus.APPROVED)
+                    .requestReason("Выгрузка для бенчмарка")
+                    .build());
+            for (int line = 0; line < EXPORT_REQUEST_PARTS; line++) {
+                requestPart(request, String.format("BN-%06d", line % Math.max(1, size)));
+            }
+            return request.getRequestId();
+        });
+
+        Long mechanicProfileId = loadUser(mechanicUserId).getMechanicProfile().getProfileId();
+        NotificationStore store = bean(NotificationStore.class);
+        inChunks(size, i -> store.append(NotificationEvent.builder()
+                .id(UUID.randomUUID())
+                .type(NotificationEventType.values()[i % NotificationEventType.values().length])
+                .message("Уведомление " + i)
+                .clubId(i % 3 == 0 ? null : club(i))
+                .mechanicId(i % 5 == 0 ? mechanicProfileId : null)
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(size - i))
+                .audiences(i % 2 == 0
+                        ? Set.of(RoleName.ADMIN, RoleName.MECHANIC)
+                        : Set.of(RoleName.CLUB_OWNER, RoleName.HEAD_MECHANIC))
+                .build()));
+    }
+
+    private void seedUsers() {
+        Role admin = role(RoleName.ADMIN);
+        Role mechanic = role(RoleName.MECHANIC);
+        AccountTypeRepository accountTypes = bean(AccountTypeRepository.class);
+        AccountType mainAdmin = accountTypes.findByNameIgnoreCase(AccountTypeName.MAIN_ADMIN.name())
+                .orElseGet(() -> accountTypes.save(AccountType.builder().name(AccountTypeName.MAIN_ADMIN.name()).build()));
+        UserRepository users = bean(UserRepository.class);
+
+        adminUserId = users.save(User.builder()
+                .phone("+79990000001")
+                .passwordHash("bench")
+                .role(admin)
+                .accountType(mainAdmin)
+                .registrationDate(LocalDate.now())
+                .isActive(true)
+                .isVerified(true)
+                .build()).getUserId();
+
+        User mechanicUser = User.builder()
+                .phone("+79990000002")
+                .passwordHash("bench")
+                .role(mechanic)
+                .registrationDate(LocalDate.now())
+                .isActive(true)
+                .isVerified(true)
+                .build();
+        MechanicProfile profile = MechanicProfile.builder()
+                .user(mechanicUser)
+                .fullName("Механик Бенчмарков")
+                .isDataVerified(true)
+                .createdAt(LocalDate.now())
+                .updatedAt(LocalDate.now())
+                .clubs(bean(BowlingClubRepository.class).findAllById(clubIds.subList(0, Math.min(2, clubIds.size()))))
+                .build();
+        mechanicUser.setMechanicProfile(profile);
+        bean(MechanicProfileRepository.class).save(profile);
+        mechanicUserId = mechanicUser.getUserId();
+    }
+
+    private Role role(RoleName name) {
+        RoleRepository roles = bean(RoleRepository.class);
+        return roles.findByNameIgnoreCase(name.name())
+                .orElseGet(() -> roles.save(Role.builder().name(name.name()).build()));
+    }
+
+    private void requestPart(MaintenanceRequest request, String catalogNumber) {
+        bean(RequestPartRepository.class).save(RequestPart.builder()
+                .request(request)
+                .catalogNumber(catalogNumber)
+                .partName("Деталь " + catalogNumber)
+                .quantity(1)
+                .status(PartStatus.APPROVED_FOR_ISSUE)
+                .build());
+    }
+
+    private Long club(int i) {
+        return clubIds.get(i % clubIds.size());
+    }
+
+    private BowlingClub clubReference(int i) {
+        return bean(BowlingClubRepository.class).getReferenceById(club(i));
+    }
+
+    private void inChunks(int count, IntFunction<?> row) {
+        for (int from = 0; from < count; from += CHUNK) {
+            int start = from;
+            int end = Math.min(count, from + CHUNK);
+            transaction.executeWithoutResult(status -> {
+                for (int i = start; i < end; i++) {
+                    row.apply(i);
+                }
+            });
+        }
+    }
+}
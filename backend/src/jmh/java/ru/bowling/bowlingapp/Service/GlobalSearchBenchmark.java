@@ -0,0 +1,56 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ru.bowling.bowlingapp.DTO.GlobalSearchResponseDTO;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GlobalSearchService#search}: все секции для администратора и для механика с доступом к двум клубам.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GlobalSearchBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    @Param({"ремень", "bn-0004"})
+    private String query;
+
+    private BenchmarkDataset dataset;
+    private GlobalSearchService globalSearchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize);
+        globalSearchService = dataset.bean(GlobalSearchService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public GlobalSearchResponseDTO admin() {
+        return globalSearchService.search(query, LIMIT, dataset.adminUserId());
+    }
+
+    @Benchmark
+    public GlobalSearchResponseDTO mechanic() {
+        return globalSearchService.search(query, LIMIT, dataset.mechanicUserId());
+    }
+}
@@ -0,0 +1,61 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ru.bowling.bowlingapp.DTO.InventorySearchRequest;
+import ru.bowling.bowlingapp.DTO.PartDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InventoryServiceImpl#searchParts}: текстовый поиск по каталогу и выдача склада клуба без запроса.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InventorySearchBenchmark {
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    private BenchmarkDataset dataset;
+    private InventoryService inventoryService;
+    private InventorySearchRequest textQuery;
+    private InventorySearchRequest warehouseListing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize);
+        inventoryService = dataset.bean(InventoryService.class);
+        textQuery = InventorySearchRequest.builder()
+                .query("подшип")
+                .build();
+        warehouseListing = InventorySearchRequest.builder()
+                .warehouseId(Math.toIntExact(dataset.clubIds().get(0)))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<PartDto> textSearch() {
+        return inventoryService.searchParts(textQuery);
+    }
+
+    @Benchmark
+    public List<PartDto> warehouseWithoutQuery() {
+        return inventoryService.searchParts(warehouseListing);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MaintenanceRequestService#exportRequestToExcel} для заявки на
+ * {@value BenchmarkDataset#EXPORT_REQUEST_PARTS} позиций; размер базы влияет только на окружение.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MaintenanceExportBenchmark {
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    private BenchmarkDataset dataset;
+    private MaintenanceRequestService maintenanceRequestService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize);
+        maintenanceRequestService = dataset.bean(MaintenanceRequestService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public byte[] exportRequest() {
+        return maintenanceRequestService.exportRequestToExcel(dataset.exportRequestId());
+    }
+}
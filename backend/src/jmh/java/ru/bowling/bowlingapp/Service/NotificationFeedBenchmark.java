@@ -0,0 +1,61 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.Entity.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NotificationService#getNotificationsForUser}: последние события ленты механика и непрочитанные
+ * после курсора, с которого в ленте остаётся около половины событий.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NotificationFeedBenchmark {
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    private BenchmarkDataset dataset;
+    private NotificationService notificationService;
+    private User mechanic;
+    private List<Long> accessibleClubIds;
+    private Long middleSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize);
+        notificationService = dataset.bean(NotificationService.class);
+        mechanic = dataset.loadUser(dataset.mechanicUserId());
+        accessibleClubIds = dataset.bean(UserClubAccessService.class).resolveAccessibleClubIds(mechanic);
+        List<NotificationEvent> latest = notificationService.getNotificationsForUser(mechanic, accessibleClubIds);
+        middleSequence = latest.isEmpty() ? null : latest.get(latest.size() / 2).getSequence();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<NotificationEvent> latest() {
+        return notificationService.getNotificationsForUser(mechanic, accessibleClubIds);
+    }
+
+    @Benchmark
+    public List<NotificationEvent> unreadAfterCursor() {
+        return notificationService.getNotificationsForUser(mechanic, accessibleClubIds, middleSequence, 50, true);
+    }
+}
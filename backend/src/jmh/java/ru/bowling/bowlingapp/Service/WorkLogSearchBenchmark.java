@@ -0,0 +1,70 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Page;
+import ru.bowling.bowlingapp.DTO.WorkLogSearchDTO;
+import ru.bowling.bowlingapp.Entity.WorkLog;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WorkLogService#searchWorkLogs}: поиск по описанию и фильтр по клубу и статусу, первая страница из 20 записей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkLogSearchBenchmark {
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    private BenchmarkDataset dataset;
+    private WorkLogService workLogService;
+    private WorkLogSearchDTO keywordSearch;
+    private WorkLogSearchDTO clubFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize);
+        workLogService = dataset.bean(WorkLogService.class);
+        keywordSearch = WorkLogSearchDTO.builder()
+                .keyword("пинсеттер")
+                .page(0)
+                .size(20)
+                .sortBy("createdDate")
+                .sortDirection("DESC")
+                .build();
+        clubFilter = WorkLogSearchDTO.builder()
+                .clubId(dataset.clubIds().get(0))
+                .status("IN_PROGRESS")
+                .page(0)
+                .size(20)
+                .sortBy("createdDate")
+                .sortDirection("DESC")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public Page<WorkLog> keyword() {
+        return workLogService.searchWorkLogs(keywordSearch, dataset.adminUserId());
+    }
+
+    @Benchmark
+    public Page<WorkLog> clubAndStatus() {
+        return workLogService.searchWorkLogs(clubFilter, dataset.adminUserId());
+    }
+}
@@ -31,7 +31,9 @@ public class CorsConfig {
             "Accept",
             "X-Requested-With",
             "Access-Control-Request-Method",
-            "Access-Control-Request-Headers"
+            "Access-Control-Request-Headers",
+            "If-None-Match",
+            "Range"
         ));
         
         // Разрешить отправку credentials (cookies, authorization headers)
@@ -40,7 +42,12 @@ public class CorsConfig {
         // Заголовки, которые можно вернуть клиенту
         configuration.setExposedHeaders(Arrays.asList(
             "Authorization",
-            "Content-Type"
+            "Content-Type",
+            "X-Next-Cursor",
+            "X-Page-Size",
+            "ETag",
+            "Content-Range",
+            "Accept-Ranges"
         ));
         
         // Время кэширования preflight запросов (в секундах)
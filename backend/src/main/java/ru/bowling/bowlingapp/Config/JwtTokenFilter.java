@@ -6,11 +6,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.Set;
 
 @Component
@@ -44,8 +46,10 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                if (jwtTokenProvider.isValidToken(token)) {
-                    SecurityContextHolder.getContext().setAuthentication(jwtTokenProvider.getAuthentication(token));
+                // Одна проверка на запрос: провайдер проверяет подпись и сразу отдаёт аутентификацию.
+                Optional<Authentication> authentication = jwtTokenProvider.resolveAuthentication(token);
+                if (authentication.isPresent()) {
+                    SecurityContextHolder.getContext().setAuthentication(authentication.get());
                     filterChain.doFilter(request, response);
                     return;
                 } else {
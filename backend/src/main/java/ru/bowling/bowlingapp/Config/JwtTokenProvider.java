@@ -4,17 +4,24 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import ru.bowling.bowlingapp.Entity.User;
+import ru.bowling.bowlingapp.Security.TokenRevocationList;
 import ru.bowling.bowlingapp.Security.UserPrincipal;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
-import java.util.List;
+import java.util.HexFormat;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -29,11 +36,25 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh.expiration}")
     private long refreshTokenValidity;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int verifiedTokenCacheSize;
+
     private Algorithm algorithm;
+    private JWTVerifier verifier;
+    private VerifiedTokenCache verifiedTokens;
+    private TokenRevocationList revocationList = TokenRevocationList.NONE;
 
     @PostConstruct
     public void init() {
         algorithm = Algorithm.HMAC256(secret);
+        // Верификатор потокобезопасен, поэтому создаётся один раз, а не на каждый запрос.
+        verifier = JWT.require(algorithm).build();
+        verifiedTokens = new VerifiedTokenCache(verifiedTokenCacheSize, System::currentTimeMillis);
+    }
+
+    @Autowired(required = false)
+    public void setRevocationList(TokenRevocationList revocationList) {
+        this.revocationList = revocationList != null ? revocationList : TokenRevocationList.NONE;
     }
 
     public String generateAccessToken(User user) {
@@ -52,8 +73,91 @@ public class JwtTokenProvider {
                 .sign(algorithm);
     }
 
+    /**
+     * Проверяет токен и возвращает аутентификацию. Подпись проверяется один раз на токен: результат
+     * хранится в кэше до истечения срока токена, отзыв проверяется при каждом вызове.
+     */
+    public Optional<Authentication> resolveAuthentication(String token) {
+        return resolvePrincipal(token).map(principal -> new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()
+        ));
+    }
+
     public Authentication getAuthentication(String token) {
-        DecodedJWT decoded = JWT.require(algorithm).build().verify(token);
+        return resolveAuthentication(token)
+                .orElseThrow(() -> new JWTVerificationException("Invalid, expired or revoked JWT token"));
+    }
+
+    public boolean isValidToken(String token) {
+        return resolvePrincipal(token).isPresent();
+    }
+
+    public String getPhoneFromToken(String token) {
+        return resolvePrincipal(token)
+                .map(UserPrincipal::getPhone)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid JWT token"));
+    }
+
+    public String getUserIdFromToken(String token) {
+        return resolvePrincipal(token)
+                .map(principal -> principal.getId() != null ? String.valueOf(principal.getId()) : null)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid JWT token"));
+    }
+
+    /**
+     * Убирает токен из кэша проверенных, например сразу после его отзыва.
+     */
+    public void evict(String token) {
+        if (token != null && !token.isBlank()) {
+            verifiedTokens.invalidate(tokenHash(token));
+        }
+    }
+
+    /**
+     * Ключ токена в кэше и в {@link TokenRevocationList}: SHA-256 в hex, чтобы не держать в памяти сами токены.
+     */
+    public static String tokenHash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    int cachedTokenCount() {
+        return verifiedTokens.size();
+    }
+
+    private Optional<UserPrincipal> resolvePrincipal(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String key = tokenHash(token);
+        UserPrincipal principal = verifiedTokens.get(key);
+        if (principal == null) {
+            DecodedJWT decoded;
+            try {
+                decoded = verifier.verify(token);
+            } catch (JWTVerificationException e) {
+                return Optional.empty();
+            }
+            principal = toPrincipal(decoded);
+            // Токены без срока действия не кэшируем: запись не смогла бы устареть сама.
+            if (decoded.getExpiresAt() != null) {
+                verifiedTokens.put(key, principal, decoded.getExpiresAt().getTime());
+            }
+        }
+        if (revocationList.isRevoked(key, principal)) {
+            verifiedTokens.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(principal);
+    }
+
+    private UserPrincipal toPrincipal(DecodedJWT decoded) {
         String phone = decoded.getSubject();
         String role = decoded.getClaim("role").asString();
         String userIdClaim = decoded.getClaim("userId").asString();
@@ -71,39 +175,6 @@ public class JwtTokenProvider {
             }
         }
 
-        UserPrincipal principal = UserPrincipal.fromClaims(userId, phone, role);
-
-        return new UsernamePasswordAuthenticationToken(
-                principal,
-                null,
-                principal.getAuthorities()
-        );
-    }
-
-    public boolean isValidToken(String token) {
-        try {
-            JWT.require(algorithm).build().verify(token);
-            return true;
-        } catch (JWTVerificationException e) {
-            return false;
-        }
-    }
-
-    public String getPhoneFromToken(String token) {
-        try {
-            DecodedJWT decoded = JWT.require(algorithm).build().verify(token);
-            return decoded.getSubject();
-        } catch (JWTVerificationException e) {
-            throw new IllegalArgumentException("Invalid JWT token", e);
-        }
-    }
-    
-    public String getUserIdFromToken(String token) {
-        try {
-            DecodedJWT decoded = JWT.require(algorithm).build().verify(token);
-            return decoded.getClaim("userId").asString();
-        } catch (JWTVerificationException e) {
-            throw new IllegalArgumentException("Invalid JWT token", e);
-        }
+        return UserPrincipal.fromClaims(userId, phone, role);
     }
-}
\ No newline at end of file
+}
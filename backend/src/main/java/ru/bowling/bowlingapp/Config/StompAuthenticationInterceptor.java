@@ -0,0 +1,56 @@
+package ru.bowling.bowlingapp.Config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import ru.bowling.bowlingapp.Security.UserPrincipal;
+import ru.bowling.bowlingapp.Service.NotificationSubscriberRegistry;
+
+/**
+ * Аутентификация STOMP-сессий по заголовку {@code Authorization: Bearer ...} кадра CONNECT.
+ * Пользователь сессии получает уведомления в {@code /user/queue/notifications}; сессии без токена
+ * видят только {@code /topic/notifications/test}. DISCONNECT (в том числе после закрытия соединения
+ * из-за медленного клиента) снимает сессию с рассылки.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final NotificationSubscriberRegistry subscriberRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            authenticate(accessor);
+        } else if (StompCommand.DISCONNECT.equals(accessor.getCommand())) {
+            subscriberRegistry.unregister(accessor.getSessionId());
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (header == null || !header.startsWith(BEARER)) {
+            return;
+        }
+        Authentication authentication = jwtTokenProvider.resolveAuthentication(header.substring(BEARER.length()))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired token"));
+        accessor.setUser(authentication);
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            subscriberRegistry.register(accessor.getSessionId(), principal.getId(), authentication.getName());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.bowling.bowlingapp.Config;
+
+import ru.bowling.bowlingapp.Security.UserPrincipal;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Уже проверенные токены: хэш токена → principal до момента истечения токена.
+ * <p>
+ * Запись с истёкшим сроком не возвращается и удаляется при обращении; при заполнении сначала
+ * вычищаются истёкшие записи, затем произвольные — вытесненный токен просто будет проверен заново.
+ */
+final class VerifiedTokenCache {
+
+    private record Entry(UserPrincipal principal, long expiresAtMillis) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    VerifiedTokenCache(int maxSize, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    UserPrincipal get(String tokenHash) {
+        Entry entry = entries.get(tokenHash);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= clock.getAsLong()) {
+            entries.remove(tokenHash, entry);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    void put(String tokenHash, UserPrincipal principal, long expiresAtMillis) {
+        if (maxSize <= 0 || expiresAtMillis <= clock.getAsLong()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            shrink();
+        }
+        entries.put(tokenHash, new Entry(principal, expiresAtMillis));
+    }
+
+    void invalidate(String tokenHash) {
+        entries.remove(tokenHash);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private synchronized void shrink() {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        // Оставляем запас, чтобы не чистить кэш на каждой следующей вставке.
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ru.bowling.bowlingapp.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+
+/**
+ * Сдвигает request_parts_seq за существующие part_id до того, как поднимется JPA.
+ * <p>
+ * RequestPart берёт id из пула последовательности, а её начальное значение задаёт V20. Если выполнить
+ * скрипт после старта веб-сервера, первые запросы успевают получить из пула уже занятые id. Поэтому
+ * EntityManagerFactory зависит от этого бина, и до его создания сервер запросов не принимает.
+ * Ошибка останавливает запуск. На пустой базе (таблицы ещё нет) только создаётся последовательность.
+ * На других БД ничего не делает.
+ */
+@Slf4j
+@Component
+public class RequestPartsSequenceInitializer implements InitializingBean {
+
+    static final String SCRIPT = "db/migration/V20__Request_parts_batch_sequence.sql";
+
+    private final DataSource dataSource;
+
+    public RequestPartsSequenceInitializer(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase(Locale.ROOT).contains("postgres")) {
+            return;
+        }
+        Boolean tableExists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass('request_parts') IS NOT NULL", Boolean.class);
+        if (Boolean.TRUE.equals(tableExists)) {
+            new ResourceDatabasePopulator(new ClassPathResource(SCRIPT)).execute(dataSource);
+            log.info("Seeded request_parts_seq past existing part ids");
+        } else {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS request_parts_seq INCREMENT BY 50");
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class EntityManagerFactoryDependency {
+
+        @Bean
+        static EntityManagerFactoryDependsOnPostProcessor requestPartsSequenceDependency() {
+            return new EntityManagerFactoryDependsOnPostProcessor(RequestPartsSequenceInitializer.class);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.bowling.bowlingapp.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Доводит схему PostgreSQL тем, что не создаёт Hibernate: индексы и поисковые колонки из db/migration.
+ * Последовательность request_parts_seq выставляется раньше, до JPA — см. {@link RequestPartsSequenceInitializer}.
+ * <p>
+ * Инструмента миграций в проекте нет, схему ведёт {@code ddl-auto: update}, поэтому скрипты из списка
+ * выполняются при каждом старте. Каждый из них обязан быть идемпотентным ({@code IF NOT EXISTS}).
+ * Ошибка скрипта (например, нет прав на {@code CREATE EXTENSION}) пишется в лог и не останавливает запуск:
+ * код, которому нужен результат скрипта, проверяет его наличие сам. На других БД ничего не делает.
+ */
+@Slf4j
+@Component
+public class SchemaScriptRunner implements ApplicationRunner {
+
+    static final List<String> SCRIPTS = List.of(
+            "db/migration/V14__Add_work_log_search_indexes.sql",
+            "db/migration/V15__Add_global_search_keyset_indexes.sql",
+            "db/migration/V16__Add_parts_catalog_search_indexes.sql",
+            "db/migration/V21__Add_maintenance_request_status_index.sql",
+            "db/migration/V27__Add_purchase_order_listing_indexes.sql");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SchemaScriptRunner(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                              @Value("${app.schema-scripts.enabled:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+        for (String script : SCRIPTS) {
+            try {
+                new ResourceDatabasePopulator(new ClassPathResource(script)).execute(dataSource);
+                log.info("Applied schema script {}", script);
+            } catch (DataAccessException ex) {
+                log.warn("Failed to apply schema script {}", script, ex);
+            }
+        }
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+    }
+}
@@ -0,0 +1,98 @@
+package ru.bowling.bowlingapp.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+
+/**
+ * Однократно удаляет нулевые позиции клубных складов, созданные прежней инициализацией склада (V26).
+ * <p>
+ * Работает только на PostgreSQL и только в разреженном режиме ({@code app.warehouse.sparse-inventory}):
+ * без него {@code ClubWarehouseService} снова создаёт нулевые строки, и удалять их нельзя. Факт выполнения
+ * записывается в {@code applied_schema_scripts} в той же транзакции, что и удаление, поэтому скрипт
+ * выполняется один раз, даже если стартуют несколько экземпляров. Запускается до старта веб-сервера,
+ * ошибка останавливает запуск.
+ */
+@Slf4j
+@Component
+public class SparseInventoryCompactor implements SmartLifecycle {
+
+    static final String SCRIPT = "db/migration/V26__Compact_sparse_club_inventory.sql";
+
+    private static final String MARKER_TABLE_DDL = """
+            CREATE TABLE IF NOT EXISTS applied_schema_scripts (
+                script     VARCHAR(255) PRIMARY KEY,
+                applied_at TIMESTAMP    NOT NULL DEFAULT now()
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean sparseInventory;
+    private volatile boolean running;
+
+    public SparseInventoryCompactor(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                    @Value("${app.warehouse.sparse-inventory:true}") boolean sparseInventory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sparseInventory = sparseInventory;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!sparseInventory || !isPostgres()) {
+            return;
+        }
+        jdbcTemplate.execute(MARKER_TABLE_DDL);
+        Boolean applied = transactionTemplate.execute(status -> {
+            // Второй экземпляр ждёт здесь коммита первого и затем видит запись.
+            int marked = jdbcTemplate.update(
+                    "INSERT INTO applied_schema_scripts (script) VALUES (?) ON CONFLICT DO NOTHING", SCRIPT);
+            if (marked == 0) {
+                return false;
+            }
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource(SCRIPT));
+                return null;
+            });
+            return true;
+        });
+        if (Boolean.TRUE.equals(applied)) {
+            log.info("Compacted zero placeholder rows of club warehouses ({})", SCRIPT);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Раньше веб-сервера: запросы не застают склад посреди удаления.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerApplicationContext.START_STOP_LIFECYCLE_PHASE - 1;
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+    }
+}
@@ -0,0 +1,119 @@
+package ru.bowling.bowlingapp.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Сводит дубли позиций склада (warehouse_id, catalog_id) в одну строку и закрепляет уникальность.
+ * <p>
+ * Пакетная запись остатков (1С, поступления) опирается на {@code ON CONFLICT (warehouse_id, catalog_id)}.
+ * Схему ведёт {@code ddl-auto: update}: на базе с дублями Hibernate не может добавить
+ * {@code uq_warehouse_inventory_warehouse_catalog} и только пишет предупреждение. Поэтому при старте
+ * дубли сливаются в самую старую строку (количество и резерв суммируются), ссылки заявок и журнала
+ * переводятся на неё, остальные строки удаляются, после чего на PostgreSQL создаётся уникальный индекс.
+ * Без индекса синхронизация с 1С не работает, поэтому ошибка его создания останавливает запуск.
+ * Каждая позиция сливается в своей транзакции; слияние пишется в журнал движением {@code MERGE}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class WarehouseInventoryDeduplicator implements ApplicationRunner {
+
+    private static final String DUPLICATES_SQL = """
+            SELECT warehouse_id, catalog_id, MIN(inventory_id),
+                   SUM(COALESCE(quantity, 0)), SUM(COALESCE(reserved_quantity, 0))
+            FROM warehouse_inventory
+            WHERE warehouse_id IS NOT NULL AND catalog_id IS NOT NULL
+            GROUP BY warehouse_id, catalog_id
+            HAVING COUNT(*) > 1
+            """;
+
+    private static final String DUPLICATE_IDS_SQL = """
+            SELECT inventory_id FROM warehouse_inventory
+            WHERE warehouse_id = ? AND catalog_id = ? AND inventory_id <> ?
+            """;
+
+    private static final String MERGE_MOVEMENT_SQL = """
+            INSERT INTO warehouse_movement
+                (warehouse_id, catalog_id, inventory_id, operation_type, quantity_delta, reserved_delta,
+                 quantity_after, reserved_after, comment, occurred_at)
+            VALUES (?, ?, ?, ?, 0, 0, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public WarehouseInventoryDeduplicator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    private record Duplicate(int warehouseId, int catalogId, long keepId, int quantity, int reserved) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Duplicate> duplicates = jdbcTemplate.query(DUPLICATES_SQL, (rs, rowNum) -> new Duplicate(
+                rs.getInt(1), rs.getInt(2), rs.getLong(3), rs.getInt(4), rs.getInt(5)));
+        for (Duplicate duplicate : duplicates) {
+            transactionTemplate.executeWithoutResult(status -> merge(duplicate));
+        }
+        if (!duplicates.isEmpty()) {
+            log.warn("Merged duplicate stock rows for {} warehouse positions", duplicates.size());
+        }
+        if (isPostgres()) {
+            try {
+                jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uq_warehouse_inventory_warehouse_catalog "
+                        + "ON warehouse_inventory(warehouse_id, catalog_id)");
+            } catch (DataAccessException ex) {
+                throw new IllegalStateException(
+                        "Failed to add unique index on warehouse_inventory(warehouse_id, catalog_id)", ex);
+            }
+        }
+    }
+
+    /**
+     * Сливает одну позицию: ссылки переводятся до удаления, чтобы заявки не потеряли выданную строку склада.
+     */
+    private void merge(Duplicate duplicate) {
+        List<Long> removed = jdbcTemplate.queryForList(DUPLICATE_IDS_SQL, Long.class,
+                duplicate.warehouseId(), duplicate.catalogId(), duplicate.keepId());
+        if (removed.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE warehouse_inventory SET quantity = ?, reserved_quantity = ? WHERE inventory_id = ?",
+                duplicate.quantity(), duplicate.reserved(), duplicate.keepId());
+        for (Long inventoryId : removed) {
+            jdbcTemplate.update("UPDATE request_parts SET inventory_id = ? WHERE inventory_id = ?",
+                    duplicate.keepId(), inventoryId);
+            jdbcTemplate.update("UPDATE warehouse_movement SET inventory_id = ? WHERE inventory_id = ?",
+                    duplicate.keepId(), inventoryId);
+            jdbcTemplate.update("DELETE FROM warehouse_inventory WHERE inventory_id = ?", inventoryId);
+        }
+        jdbcTemplate.update(MERGE_MOVEMENT_SQL, duplicate.warehouseId(), duplicate.catalogId(), duplicate.keepId(),
+                WarehouseMovementType.MERGE.name(), duplicate.quantity(), duplicate.reserved(),
+                "Слиты позиции склада " + removed, Timestamp.valueOf(LocalDateTime.now()));
+        log.info("Merged stock rows {} of warehouse {} catalog {} into {}",
+                removed, duplicate.warehouseId(), duplicate.catalogId(), duplicate.keepId());
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+    }
+}
@@ -0,0 +1,131 @@
+package ru.bowling.bowlingapp.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.Service.WarehouseMovementPartitions;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Готовит журнал складских движений warehouse_movement к работе — то, что описывает V24, но что
+ * {@code ddl-auto: update} сделать не может.
+ * <p>
+ * На PostgreSQL пустая несекционированная таблица, созданная Hibernate, пересоздаётся секционированной
+ * по месяцам {@code occurred_at}; месячные секции затем ведёт {@link WarehouseMovementPartitions}.
+ * Таблица, в которой уже есть движения, остаётся как есть: перенос строк — ручная операция.
+ * <p>
+ * На любой БД позиции склада с ненулевым остатком или резервом, у которых ещё нет ни одного движения,
+ * получают движение {@code OPENING} с текущим остатком. Без него «остаток на дату» не видит позиции,
+ * которые не менялись с начала ведения журнала. Повторный запуск ничего не добавляет.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WarehouseLedgerInitializer implements ApplicationRunner {
+
+    private static final List<String> PARTITIONED_TABLE_DDL = List.of(
+            "DROP TABLE warehouse_movement",
+            """
+            CREATE TABLE warehouse_movement (
+                movement_id    BIGSERIAL,
+                warehouse_id   INTEGER     NOT NULL,
+                catalog_id     INTEGER,
+                inventory_id   BIGINT,
+                operation_type VARCHAR(32) NOT NULL,
+                quantity_delta INTEGER     NOT NULL,
+                reserved_delta INTEGER     NOT NULL,
+                quantity_after INTEGER,
+                reserved_after INTEGER,
+                request_id     BIGINT,
+                comment        TEXT,
+                occurred_at    TIMESTAMP   NOT NULL,
+                PRIMARY KEY (movement_id, occurred_at)
+            ) PARTITION BY RANGE (occurred_at)
+            """,
+            "CREATE TABLE warehouse_movement_default PARTITION OF warehouse_movement DEFAULT",
+            "CREATE INDEX idx_warehouse_movement_warehouse_time "
+                    + "ON warehouse_movement(warehouse_id, occurred_at, movement_id)",
+            "CREATE INDEX idx_warehouse_movement_position_time "
+                    + "ON warehouse_movement(warehouse_id, catalog_id, occurred_at)");
+
+    private static final String OPENING_SQL = """
+            INSERT INTO warehouse_movement
+                (warehouse_id, catalog_id, inventory_id, operation_type, quantity_delta, reserved_delta,
+                 quantity_after, reserved_after, comment, occurred_at)
+            SELECT w.warehouse_id, w.catalog_id, w.inventory_id, 'OPENING',
+                   COALESCE(w.quantity, 0), COALESCE(w.reserved_quantity, 0),
+                   COALESCE(w.quantity, 0), COALESCE(w.reserved_quantity, 0),
+                   'Opening balance', ?
+            FROM warehouse_inventory w
+            WHERE w.warehouse_id IS NOT NULL
+              AND (COALESCE(w.quantity, 0) <> 0 OR COALESCE(w.reserved_quantity, 0) <> 0)
+              AND NOT EXISTS (SELECT 1 FROM warehouse_movement m
+                              WHERE m.warehouse_id = w.warehouse_id AND m.catalog_id = w.catalog_id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WarehouseMovementPartitions partitions;
+
+    public WarehouseLedgerInitializer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                      WarehouseMovementPartitions partitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitions = partitions;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (isPostgres()) {
+            Boolean converted = transactionTemplate.execute(status -> convertToPartitioned());
+            if (Boolean.TRUE.equals(converted)) {
+                log.info("warehouse_movement recreated as a partitioned table");
+            }
+            // Страницы журнала идут по (occurred_at, movement_id); прежний индекс по movement_id не нужен.
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_warehouse_movement_warehouse_id");
+            // Секции месяца должны появиться до начальных остатков, иначе те лягут в секцию по умолчанию.
+            partitions.ensurePartitions();
+        }
+        Integer opened = transactionTemplate.execute(status ->
+                jdbcTemplate.update(OPENING_SQL, Timestamp.valueOf(LocalDateTime.now())));
+        if (opened != null && opened > 0) {
+            log.info("Recorded opening balances for {} warehouse positions", opened);
+        }
+    }
+
+    private boolean convertToPartitioned() {
+        if (isPartitioned()) {
+            return false;
+        }
+        jdbcTemplate.execute("LOCK TABLE warehouse_movement IN ACCESS EXCLUSIVE MODE");
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM warehouse_movement)", Boolean.class))) {
+            log.warn("warehouse_movement already has rows and stays unpartitioned");
+            return false;
+        }
+        PARTITIONED_TABLE_DDL.forEach(jdbcTemplate::execute);
+        return true;
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid "
+                        + "WHERE c.relname = 'warehouse_movement')", Boolean.class));
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+    }
+}
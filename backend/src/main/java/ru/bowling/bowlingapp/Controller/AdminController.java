@@ -10,6 +10,7 @@ import ru.bowling.bowlingapp.Entity.enums.SupplierComplaintStatus;
 import ru.bowling.bowlingapp.Service.AdminCabinetService;
 import ru.bowling.bowlingapp.Service.AdminService;
 import ru.bowling.bowlingapp.Service.FreeMechanicApplicationService;
+import ru.bowling.bowlingapp.Service.UserClubAccessService;
 
 import java.util.List;
 
@@ -21,6 +22,7 @@ public class AdminController {
     private final AdminService adminService;
     private final AdminCabinetService adminCabinetService;
     private final FreeMechanicApplicationService freeMechanicApplicationService;
+    private final UserClubAccessService userClubAccessService;
 
     @GetMapping("/mechanics")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLUB_OWNER')")
@@ -28,6 +30,12 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getMechanicsOverview(authentication != null ? authentication.getName() : null));
     }
 
+    @GetMapping("/cache/club-access")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ClubAccessCacheStatsDTO> getClubAccessCacheStats() {
+        return ResponseEntity.ok(userClubAccessService.getCacheStats());
+    }
+
     @GetMapping("/registrations")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<AdminRegistrationApplicationDTO>> listRegistrations(
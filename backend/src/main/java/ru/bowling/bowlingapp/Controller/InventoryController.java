@@ -1,6 +1,8 @@
 package ru.bowling.bowlingapp.Controller;
 
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -10,12 +12,18 @@ import ru.bowling.bowlingapp.DTO.InventoryItemRequest;
 import ru.bowling.bowlingapp.DTO.InventorySearchRequest;
 import ru.bowling.bowlingapp.DTO.PartDto;
 import ru.bowling.bowlingapp.DTO.ReservationRequestDto;
+import ru.bowling.bowlingapp.DTO.StockReservationRequestDto;
+import ru.bowling.bowlingapp.DTO.StockReservationResultDto;
+import ru.bowling.bowlingapp.DTO.WarehouseBalanceDto;
 import ru.bowling.bowlingapp.DTO.WarehouseSummaryDto;
 import ru.bowling.bowlingapp.DTO.WarehouseMovementDto;
+import ru.bowling.bowlingapp.DTO.WarehouseMovementPageDTO;
 import ru.bowling.bowlingapp.Security.UserPrincipal;
 import ru.bowling.bowlingapp.Service.InventoryAvailabilityFilter;
 import ru.bowling.bowlingapp.Service.InventoryService;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
@@ -95,11 +103,27 @@ public class InventoryController {
 
     @GetMapping("/warehouses/{id}/movements")
     public ResponseEntity<List<WarehouseMovementDto>> getWarehouseMovements(@PathVariable("id") Integer warehouseId,
+                                                                            @RequestParam(required = false)
+                                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                            @RequestParam(required = false)
+                                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size,
                                                                             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         Set<Integer> allowedWarehouseIds = extractWarehouseIds(requireAccessibleWarehouses(userPrincipal));
         assertWarehouseAccess(allowedWarehouseIds, warehouseId);
-        List<WarehouseMovementDto> movements = inventoryService.getWarehouseMovements(warehouseId);
-        return ResponseEntity.ok(movements);
+        WarehouseMovementPageDTO page = inventoryService.getWarehouseMovements(warehouseId, from, to, cursor, size);
+        return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), page.getSize());
+    }
+
+    @GetMapping("/warehouses/{id}/balance")
+    public ResponseEntity<List<WarehouseBalanceDto>> getWarehouseBalance(@PathVariable("id") Integer warehouseId,
+                                                                         @RequestParam(required = false)
+                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+                                                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Set<Integer> allowedWarehouseIds = extractWarehouseIds(requireAccessibleWarehouses(userPrincipal));
+        assertWarehouseAccess(allowedWarehouseIds, warehouseId);
+        return ResponseEntity.ok(inventoryService.getWarehouseBalance(warehouseId, asOf));
     }
 
     @GetMapping("/{id}")
@@ -112,16 +136,49 @@ public class InventoryController {
     }
 
     @PostMapping("/reserve")
-    public ResponseEntity<Void> reservePart(@RequestBody ReservationRequestDto reservationRequestDto) {
-        inventoryService.reservePart(reservationRequestDto);
+    public ResponseEntity<Void> reservePart(@RequestBody ReservationRequestDto reservationRequestDto,
+                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Set<Integer> allowedWarehouseIds = extractWarehouseIds(requireAccessibleWarehouses(userPrincipal));
+        assertWarehouseAccess(allowedWarehouseIds, reservationRequestDto.getWarehouseId());
+        inventoryService.reserveParts(allowedWarehouseIds, toSingleLine(reservationRequestDto));
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/release")
-    public ResponseEntity<Void> releasePart(@RequestBody ReservationRequestDto reservationRequestDto) {
-        inventoryService.releasePart(reservationRequestDto);
+    public ResponseEntity<Void> releasePart(@RequestBody ReservationRequestDto reservationRequestDto,
+                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Set<Integer> allowedWarehouseIds = extractWarehouseIds(requireAccessibleWarehouses(userPrincipal));
+        assertWarehouseAccess(allowedWarehouseIds, reservationRequestDto.getWarehouseId());
+        inventoryService.releaseParts(allowedWarehouseIds, toSingleLine(reservationRequestDto));
         return ResponseEntity.ok().build();
-}
+    }
+
+    @PostMapping("/reservations")
+    public ResponseEntity<StockReservationResultDto> reserveParts(@Valid @RequestBody StockReservationRequestDto request,
+                                                                  @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Set<Integer> allowedWarehouseIds = extractWarehouseIds(requireAccessibleWarehouses(userPrincipal));
+        assertWarehouseAccess(allowedWarehouseIds, request.getWarehouseId());
+        return ResponseEntity.ok(inventoryService.reserveParts(allowedWarehouseIds, request));
+    }
+
+    @PostMapping("/reservations/release")
+    public ResponseEntity<StockReservationResultDto> releaseParts(@Valid @RequestBody StockReservationRequestDto request,
+                                                                  @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Set<Integer> allowedWarehouseIds = extractWarehouseIds(requireAccessibleWarehouses(userPrincipal));
+        assertWarehouseAccess(allowedWarehouseIds, request.getWarehouseId());
+        return ResponseEntity.ok(inventoryService.releaseParts(allowedWarehouseIds, request));
+    }
+
+    private StockReservationRequestDto toSingleLine(ReservationRequestDto dto) {
+        return StockReservationRequestDto.builder()
+                .warehouseId(dto.getWarehouseId())
+                .maintenanceRequestId(dto.getMaintenanceRequestId())
+                .lines(List.of(StockReservationRequestDto.Line.builder()
+                        .partId(dto.getPartId())
+                        .quantity(dto.getQuantity())
+                        .build()))
+                .build();
+    }
 
     private List<WarehouseSummaryDto> requireAccessibleWarehouses(UserPrincipal principal) {
         if (principal == null) {
@@ -0,0 +1,32 @@
+package ru.bowling.bowlingapp.Controller;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Ответ со страницей списка: в теле — элементы страницы, курсор следующей страницы и её размер — в заголовках.
+ * Заголовок {@code X-Next-Cursor} есть, только пока за страницей остались строки.
+ */
+final class KeysetPageResponse {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String PAGE_SIZE_HEADER = "X-Page-Size";
+
+    private KeysetPageResponse() {
+    }
+
+    /**
+     * @param size размер страницы; {@code null} — заголовок {@code X-Page-Size} не отправляется
+     */
+    static <T> ResponseEntity<List<T>> of(List<T> items, String nextCursor, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (size != null) {
+            response.header(PAGE_SIZE_HEADER, String.valueOf(size));
+        }
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
@@ -2,7 +2,10 @@ package ru.bowling.bowlingapp.Controller;
 
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,13 +14,21 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.bowling.bowlingapp.DTO.KnowledgeBaseDocumentCreateDTO;
 import ru.bowling.bowlingapp.DTO.KnowledgeBaseDocumentDTO;
 import ru.bowling.bowlingapp.Security.UserPrincipal;
 import ru.bowling.bowlingapp.Service.KnowledgeBaseService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -32,24 +43,62 @@ public class KnowledgeBaseController {
         return knowledgeBaseService.getDocumentsForUser(userPrincipal.getId());
     }
 
+    /**
+     * Отдача файла потоком. Поддерживаются ETag с условным GET (304) и один диапазон
+     * {@code Range: bytes=...} (206); несколько диапазонов и устаревший {@code If-Range}
+     * отдают файл целиком.
+     */
     @GetMapping("/documents/{documentId}/content")
-    public ResponseEntity<byte[]> getDocumentContent(
+    public ResponseEntity<StreamingResponseBody> getDocumentContent(
             @PathVariable Long documentId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            WebRequest webRequest,
             @AuthenticationPrincipal UserPrincipal userPrincipal
     ) {
         KnowledgeBaseService.DocumentContent documentContent = knowledgeBaseService
                 .getDocumentContent(documentId, userPrincipal.getId());
 
-        long contentLength = documentContent.data().length;
+        if (webRequest.checkNotModified(documentContent.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(documentContent.etag()).build();
+        }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + documentContent.fileName() + "\"")
-                .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength))
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(documentContent.data());
+        long fileSize = documentContent.fileSize();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.inline()
+                .filename(documentContent.fileName(), StandardCharsets.UTF_8)
+                .build());
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setETag(documentContent.etag());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        HttpRange range = resolveRange(rangeHeader, ifRange, documentContent.etag());
+        if (range == null) {
+            headers.setContentLength(fileSize);
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(body(documentContent, 0, fileSize));
+        }
+
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(fileSize);
+            end = range.getRangeEnd(fileSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize)
+                    .build();
+        }
+        long length = end - start + 1;
+        headers.setContentLength(length);
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(headers)
+                .body(body(documentContent, start, length));
     }
 
-    @PostMapping("/documents")
+    @PostMapping(value = "/documents", consumes = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<KnowledgeBaseDocumentDTO> createDocument(
             @Valid @RequestBody KnowledgeBaseDocumentCreateDTO request,
@@ -57,4 +106,40 @@ public class KnowledgeBaseController {
     ) {
         return ResponseEntity.ok(knowledgeBaseService.createDocument(request, userPrincipal.getId()));
     }
+
+    /**
+     * Загрузка без base64: метаданные частью {@code metadata} (поле {@code fileBase64} не нужно),
+     * файл частью {@code file}.
+     */
+    @PostMapping(value = "/documents", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KnowledgeBaseDocumentDTO> uploadDocument(
+            @RequestPart("metadata") KnowledgeBaseDocumentCreateDTO metadata,
+            @RequestPart("file") MultipartFile file,
+            @AuthenticationPrincipal UserPrincipal userPrincipal
+    ) throws IOException {
+        if (metadata.getFileName() == null || metadata.getFileName().isBlank()) {
+            metadata.setFileName(file.getOriginalFilename());
+        }
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.ok(knowledgeBaseService.createDocument(metadata, content, userPrincipal.getId()));
+        }
+    }
+
+    private StreamingResponseBody body(KnowledgeBaseService.DocumentContent content, long offset, long length) {
+        return outputStream -> knowledgeBaseService.writeContent(content, offset, length, outputStream);
+    }
+
+    private HttpRange resolveRange(String rangeHeader, String ifRange, String etag) {
+        if (rangeHeader == null || (ifRange != null && !ifRange.trim().equals(etag))) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
 }
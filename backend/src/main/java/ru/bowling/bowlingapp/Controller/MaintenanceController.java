@@ -3,6 +3,7 @@ package ru.bowling.bowlingapp.Controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -10,15 +11,19 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.bowling.bowlingapp.DTO.AddRequestPartsDTO;
 import ru.bowling.bowlingapp.DTO.ApproveRejectRequestDTO;
 import ru.bowling.bowlingapp.DTO.HelpRequestDTO;
 import ru.bowling.bowlingapp.DTO.HelpResponseDTO;
+import ru.bowling.bowlingapp.DTO.MaintenanceRequestPageDTO;
 import ru.bowling.bowlingapp.DTO.MaintenanceRequestResponseDTO;
 import ru.bowling.bowlingapp.DTO.PartRequestDTO;
 import ru.bowling.bowlingapp.DTO.StandardResponseDTO;
+import ru.bowling.bowlingapp.Service.MaintenanceRequestExcelExporter;
 import ru.bowling.bowlingapp.Service.MaintenanceRequestService;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -28,6 +33,7 @@ import java.util.List;
 public class MaintenanceController {
 
 	private final MaintenanceRequestService maintenanceRequestService;
+	private final MaintenanceRequestExcelExporter maintenanceRequestExcelExporter;
 
 	@PostMapping("/requests")
 	public ResponseEntity<?> createPartRequest(@Valid @RequestBody PartRequestDTO requestDTO, Authentication authentication) {
@@ -40,12 +46,15 @@ public class MaintenanceController {
 	}
 
         @GetMapping("/requests")
-        public ResponseEntity<List<MaintenanceRequestResponseDTO>> getAllRequests(Authentication authentication) {
+        public ResponseEntity<List<MaintenanceRequestResponseDTO>> getAllRequests(
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer size,
+                        Authentication authentication) {
                 if (authentication == null || !authentication.isAuthenticated()) {
                         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
                 }
-                List<MaintenanceRequestResponseDTO> requests = maintenanceRequestService.getAllRequests();
-                return ResponseEntity.ok(requests);
+                MaintenanceRequestPageDTO page = maintenanceRequestService.getAllRequests(cursor, size);
+                return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), page.getSize());
         }
 
         @GetMapping("/requests/{requestId}")
@@ -59,30 +68,39 @@ public class MaintenanceController {
         }
 
         @GetMapping("/requests/status/{status}")
-        public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByStatus(@PathVariable String status, Authentication authentication) {
+        public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByStatus(@PathVariable String status,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer size,
+                        Authentication authentication) {
                 if (authentication == null || !authentication.isAuthenticated()) {
                         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
                 }
-		List<MaintenanceRequestResponseDTO> requests = maintenanceRequestService.getRequestsByStatus(status);
-		return ResponseEntity.ok(requests);
-	}
+                MaintenanceRequestPageDTO page = maintenanceRequestService.getRequestsByStatus(status, cursor, size);
+                return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), page.getSize());
+        }
 
         @GetMapping("/requests/mechanic/{mechanicId}")
-        public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByMechanic(@PathVariable Long mechanicId, Authentication authentication) {
+        public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByMechanic(@PathVariable Long mechanicId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer size,
+                        Authentication authentication) {
                 if (authentication == null || !authentication.isAuthenticated()) {
                         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
                 }
-                List<MaintenanceRequestResponseDTO> requests = maintenanceRequestService.getRequestsByMechanic(mechanicId);
-                return ResponseEntity.ok(requests);
+                MaintenanceRequestPageDTO page = maintenanceRequestService.getRequestsByMechanic(mechanicId, cursor, size);
+                return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), page.getSize());
         }
 
         @GetMapping("/requests/club/{clubId}")
-        public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByClub(@PathVariable Long clubId, Authentication authentication) {
+        public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByClub(@PathVariable Long clubId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer size,
+                        Authentication authentication) {
                 if (authentication == null || !authentication.isAuthenticated()) {
                         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
                 }
-                List<MaintenanceRequestResponseDTO> requests = maintenanceRequestService.getRequestsByClub(clubId, authentication.getName());
-                return ResponseEntity.ok(requests);
+                MaintenanceRequestPageDTO page = maintenanceRequestService.getRequestsByClub(clubId, authentication.getName(), cursor, size);
+                return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), page.getSize());
         }
 
         @PutMapping("/requests/{requestId}/approve")
@@ -153,6 +171,33 @@ public class MaintenanceController {
                 return ResponseEntity.ok(response);
         }
 
+        /**
+         * Массовая выгрузка заявок клуба или периода со всеми запчастями. Файл пишется прямо в ответ
+         * по мере чтения из БД, поэтому размер выгрузки не ограничен памятью.
+         */
+        @GetMapping("/requests/export")
+        public ResponseEntity<StreamingResponseBody> exportRequests(
+                        @RequestParam(name = "clubId", required = false) Long clubId,
+                        @RequestParam(name = "status", required = false) String status,
+                        @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        Authentication authentication) {
+                if (authentication == null || !authentication.isAuthenticated()) {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                }
+                MaintenanceRequestExcelExporter.Scope scope = maintenanceRequestService.resolveExportScope(
+                                authentication.getName(), clubId, status, from, to);
+                StreamingResponseBody body = outputStream -> maintenanceRequestExcelExporter.export(scope, outputStream);
+                ContentDisposition contentDisposition = ContentDisposition.attachment()
+                                .filename(clubId != null ? "requests-club-" + clubId + ".xlsx" : "requests.xlsx")
+                                .build();
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                                .contentType(MediaType.parseMediaType(
+                                                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                                .body(body);
+        }
+
         @GetMapping("/requests/{id}/export")
         public ResponseEntity<byte[]> exportRequest(@PathVariable("id") Long id, Authentication authentication) {
                 if (authentication == null || !authentication.isAuthenticated()) {
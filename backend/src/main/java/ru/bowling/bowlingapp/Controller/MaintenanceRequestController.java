@@ -5,6 +5,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import ru.bowling.bowlingapp.DTO.MaintenanceRequestPageDTO;
 import ru.bowling.bowlingapp.DTO.MaintenanceRequestResponseDTO;
 import ru.bowling.bowlingapp.DTO.PartRequestDTO;
 import ru.bowling.bowlingapp.DTO.StockIssueDecisionDTO;
@@ -28,20 +29,28 @@ public class MaintenanceRequestController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'OWNER', 'CLUB_OWNER', 'CHIEF_MECHANIC', 'HEAD_MECHANIC', 'STAFF')")
-    public ResponseEntity<List<MaintenanceRequestResponseDTO>> getAllRequests() {
-        return ResponseEntity.ok(maintenanceRequestService.getAllRequests());
+    public ResponseEntity<List<MaintenanceRequestResponseDTO>> getAllRequests(@RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false) Integer size) {
+        MaintenanceRequestPageDTO page = maintenanceRequestService.getAllRequests(cursor, size);
+        return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), page.getSize());
     }
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OWNER', 'CLUB_OWNER', 'CHIEF_MECHANIC', 'HEAD_MECHANIC', 'MECHANIC', 'STAFF')")
-    public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(maintenanceRequestService.getRequestsByStatus(status));
+    public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByStatus(@PathVariable String status,
+                                                                                   @RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(required = false) Integer size) {
+        MaintenanceRequestPageDTO page = maintenanceRequestService.getRequestsByStatus(status, cursor, size);
+        return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), page.getSize());
     }
 
     @GetMapping("/mechanic/{mechanicId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OWNER', 'CLUB_OWNER', 'CHIEF_MECHANIC', 'HEAD_MECHANIC', 'STAFF')")
-    public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByMechanic(@PathVariable Long mechanicId) {
-        return ResponseEntity.ok(maintenanceRequestService.getRequestsByMechanic(mechanicId));
+    public ResponseEntity<List<MaintenanceRequestResponseDTO>> getRequestsByMechanic(@PathVariable Long mechanicId,
+                                                                                     @RequestParam(required = false) String cursor,
+                                                                                     @RequestParam(required = false) Integer size) {
+        MaintenanceRequestPageDTO page = maintenanceRequestService.getRequestsByMechanic(mechanicId, cursor, size);
+        return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), page.getSize());
     }
 
     @PatchMapping("/{requestId}/approve")
@@ -29,6 +29,15 @@ public class OneCSyncController {
         }
     }
 
+    @PostMapping("/sync/full")
+    public ResponseEntity<OneCSyncStatusDto> fullResync() {
+        try {
+            return ResponseEntity.ok(oneCSyncService.runFullSync());
+        } catch (OneCSyncException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(oneCSyncService.getLastStatus());
+        }
+    }
+
     @GetMapping("/sync/status")
     public ResponseEntity<OneCSyncStatusDto> getLastStatus() {
         return ResponseEntity.ok(oneCSyncService.getLastStatus());
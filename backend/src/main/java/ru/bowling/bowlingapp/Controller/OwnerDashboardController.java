@@ -69,8 +69,20 @@ public class OwnerDashboardController {
     @PreAuthorize("hasAnyRole('CLUB_OWNER','HEAD_MECHANIC','CLUB_MANAGER','ADMIN','MECHANIC')")
     public ResponseEntity<List<NotificationEvent>> getNotifications(@AuthenticationPrincipal UserPrincipal principal,
                                                                    @RequestParam(name = "clubId", required = false) Long clubId,
-                                                                   @RequestParam(name = "role", required = false) String role) {
-        return ResponseEntity.ok(ownerDashboardService.getManagerNotifications(principal.getId(), clubId, parseRole(role)));
+                                                                   @RequestParam(name = "role", required = false) String role,
+                                                                   @RequestParam(name = "sinceId", required = false) Long sinceId,
+                                                                   @RequestParam(name = "limit", required = false) Integer limit,
+                                                                   @RequestParam(name = "unreadOnly", defaultValue = "false") boolean unreadOnly) {
+        return ResponseEntity.ok(ownerDashboardService.getManagerNotifications(
+                principal.getId(), clubId, parseRole(role), sinceId, limit, unreadOnly));
+    }
+
+    @PostMapping("/notifications/read")
+    @PreAuthorize("hasAnyRole('CLUB_OWNER','HEAD_MECHANIC','CLUB_MANAGER','ADMIN','MECHANIC')")
+    public ResponseEntity<Void> markNotificationsRead(@AuthenticationPrincipal UserPrincipal principal,
+                                                      @RequestBody List<Long> notificationIds) {
+        ownerDashboardService.markNotificationsRead(principal.getId(), notificationIds);
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/appeals")
@@ -6,6 +6,7 @@ import org.springframework.web.bind.annotation.*;
 import ru.bowling.bowlingapp.DTO.PartsCatalogCreateDTO;
 import ru.bowling.bowlingapp.DTO.PartsCatalogResponseDTO;
 import ru.bowling.bowlingapp.DTO.PartsSearchDTO;
+import ru.bowling.bowlingapp.DTO.PartsSearchPageDTO;
 import ru.bowling.bowlingapp.Service.PartsService;
 
 import java.util.List;
@@ -21,8 +22,10 @@ public class PartsController {
 	@PostMapping("/search")
 	public ResponseEntity<List<PartsCatalogResponseDTO>> searchParts(@RequestBody PartsSearchDTO searchDTO) {
 		try {
-			List<PartsCatalogResponseDTO> parts = partsService.searchParts(searchDTO);
-			return ResponseEntity.ok(parts);
+			PartsSearchPageDTO page = partsService.searchPartsPage(searchDTO);
+			return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), null);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
 		} catch (Exception e) {
 			return ResponseEntity.internalServerError().build();
 		}
@@ -8,6 +8,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import ru.bowling.bowlingapp.DTO.PurchaseOrderAcceptanceRequestDTO;
 import ru.bowling.bowlingapp.DTO.PurchaseOrderDetailDTO;
+import ru.bowling.bowlingapp.DTO.PurchaseOrderPageDTO;
 import ru.bowling.bowlingapp.DTO.PurchaseOrderSummaryDTO;
 import ru.bowling.bowlingapp.DTO.SupplierComplaintRequestDTO;
 import ru.bowling.bowlingapp.DTO.SupplierComplaintStatusUpdateDTO;
@@ -32,8 +33,12 @@ public class PurchaseOrderController {
             @RequestParam(value = "archived", defaultValue = "false") boolean archived,
             @RequestParam(value = "status", required = false) PurchaseOrderStatus status,
             @RequestParam(value = "hasComplaint", required = false) Boolean hasComplaint,
-            @RequestParam(value = "hasReview", required = false) Boolean hasReview) {
-        return ResponseEntity.ok(purchaseOrderService.getOrders(clubId, archived, status, hasComplaint, hasReview));
+            @RequestParam(value = "hasReview", required = false) Boolean hasReview,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        PurchaseOrderPageDTO page = purchaseOrderService.getOrders(clubId, archived, status, hasComplaint, hasReview,
+                cursor, size);
+        return KeysetPageResponse.of(page.getItems(), page.getNextCursor(), page.getSize());
     }
 
     @GetMapping("/{orderId}")
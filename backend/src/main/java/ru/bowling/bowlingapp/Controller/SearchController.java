@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.bowling.bowlingapp.DTO.GlobalSearchResponseDTO;
 import ru.bowling.bowlingapp.Security.UserPrincipal;
+import ru.bowling.bowlingapp.Service.GlobalSearchSection;
 import ru.bowling.bowlingapp.Service.GlobalSearchService;
 
 @RestController
@@ -22,6 +23,8 @@ public class SearchController {
     public ResponseEntity<GlobalSearchResponseDTO> search(
             @RequestParam(value = "query", required = false) String query,
             @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "section", required = false) String section,
+            @RequestParam(value = "cursor", required = false) String cursor,
             Authentication authentication
     ) {
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -34,7 +37,8 @@ public class SearchController {
         }
 
         int resolvedLimit = resolveLimit(limit);
-        GlobalSearchResponseDTO response = globalSearchService.search(query, resolvedLimit, userId);
+        GlobalSearchResponseDTO response = globalSearchService.search(query, resolvedLimit, userId,
+                GlobalSearchSection.fromString(section), cursor);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,23 @@
+package ru.bowling.bowlingapp.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClubAccessCacheStatsDTO {
+
+    private long hits;
+
+    private long misses;
+
+    private long invalidations;
+
+    private int size;
+
+    private double hitRate;
+}
@@ -0,0 +1,22 @@
+package ru.bowling.bowlingapp.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceRequestPageDTO {
+
+    @Builder.Default
+    private List<MaintenanceRequestResponseDTO> items = List.of();
+
+    private String nextCursor;
+
+    private int size;
+}
@@ -13,6 +13,8 @@ import java.util.UUID;
 @Builder(toBuilder = true)
 public class NotificationEvent {
     UUID id;
+    /** Порядковый номер в хранилище уведомлений, используется как курсор для чтения «после». */
+    Long sequence;
     NotificationEventType type;
     String message;
     Long requestId;
@@ -23,4 +25,6 @@ public class NotificationEvent {
     String payload;
     OffsetDateTime createdAt;
     Set<RoleName> audiences;
+    /** Прочитано ли уведомление текущим пользователем; {@code null}, если не вычислялось. */
+    Boolean read;
 }
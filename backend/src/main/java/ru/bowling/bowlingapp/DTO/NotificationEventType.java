@@ -16,5 +16,8 @@ public enum NotificationEventType {
     CLUB_LEGAL_ASSISTANCE,
     CLUB_SPECIALIST_ACCESS,
     ADMIN_RESPONSE,
-    USER_APPEAL
+    USER_APPEAL,
+    INVENTORY_LOW,
+    SERVICE_DUE,
+    WARRANTY_EXPIRING
 }
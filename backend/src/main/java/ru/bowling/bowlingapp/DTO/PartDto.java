@@ -14,6 +14,10 @@ import java.util.List;
 @Builder
 public class PartDto {
 
+    /**
+     * Id позиции склада. Отрицательный — подставная нулевая позиция, которой нет в базе
+     * (см. {@code InventoryServiceImpl.placeholderInventoryId}); по нему нельзя запрашивать или резервировать.
+     */
     private Long inventoryId;
     private Long catalogId;
     private String officialNameEn;
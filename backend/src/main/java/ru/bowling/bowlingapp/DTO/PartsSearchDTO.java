@@ -18,7 +18,12 @@ public class PartsSearchDTO {
     private String equipmentType;
     private String categoryCode;
     private Long componentId;
-    
+
+    /**
+     * Курсор следующей страницы из заголовка {@code X-Next-Cursor}; при его наличии {@code page} не учитывается.
+     */
+    private String cursor;
+
     @Builder.Default
     private Integer page = 0;
     @Builder.Default
@@ -0,0 +1,20 @@
+package ru.bowling.bowlingapp.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartsSearchPageDTO {
+
+    @Builder.Default
+    private List<PartsCatalogResponseDTO> items = List.of();
+
+    private String nextCursor;
+}
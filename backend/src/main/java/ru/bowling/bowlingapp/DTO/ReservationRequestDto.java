@@ -12,5 +12,11 @@ public class ReservationRequestDto {
     private Long partId;
     private Integer quantity;
     private Long maintenanceRequestId;
+    /** Предпочтительный склад; {@code null} — любой из доступных. */
+    private Integer warehouseId;
+
+    public ReservationRequestDto(Long partId, Integer quantity, Long maintenanceRequestId) {
+        this(partId, quantity, maintenanceRequestId, null);
+    }
 
 }
@@ -0,0 +1,45 @@
+package ru.bowling.bowlingapp.DTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Многострочный резерв: все строки ставятся или снимаются в одной транзакции.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequestDto {
+
+    /** Предпочтительный склад; {@code null} — любой из доступных пользователю. */
+    private Integer warehouseId;
+
+    private Long maintenanceRequestId;
+
+    @NotEmpty
+    @Valid
+    private List<Line> lines;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+
+        @NotNull
+        private Long partId;
+
+        @NotNull
+        @Min(1)
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.bowling.bowlingapp.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Остаток позиции склада на конец дня {@code asOf} по журналу движений.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WarehouseBalanceDto {
+    private Integer warehouseId;
+    private Integer catalogId;
+    private Long inventoryId;
+    private Integer quantity;
+    private Integer reservedQuantity;
+    private LocalDate asOf;
+    private LocalDateTime lastMovementAt;
+}
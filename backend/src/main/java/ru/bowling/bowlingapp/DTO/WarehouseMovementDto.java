@@ -12,11 +12,16 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 public class WarehouseMovementDto {
+    private Long movementId;
     private String operationType;
     private Integer quantityDelta;
+    private Integer reservedDelta;
+    private Integer quantityAfter;
+    private Integer reservedAfter;
     private Long inventoryId;
     private Integer catalogId;
     private Integer warehouseId;
+    private Long requestId;
     private String comment;
     private LocalDateTime occurredAt;
 }
@@ -0,0 +1,38 @@
+package ru.bowling.bowlingapp.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Отметка просмотра источника оповещений: ключ (срок, id) последней обработанной строки окна, пока окно
+ * не пройдено целиком; после конца окна ключ пуст. Для низких остатков срока нет — хранится номер последнего
+ * просмотренного движения склада.
+ */
+@Entity
+@Table(name = "alert_watermarks")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlertWatermark {
+
+    @Id
+    @Column(name = "alert_type", length = 64)
+    private String alertType;
+
+    @Column(name = "last_due_at")
+    private LocalDateTime lastDueAt;
+
+    @Column(name = "last_id")
+    private Long lastId;
+
+    @Column(name = "swept_at")
+    private LocalDateTime sweptAt;
+}
@@ -8,11 +8,13 @@ import lombok.NoArgsConstructor;
 import ru.bowling.bowlingapp.Entity.enums.AttestationStatus;
 import ru.bowling.bowlingapp.Entity.enums.MechanicGrade;
 import ru.bowling.bowlingapp.Entity.converter.AttestationStatusConverter;
+import ru.bowling.bowlingapp.Service.MechanicDirectoryChangeListener;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "attestation_applications")
+@EntityListeners(MechanicDirectoryChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
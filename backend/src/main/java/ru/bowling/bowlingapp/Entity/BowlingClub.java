@@ -2,6 +2,8 @@ package ru.bowling.bowlingapp.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import ru.bowling.bowlingapp.Service.ClubAccessChangeListener;
+import ru.bowling.bowlingapp.Service.MechanicDirectoryChangeListener;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -11,7 +13,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "bowling_clubs")
+@Table(name = "bowling_clubs", indexes = {
+        @Index(name = "idx_bowling_clubs_name_id", columnList = "name, club_id")
+})
+@EntityListeners({ClubAccessChangeListener.class, MechanicDirectoryChangeListener.class})
 public class BowlingClub {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
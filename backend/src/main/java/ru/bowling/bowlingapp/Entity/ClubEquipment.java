@@ -5,11 +5,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import ru.bowling.bowlingapp.Service.OwnerWarningChangeListener;
 
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "club_equipment")
+@EntityListeners(OwnerWarningChangeListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -2,9 +2,11 @@ package ru.bowling.bowlingapp.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import ru.bowling.bowlingapp.Service.ClubAccessChangeListener;
 
 @Entity
 @Table(name = "club_invitations")
+@EntityListeners(ClubAccessChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -5,11 +5,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import ru.bowling.bowlingapp.Service.ClubAccessChangeListener;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "club_staff")
+@EntityListeners(ClubAccessChangeListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -0,0 +1,69 @@
+package ru.bowling.bowlingapp.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.bowling.bowlingapp.Entity.enums.WarningSource;
+
+import java.time.LocalDate;
+
+/**
+ * Предупреждение дашборда владельца, посчитанное заранее по одному источнику (графику ТО, оборудованию
+ * или установленной детали). Окно {@code activeFrom..activeUntil} задаёт дни, в которые предупреждение
+ * показывается; пустая граница означает «без ограничения».
+ */
+@Entity
+@Table(name = "club_warnings", indexes = {
+        @Index(name = "idx_club_warnings_club_active", columnList = "club_id, active_from"),
+        @Index(name = "idx_club_warnings_source", columnList = "source_type, source_id"),
+        @Index(name = "idx_club_warnings_active_until", columnList = "active_until")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClubWarning {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "warning_id")
+    private Long id;
+
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", length = 32, nullable = false)
+    private WarningSource sourceType;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "type", length = 64, nullable = false)
+    private String type;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "equipment_id")
+    private Long equipmentId;
+
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
+    @Column(name = "part_catalog_id")
+    private Long partCatalogId;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "active_from")
+    private LocalDate activeFrom;
+
+    @Column(name = "active_until")
+    private LocalDate activeUntil;
+}
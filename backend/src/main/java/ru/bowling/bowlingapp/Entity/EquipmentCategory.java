@@ -5,9 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.bowling.bowlingapp.Service.EquipmentCategoryChangeListener;
 
 @Entity
 @Table(name = "equipment_category")
+@EntityListeners(EquipmentCategoryChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -5,9 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.bowling.bowlingapp.Service.EquipmentComponentChangeListener;
 
 @Entity
 @Table(name = "equipment_components")
+@EntityListeners(EquipmentComponentChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
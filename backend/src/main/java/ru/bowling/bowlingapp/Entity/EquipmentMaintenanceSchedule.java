@@ -5,11 +5,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import ru.bowling.bowlingapp.Service.OwnerWarningChangeListener;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "equipment_maintenance_schedule")
+@Table(name = "equipment_maintenance_schedule", indexes = {
+        @Index(name = "idx_equipment_maintenance_schedule_scheduled_date", columnList = "scheduled_date, schedule_id")
+})
+@EntityListeners(OwnerWarningChangeListener.class)
 @Data
 @Builder
 @AllArgsConstructor
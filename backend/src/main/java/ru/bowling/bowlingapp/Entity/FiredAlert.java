@@ -0,0 +1,44 @@
+package ru.bowling.bowlingapp.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Уже отправленное оповещение о сроке: тип, строка-источник и срок, о котором оповестили.
+ * Перенос срока даёт новую запись, поэтому о новом сроке оповещают снова.
+ */
+@Entity
+@Table(name = "fired_alerts",
+        uniqueConstraints = @UniqueConstraint(name = "uq_fired_alerts_source_due",
+                columnNames = {"alert_type", "source_id", "due_at"}),
+        indexes = @Index(name = "idx_fired_alerts_due_at", columnList = "due_at"))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FiredAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "fired_alert_id")
+    private Long id;
+
+    @Column(name = "alert_type", length = 64, nullable = false)
+    private String alertType;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "fired_at", nullable = false)
+    private LocalDateTime firedAt;
+}
@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
 
 @Entity
-@Table(name = "maintenance_requests")
+@Table(name = "maintenance_requests", indexes = {
+        @Index(name = "idx_maintenance_requests_club_request", columnList = "club_id, request_id"),
+        @Index(name = "idx_maintenance_requests_mechanic_request", columnList = "mechanic_id, request_id"),
+        @Index(name = "idx_maintenance_requests_status_request", columnList = "status, request_id")
+})
 @Data
 @Builder
 @AllArgsConstructor
@@ -2,11 +2,13 @@ package ru.bowling.bowlingapp.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import ru.bowling.bowlingapp.Service.ClubAccessChangeListener;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "manager_profiles")
+@EntityListeners(ClubAccessChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
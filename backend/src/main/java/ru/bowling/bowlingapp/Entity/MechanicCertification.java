@@ -5,11 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.bowling.bowlingapp.Service.MechanicDirectoryChangeListener;
 
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "mechanic_certifications")
+@EntityListeners(MechanicDirectoryChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
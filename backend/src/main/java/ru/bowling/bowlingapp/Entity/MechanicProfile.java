@@ -3,6 +3,8 @@ package ru.bowling.bowlingapp.Entity;
 import jakarta.persistence.*;
 import lombok.*;
 import ru.bowling.bowlingapp.Entity.enums.MechanicGrade;
+import ru.bowling.bowlingapp.Service.ClubAccessChangeListener;
+import ru.bowling.bowlingapp.Service.MechanicDirectoryChangeListener;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -14,6 +16,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "mechanic_profiles")
+@EntityListeners({ClubAccessChangeListener.class, MechanicDirectoryChangeListener.class})
 public class MechanicProfile {
 
     @Id
@@ -0,0 +1,49 @@
+package ru.bowling.bowlingapp.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Отметка о прочтении уведомления пользователем. Отсутствие строки — не прочитано.
+ */
+@Entity
+@Table(name = "notification_reads", indexes = {
+        @Index(name = "idx_notification_reads_notification", columnList = "notification_id")
+})
+@IdClass(NotificationRead.Key.class)
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationRead {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "notification_id")
+    private Long notificationId;
+
+    @Column(name = "read_at", nullable = false)
+    private LocalDateTime readAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long notificationId;
+    }
+}
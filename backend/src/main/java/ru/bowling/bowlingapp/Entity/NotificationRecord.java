@@ -0,0 +1,71 @@
+package ru.bowling.bowlingapp.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.bowling.bowlingapp.DTO.NotificationEventType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Сохранённое уведомление. Идентификатор служит sequence ленты; аудитории хранятся строкой
+ * вида {@code ,ADMIN,MECHANIC,}, чтобы фильтр по роли был одним LIKE.
+ */
+@Entity
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_created_at", columnList = "created_at"),
+        @Index(name = "idx_notifications_club_id", columnList = "club_id, notification_id"),
+        @Index(name = "idx_notifications_mechanic_id", columnList = "mechanic_id, notification_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uq_notifications_event_id", columnNames = "event_id")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "notification_id")
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 64, nullable = false)
+    private NotificationEventType type;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Column(name = "work_log_id")
+    private Long workLogId;
+
+    @Column(name = "mechanic_id")
+    private Long mechanicId;
+
+    @Column(name = "club_id")
+    private Long clubId;
+
+    @Column(name = "part_ids", columnDefinition = "TEXT")
+    private String partIds;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "audiences", nullable = false)
+    private String audiences;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,37 @@
+package ru.bowling.bowlingapp.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Отметка, до которой данные уже переданы в 1С: ключ последней отправленной строки
+ * в порядке (updated_at, id). Одна запись на направление синхронизации.
+ */
+@Entity
+@Table(name = "onec_sync_watermarks")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OneCSyncWatermark {
+
+    @Id
+    @Column(name = "target", length = 64)
+    private String target;
+
+    @Column(name = "last_updated_at")
+    private LocalDateTime lastUpdatedAt;
+
+    @Column(name = "last_id")
+    private Long lastId;
+
+    @Column(name = "synced_at")
+    private LocalDateTime syncedAt;
+}
@@ -2,6 +2,7 @@ package ru.bowling.bowlingapp.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import ru.bowling.bowlingapp.Service.ClubAccessChangeListener;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,6 +15,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "club_owners")
+@EntityListeners(ClubAccessChangeListener.class)
 public class OwnerProfile {
 
     @EqualsAndHashCode.Include
@@ -5,9 +5,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import ru.bowling.bowlingapp.Service.OwnerWarningChangeListener;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "parts_catalog")
+@Table(name = "parts_catalog", indexes = {
+        @Index(name = "idx_parts_catalog_updated_at_id", columnList = "updated_at, catalog_id")
+})
+@EntityListeners(OwnerWarningChangeListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -49,4 +55,14 @@ public class PartsCatalog {
 
     @Column(name = "is_unique")
     private Boolean isUnique;
+
+    /** Время последнего изменения; по нему 1С получает только новые и изменённые позиции. */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void touchUpdatedAt() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "purchase_orders")
+@Table(name = "purchase_orders", indexes = {
+        @Index(name = "idx_purchase_orders_request_id", columnList = "request_id")
+})
 @Data
 @Builder
 @AllArgsConstructor
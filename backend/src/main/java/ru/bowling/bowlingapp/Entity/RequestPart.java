@@ -11,15 +11,20 @@ import java.time.LocalDateTime;
 import ru.bowling.bowlingapp.Entity.enums.PartStatus;
 
 @Entity
-@Table(name = "request_parts")
+@Table(name = "request_parts", indexes = {
+        @Index(name = "idx_request_parts_order_id", columnList = "order_id")
+})
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class RequestPart {
 
+    // Последовательность с шагом 50 вместо IDENTITY: позиции заявки вставляются JDBC-пакетом.
+    // На существующей базе начало последовательности выставляет V20 через SchemaScriptRunner.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_parts_seq")
+    @SequenceGenerator(name = "request_parts_seq", sequenceName = "request_parts_seq", allocationSize = 50)
     @Column(name = "part_id")
     private Long partId;
 
@@ -69,6 +74,10 @@ public class RequestPart {
     @Column(name = "accepted_quantity")
     private Integer acceptedQuantity;
 
+    /** Сколько единиц позиции склада {@code inventoryId} зарезервировано под эту строку и ещё не выдано. */
+    @Column(name = "reserved_quantity")
+    private Integer reservedQuantity;
+
     @Column(name = "acceptance_comment")
     private String acceptanceComment;
 
@@ -6,12 +6,17 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import ru.bowling.bowlingapp.Entity.enums.ServiceType;
+import ru.bowling.bowlingapp.Service.OwnerWarningChangeListener;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "service_history")
+@Table(name = "service_history", indexes = {
+        @Index(name = "idx_service_history_next_service_due", columnList = "next_service_due, service_id"),
+        @Index(name = "idx_service_history_warranty_until", columnList = "warranty_until, service_id")
+})
+@EntityListeners(OwnerWarningChangeListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -10,7 +10,9 @@ import ru.bowling.bowlingapp.Entity.enums.SupplierComplaintStatus;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "supplier_reviews")
+@Table(name = "supplier_reviews", indexes = {
+        @Index(name = "idx_supplier_reviews_order_complaint", columnList = "order_id, is_complaint")
+})
 @Data
 @Builder
 @AllArgsConstructor
@@ -54,6 +54,16 @@ public class TechnicalDocument {
     @Column(name = "file_data", columnDefinition = "BYTEA")
     private byte[] fileData;
 
+    /**
+     * Ключ содержимого во внешнем хранилище в виде {@code <схема>:<ключ>}.
+     * У документов, загруженных до его появления, пусто, и содержимое лежит в {@code fileData}.
+     */
+    @Column(name = "storage_key")
+    private String storageKey;
+
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
     @Column(name = "upload_date", nullable = false)
     private LocalDateTime uploadDate;
 
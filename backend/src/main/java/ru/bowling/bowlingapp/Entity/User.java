@@ -4,12 +4,15 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import ru.bowling.bowlingapp.Entity.AdministratorProfile;
+import ru.bowling.bowlingapp.Service.ClubAccessChangeListener;
+import ru.bowling.bowlingapp.Service.MechanicDirectoryChangeListener;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners({ClubAccessChangeListener.class, MechanicDirectoryChangeListener.class})
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(exclude = {"mechanicProfile", "ownerProfile", "managerProfile", "administratorProfile"})
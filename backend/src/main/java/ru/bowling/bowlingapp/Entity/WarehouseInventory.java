@@ -10,7 +10,11 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "warehouse_inventory")
+@Table(name = "warehouse_inventory", indexes = {
+        @Index(name = "idx_warehouse_inventory_warehouse_inventory", columnList = "warehouse_id, inventory_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uq_warehouse_inventory_warehouse_catalog", columnNames = {"warehouse_id", "catalog_id"})
+})
 @Getter
 @Setter
 @Builder
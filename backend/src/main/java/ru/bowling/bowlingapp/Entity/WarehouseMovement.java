@@ -0,0 +1,70 @@
+package ru.bowling.bowlingapp.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запись журнала складских движений. Журнал только дополняется: каждое изменение остатка позиции
+ * пишет строку в той же транзакции. {@code quantityAfter}/{@code reservedAfter} — остаток позиции сразу
+ * после движения, поэтому остаток на дату — последняя строка позиции до этой даты.
+ * <p>
+ * На PostgreSQL таблица секционирована по месяцам {@code occurred_at} ({@code WarehouseLedgerInitializer}).
+ */
+@Entity
+@Table(name = "warehouse_movement", indexes = {
+        @Index(name = "idx_warehouse_movement_warehouse_time", columnList = "warehouse_id, occurred_at, movement_id"),
+        @Index(name = "idx_warehouse_movement_position_time", columnList = "warehouse_id, catalog_id, occurred_at")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WarehouseMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "movement_id")
+    private Long movementId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Integer warehouseId;
+
+    @Column(name = "catalog_id")
+    private Integer catalogId;
+
+    @Column(name = "inventory_id")
+    private Long inventoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation_type", length = 32, nullable = false)
+    private WarehouseMovementType operationType;
+
+    @Column(name = "quantity_delta", nullable = false)
+    private Integer quantityDelta;
+
+    @Column(name = "reserved_delta", nullable = false)
+    private Integer reservedDelta;
+
+    @Column(name = "quantity_after")
+    private Integer quantityAfter;
+
+    @Column(name = "reserved_after")
+    private Integer reservedAfter;
+
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Column(name = "comment", columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -13,7 +13,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "work_logs")
+@Table(name = "work_logs", indexes = {
+        @Index(name = "idx_work_logs_club_created", columnList = "club_id, created_date"),
+        @Index(name = "idx_work_logs_mechanic_status", columnList = "mechanic_id, status"),
+        @Index(name = "idx_work_logs_status_created", columnList = "status, created_date"),
+        @Index(name = "idx_work_logs_club_log", columnList = "club_id, log_id"),
+        @Index(name = "idx_work_logs_mechanic_log", columnList = "mechanic_id, log_id")
+})
 @Data
 @Builder
 @AllArgsConstructor
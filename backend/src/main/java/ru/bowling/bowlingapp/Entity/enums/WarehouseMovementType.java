@@ -0,0 +1,13 @@
+package ru.bowling.bowlingapp.Entity.enums;
+
+public enum WarehouseMovementType {
+    OPENING,
+    MANUAL_RECEIPT,
+    DELIVERY,
+    PURCHASE_ACCEPTANCE,
+    RESERVE,
+    RELEASE,
+    ISSUE,
+    ONE_C_SYNC,
+    MERGE
+}
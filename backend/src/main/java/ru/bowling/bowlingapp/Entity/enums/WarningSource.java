@@ -0,0 +1,7 @@
+package ru.bowling.bowlingapp.Entity.enums;
+
+public enum WarningSource {
+    SCHEDULE,
+    EQUIPMENT,
+    SERVICE_PART
+}
@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.AttestationApplication;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +19,7 @@ public interface AttestationApplicationRepository extends JpaRepository<Attestat
     List<AttestationApplication> findByMechanicProfile_ProfileIdAndStatus(Long profileId, ru.bowling.bowlingapp.Entity.enums.AttestationStatus status);
 
     List<AttestationApplication> findByStatus(ru.bowling.bowlingapp.Entity.enums.AttestationStatus status);
+
+    List<AttestationApplication> findByStatusAndMechanicProfile_ProfileIdIn(ru.bowling.bowlingapp.Entity.enums.AttestationStatus status,
+                                                                            Collection<Long> profileIds);
 }
@@ -1,15 +1,25 @@
 package ru.bowling.bowlingapp.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.BowlingClub;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BowlingClubRepository extends JpaRepository<BowlingClub, Long> {
+public interface BowlingClubRepository extends JpaRepository<BowlingClub, Long>, JpaSpecificationExecutor<BowlingClub> {
     Optional<BowlingClub> findByNameIgnoreCaseAndAddressIgnoreCase(String name, String address);
 
     List<BowlingClub> findAllByOwnerOwnerId(Long ownerId);
+
+    @Query("select c.clubId from BowlingClub c order by c.clubId")
+    List<Long> findAllClubIds();
+
+    @Query("select c.clubId from BowlingClub c where c.clubId in :clubIds")
+    List<Long> findExistingClubIds(@Param("clubIds") Collection<Long> clubIds);
 }
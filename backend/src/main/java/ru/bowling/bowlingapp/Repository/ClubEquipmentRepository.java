@@ -1,5 +1,6 @@
 package ru.bowling.bowlingapp.Repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.ClubEquipment;
@@ -7,4 +8,7 @@ import ru.bowling.bowlingapp.Entity.ClubEquipment;
 @Repository
 public interface ClubEquipmentRepository extends JpaRepository<ClubEquipment, Long> {
     java.util.List<ClubEquipment> findByClubClubId(Long clubId);
+
+    @EntityGraph(attributePaths = {"equipmentType", "manufacturer"})
+    java.util.List<ClubEquipment> findWithDetailsByClubClubId(Long clubId);
 }
@@ -0,0 +1,35 @@
+package ru.bowling.bowlingapp.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.bowling.bowlingapp.Entity.ClubWarning;
+import ru.bowling.bowlingapp.Entity.enums.WarningSource;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ClubWarningRepository extends JpaRepository<ClubWarning, Long> {
+
+    @Query("""
+            select w from ClubWarning w
+            where w.clubId = :clubId
+              and (w.activeFrom is null or w.activeFrom <= :day)
+              and (w.activeUntil is null or w.activeUntil >= :day)
+            """)
+    List<ClubWarning> findActive(@Param("clubId") Long clubId, @Param("day") LocalDate day);
+
+    List<ClubWarning> findBySourceTypeAndSourceIdIn(WarningSource sourceType, Collection<Long> sourceIds);
+
+    @Modifying
+    @Query("delete from ClubWarning w where w.clubId = :clubId")
+    int deleteByClub(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("delete from ClubWarning w where w.activeUntil < :day")
+    int deleteExpired(@Param("day") LocalDate day);
+}
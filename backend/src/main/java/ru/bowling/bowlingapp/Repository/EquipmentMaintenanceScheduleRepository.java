@@ -1,15 +1,36 @@
 package ru.bowling.bowlingapp.Repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.EquipmentMaintenanceSchedule;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface EquipmentMaintenanceScheduleRepository extends JpaRepository<EquipmentMaintenanceSchedule, Long> {
     List<EquipmentMaintenanceSchedule> findByClubClubId(Long clubId);
     List<EquipmentMaintenanceSchedule> findByEquipmentEquipmentId(Long equipmentId);
+    List<EquipmentMaintenanceSchedule> findByEquipmentEquipmentIdInOrderByScheduleId(Collection<Long> equipmentIds);
     List<EquipmentMaintenanceSchedule> findByScheduledDateBefore(LocalDate date);
+
+    /**
+     * Плановые работы с датой в окне ((afterDate, afterId), until] — диапазон индекса
+     * idx_equipment_maintenance_schedule_scheduled_date.
+     */
+    @Query("""
+            select s from EquipmentMaintenanceSchedule s
+            left join fetch s.equipment
+            where (s.scheduledDate > :afterDate or (s.scheduledDate = :afterDate and s.scheduleId > :afterId))
+              and s.scheduledDate <= :until
+            order by s.scheduledDate, s.scheduleId
+            """)
+    List<EquipmentMaintenanceSchedule> findScheduledWindow(@Param("afterDate") LocalDate afterDate,
+                                                           @Param("afterId") Long afterId,
+                                                           @Param("until") LocalDate until,
+                                                           Pageable pageable);
 }
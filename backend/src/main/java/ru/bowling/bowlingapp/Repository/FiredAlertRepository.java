@@ -0,0 +1,25 @@
+package ru.bowling.bowlingapp.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.bowling.bowlingapp.Entity.FiredAlert;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FiredAlertRepository extends JpaRepository<FiredAlert, Long> {
+
+    List<FiredAlert> findByAlertTypeAndSourceIdIn(String alertType, Collection<Long> sourceIds);
+
+    /**
+     * Срок прошёл — запись больше не нужна для отсева повторов: окно оповещений начинается с «сейчас».
+     */
+    @Modifying
+    @Query("delete from FiredAlert f where f.dueAt < :before")
+    int deleteDueBefore(@Param("before") LocalDateTime before);
+}
@@ -1,6 +1,7 @@
 package ru.bowling.bowlingapp.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.MaintenanceRequest;
 import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
@@ -8,7 +9,7 @@ import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
 import java.util.List;
 
 @Repository
-public interface MaintenanceRequestRepository extends JpaRepository<MaintenanceRequest, Long> {
+public interface MaintenanceRequestRepository extends JpaRepository<MaintenanceRequest, Long>, JpaSpecificationExecutor<MaintenanceRequest> {
 
 	List<MaintenanceRequest> findByStatus(MaintenanceRequestStatus status);
 	
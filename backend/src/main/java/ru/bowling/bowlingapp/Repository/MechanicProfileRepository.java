@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.bowling.bowlingapp.Entity.MechanicProfile;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,42 @@ public interface MechanicProfileRepository extends JpaRepository<MechanicProfile
             """)
     List<MechanicProfile> findAllWithUserAndClubs();
 
+    @Query("SELECT mp.profileId FROM MechanicProfile mp")
+    List<Long> findAllProfileIds();
+
+    @Query("SELECT DISTINCT mp.profileId FROM MechanicProfile mp JOIN mp.clubs c WHERE c.clubId IN :clubIds")
+    List<Long> findProfileIdsByClubIds(@Param("clubIds") Collection<Long> clubIds);
+
+    @Query("""
+            SELECT DISTINCT mp
+            FROM MechanicProfile mp
+            LEFT JOIN FETCH mp.user u
+            LEFT JOIN FETCH u.accountType
+            LEFT JOIN FETCH mp.clubs c
+            WHERE mp.profileId IN :profileIds
+            """)
+    List<MechanicProfile> findAllWithUserAndClubsByIds(@Param("profileIds") Collection<Long> profileIds);
+
+    /**
+     * Догружает сертификаты уже загруженных профилей; отдельным запросом, чтобы не выбирать
+     * две коллекции-bag одним JOIN FETCH.
+     */
+    @Query("""
+            SELECT DISTINCT mp
+            FROM MechanicProfile mp
+            LEFT JOIN FETCH mp.certifications cert
+            WHERE mp.profileId IN :profileIds
+            """)
+    List<MechanicProfile> fetchCertificationsByIds(@Param("profileIds") Collection<Long> profileIds);
+
+    @Query("""
+            SELECT DISTINCT mp
+            FROM MechanicProfile mp
+            LEFT JOIN FETCH mp.workHistoryEntries history
+            WHERE mp.profileId IN :profileIds
+            """)
+    List<MechanicProfile> fetchWorkHistoryByIds(@Param("profileIds") Collection<Long> profileIds);
+
     @Query("""
             SELECT mp
             FROM MechanicProfile mp
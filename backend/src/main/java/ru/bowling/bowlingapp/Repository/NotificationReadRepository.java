@@ -0,0 +1,30 @@
+package ru.bowling.bowlingapp.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.bowling.bowlingapp.Entity.NotificationRead;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationReadRepository extends JpaRepository<NotificationRead, NotificationRead.Key> {
+
+    @Query("""
+            select r.notificationId from NotificationRead r
+            where r.userId = :userId and r.notificationId in :notificationIds
+            """)
+    List<Long> findReadNotificationIds(@Param("userId") Long userId,
+                                       @Param("notificationIds") Collection<Long> notificationIds);
+
+    @Modifying
+    @Query("""
+            delete from NotificationRead r
+            where r.notificationId in (select n.id from NotificationRecord n where n.createdAt < :cutoff)
+            """)
+    int deleteForNotificationsCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,76 @@
+package ru.bowling.bowlingapp.Repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.bowling.bowlingapp.Entity.NotificationRecord;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface NotificationRecordRepository extends JpaRepository<NotificationRecord, Long> {
+
+    Optional<NotificationRecord> findByEventId(UUID eventId);
+
+    /**
+     * @param audience шаблон вида {@code %,ADMIN,%}
+     */
+    @Query("""
+            select n from NotificationRecord n
+            where n.audiences like :audience
+              and n.id > :after
+            order by n.id asc
+            """)
+    List<NotificationRecord> findForAudienceAfter(@Param("audience") String audience,
+                                                  @Param("after") long after,
+                                                  Pageable pageable);
+
+    @Query("""
+            select n from NotificationRecord n
+            where n.audiences like :audience
+              and (n.clubId is null or n.clubId in :clubIds)
+              and (n.mechanicId is null or n.mechanicId = :mechanicId)
+              and n.id > :after
+            order by n.id asc
+            """)
+    List<NotificationRecord> findForUserAfter(@Param("audience") String audience,
+                                              @Param("clubIds") Collection<Long> clubIds,
+                                              @Param("mechanicId") Long mechanicId,
+                                              @Param("after") long after,
+                                              Pageable pageable);
+
+    @Query("""
+            select n from NotificationRecord n
+            where n.audiences like :audience
+            order by n.id desc
+            """)
+    List<NotificationRecord> findLatestForAudience(@Param("audience") String audience, Pageable pageable);
+
+    @Query("""
+            select n from NotificationRecord n
+            where n.audiences like :audience
+              and (n.clubId is null or n.clubId in :clubIds)
+              and (n.mechanicId is null or n.mechanicId = :mechanicId)
+            order by n.id desc
+            """)
+    List<NotificationRecord> findLatestForUser(@Param("audience") String audience,
+                                               @Param("clubIds") Collection<Long> clubIds,
+                                               @Param("mechanicId") Long mechanicId,
+                                               Pageable pageable);
+
+    List<NotificationRecord> findByCreatedAtAfterOrderByIdDesc(LocalDateTime createdAfter, Pageable pageable);
+
+    @Query("select n.id from NotificationRecord n where n.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from NotificationRecord n where n.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
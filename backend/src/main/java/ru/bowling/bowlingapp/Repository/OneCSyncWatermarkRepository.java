@@ -0,0 +1,9 @@
+package ru.bowling.bowlingapp.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ru.bowling.bowlingapp.Entity.OneCSyncWatermark;
+
+@Repository
+public interface OneCSyncWatermarkRepository extends JpaRepository<OneCSyncWatermark, String> {
+}
@@ -4,9 +4,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.PartImage;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PartImageRepository extends JpaRepository<PartImage, Long> {
     Optional<PartImage> findFirstByCatalogId(Long catalogId);
+
+    List<PartImage> findByCatalogIdInOrderByImageIdAsc(Collection<Long> catalogIds);
 }
@@ -3,18 +3,57 @@ package ru.bowling.bowlingapp.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Repository.projection.CatalogExportProjection;
+import ru.bowling.bowlingapp.Repository.projection.CatalogNumberProjection;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PartsCatalogRepository extends JpaRepository<PartsCatalog, Long> {
+public interface PartsCatalogRepository extends JpaRepository<PartsCatalog, Long>, PartsCatalogSearchRepository {
 
 	Optional<PartsCatalog> findByCatalogNumber(String catalogNumber);
+
+	@Query("select p.catalogId as catalogId, p.catalogNumber as catalogNumber from PartsCatalog p where p.catalogNumber in :numbers")
+	List<CatalogNumberProjection> findIdsByCatalogNumberIn(@Param("numbers") Collection<String> numbers);
+
+	@Query("""
+			select p.catalogId as catalogId, p.catalogNumber as catalogNumber, p.officialNameRu as officialNameRu,
+			       p.officialNameEn as officialNameEn, p.description as description, p.updatedAt as updatedAt
+			from PartsCatalog p
+			where p.updatedAt is not null
+			order by p.updatedAt, p.catalogId
+			""")
+	List<CatalogExportProjection> findExportBatch(Pageable pageable);
+
+	/**
+	 * Следующая порция после ключа (updatedAt, catalogId) последней отправленной строки.
+	 */
+	@Query("""
+			select p.catalogId as catalogId, p.catalogNumber as catalogNumber, p.officialNameRu as officialNameRu,
+			       p.officialNameEn as officialNameEn, p.description as description, p.updatedAt as updatedAt
+			from PartsCatalog p
+			where p.updatedAt > :afterUpdatedAt
+			   or (p.updatedAt = :afterUpdatedAt and p.catalogId > :afterId)
+			order by p.updatedAt, p.catalogId
+			""")
+	List<CatalogExportProjection> findExportBatchAfter(@Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+	                                                   @Param("afterId") Long afterId,
+	                                                   Pageable pageable);
+
+	/**
+	 * Строки, созданные в обход JPA (миграции, ручной SQL), получают отметку времени и попадают в выгрузку.
+	 */
+	@Modifying
+	@Query("update PartsCatalog p set p.updatedAt = :now where p.updatedAt is null")
+	int touchMissingUpdatedAt(@Param("now") LocalDateTime now);
 	
 	List<PartsCatalog> findByIsUniqueTrue();
 	
@@ -29,12 +68,7 @@ public interface PartsCatalogRepository extends JpaRepository<PartsCatalog, Long
         @Query(value = """
                         select p.* from parts_catalog p
                         left join manufacturer m on m.manufacturer_id = p.manufacturer_id
-                        where (:q is null or
-                                       p.official_name_ru::text ilike concat('%', cast(:q as text), '%') or
-                                       p.official_name_en::text ilike concat('%', cast(:q as text), '%') or
-                                       p.common_name::text ilike concat('%', cast(:q as text), '%') or
-                                       p.catalog_number::text ilike concat('%', cast(:q as text), '%'))
-                          and (:manufacturerId is null or m.manufacturer_id = :manufacturerId)
+                        where (:manufacturerId is null or m.manufacturer_id = :manufacturerId)
                           and (:isUnique is null or p.is_unique = :isUnique)
                           and (
                                 cardinality(coalesce(cast(:categoryCodes as varchar[]), ARRAY[]::varchar[])) = 0
@@ -44,12 +78,7 @@ public interface PartsCatalogRepository extends JpaRepository<PartsCatalog, Long
                         countQuery = """
                         select count(*) from parts_catalog p
                         left join manufacturer m on m.manufacturer_id = p.manufacturer_id
-                        where (:q is null or
-                                       p.official_name_ru::text ilike concat('%', cast(:q as text), '%') or
-                                       p.official_name_en::text ilike concat('%', cast(:q as text), '%') or
-                                       p.common_name::text ilike concat('%', cast(:q as text), '%') or
-                                       p.catalog_number::text ilike concat('%', cast(:q as text), '%'))
-                          and (:manufacturerId is null or m.manufacturer_id = :manufacturerId)
+                        where (:manufacturerId is null or m.manufacturer_id = :manufacturerId)
                           and (:isUnique is null or p.is_unique = :isUnique)
                           and (
                                 cardinality(coalesce(cast(:categoryCodes as varchar[]), ARRAY[]::varchar[])) = 0
@@ -57,22 +86,13 @@ public interface PartsCatalogRepository extends JpaRepository<PartsCatalog, Long
                           )
                         """,
                         nativeQuery = true)
-        Page<PartsCatalog> search(
-                @Param("q") String q,
+        Page<PartsCatalog> browse(
                 @Param("manufacturerId") Integer manufacturerId,
                 @Param("isUnique") Boolean isUnique,
                 @Param("categoryCodes") String[] categoryCodes,
                 Pageable pageable
         );
 
-        @Query("select p from PartsCatalog p left join p.manufacturer m " +
-                        "where lower(p.officialNameRu) like lower(concat('%', :query, '%')) " +
-                        "or lower(p.officialNameEn) like lower(concat('%', :query, '%')) " +
-                        "or lower(p.commonName) like lower(concat('%', :query, '%')) " +
-                        "or lower(p.catalogNumber) like lower(concat('%', :query, '%')) " +
-                        "or lower(p.description) like lower(concat('%', :query, '%'))")
-        List<PartsCatalog> searchByNameOrNumberOrDescription(@Param("query") String query);
-
         @Query("select p from PartsCatalog p " +
                         "where lower(p.commonName) like lower(:name) " +
                         "or lower(p.officialNameRu) like lower(:name) " +
@@ -0,0 +1,66 @@
+package ru.bowling.bowlingapp.Repository;
+
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ранжированный поиск по каталогу запчастей с keyset-пагинацией.
+ * На PostgreSQL использует колонку {@code search_vector} и trigram-индексы (V16, применяет SchemaScriptRunner),
+ * на остальных БД — переносимый запрос с тем же порядком выдачи.
+ */
+public interface PartsCatalogSearchRepository {
+
+    List<RankedPart> searchRanked(SearchParams params);
+
+    /**
+     * @param text           поисковая строка; {@code null} — без текстового условия, порядок по catalog_id
+     * @param catalogNumber  дополнительный фильтр по вхождению в каталожный номер
+     * @param categoryCodes  коды категорий в нижнем регистре; пусто — без фильтра
+     * @param afterScore     оценка последней строки предыдущей страницы
+     * @param afterCatalogId catalog_id последней строки предыдущей страницы
+     * @param offset         смещение для клиентов, ещё не перешедших на курсоры
+     * @param warehouseIds   только позиции, у которых есть строка остатка на одном из складов; {@code null} — без фильтра
+     * @param categoryPrefix префикс кода категории (без учёта регистра); {@code null} — без фильтра
+     */
+    record SearchParams(String text,
+                        String catalogNumber,
+                        Integer manufacturerId,
+                        Boolean isUnique,
+                        List<String> categoryCodes,
+                        Integer afterScore,
+                        Long afterCatalogId,
+                        int offset,
+                        int limit,
+                        Collection<Integer> warehouseIds,
+                        String categoryPrefix) {
+
+        public SearchParams(String text, String catalogNumber, Integer manufacturerId, Boolean isUnique,
+                            List<String> categoryCodes, Integer afterScore, Long afterCatalogId, int offset, int limit) {
+            this(text, catalogNumber, manufacturerId, isUnique, categoryCodes, afterScore, afterCatalogId, offset, limit,
+                    null, null);
+        }
+
+        public static SearchParams text(String text, int limit) {
+            return new SearchParams(text, null, null, null, List.of(), null, null, 0, limit);
+        }
+
+        public SearchParams inWarehouses(Collection<Integer> ids) {
+            return new SearchParams(text, catalogNumber, manufacturerId, isUnique, categoryCodes, afterScore,
+                    afterCatalogId, offset, limit, ids, categoryPrefix);
+        }
+
+        public SearchParams withCategoryPrefix(String prefix) {
+            return new SearchParams(text, catalogNumber, manufacturerId, isUnique, categoryCodes, afterScore,
+                    afterCatalogId, offset, limit, warehouseIds, prefix);
+        }
+
+        public boolean hasCursor() {
+            return afterScore != null && afterCatalogId != null;
+        }
+    }
+
+    record RankedPart(PartsCatalog part, int score) {
+    }
+}
@@ -0,0 +1,392 @@
+package ru.bowling.bowlingapp.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class PartsCatalogSearchRepositoryImpl implements PartsCatalogSearchRepository {
+
+    private static final int EXACT_NUMBER_SCORE = 3000;
+    private static final int NUMBER_PREFIX_SCORE = 2000;
+    private static final int NAME_MATCH_SCORE = 100;
+    private static final int DESCRIPTION_MATCH_SCORE = 10;
+    private static final char LIKE_ESCAPE = '\\';
+
+    private static final String TS_QUERY = "(to_tsquery('russian', :tsQuery) || to_tsquery('english', :tsQuery)"
+            + " || to_tsquery('simple', :tsQuery))";
+
+    private static final long FULL_TEXT_RECHECK_MILLIS = 60_000L;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.parts-search.full-text-enabled:true}")
+    private boolean fullTextEnabled;
+
+    /**
+     * Сколько подходящих позиций ранжируется и сортируется за один запрос; страницы берутся из них.
+     */
+    @Value("${app.parts-search.max-ranked-candidates:2000}")
+    private int maxRankedCandidates;
+
+    // Запоминается только найденная колонка: V16 может примениться уже после первого поиска.
+    private volatile boolean fullTextAvailable;
+    private volatile long fullTextCheckedAt;
+
+    @Override
+    public List<RankedPart> searchRanked(SearchParams params) {
+        if (params == null || params.limit() <= 0) {
+            return List.of();
+        }
+        String text = params.text() != null && !params.text().isBlank()
+                ? params.text().trim().toLowerCase(Locale.ROOT)
+                : null;
+
+        List<Object[]> rows = isFullTextAvailable()
+                ? searchFullText(params, text)
+                : searchPortable(params, text);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> scores = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            scores.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+        Map<Long, PartsCatalog> parts = entityManager.createQuery(
+                        "select p from PartsCatalog p left join fetch p.manufacturer where p.catalogId in :ids",
+                        PartsCatalog.class)
+                .setParameter("ids", scores.keySet())
+                .getResultStream()
+                .collect(Collectors.toMap(PartsCatalog::getCatalogId, part -> part));
+
+        List<RankedPart> result = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> {
+            PartsCatalog part = parts.get(id);
+            if (part != null) {
+                result.add(new RankedPart(part, score));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * PostgreSQL: совпадение по tsvector или подстроке тех же полей, что и в переносимом варианте (ускоряется
+     * pg_trgm), ранжирование ts_rank_cd поверх приоритета точного и префиксного совпадения каталожного номера.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> searchFullText(SearchParams params, String text) {
+        Map<String, Object> bindings = new HashMap<>();
+        List<String> conditions = new ArrayList<>();
+        String score = "0";
+
+        if (text != null) {
+            String tsQuery = toPrefixTsQuery(text);
+            bindings.put("exact", text);
+            bindings.put("prefix", escapeLike(text) + "%");
+            bindings.put("contains", "%" + escapeLike(text) + "%");
+
+            StringBuilder scoreSql = new StringBuilder()
+                    .append("(case when lower(p.catalog_number) = :exact then ").append(EXACT_NUMBER_SCORE)
+                    .append(" when lower(p.catalog_number) like :prefix escape '\\' then ").append(NUMBER_PREFIX_SCORE)
+                    .append(" else 0 end")
+                    .append(" + case when lower(p.official_name_ru) like :contains escape '\\'")
+                    .append(" or lower(p.official_name_en) like :contains escape '\\'")
+                    .append(" or lower(p.common_name) like :contains escape '\\' then ").append(NAME_MATCH_SCORE)
+                    .append(" else 0 end")
+                    .append(" + case when lower(p.description) like :contains escape '\\' then ")
+                    .append(DESCRIPTION_MATCH_SCORE).append(" else 0 end");
+            StringBuilder match = new StringBuilder()
+                    .append("(lower(p.catalog_number) like :contains escape '\\'")
+                    .append(" or lower(p.official_name_ru) like :contains escape '\\'")
+                    .append(" or lower(p.official_name_en) like :contains escape '\\'")
+                    .append(" or lower(p.common_name) like :contains escape '\\'")
+                    .append(" or lower(p.description) like :contains escape '\\'");
+            if (tsQuery != null) {
+                bindings.put("tsQuery", tsQuery);
+                scoreSql.append(" + cast(round(ts_rank_cd(p.search_vector, ").append(TS_QUERY)
+                        .append(", 32) * 1000) as integer)");
+                match.append(" or p.search_vector @@ ").append(TS_QUERY);
+            }
+            score = scoreSql.append(")").toString();
+            conditions.add(match.append(")").toString());
+        }
+        if (params.catalogNumber() != null && !params.catalogNumber().isBlank()) {
+            bindings.put("catalogNumber", "%" + escapeLike(params.catalogNumber().trim().toLowerCase(Locale.ROOT)) + "%");
+            conditions.add("lower(p.catalog_number) like :catalogNumber escape '\\'");
+        }
+        if (params.manufacturerId() != null) {
+            bindings.put("manufacturerId", params.manufacturerId());
+            conditions.add("p.manufacturer_id = :manufacturerId");
+        }
+        if (params.isUnique() != null) {
+            bindings.put("isUnique", params.isUnique());
+            conditions.add("p.is_unique = :isUnique");
+        }
+        if (params.categoryCodes() != null && !params.categoryCodes().isEmpty()) {
+            bindings.put("categoryCodes", params.categoryCodes());
+            conditions.add("lower(trim(p.category_code)) in (:categoryCodes)");
+        }
+        if (params.categoryPrefix() != null) {
+            bindings.put("categoryPrefix", escapeLike(params.categoryPrefix().trim().toLowerCase(Locale.ROOT)) + "%");
+            conditions.add("lower(trim(p.category_code)) like :categoryPrefix escape '\\'");
+        }
+        if (params.warehouseIds() != null) {
+            if (params.warehouseIds().isEmpty()) {
+                return List.of();
+            }
+            bindings.put("warehouseIds", params.warehouseIds());
+            conditions.add("exists (select 1 from warehouse_inventory w"
+                    + " where w.catalog_id = p.catalog_id and w.warehouse_id in (:warehouseIds))");
+        }
+
+        // Оценка считается только для ограниченного набора кандидатов: страница не ранжирует весь каталог.
+        if (text == null && params.hasCursor()) {
+            // Без текста оценка у всех одна, порядок — catalog_id: кандидаты начинаются сразу за курсором.
+            conditions.add("p.catalog_id > :afterCatalogId");
+            bindings.put("afterCatalogId", params.afterCatalogId());
+        }
+        bindings.put("candidates", candidateLimit(params));
+        StringBuilder sql = new StringBuilder("select s.catalog_id, s.score from (select p.catalog_id as catalog_id, ")
+                .append(score).append(" as score from (select * from parts_catalog p");
+        if (!conditions.isEmpty()) {
+            sql.append(" where ").append(String.join(" and ", conditions));
+        }
+        sql.append(" order by p.catalog_id limit :candidates) p) s");
+        if (params.hasCursor()) {
+            bindings.put("afterScore", params.afterScore());
+            bindings.put("afterCatalogId", params.afterCatalogId());
+            sql.append(" where (s.score < :afterScore or (s.score = :afterScore and s.catalog_id > :afterCatalogId))");
+        }
+        sql.append(" order by s.score desc, s.catalog_id asc");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        bindings.forEach(query::setParameter);
+        if (!params.hasCursor() && params.offset() > 0) {
+            query.setFirstResult(params.offset());
+        }
+        return query.setMaxResults(params.limit()).getResultList();
+    }
+
+    /**
+     * Переносимый вариант (H2 в тестах, БД, где скрипт V16 не применился): те же поля и уровни оценки без
+     * полнотекстового ранга. Сначала отбираются кандидаты, затем ранжируются только они.
+     */
+    private List<Object[]> searchPortable(SearchParams params, String text) {
+        List<Long> candidates = portableCandidates(params, text);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<PartsCatalog> part = cq.from(PartsCatalog.class);
+        Expression<Long> catalogId = part.get("catalogId");
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(catalogId.in(candidates));
+        Expression<Integer> score;
+
+        if (text != null) {
+            String prefix = escapeLike(text) + "%";
+            String contains = "%" + escapeLike(text) + "%";
+            Expression<String> number = cb.lower(part.<String>get("catalogNumber"));
+            Expression<Integer> numberScore = cb.<Integer>selectCase()
+                    .when(cb.equal(number, text), EXACT_NUMBER_SCORE)
+                    .when(cb.like(number, prefix, LIKE_ESCAPE), NUMBER_PREFIX_SCORE)
+                    .otherwise(0);
+            Expression<Integer> nameScore = cb.<Integer>selectCase()
+                    .when(nameMatch(cb, part, contains), NAME_MATCH_SCORE)
+                    .otherwise(0);
+            Expression<Integer> descriptionScore = cb.<Integer>selectCase()
+                    .when(descriptionMatch(cb, part, contains), DESCRIPTION_MATCH_SCORE)
+                    .otherwise(0);
+            score = cb.sum(cb.sum(numberScore, nameScore), descriptionScore);
+        } else {
+            score = null;
+        }
+        if (params.hasCursor()) {
+            predicates.add(score != null
+                    ? cb.or(
+                            cb.lessThan(score, params.afterScore()),
+                            cb.and(cb.equal(score, params.afterScore()), cb.greaterThan(catalogId, params.afterCatalogId())))
+                    : cb.greaterThan(catalogId, params.afterCatalogId()));
+        }
+
+        if (score != null) {
+            cq.multiselect(catalogId, score);
+        } else {
+            cq.multiselect(catalogId);
+        }
+        cq.where(predicates.toArray(Predicate[]::new));
+        cq.orderBy(score != null
+                ? List.of(cb.desc(score), cb.asc(catalogId))
+                : List.of(cb.asc(catalogId)));
+
+        boolean ranked = score != null;
+        TypedQuery<Tuple> query = entityManager.createQuery(cq);
+        if (!params.hasCursor() && params.offset() > 0) {
+            query.setFirstResult(params.offset());
+        }
+        return query.setMaxResults(params.limit())
+                .getResultList()
+                .stream()
+                .map(tuple -> new Object[]{tuple.get(0), ranked ? tuple.get(1) : 0})
+                .toList();
+    }
+
+    /**
+     * Не больше {@link #candidateLimit} подходящих позиций в порядке catalog_id.
+     */
+    private List<Long> portableCandidates(SearchParams params, String text) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<PartsCatalog> part = cq.from(PartsCatalog.class);
+        Expression<Long> catalogId = part.get("catalogId");
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (text != null) {
+            String contains = "%" + escapeLike(text) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(part.<String>get("catalogNumber")), contains, LIKE_ESCAPE),
+                    nameMatch(cb, part, contains),
+                    descriptionMatch(cb, part, contains)));
+        }
+        if (params.catalogNumber() != null && !params.catalogNumber().isBlank()) {
+            predicates.add(cb.like(cb.lower(part.<String>get("catalogNumber")),
+                    "%" + escapeLike(params.catalogNumber().trim().toLowerCase(Locale.ROOT)) + "%", LIKE_ESCAPE));
+        }
+        if (params.manufacturerId() != null) {
+            predicates.add(cb.equal(part.get("manufacturer").get("manufacturerId"), params.manufacturerId()));
+        }
+        if (params.isUnique() != null) {
+            predicates.add(cb.equal(part.get("isUnique"), params.isUnique()));
+        }
+        if (params.categoryCodes() != null && !params.categoryCodes().isEmpty()) {
+            predicates.add(cb.lower(cb.trim(part.<String>get("categoryCode"))).in(params.categoryCodes()));
+        }
+        if (params.categoryPrefix() != null) {
+            predicates.add(cb.like(cb.lower(cb.trim(part.<String>get("categoryCode"))),
+                    escapeLike(params.categoryPrefix().trim().toLowerCase(Locale.ROOT)) + "%", LIKE_ESCAPE));
+        }
+        if (text == null && params.hasCursor()) {
+            predicates.add(cb.greaterThan(catalogId, params.afterCatalogId()));
+        }
+        if (params.warehouseIds() != null) {
+            if (params.warehouseIds().isEmpty()) {
+                return List.of();
+            }
+            Subquery<Long> stocked = cq.subquery(Long.class);
+            Root<WarehouseInventory> inventory = stocked.from(WarehouseInventory.class);
+            stocked.select(inventory.get("inventoryId"))
+                    .where(cb.equal(inventory.get("catalogId").as(Long.class), catalogId),
+                            inventory.get("warehouseId").in(params.warehouseIds()));
+            predicates.add(cb.exists(stocked));
+        }
+
+        cq.select(catalogId)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(catalogId));
+        return entityManager.createQuery(cq)
+                .setMaxResults(candidateLimit(params))
+                .getResultList();
+    }
+
+    /**
+     * Страница по смещению должна целиком помещаться в набор кандидатов.
+     */
+    private int candidateLimit(SearchParams params) {
+        return params.hasCursor()
+                ? maxRankedCandidates
+                : Math.max(maxRankedCandidates, params.offset() + params.limit());
+    }
+
+    private static Predicate nameMatch(CriteriaBuilder cb, Root<PartsCatalog> part, String contains) {
+        return cb.or(
+                cb.like(cb.lower(part.<String>get("officialNameRu")), contains, LIKE_ESCAPE),
+                cb.like(cb.lower(part.<String>get("officialNameEn")), contains, LIKE_ESCAPE),
+                cb.like(cb.lower(part.<String>get("commonName")), contains, LIKE_ESCAPE));
+    }
+
+    private static Predicate descriptionMatch(CriteriaBuilder cb, Root<PartsCatalog> part, String contains) {
+        return cb.like(cb.lower(part.<String>get("description")), contains, LIKE_ESCAPE);
+    }
+
+    private boolean isFullTextAvailable() {
+        if (!fullTextEnabled) {
+            return false;
+        }
+        if (fullTextAvailable) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (fullTextCheckedAt != 0 && now - fullTextCheckedAt < FULL_TEXT_RECHECK_MILLIS) {
+            return false;
+        }
+        boolean firstCheck = fullTextCheckedAt == 0;
+        fullTextCheckedAt = now;
+        fullTextAvailable = detectFullTextColumn(firstCheck);
+        return fullTextAvailable;
+    }
+
+    private boolean detectFullTextColumn(boolean logUnavailable) {
+        try {
+            Number columns = (Number) entityManager.createNativeQuery(
+                            "select count(*) from information_schema.columns "
+                                    + "where table_name = 'parts_catalog' and column_name = 'search_vector'")
+                    .getSingleResult();
+            boolean available = columns.intValue() > 0;
+            if (available) {
+                log.info("Parts catalog full-text search enabled");
+            } else if (logUnavailable) {
+                log.info("Parts catalog full-text search unavailable, using portable search");
+            }
+            return available;
+        } catch (RuntimeException ex) {
+            log.warn("Failed to detect parts catalog search_vector column: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Каждое слово запроса превращается в префиксную лексему: «ремн прив» → {@code ремн:* & прив:*}.
+     */
+    static String toPrefixTsQuery(String text) {
+        String joined = Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isBlank())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        return joined.isEmpty() ? null : joined;
+    }
+
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
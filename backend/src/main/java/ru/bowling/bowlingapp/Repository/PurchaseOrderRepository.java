@@ -1,16 +1,74 @@
 package ru.bowling.bowlingapp.Repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.PurchaseOrder;
 import ru.bowling.bowlingapp.Entity.enums.PurchaseOrderStatus;
+import ru.bowling.bowlingapp.Repository.projection.PurchaseOrderSummaryProjection;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
-    List<PurchaseOrder> findByStatusIn(Collection<PurchaseOrderStatus> statuses);
 
-    List<PurchaseOrder> findByMaintenanceRequest_Club_ClubIdAndStatusIn(Long clubId, Collection<PurchaseOrderStatus> statuses);
+    /**
+     * Страница списка заказов от новых к старым по (order_date, order_id). Признаки отзыва и претензии —
+     * подзапросы EXISTS, количества позиций — коррелированные подсчёты; сущности заказа не загружаются.
+     * Курсор — (order_date, order_id) последней строки предыдущей страницы; {@code null} — первая страница.
+     */
+    @Query("""
+            select o.orderId as orderId,
+                   r.requestId as requestId,
+                   c.clubId as clubId,
+                   c.name as clubName,
+                   s.legalName as supplierName,
+                   s.inn as supplierInn,
+                   o.status as status,
+                   o.orderDate as orderDate,
+                   o.expectedDeliveryDate as expectedDeliveryDate,
+                   o.actualDeliveryDate as actualDeliveryDate,
+                   (select count(p) from RequestPart p where p.purchaseOrder = o) as totalPositions,
+                   (select count(p) from RequestPart p
+                    where p.purchaseOrder = o and p.acceptedQuantity > 0) as acceptedPositions,
+                   case when exists (select 1 from SupplierReview v
+                                     where v.purchaseOrder = o and (v.isComplaint is null or v.isComplaint = false))
+                        then true else false end as hasReview,
+                   case when exists (select 1 from SupplierReview v
+                                     where v.purchaseOrder = o and v.isComplaint = true)
+                        then true else false end as hasComplaint
+            from PurchaseOrder o
+            join o.maintenanceRequest r
+            left join r.club c
+            left join o.supplier s
+            where o.status in :statuses
+              and (:clubId is null or c.clubId = :clubId)
+              and (:hasComplaint is null
+                   or (:hasComplaint = true and exists (select 1 from SupplierReview v
+                                                       where v.purchaseOrder = o and v.isComplaint = true))
+                   or (:hasComplaint = false and not exists (select 1 from SupplierReview v
+                                                            where v.purchaseOrder = o and v.isComplaint = true)))
+              and (:hasReview is null
+                   or (:hasReview = true and exists (select 1 from SupplierReview v
+                                                    where v.purchaseOrder = o
+                                                      and (v.isComplaint is null or v.isComplaint = false)))
+                   or (:hasReview = false and not exists (select 1 from SupplierReview v
+                                                         where v.purchaseOrder = o
+                                                           and (v.isComplaint is null or v.isComplaint = false))))
+              and (:afterDate is null
+                   or o.orderDate < :afterDate
+                   or (o.orderDate = :afterDate and o.orderId < :afterId))
+            order by o.orderDate desc, o.orderId desc
+            """)
+    List<PurchaseOrderSummaryProjection> findSummaries(@Param("statuses") Collection<PurchaseOrderStatus> statuses,
+                                                       @Param("clubId") Long clubId,
+                                                       @Param("hasComplaint") Boolean hasComplaint,
+                                                       @Param("hasReview") Boolean hasReview,
+                                                       @Param("afterDate") LocalDateTime afterDate,
+                                                       @Param("afterId") Long afterId,
+                                                       Pageable pageable);
 }
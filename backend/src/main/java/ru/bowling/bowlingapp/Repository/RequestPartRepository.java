@@ -1,6 +1,8 @@
 package ru.bowling.bowlingapp.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.RequestPart;
 import ru.bowling.bowlingapp.Entity.enums.PartStatus;
@@ -20,4 +22,13 @@ public interface RequestPartRepository extends JpaRepository<RequestPart, Long>
 	List<RequestPart> findByRequestRequestIdAndStatus(Long requestId, PartStatus status);
 	
 	List<RequestPart> findByPartIdIn(Collection<Long> ids);
+
+	@Query("""
+			select p from RequestPart p
+			left join fetch p.purchaseOrder o
+			left join fetch o.supplier
+			where p.request.requestId in :requestIds
+			order by p.request.requestId, p.partId
+			""")
+	List<RequestPart> findWithSupplierByRequestIds(@Param("requestIds") Collection<Long> requestIds);
 }
@@ -5,6 +5,7 @@ import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.ServiceHistoryPart;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,6 +27,10 @@ public interface ServiceHistoryPartRepository extends JpaRepository<ServiceHisto
 
     List<ServiceHistoryPart> findByServiceHistoryClubClubId(Long clubId);
 
+    List<ServiceHistoryPart> findByServiceHistoryServiceIdIn(Collection<Long> serviceHistoryIds);
+
+    List<ServiceHistoryPart> findByPartsCatalogCatalogIdIn(Collection<Long> catalogIds);
+
     List<ServiceHistoryPart> findByServiceHistoryServiceIdAndCatalogNumber(Long serviceHistoryId, String catalogNumber);
     List<ServiceHistoryPart> findBySupplierIdAndWarrantyMonthsGreaterThan(Long supplierId, Integer months);
 
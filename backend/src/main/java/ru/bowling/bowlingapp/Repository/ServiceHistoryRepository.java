@@ -3,6 +3,8 @@ package ru.bowling.bowlingapp.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.ServiceHistory;
 import ru.bowling.bowlingapp.Entity.enums.ServiceType;
@@ -40,8 +42,39 @@ public interface ServiceHistoryRepository extends JpaRepository<ServiceHistory,
     List<ServiceHistory> findByWarrantyUntilIsNotNullOrderByWarrantyUntilAsc();
 
     List<ServiceHistory> findByNextServiceDueBeforeOrderByNextServiceDueAsc(LocalDateTime date);
+    List<ServiceHistory> findByNextServiceDueBeforeOrderByNextServiceDueAsc(LocalDateTime date, Pageable pageable);
     List<ServiceHistory> findByNextServiceDueIsNotNullOrderByNextServiceDueAsc();
 
+    /**
+     * Записи со сроком обслуживания в окне ((afterDue, afterId), until] в порядке (next_service_due, service_id) —
+     * диапазон индекса idx_service_history_next_service_due.
+     */
+    @Query("""
+            select s from ServiceHistory s
+            left join fetch s.equipment
+            where (s.nextServiceDue > :afterDue or (s.nextServiceDue = :afterDue and s.serviceId > :afterId))
+              and s.nextServiceDue <= :until
+            order by s.nextServiceDue, s.serviceId
+            """)
+    List<ServiceHistory> findServiceDueWindow(@Param("afterDue") LocalDateTime afterDue,
+                                              @Param("afterId") Long afterId,
+                                              @Param("until") LocalDateTime until,
+                                              Pageable pageable);
+
+    @Query("""
+            select s from ServiceHistory s
+            left join fetch s.equipment
+            where (s.warrantyUntil > :afterDue or (s.warrantyUntil = :afterDue and s.serviceId > :afterId))
+              and s.warrantyUntil <= :until
+            order by s.warrantyUntil, s.serviceId
+            """)
+    List<ServiceHistory> findWarrantyExpiryWindow(@Param("afterDue") LocalDateTime afterDue,
+                                                  @Param("afterId") Long afterId,
+                                                  @Param("until") LocalDateTime until,
+                                                  Pageable pageable);
+
+    List<ServiceHistory> findByWarrantyUntilAfterOrderByWarrantyUntilAsc(LocalDateTime currentDate, Pageable pageable);
+
     List<ServiceHistory> findByCreatedByOrderByServiceDateDesc(Long createdBy);
 
     List<ServiceHistory> findByClubClubIdAndServiceTypeOrderByServiceDateDesc(Long clubId, ServiceType serviceType);
@@ -25,7 +25,7 @@ public interface TechnicalDocumentRepository extends JpaRepository<TechnicalDocu
                    td.equipment_model AS equipmentModel,
                    td.language AS language,
                    td.file_name AS fileName,
-                   OCTET_LENGTH(td.file_data) AS fileSize,
+                   COALESCE(OCTET_LENGTH(td.file_data), td.file_size) AS fileSize,
                    td.upload_date AS uploadDate
             FROM technical_documents td
             JOIN bowling_clubs club ON club.club_id = td.club_id
@@ -48,7 +48,7 @@ public interface TechnicalDocumentRepository extends JpaRepository<TechnicalDocu
                    td.equipment_model AS equipmentModel,
                    td.language AS language,
                    td.file_name AS fileName,
-                   OCTET_LENGTH(td.file_data) AS fileSize,
+                   COALESCE(OCTET_LENGTH(td.file_data), td.file_size) AS fileSize,
                    td.upload_date AS uploadDate
             FROM technical_documents td
             JOIN bowling_clubs club ON club.club_id = td.club_id
@@ -65,10 +65,24 @@ public interface TechnicalDocumentRepository extends JpaRepository<TechnicalDocu
                    td.club_id AS clubId,
                    td.title AS title,
                    td.file_name AS fileName,
-                   td.file_data AS fileData,
-                   OCTET_LENGTH(td.file_data) AS fileSize
+                   td.storage_key AS storageKey,
+                   td.content_sha256 AS contentSha256,
+                   COALESCE(OCTET_LENGTH(td.file_data), td.file_size) AS fileSize
             FROM technical_documents td
             WHERE td.document_id = :documentId
             """, nativeQuery = true)
     Optional<KnowledgeBaseDocumentContent> findDocumentContentById(@Param("documentId") Long documentId);
+
+    /**
+     * Кусок содержимого документа, загруженного до выноса файлов во внешнее хранилище.
+     * {@code from} считается с единицы.
+     */
+    @Query(value = """
+            SELECT SUBSTRING(td.file_data FROM :from FOR :length)
+            FROM technical_documents td
+            WHERE td.document_id = :documentId
+            """, nativeQuery = true)
+    byte[] findLegacyContentChunk(@Param("documentId") Long documentId,
+                                  @Param("from") long from,
+                                  @Param("length") int length);
 }
@@ -1,24 +1,63 @@
 package ru.bowling.bowlingapp.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Repository.projection.StockLevelProjection;
 import ru.bowling.bowlingapp.Repository.projection.WarehouseAggregateProjection;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface WarehouseInventoryRepository extends JpaRepository<WarehouseInventory, Long> {
+public interface WarehouseInventoryRepository extends JpaRepository<WarehouseInventory, Long>, JpaSpecificationExecutor<WarehouseInventory> {
 
     List<WarehouseInventory> findByCatalogId(Integer catalogId);
 
+    List<WarehouseInventory> findByCatalogIdIn(Collection<Integer> catalogIds);
+
     List<WarehouseInventory> findByWarehouseId(Integer warehouseId);
 
     WarehouseInventory findFirstByWarehouseIdAndCatalogId(Integer warehouseId, Integer catalogId);
 
+    List<WarehouseInventory> findByWarehouseIdInAndCatalogIdIn(Collection<Integer> warehouseIds, Collection<Integer> catalogIds);
+
+    /**
+     * Позиции, несущие информацию: остаток, резерв, размещение или заметки. Нулевые заготовки
+     * плотного склада «каталог × клубы» сюда не попадают.
+     */
+    @Query("""
+            select w from WarehouseInventory w
+            where w.warehouseId in :warehouseIds
+              and (coalesce(w.quantity, 0) <> 0
+                   or coalesce(w.reservedQuantity, 0) <> 0
+                   or w.locationReference is not null
+                   or w.cellCode is not null
+                   or w.shelfCode is not null
+                   or w.laneNumber is not null
+                   or w.placementStatus is not null
+                   or w.notes is not null)
+            """)
+    List<WarehouseInventory> findStockedByWarehouseIdIn(@Param("warehouseIds") Collection<Integer> warehouseIds);
+
+    @Query("""
+            select w from WarehouseInventory w
+            where coalesce(w.quantity, 0) <> 0
+               or coalesce(w.reservedQuantity, 0) <> 0
+               or w.locationReference is not null
+               or w.cellCode is not null
+               or w.shelfCode is not null
+               or w.laneNumber is not null
+               or w.placementStatus is not null
+               or w.notes is not null
+            """)
+    List<WarehouseInventory> findAllStocked();
+
     List<WarehouseInventory> findByQuantityGreaterThan(Integer quantity);
     
     List<WarehouseInventory> findByCatalogIdAndQuantityGreaterThan(Integer catalogId, Integer quantity);
@@ -37,4 +76,74 @@ public interface WarehouseInventoryRepository extends JpaRepository<WarehouseInv
             """)
     List<WarehouseAggregateProjection> aggregateByWarehouseIds(@Param("warehouseIds") Collection<Integer> warehouseIds,
                                                                @Param("threshold") Integer threshold);
+
+    @Query("""
+            select w.inventoryId as inventoryId,
+                   w.warehouseId as warehouseId,
+                   w.catalogId as catalogId,
+                   coalesce(w.quantity, 0) as quantity,
+                   coalesce(w.reservedQuantity, 0) as reservedQuantity
+            from WarehouseInventory w
+            where w.catalogId in :catalogIds
+            """)
+    List<StockLevelProjection> findStockLevelsByCatalogIds(@Param("catalogIds") Collection<Integer> catalogIds);
+
+    /**
+     * Остаток одной позиции из базы, минуя контекст персистентности: после условных UPDATE
+     * загруженная сущность может быть устаревшей.
+     */
+    @Query("""
+            select w.inventoryId as inventoryId,
+                   w.warehouseId as warehouseId,
+                   w.catalogId as catalogId,
+                   coalesce(w.quantity, 0) as quantity,
+                   coalesce(w.reservedQuantity, 0) as reservedQuantity
+            from WarehouseInventory w
+            where w.inventoryId = :inventoryId
+            """)
+    Optional<StockLevelProjection> findStockLevelByInventoryId(@Param("inventoryId") Long inventoryId);
+
+    /**
+     * Резервирует {@code quantity} единиц, только если свободный остаток (quantity - reserved_quantity)
+     * это позволяет. Проверка и изменение выполняются одним UPDATE, поэтому параллельные резервы
+     * не уводят остаток в минус и не теряют обновления.
+     *
+     * @return 1 — резерв поставлен, 0 — остатка не хватило
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update WarehouseInventory w
+            set w.reservedQuantity = coalesce(w.reservedQuantity, 0) + :quantity
+            where w.inventoryId = :inventoryId
+              and coalesce(w.quantity, 0) - coalesce(w.reservedQuantity, 0) >= :quantity
+            """)
+    int reserveIfAvailable(@Param("inventoryId") Long inventoryId, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update WarehouseInventory w
+            set w.reservedQuantity = w.reservedQuantity - :quantity
+            where w.inventoryId = :inventoryId
+              and coalesce(w.reservedQuantity, 0) >= :quantity
+            """)
+    int releaseIfReserved(@Param("inventoryId") Long inventoryId, @Param("quantity") int quantity);
+
+    /**
+     * Списывает {@code quantity} единиц, из них {@code fromReserve} — из собственного резерва списывающего,
+     * остальное — из свободного остатка. Резервы других заявок не затрагиваются: свободного остатка
+     * (quantity - reserved_quantity) должно хватить на {@code quantity - fromReserve}.
+     *
+     * @return 1 — списано, 0 — не хватило свободного остатка или резерва
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update WarehouseInventory w
+            set w.quantity = w.quantity - :quantity,
+                w.reservedQuantity = coalesce(w.reservedQuantity, 0) - :fromReserve
+            where w.inventoryId = :inventoryId
+              and coalesce(w.reservedQuantity, 0) >= :fromReserve
+              and coalesce(w.quantity, 0) - coalesce(w.reservedQuantity, 0) >= :quantity - :fromReserve
+            """)
+    int issueIfAvailable(@Param("inventoryId") Long inventoryId, @Param("quantity") int quantity,
+                         @Param("fromReserve") int fromReserve);
 }
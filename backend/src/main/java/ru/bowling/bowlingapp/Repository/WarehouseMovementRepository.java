@@ -0,0 +1,53 @@
+package ru.bowling.bowlingapp.Repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.bowling.bowlingapp.Entity.WarehouseMovement;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WarehouseMovementRepository extends JpaRepository<WarehouseMovement, Long>,
+        JpaSpecificationExecutor<WarehouseMovement> {
+
+    /**
+     * Последнее движение каждой позиции склада до {@code before}, одна строка на позицию. Позиции берутся
+     * из самого журнала, поэтому остаток на дату виден и у позиций, строка склада которых позже удалена.
+     * Один проход по индексу (warehouse_id, catalog_id, occurred_at) без коррелированного подзапроса;
+     * при совпадении времени побеждает большая movement_id.
+     */
+    @Query(value = """
+            select distinct on (m.catalog_id) m.*
+            from warehouse_movement m
+            where m.warehouse_id = :warehouseId
+              and m.catalog_id is not null
+              and m.occurred_at < :before
+            order by m.catalog_id, m.occurred_at desc, m.movement_id desc
+            """, nativeQuery = true)
+    List<WarehouseMovement> findLatestPerPositionBefore(@Param("warehouseId") Integer warehouseId,
+                                                        @Param("before") LocalDateTime before);
+
+    /**
+     * Движения после {@code afterId}, опустившие остаток позиции с уровня выше {@code threshold}
+     * до него или ниже. Просмотр идёт по ключу movement_id, поэтому каждое снижение находится один раз.
+     */
+    @Query("""
+            select m from WarehouseMovement m
+            where m.movementId > :afterId
+              and m.quantityDelta < 0
+              and m.quantityAfter <= :threshold
+              and m.quantityAfter - m.quantityDelta > :threshold
+            order by m.movementId
+            """)
+    List<WarehouseMovement> findLowStockCrossingsAfter(@Param("afterId") Long afterId,
+                                                       @Param("threshold") int threshold,
+                                                       Pageable pageable);
+
+    @Query("select coalesce(max(m.movementId), 0) from WarehouseMovement m")
+    Long findMaxMovementId();
+}
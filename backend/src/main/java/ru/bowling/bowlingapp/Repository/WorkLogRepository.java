@@ -3,6 +3,7 @@ package ru.bowling.bowlingapp.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 import ru.bowling.bowlingapp.Entity.WorkLog;
 import ru.bowling.bowlingapp.Entity.enums.WorkLogStatus;
@@ -12,7 +13,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface WorkLogRepository extends JpaRepository<WorkLog, Long> {
+public interface WorkLogRepository extends JpaRepository<WorkLog, Long>, JpaSpecificationExecutor<WorkLog> {
 
     // Поиск по статусу
     List<WorkLog> findByStatusOrderByCreatedDateDesc(WorkLogStatus status);
@@ -0,0 +1,12 @@
+package ru.bowling.bowlingapp.Repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface CatalogExportProjection {
+    Long getCatalogId();
+    String getCatalogNumber();
+    String getOfficialNameRu();
+    String getOfficialNameEn();
+    String getDescription();
+    LocalDateTime getUpdatedAt();
+}
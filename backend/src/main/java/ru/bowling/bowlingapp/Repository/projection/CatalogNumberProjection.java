@@ -0,0 +1,6 @@
+package ru.bowling.bowlingapp.Repository.projection;
+
+public interface CatalogNumberProjection {
+    Long getCatalogId();
+    String getCatalogNumber();
+}
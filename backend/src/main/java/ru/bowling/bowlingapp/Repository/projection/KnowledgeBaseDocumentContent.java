@@ -10,7 +10,9 @@ public interface KnowledgeBaseDocumentContent {
 
     String getFileName();
 
-    byte[] getFileData();
+    String getStorageKey();
+
+    String getContentSha256();
 
     Number getFileSize();
 }
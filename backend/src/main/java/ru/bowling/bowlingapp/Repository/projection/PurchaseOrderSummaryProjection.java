@@ -0,0 +1,22 @@
+package ru.bowling.bowlingapp.Repository.projection;
+
+import ru.bowling.bowlingapp.Entity.enums.PurchaseOrderStatus;
+
+import java.time.LocalDateTime;
+
+public interface PurchaseOrderSummaryProjection {
+    Long getOrderId();
+    Long getRequestId();
+    Long getClubId();
+    String getClubName();
+    String getSupplierName();
+    String getSupplierInn();
+    PurchaseOrderStatus getStatus();
+    LocalDateTime getOrderDate();
+    LocalDateTime getExpectedDeliveryDate();
+    LocalDateTime getActualDeliveryDate();
+    Long getTotalPositions();
+    Long getAcceptedPositions();
+    Boolean getHasReview();
+    Boolean getHasComplaint();
+}
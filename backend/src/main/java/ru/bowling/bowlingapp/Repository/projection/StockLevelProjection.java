@@ -0,0 +1,9 @@
+package ru.bowling.bowlingapp.Repository.projection;
+
+public interface StockLevelProjection {
+    Long getInventoryId();
+    Integer getWarehouseId();
+    Integer getCatalogId();
+    Integer getQuantity();
+    Integer getReservedQuantity();
+}
@@ -0,0 +1,199 @@
+package ru.bowling.bowlingapp.Repository.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MaintenanceRequest;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Entity.WorkLog;
+import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
+import ru.bowling.bowlingapp.Entity.enums.WorkLogStatus;
+import ru.bowling.bowlingapp.Entity.enums.WorkType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Условия глобального поиска: сопоставление с запросом и keyset-границы страниц для каждой секции.
+ */
+public final class GlobalSearchSpecifications {
+
+    private static final String CLUB = "club";
+    private static final String MECHANIC = "mechanic";
+
+    private GlobalSearchSpecifications() {
+    }
+
+    public static Specification<MaintenanceRequest> requestFetchClubAndMechanic() {
+        return (root, query, cb) -> {
+            root.fetch(CLUB, JoinType.LEFT);
+            root.fetch(MECHANIC, JoinType.LEFT);
+            return null;
+        };
+    }
+
+    public static Specification<MaintenanceRequest> requestClubIdIn(Collection<Long> clubIds) {
+        return (root, query, cb) -> root.get(CLUB).get("clubId").in(clubIds);
+    }
+
+    public static Specification<MaintenanceRequest> requestMechanicId(Long mechanicId) {
+        return (root, query, cb) -> cb.equal(root.get(MECHANIC).get("profileId"), mechanicId);
+    }
+
+    public static Specification<MaintenanceRequest> requestStatus(MaintenanceRequestStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<MaintenanceRequest> requestIdBefore(Long requestId) {
+        return (root, query, cb) -> cb.lessThan(root.<Long>get("requestId"), requestId);
+    }
+
+    public static Specification<MaintenanceRequest> requestMatches(String loweredQuery) {
+        String pattern = likePattern(loweredQuery);
+        Long number = parseNumber(loweredQuery);
+        List<MaintenanceRequestStatus> statuses = matchingConstants(MaintenanceRequestStatus.values(), loweredQuery);
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.like(cb.lower(leftJoin(root, CLUB).<String>get("name")), pattern));
+            predicates.add(cb.like(cb.lower(leftJoin(root, MECHANIC).<String>get("fullName")), pattern));
+            if (!statuses.isEmpty()) {
+                predicates.add(root.get("status").in(statuses));
+            }
+            addNumberMatch(predicates, cb, root, "requestId", number);
+            return cb.or(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<WorkLog> workLogIdBefore(Long logId) {
+        return (root, query, cb) -> cb.lessThan(root.<Long>get("logId"), logId);
+    }
+
+    public static Specification<WorkLog> workLogMatches(String loweredQuery) {
+        String pattern = likePattern(loweredQuery);
+        Long number = parseNumber(loweredQuery);
+        List<WorkLogStatus> statuses = matchingConstants(WorkLogStatus.values(), loweredQuery);
+        List<WorkType> workTypes = matchingConstants(WorkType.values(), loweredQuery);
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.like(cb.lower(leftJoin(root, CLUB).<String>get("name")), pattern));
+            predicates.add(cb.like(cb.lower(leftJoin(root, MECHANIC).<String>get("fullName")), pattern));
+            predicates.add(cb.like(cb.lower(root.<String>get("problemDescription")), pattern));
+            if (!statuses.isEmpty()) {
+                predicates.add(root.get("status").in(statuses));
+            }
+            if (!workTypes.isEmpty()) {
+                predicates.add(root.get("workType").in(workTypes));
+            }
+            addNumberMatch(predicates, cb, root, "logId", number);
+            return cb.or(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<BowlingClub> clubIdIn(Collection<Long> clubIds) {
+        return (root, query, cb) -> root.get("clubId").in(clubIds);
+    }
+
+    /**
+     * Клубы, следующие за курсором в порядке (name, clubId).
+     */
+    public static Specification<BowlingClub> clubAfter(String name, Long clubId) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.<String>get("name"), name),
+                cb.and(cb.equal(root.get("name"), name), cb.greaterThan(root.<Long>get("clubId"), clubId)));
+    }
+
+    public static Specification<BowlingClub> clubMatches(String loweredQuery) {
+        String pattern = likePattern(loweredQuery);
+        Long number = parseNumber(loweredQuery);
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.like(cb.lower(root.<String>get("name")), pattern));
+            predicates.add(cb.like(cb.lower(root.<String>get("address")), pattern));
+            if (number != null) {
+                predicates.add(cb.equal(root.get("clubId"), number));
+            }
+            return cb.or(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<WarehouseInventory> inventoryWarehouseIdIn(Collection<Integer> warehouseIds) {
+        return (root, query, cb) -> root.get("warehouseId").in(warehouseIds);
+    }
+
+    public static Specification<WarehouseInventory> inventoryIdAfter(Long inventoryId) {
+        return (root, query, cb) -> cb.greaterThan(root.<Long>get("inventoryId"), inventoryId);
+    }
+
+    /**
+     * Позиции склада, каталожная карточка которых совпадает с запросом по названию, номеру или описанию.
+     */
+    public static Specification<WarehouseInventory> inventoryMatches(String loweredQuery) {
+        String pattern = likePattern(loweredQuery);
+        return (root, query, cb) -> {
+            Subquery<Long> catalog = query.subquery(Long.class);
+            Root<PartsCatalog> part = catalog.from(PartsCatalog.class);
+            catalog.select(part.<Long>get("catalogId"))
+                    .where(cb.equal(part.get("catalogId"), root.get("catalogId")),
+                            cb.or(
+                                    cb.like(cb.lower(part.<String>get("officialNameRu")), pattern),
+                                    cb.like(cb.lower(part.<String>get("officialNameEn")), pattern),
+                                    cb.like(cb.lower(part.<String>get("commonName")), pattern),
+                                    cb.like(cb.lower(part.<String>get("catalogNumber")), pattern),
+                                    cb.like(cb.lower(part.<String>get("description")), pattern)));
+            return cb.exists(catalog);
+        };
+    }
+
+    private static void addNumberMatch(List<Predicate> predicates, CriteriaBuilder cb, Root<?> root,
+                                       String idAttribute, Long number) {
+        if (number == null) {
+            return;
+        }
+        predicates.add(cb.equal(root.get(idAttribute), number));
+        if (number <= Integer.MAX_VALUE) {
+            predicates.add(cb.equal(root.get("laneNumber"), number.intValue()));
+        }
+    }
+
+    private static <E extends Enum<E>> List<E> matchingConstants(E[] values, String loweredQuery) {
+        return Arrays.stream(values)
+                .filter(value -> value.name().toLowerCase(Locale.ROOT).contains(loweredQuery))
+                .toList();
+    }
+
+    private static Long parseNumber(String value) {
+        if (value == null || value.isEmpty() || value.length() > 18 || !value.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.parseLong(value);
+    }
+
+    private static String likePattern(String loweredQuery) {
+        return "%" + loweredQuery + "%";
+    }
+
+    private static Join<?, ?> leftJoin(From<?, ?> root, String attribute) {
+        for (Fetch<?, ?> fetch : root.getFetches()) {
+            if (attribute.equals(fetch.getAttribute().getName()) && fetch instanceof Join<?, ?> join) {
+                return join;
+            }
+        }
+        for (Join<?, ?> join : root.getJoins()) {
+            if (attribute.equals(join.getAttribute().getName()) && join.getJoinType() == JoinType.LEFT) {
+                return join;
+            }
+        }
+        return root.join(attribute, JoinType.LEFT);
+    }
+}
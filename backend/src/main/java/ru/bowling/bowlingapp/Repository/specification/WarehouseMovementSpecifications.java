@@ -0,0 +1,38 @@
+package ru.bowling.bowlingapp.Repository.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.bowling.bowlingapp.Entity.WarehouseMovement;
+
+import java.time.LocalDateTime;
+
+/**
+ * Условия чтения журнала складских движений. Границы периода задаются по {@code occurred_at},
+ * чтобы на PostgreSQL отсекались лишние месячные секции.
+ */
+public final class WarehouseMovementSpecifications {
+
+    private WarehouseMovementSpecifications() {
+    }
+
+    public static Specification<WarehouseMovement> warehouseId(Integer warehouseId) {
+        return (root, query, cb) -> cb.equal(root.get("warehouseId"), warehouseId);
+    }
+
+    public static Specification<WarehouseMovement> occurredFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("occurredAt"), from);
+    }
+
+    public static Specification<WarehouseMovement> occurredBefore(LocalDateTime before) {
+        return (root, query, cb) -> cb.lessThan(root.get("occurredAt"), before);
+    }
+
+    /**
+     * Строки после курсора в порядке (occurred_at, movement_id) по убыванию.
+     */
+    public static Specification<WarehouseMovement> before(LocalDateTime occurredAt, Long movementId) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("occurredAt"), occurredAt),
+                cb.and(cb.equal(root.get("occurredAt"), occurredAt),
+                        cb.lessThan(root.<Long>get("movementId"), movementId)));
+    }
+}
@@ -0,0 +1,129 @@
+package ru.bowling.bowlingapp.Repository.specification;
+
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import ru.bowling.bowlingapp.Entity.MechanicProfile;
+import ru.bowling.bowlingapp.Entity.WorkLog;
+import ru.bowling.bowlingapp.Entity.enums.WorkLogStatus;
+import ru.bowling.bowlingapp.Entity.enums.WorkType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Условия поиска по журналу работ, выполняемые на стороне БД.
+ */
+public final class WorkLogSpecifications {
+
+    private static final String CLUB = "club";
+    private static final String MECHANIC = "mechanic";
+
+    private WorkLogSpecifications() {
+    }
+
+    /**
+     * Подтягивает клуб и механика одним запросом вместе со страницей; для count-запроса ничего не делает.
+     * Должна стоять первой в композиции, чтобы остальные условия переиспользовали соединение с механиком.
+     */
+    public static Specification<WorkLog> fetchClubAndMechanic() {
+        return (root, query, cb) -> {
+            Class<?> resultType = query.getResultType();
+            if (resultType != Long.class && resultType != long.class) {
+                root.fetch(CLUB, JoinType.LEFT);
+                root.fetch(MECHANIC, JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<WorkLog> clubIdIn(Collection<Long> clubIds) {
+        return (root, query, cb) -> root.get(CLUB).get("clubId").in(clubIds);
+    }
+
+    public static Specification<WorkLog> clubId(Long clubId) {
+        return (root, query, cb) -> cb.equal(root.get(CLUB).get("clubId"), clubId);
+    }
+
+    public static Specification<WorkLog> laneNumber(Integer laneNumber) {
+        return (root, query, cb) -> cb.equal(root.get("laneNumber"), laneNumber);
+    }
+
+    public static Specification<WorkLog> mechanicId(Long mechanicId) {
+        return (root, query, cb) -> cb.equal(root.get(MECHANIC).get("profileId"), mechanicId);
+    }
+
+    public static Specification<WorkLog> equipmentId(Long equipmentId) {
+        return (root, query, cb) -> cb.equal(root.get("equipment").get("equipmentId"), equipmentId);
+    }
+
+    public static Specification<WorkLog> status(WorkLogStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<WorkLog> workType(WorkType workType) {
+        return (root, query, cb) -> cb.equal(root.get("workType"), workType);
+    }
+
+    public static Specification<WorkLog> priorityAtMost(Integer priority) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<Integer>get("priority"), priority);
+    }
+
+    public static Specification<WorkLog> createdFrom(LocalDateTime startDate) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDateTime>get("createdDate"), startDate);
+    }
+
+    public static Specification<WorkLog> createdTo(LocalDateTime endDate) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDateTime>get("createdDate"), endDate);
+    }
+
+    public static Specification<WorkLog> completed() {
+        return (root, query, cb) -> cb.isNotNull(root.get("completedDate"));
+    }
+
+    public static Specification<WorkLog> active() {
+        return (root, query, cb) -> cb.and(
+                cb.isNotNull(root.get("status")),
+                root.get("status").in(WorkLogStatus.CLOSED, WorkLogStatus.CANCELLED).not());
+    }
+
+    public static Specification<WorkLog> withoutManualEdits() {
+        return (root, query, cb) -> cb.isFalse(root.<Boolean>get("isManualEdit"));
+    }
+
+    public static Specification<WorkLog> assignedToUser(Long userId) {
+        return (root, query, cb) -> cb.equal(mechanicJoin(root).get("user").get("userId"), userId);
+    }
+
+    public static Specification<WorkLog> createdByOrAssignedTo(Long userId) {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.get("createdBy"), userId),
+                cb.equal(mechanicJoin(root).get("user").get("userId"), userId));
+    }
+
+    public static Specification<WorkLog> keyword(String keyword) {
+        String pattern = "%" + keyword.trim().toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.<String>get("problemDescription")), pattern),
+                cb.like(cb.lower(root.<String>get("workPerformed")), pattern),
+                cb.like(cb.lower(root.<String>get("solutionDescription")), pattern));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Join<WorkLog, MechanicProfile> mechanicJoin(Root<WorkLog> root) {
+        for (Fetch<WorkLog, ?> fetch : root.getFetches()) {
+            if (MECHANIC.equals(fetch.getAttribute().getName()) && fetch instanceof Join<?, ?> join) {
+                return (Join<WorkLog, MechanicProfile>) join;
+            }
+        }
+        for (Join<WorkLog, ?> join : root.getJoins()) {
+            if (MECHANIC.equals(join.getAttribute().getName()) && join.getJoinType() == JoinType.LEFT) {
+                return (Join<WorkLog, MechanicProfile>) join;
+            }
+        }
+        return root.join(MECHANIC, JoinType.LEFT);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.bowling.bowlingapp.Security;
+
+/**
+ * Список отозванных токенов. Проверяется на каждом запросе, в том числе для токенов, уже проверенных
+ * и взятых из кэша, поэтому реализация должна отвечать из памяти.
+ * <p>
+ * Токен передаётся хэшем ({@link ru.bowling.bowlingapp.Config.JwtTokenProvider#tokenHash(String)}),
+ * сам токен не хранится.
+ */
+@FunctionalInterface
+public interface TokenRevocationList {
+
+    TokenRevocationList NONE = (tokenHash, principal) -> false;
+
+    boolean isRevoked(String tokenHash, UserPrincipal principal);
+}
@@ -0,0 +1,63 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import ru.bowling.bowlingapp.Entity.ClubInvitation;
+import ru.bowling.bowlingapp.Entity.ClubStaff;
+import ru.bowling.bowlingapp.Entity.ManagerProfile;
+import ru.bowling.bowlingapp.Entity.MechanicProfile;
+import ru.bowling.bowlingapp.Entity.OwnerProfile;
+import ru.bowling.bowlingapp.Entity.User;
+
+/**
+ * Публикует {@link ClubAccessChangedEvent} при изменении через JPA сущностей, из которых строится
+ * доступ к клубам. Для клуба прежний владелец после обновления неизвестен, поэтому сбрасываются все снимки.
+ */
+@Component
+public class ClubAccessChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ClubAccessChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Long userId = resolveUserId(entity);
+        eventPublisher.publishEvent(userId != null
+                ? new ClubAccessChangedEvent(userId)
+                : ClubAccessChangedEvent.allUsers());
+    }
+
+    private Long resolveUserId(Object entity) {
+        if (entity instanceof User user) {
+            return user.getUserId();
+        }
+        if (entity instanceof ClubStaff staff) {
+            return userId(staff.getUser());
+        }
+        if (entity instanceof ClubInvitation invitation) {
+            return userId(invitation.getMechanic());
+        }
+        if (entity instanceof OwnerProfile owner) {
+            return userId(owner.getUser());
+        }
+        if (entity instanceof ManagerProfile manager) {
+            return userId(manager.getUser());
+        }
+        if (entity instanceof MechanicProfile mechanic) {
+            return userId(mechanic.getUser());
+        }
+        return null;
+    }
+
+    private Long userId(User user) {
+        return user != null ? user.getUserId() : null;
+    }
+}
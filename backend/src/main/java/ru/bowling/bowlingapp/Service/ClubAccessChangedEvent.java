@@ -0,0 +1,12 @@
+package ru.bowling.bowlingapp.Service;
+
+/**
+ * Изменились связи, от которых зависит доступ пользователя к клубам.
+ * {@code userId == null} — затронуты все пользователи (например, сменился владелец клуба).
+ */
+public record ClubAccessChangedEvent(Long userId) {
+
+    public static ClubAccessChangedEvent allUsers() {
+        return new ClubAccessChangedEvent(null);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import ru.bowling.bowlingapp.Enum.AccountTypeName;
+import ru.bowling.bowlingapp.Enum.RoleName;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Неизменяемый снимок доступа пользователя к клубам: роль, тип аккаунта, профиль механика
+ * и клубы в порядке, в котором их возвращал {@link UserClubAccessService}.
+ */
+@Getter
+public final class ClubAccessSnapshot {
+
+    static final ClubAccessSnapshot EMPTY = new ClubAccessSnapshot(null, null, null, null, List.of());
+
+    private final Long userId;
+    private final RoleName role;
+    private final AccountTypeName accountType;
+    private final Long mechanicProfileId;
+    private final List<Long> clubIds;
+    @Getter(AccessLevel.NONE)
+    private final Set<Long> clubIdSet;
+
+    ClubAccessSnapshot(Long userId,
+                       RoleName role,
+                       AccountTypeName accountType,
+                       Long mechanicProfileId,
+                       Collection<Long> clubIds) {
+        this.userId = userId;
+        this.role = role;
+        this.accountType = accountType;
+        this.mechanicProfileId = mechanicProfileId;
+        this.clubIds = List.copyOf(clubIds);
+        this.clubIdSet = Set.copyOf(clubIds);
+    }
+
+    public boolean hasClubAccess(Long clubId) {
+        return clubId != null && clubIdSet.contains(clubId);
+    }
+}
@@ -0,0 +1,119 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.bowling.bowlingapp.DTO.ClubAccessCacheStatsDTO;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Снимки доступа к клубам по id пользователя.
+ * <p>
+ * Снимок сбрасывается по {@link ClubAccessChangedEvent} сразу и ещё раз после завершения транзакции,
+ * чтобы отбросить снимки, прочитанные до коммита или отката. TTL страхует от изменений в обход JPA
+ * (массовые UPDATE/DELETE, правки в БД вручную).
+ */
+@Component
+public class ClubAccessSnapshotCache {
+
+    private record Entry(ClubAccessSnapshot snapshot, long loadedAtNanos) {
+    }
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final int maxSize;
+    private final long ttlNanos;
+
+    public ClubAccessSnapshotCache(@Value("${app.club-access.cache-size:10000}") int maxSize,
+                                   @Value("${app.club-access.ttl-seconds:600}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    public ClubAccessSnapshot get(Long userId, Supplier<ClubAccessSnapshot> loader) {
+        if (userId == null || maxSize <= 0) {
+            return loader.get();
+        }
+        Entry entry = entries.get(userId);
+        if (entry != null && System.nanoTime() - entry.loadedAtNanos() < ttlNanos) {
+            hits.incrementAndGet();
+            return entry.snapshot();
+        }
+        misses.incrementAndGet();
+
+        long observedGeneration = generation.get();
+        ClubAccessSnapshot loaded = loader.get();
+        if (entries.size() >= maxSize) {
+            shrink();
+        }
+        Entry fresh = new Entry(loaded, System.nanoTime());
+        entries.put(userId, fresh);
+        // Сброс во время загрузки мог прийти уже после того, как снимок прочитал старые данные.
+        if (generation.get() != observedGeneration) {
+            entries.remove(userId, fresh);
+        }
+        return loaded;
+    }
+
+    @EventListener
+    public void onAccessChanged(ClubAccessChangedEvent event) {
+        Long userId = event.userId();
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public void invalidate(Long userId) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        if (userId == null) {
+            entries.clear();
+        } else {
+            entries.remove(userId);
+        }
+    }
+
+    public ClubAccessCacheStatsDTO stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+        return ClubAccessCacheStatsDTO.builder()
+                .hits(hitCount)
+                .misses(missCount)
+                .invalidations(invalidations.get())
+                .size(entries.size())
+                .hitRate(total > 0 ? (double) hitCount / total : 0.0)
+                .build();
+    }
+
+    private synchronized void shrink() {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.loadedAtNanos() >= ttlNanos);
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<Long> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
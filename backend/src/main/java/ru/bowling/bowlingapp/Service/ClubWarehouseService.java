@@ -2,11 +2,13 @@ package ru.bowling.bowlingapp.Service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.bowling.bowlingapp.Entity.BowlingClub;
 import ru.bowling.bowlingapp.Entity.PartsCatalog;
 import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
 import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
 import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
 import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
@@ -14,6 +16,7 @@ import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -28,13 +31,24 @@ public class ClubWarehouseService {
     private final WarehouseInventoryRepository warehouseInventoryRepository;
     private final PartsCatalogRepository partsCatalogRepository;
     private final BowlingClubRepository bowlingClubRepository;
+    private final GoodsReceiptPoster goodsReceiptPoster;
+
+    /**
+     * Разреженный склад клуба: хранятся только позиции с остатком, резервом, размещением или заметками.
+     * Нулевые позиции «каталог × клубы» не создаются — поиск подставляет их при чтении.
+     */
+    @Value("${app.warehouse.sparse-inventory:true}")
+    private boolean sparseInventory;
 
     @Transactional
     public void initializeWarehouseForClub(BowlingClub club) {
-        Map<Long, PartsCatalog> catalogById = loadCatalogById();
-        initializeWarehouseForClub(club, catalogById);
+        initializeWarehouseForClub(club, sparseInventory ? null : loadCatalogById());
     }
 
+    /**
+     * @param catalogById весь каталог — для заполнения склада нулевыми позициями;
+     *                    {@code null} в разреженном режиме: сверяются только уже существующие позиции
+     */
     private void initializeWarehouseForClub(BowlingClub club, Map<Long, PartsCatalog> catalogById) {
         if (club == null) {
             return;
@@ -51,19 +65,12 @@ public class ClubWarehouseService {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
-        List<WarehouseInventory> inventoriesToCreate = catalogById.values().stream()
-                .filter(part -> !existingCatalogIds.contains(part.getCatalogId().intValue()))
-                .map(part -> WarehouseInventory.builder()
-                        .warehouseId(warehouseId)
-                        .catalogId(part.getCatalogId().intValue())
-                        .quantity(0)
-                        .lastChecked(LocalDate.now())
-                        .isUnique(part.getIsUnique())
-                        .build())
-                .collect(Collectors.toList());
-
-        if (!inventoriesToCreate.isEmpty()) {
-            warehouseInventoryRepository.saveAll(inventoriesToCreate);
+        Map<Long, PartsCatalog> catalog;
+        if (catalogById == null) {
+            catalog = loadCatalogById(existingCatalogIds);
+        } else {
+            createZeroEntries(warehouseId, catalogById, existingCatalogIds);
+            catalog = catalogById;
         }
 
         List<WarehouseInventory> inventoriesToUpdate = new ArrayList<>();
@@ -71,11 +78,11 @@ public class ClubWarehouseService {
             if (inventory.getCatalogId() == null) {
                 continue;
             }
-            PartsCatalog catalog = catalogById.get(Long.valueOf(inventory.getCatalogId()));
-            if (catalog == null) {
+            PartsCatalog part = catalog.get(Long.valueOf(inventory.getCatalogId()));
+            if (part == null) {
                 continue;
             }
-            Boolean catalogUnique = catalog.getIsUnique();
+            Boolean catalogUnique = part.getIsUnique();
             if (!Objects.equals(inventory.getIsUnique(), catalogUnique)) {
                 inventory.setIsUnique(catalogUnique);
                 inventoriesToUpdate.add(inventory);
@@ -93,12 +100,30 @@ public class ClubWarehouseService {
         }
     }
 
+    private void createZeroEntries(Integer warehouseId, Map<Long, PartsCatalog> catalogById,
+                                   Set<Integer> existingCatalogIds) {
+        List<WarehouseInventory> inventoriesToCreate = catalogById.values().stream()
+                .filter(part -> !existingCatalogIds.contains(part.getCatalogId().intValue()))
+                .map(part -> WarehouseInventory.builder()
+                        .warehouseId(warehouseId)
+                        .catalogId(part.getCatalogId().intValue())
+                        .quantity(0)
+                        .lastChecked(LocalDate.now())
+                        .isUnique(part.getIsUnique())
+                        .build())
+                .collect(Collectors.toList());
+
+        if (!inventoriesToCreate.isEmpty()) {
+            warehouseInventoryRepository.saveAll(inventoriesToCreate);
+        }
+    }
+
     @Transactional
     public void initializeWarehousesForClubs(Collection<BowlingClub> clubs) {
         if (clubs == null || clubs.isEmpty()) {
             return;
         }
-        Map<Long, PartsCatalog> catalogById = loadCatalogById();
+        Map<Long, PartsCatalog> catalogById = sparseInventory ? null : loadCatalogById();
         for (BowlingClub club : clubs) {
             try {
                 initializeWarehouseForClub(club, catalogById);
@@ -125,28 +150,13 @@ public class ClubWarehouseService {
             return;
         }
 
+        List<GoodsReceiptPoster.Line> lines = new ArrayList<>(deliveredQuantities.size());
         deliveredQuantities.forEach((catalogId, quantity) -> {
-            if (catalogId == null || quantity == null || quantity <= 0) {
-                return;
+            if (catalogId != null && quantity != null && quantity > 0) {
+                lines.add(GoodsReceiptPoster.Line.of(catalogId, quantity));
             }
-
-            WarehouseInventory inventory = warehouseInventoryRepository.findFirstByWarehouseIdAndCatalogId(warehouseId, catalogId);
-            if (inventory == null) {
-                inventory = WarehouseInventory.builder()
-                        .warehouseId(warehouseId)
-                        .catalogId(catalogId)
-                        .quantity(quantity)
-                        .lastChecked(LocalDate.now())
-                        .build();
-            } else {
-                int current = inventory.getQuantity() != null ? inventory.getQuantity() : 0;
-                inventory.setQuantity(current + quantity);
-                if (inventory.getLastChecked() == null) {
-                    inventory.setLastChecked(LocalDate.now());
-                }
-            }
-            warehouseInventoryRepository.save(inventory);
         });
+        goodsReceiptPoster.post(warehouseId, WarehouseMovementType.DELIVERY, null, lines);
     }
 
     private Map<Long, PartsCatalog> loadCatalogById() {
@@ -155,6 +165,17 @@ public class ClubWarehouseService {
                 .collect(Collectors.toMap(PartsCatalog::getCatalogId, part -> part));
     }
 
+    private Map<Long, PartsCatalog> loadCatalogById(Set<Integer> catalogIds) {
+        if (catalogIds.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> ids = new HashSet<>();
+        catalogIds.forEach(id -> ids.add(id.longValue()));
+        return partsCatalogRepository.findAllById(ids).stream()
+                .filter(part -> part.getCatalogId() != null)
+                .collect(Collectors.toMap(PartsCatalog::getCatalogId, part -> part));
+    }
+
     private Integer resolveWarehouseId(Long clubId) {
         if (clubId == null) {
             return null;
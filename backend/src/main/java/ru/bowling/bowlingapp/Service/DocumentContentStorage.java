@@ -0,0 +1,51 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Выбор хранилища содержимого документов. Новые файлы пишутся в хранилище из
+ * {@code app.knowledge-base.storage}, а читаются из того, чья схема записана в ключе документа,
+ * так что смена настройки не ломает уже загруженные документы.
+ */
+@Component
+public class DocumentContentStorage {
+
+    private final Map<String, DocumentContentStore> stores;
+    private final DocumentContentStore writeStore;
+
+    public DocumentContentStorage(List<DocumentContentStore> stores,
+                                  @Value("${app.knowledge-base.storage:fs}") String writeScheme) {
+        this.stores = stores.stream()
+                .collect(Collectors.toUnmodifiableMap(DocumentContentStore::scheme, Function.identity()));
+        this.writeStore = this.stores.get(writeScheme);
+        if (this.writeStore == null) {
+            throw new IllegalStateException("Unknown knowledge base storage: " + writeScheme);
+        }
+    }
+
+    /**
+     * Записывает поток и возвращает ключ с префиксом схемы хранилища.
+     */
+    public DocumentContentStore.StoredContent write(InputStream content) throws IOException {
+        DocumentContentStore.StoredContent stored = writeStore.write(content);
+        return new DocumentContentStore.StoredContent(writeStore.scheme() + ":" + stored.key(), stored.size());
+    }
+
+    public void copyRange(String storageKey, long offset, long length, OutputStream out) throws IOException {
+        int separator = storageKey.indexOf(':');
+        DocumentContentStore store = separator > 0 ? stores.get(storageKey.substring(0, separator)) : null;
+        if (store == null) {
+            throw new IllegalStateException("Unknown document storage key: " + storageKey);
+        }
+        store.copyRange(storageKey.substring(separator + 1), offset, length, out);
+    }
+}
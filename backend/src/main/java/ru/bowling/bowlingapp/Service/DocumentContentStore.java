@@ -0,0 +1,33 @@
+package ru.bowling.bowlingapp.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Хранилище содержимого документов базы знаний. Содержимое пишется и читается потоком,
+ * целиком в памяти файл не держится.
+ * <p>
+ * Ключ, который возвращает {@link #write(InputStream)}, сохраняется в документе с префиксом
+ * {@link #scheme()}, поэтому документы из разных хранилищ читаются одновременно.
+ */
+public interface DocumentContentStore {
+
+    String scheme();
+
+    /**
+     * Записывает поток до конца. Если запись идёт внутри транзакции и та откатится,
+     * хранилище само удаляет записанное содержимое.
+     */
+    StoredContent write(InputStream content) throws IOException;
+
+    /**
+     * Пишет в {@code out} ровно {@code length} байт, начиная с {@code offset}.
+     */
+    void copyRange(String key, long offset, long length, OutputStream out) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    record StoredContent(String key, long size) {
+    }
+}
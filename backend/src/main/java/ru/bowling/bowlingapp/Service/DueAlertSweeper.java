@@ -0,0 +1,280 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.Entity.AlertWatermark;
+import ru.bowling.bowlingapp.Entity.EquipmentMaintenanceSchedule;
+import ru.bowling.bowlingapp.Entity.FiredAlert;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.ServiceHistory;
+import ru.bowling.bowlingapp.Entity.WarehouseMovement;
+import ru.bowling.bowlingapp.Repository.AlertWatermarkRepository;
+import ru.bowling.bowlingapp.Repository.EquipmentMaintenanceScheduleRepository;
+import ru.bowling.bowlingapp.Repository.FiredAlertRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.ServiceHistoryRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseMovementRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Оповещения о сроках: плановое обслуживание, окончание гарантии, плановые работы и низкие остатки.
+ * <p>
+ * Каждый такт просматривает окно (сейчас, сейчас + упреждение] по диапазону индекса (срок, id), поэтому
+ * строка, созданная или перенесённая внутрь окна после прошлого такта, будет найдена. Повторы отсеивает
+ * {@link FiredAlert}: об одном сроке одной строки оповещают один раз, о перенесённом сроке — снова.
+ * Работа за такт ограничена {@code max-batches-per-tick} порциями по {@code batch-size} строк на источник;
+ * если окно не пройдено целиком, отметка {@link AlertWatermark} хранит ключ (срок, id), с которого продолжит
+ * следующий такт, а после конца окна сбрасывается. Низкие остатки ищутся в журнале складских движений:
+ * оповещение даёт движение, опустившее остаток до порога. События уходят через
+ * {@link NotificationCoalescer} и склеиваются по клубу.
+ */
+@Slf4j
+@Component
+public class DueAlertSweeper {
+
+    static final String SERVICE_DUE = "SERVICE_DUE";
+    static final String WARRANTY_EXPIRING = "WARRANTY_EXPIRING";
+    static final String MAINTENANCE_SCHEDULED = "MAINTENANCE_SCHEDULED";
+    static final String INVENTORY_LOW = "INVENTORY_LOW";
+
+    private final AlertWatermarkRepository watermarkRepository;
+    private final FiredAlertRepository firedAlertRepository;
+    private final ServiceHistoryRepository serviceHistoryRepository;
+    private final EquipmentMaintenanceScheduleRepository scheduleRepository;
+    private final WarehouseMovementRepository warehouseMovementRepository;
+    private final PartsCatalogRepository partsCatalogRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final Pageable batch;
+    private final int maxBatchesPerTick;
+    private final int serviceLeadDays;
+    private final int warrantyLeadDays;
+    private final int scheduleLeadDays;
+    private final int lowStockThreshold;
+
+    public DueAlertSweeper(AlertWatermarkRepository watermarkRepository,
+                           FiredAlertRepository firedAlertRepository,
+                           ServiceHistoryRepository serviceHistoryRepository,
+                           EquipmentMaintenanceScheduleRepository scheduleRepository,
+                           WarehouseMovementRepository warehouseMovementRepository,
+                           PartsCatalogRepository partsCatalogRepository,
+                           NotificationService notificationService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.alerts.batch-size:500}") int batchSize,
+                           @Value("${app.alerts.max-batches-per-tick:4}") int maxBatchesPerTick,
+                           @Value("${app.alerts.service-lead-days:7}") int serviceLeadDays,
+                           @Value("${app.alerts.warranty-lead-days:30}") int warrantyLeadDays,
+                           @Value("${app.alerts.schedule-lead-days:3}") int scheduleLeadDays,
+                           @Value("${app.alerts.low-stock-threshold:3}") int lowStockThreshold) {
+        this.watermarkRepository = watermarkRepository;
+        this.firedAlertRepository = firedAlertRepository;
+        this.serviceHistoryRepository = serviceHistoryRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.warehouseMovementRepository = warehouseMovementRepository;
+        this.partsCatalogRepository = partsCatalogRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batch = PageRequest.ofSize(Math.max(1, batchSize));
+        this.maxBatchesPerTick = Math.max(1, maxBatchesPerTick);
+        this.serviceLeadDays = serviceLeadDays;
+        this.warrantyLeadDays = warrantyLeadDays;
+        this.scheduleLeadDays = scheduleLeadDays;
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    /**
+     * fixedDelay: следующий такт начинается только после завершения предыдущего.
+     */
+    @Scheduled(fixedDelayString = "${app.alerts.sweep-interval-ms:300000}",
+            initialDelayString = "${app.alerts.initial-delay-ms:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status ->
+                firedAlertRepository.deleteDueBefore(now.toLocalDate().atStartOfDay()));
+        sweepSource(SERVICE_DUE, () -> sweepServiceDue(now));
+        sweepSource(WARRANTY_EXPIRING, () -> sweepWarranty(now));
+        sweepSource(MAINTENANCE_SCHEDULED, () -> sweepSchedules(now.toLocalDate()));
+        sweepSource(INVENTORY_LOW, this::sweepLowStock);
+    }
+
+    private void sweepSource(String alertType, Supplier<Step> step) {
+        try {
+            int fired = 0;
+            for (int i = 0; i < maxBatchesPerTick; i++) {
+                Step result = transactionTemplate.execute(status -> step.get());
+                // Оповещения уходят после коммита отметки и FiredAlert: откат не приводит к повторной рассылке.
+                result.alerts().forEach(Runnable::run);
+                fired += result.alerts().size();
+                if (!result.hasMore()) {
+                    break;
+                }
+            }
+            if (fired > 0) {
+                log.info("Alert sweep {}: {} alerts", alertType, fired);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Alert sweep {} failed", alertType, ex);
+        }
+    }
+
+    private Step sweepServiceDue(LocalDateTime now) {
+        AlertWatermark watermark = watermark(SERVICE_DUE, now);
+        List<ServiceHistory> rows = serviceHistoryRepository.findServiceDueWindow(
+                watermark.getLastDueAt(), watermark.getLastId(), now.plusDays(serviceLeadDays), batch);
+        List<Runnable> alerts = new ArrayList<>(rows.size());
+        for (ServiceHistory record : unfired(SERVICE_DUE, rows, ServiceHistory::getNextServiceDue,
+                ServiceHistory::getServiceId)) {
+            int days = daysUntil(now.toLocalDate(), record.getNextServiceDue().toLocalDate());
+            alerts.add(() -> notificationService.notifyServiceDue(record, days));
+        }
+        return advance(watermark, rows, ServiceHistory::getNextServiceDue, ServiceHistory::getServiceId, alerts);
+    }
+
+    private Step sweepWarranty(LocalDateTime now) {
+        AlertWatermark watermark = watermark(WARRANTY_EXPIRING, now);
+        List<ServiceHistory> rows = serviceHistoryRepository.findWarrantyExpiryWindow(
+                watermark.getLastDueAt(), watermark.getLastId(), now.plusDays(warrantyLeadDays), batch);
+        List<Runnable> alerts = new ArrayList<>(rows.size());
+        for (ServiceHistory record : unfired(WARRANTY_EXPIRING, rows, ServiceHistory::getWarrantyUntil,
+                ServiceHistory::getServiceId)) {
+            int days = daysUntil(now.toLocalDate(), record.getWarrantyUntil().toLocalDate());
+            alerts.add(() -> notificationService.notifyWarrantyExpiring(record, days));
+        }
+        return advance(watermark, rows, ServiceHistory::getWarrantyUntil, ServiceHistory::getServiceId, alerts);
+    }
+
+    private Step sweepSchedules(LocalDate today) {
+        AlertWatermark watermark = watermark(MAINTENANCE_SCHEDULED, today.atStartOfDay());
+        Function<EquipmentMaintenanceSchedule, LocalDateTime> due =
+                schedule -> schedule.getScheduledDate().atStartOfDay();
+        List<EquipmentMaintenanceSchedule> rows = scheduleRepository.findScheduledWindow(
+                watermark.getLastDueAt().toLocalDate(), watermark.getLastId(),
+                today.plusDays(scheduleLeadDays), batch);
+        List<Runnable> alerts = new ArrayList<>(rows.size());
+        for (EquipmentMaintenanceSchedule schedule : unfired(MAINTENANCE_SCHEDULED, rows, due,
+                EquipmentMaintenanceSchedule::getScheduleId)) {
+            int days = daysUntil(today, schedule.getScheduledDate());
+            alerts.add(() -> notificationService.notifyMaintenanceScheduled(schedule, days));
+        }
+        return advance(watermark, rows, due, EquipmentMaintenanceSchedule::getScheduleId, alerts);
+    }
+
+    private Step sweepLowStock() {
+        AlertWatermark watermark = watermarkRepository.findById(INVENTORY_LOW)
+                .orElseGet(() -> AlertWatermark.builder()
+                        .alertType(INVENTORY_LOW)
+                        // Первый запуск не оповещает о снижениях, случившихся до него.
+                        .lastId(warehouseMovementRepository.findMaxMovementId())
+                        .build());
+        List<WarehouseMovement> rows = warehouseMovementRepository.findLowStockCrossingsAfter(
+                watermark.getLastId(), lowStockThreshold, batch);
+        Map<Long, String> catalogNumbers = partsCatalogRepository.findAllById(rows.stream()
+                        .map(movement -> Long.valueOf(movement.getCatalogId()))
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(PartsCatalog::getCatalogId, PartsCatalog::getCatalogNumber,
+                        (first, second) -> first));
+        List<Runnable> alerts = new ArrayList<>(rows.size());
+        for (WarehouseMovement movement : rows) {
+            String catalogNumber = catalogNumbers.getOrDefault(Long.valueOf(movement.getCatalogId()),
+                    "#" + movement.getCatalogId());
+            int quantity = movement.getQuantityAfter();
+            alerts.add(() -> notificationService.notifyInventoryLow(catalogNumber, quantity, lowStockThreshold));
+        }
+        if (!rows.isEmpty()) {
+            watermark.setLastId(rows.get(rows.size() - 1).getMovementId());
+        }
+        watermark.setSweptAt(LocalDateTime.now());
+        watermarkRepository.save(watermark);
+        return new Step(alerts, rows.size() == batch.getPageSize());
+    }
+
+    /**
+     * Ключ, с которого продолжается просмотр окна. Окно начинается с текущего момента: уже наступившие
+     * сроки видны на панели владельца. Отметка, отставшая от начала окна, на него и поднимается.
+     */
+    private AlertWatermark watermark(String alertType, LocalDateTime start) {
+        AlertWatermark watermark = watermarkRepository.findById(alertType)
+                .orElseGet(() -> AlertWatermark.builder().alertType(alertType).build());
+        if (watermark.getLastDueAt() == null || watermark.getLastDueAt().isBefore(start)) {
+            watermark.setLastDueAt(start);
+            watermark.setLastId(Long.MAX_VALUE);
+        }
+        return watermark;
+    }
+
+    /**
+     * Строки, о сроке которых ещё не оповещали; для них сразу пишется {@link FiredAlert} в транзакции порции.
+     */
+    private <T> List<T> unfired(String alertType, List<T> rows, Function<T, LocalDateTime> due,
+                                Function<T, Long> id) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> fired = firedAlertRepository.findByAlertTypeAndSourceIdIn(alertType,
+                        rows.stream().map(id).distinct().toList())
+                .stream()
+                .map(alert -> alert.getSourceId() + "@" + alert.getDueAt())
+                .collect(Collectors.toSet());
+        LocalDateTime firedAt = LocalDateTime.now();
+        List<T> fresh = new ArrayList<>();
+        for (T row : rows) {
+            if (fired.contains(id.apply(row) + "@" + due.apply(row))) {
+                continue;
+            }
+            fresh.add(row);
+            firedAlertRepository.save(FiredAlert.builder()
+                    .alertType(alertType)
+                    .sourceId(id.apply(row))
+                    .dueAt(due.apply(row))
+                    .firedAt(firedAt)
+                    .build());
+        }
+        return fresh;
+    }
+
+    /**
+     * Полная порция — отметка встаёт на её последнюю строку, и следующая порция продолжит с неё.
+     * Неполная означает, что окно пройдено до горизонта: отметка сбрасывается, и следующий такт
+     * просмотрит окно заново с начала.
+     */
+    private <T> Step advance(AlertWatermark watermark, List<T> rows, Function<T, LocalDateTime> due,
+                             Function<T, Long> id, List<Runnable> alerts) {
+        boolean hasMore = rows.size() == batch.getPageSize();
+        if (hasMore) {
+            T last = rows.get(rows.size() - 1);
+            watermark.setLastDueAt(due.apply(last));
+            watermark.setLastId(id.apply(last));
+        } else {
+            watermark.setLastDueAt(null);
+            watermark.setLastId(null);
+        }
+        watermark.setSweptAt(LocalDateTime.now());
+        watermarkRepository.save(watermark);
+        return new Step(alerts, hasMore);
+    }
+
+    private static int daysUntil(LocalDate today, LocalDate due) {
+        return (int) Math.max(0, ChronoUnit.DAYS.between(today, due));
+    }
+
+    private record Step(List<Runnable> alerts, boolean hasMore) {
+    }
+}
@@ -0,0 +1,43 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.bowling.bowlingapp.Entity.EquipmentCategory;
+
+/**
+ * Сбрасывает снимок дерева категорий при любом изменении {@link EquipmentCategory} через JPA.
+ * Повторный сброс после завершения транзакции отбрасывает снимки, прочитанные до коммита или отката.
+ */
+@Component
+public class EquipmentCategoryChangeListener {
+
+    private final ObjectProvider<EquipmentCategoryTreeCache> treeCache;
+
+    public EquipmentCategoryChangeListener(ObjectProvider<EquipmentCategoryTreeCache> treeCache) {
+        this.treeCache = treeCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(EquipmentCategory category) {
+        EquipmentCategoryTreeCache cache = treeCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate();
+                }
+            });
+        }
+    }
+}
@@ -3,8 +3,8 @@ package ru.bowling.bowlingapp.Service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ru.bowling.bowlingapp.DTO.EquipmentCategoryDTO;
-import ru.bowling.bowlingapp.Entity.EquipmentCategory;
-import ru.bowling.bowlingapp.Repository.EquipmentCategoryRepository;
+import ru.bowling.bowlingapp.Service.EquipmentCategoryTreeCache.CategoryNode;
+import ru.bowling.bowlingapp.Service.EquipmentCategoryTreeCache.Snapshot;
 
 import java.util.Collections;
 import java.util.List;
@@ -16,53 +16,45 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EquipmentCategoryService {
 
-    private final EquipmentCategoryRepository equipmentCategoryRepository;
+    private final EquipmentCategoryTreeCache categoryTreeCache;
 
     public List<EquipmentCategoryDTO> getCategories(String brand, Long parentId, Integer level) {
         String normalizedBrand = normalizeBrand(brand);
+        Snapshot tree = categoryTreeCache.snapshot();
 
         if (level != null && level > 1 && parentId == null) {
             throw new IllegalArgumentException("parentId is required for level " + level);
         }
 
         if (parentId == null) {
-            return fetchRootCategories(normalizedBrand, level);
+            return fetchRootCategories(tree, normalizedBrand, level);
         }
 
-        EquipmentCategory parent = equipmentCategoryRepository.findByIdAndIsActiveTrue(parentId)
-                .orElse(null);
+        CategoryNode parent = tree.findById(parentId).orElse(null);
         if (parent == null) {
             return Collections.emptyList();
         }
 
-        if (normalizedBrand != null && !normalizedBrand.equalsIgnoreCase(parent.getBrand())) {
+        if (normalizedBrand != null && !normalizedBrand.equalsIgnoreCase(parent.brand())) {
             return Collections.emptyList();
         }
 
-        int expectedLevel = parent.getLevel() + 1;
+        int expectedLevel = parent.level() + 1;
         if (level != null && !level.equals(expectedLevel)) {
             throw new IllegalArgumentException("Expected level " + expectedLevel + " for children of parent " + parentId);
         }
 
-        List<EquipmentCategory> children = normalizedBrand == null
-                ? equipmentCategoryRepository.findByParent_IdAndIsActiveTrueOrderBySortOrder(parentId)
-                : equipmentCategoryRepository.findByParent_IdAndBrandIgnoreCaseAndIsActiveTrueOrderBySortOrder(parentId, normalizedBrand);
-
-        return children.stream()
+        return tree.children(parentId, normalizedBrand).stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
-    private List<EquipmentCategoryDTO> fetchRootCategories(String normalizedBrand, Integer level) {
+    private List<EquipmentCategoryDTO> fetchRootCategories(Snapshot tree, String normalizedBrand, Integer level) {
         if (level != null && level != 1) {
             throw new IllegalArgumentException("Root level must be 1 when parentId is not provided");
         }
 
-        List<EquipmentCategory> roots = normalizedBrand == null
-                ? equipmentCategoryRepository.findByParentIsNullAndIsActiveTrueOrderBySortOrder()
-                : equipmentCategoryRepository.findByParentIsNullAndBrandIgnoreCaseAndIsActiveTrueOrderBySortOrder(normalizedBrand);
-
-        return roots.stream()
+        return tree.roots(normalizedBrand).stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
@@ -74,22 +66,20 @@ public class EquipmentCategoryService {
                 .orElse(null);
     }
 
-    private EquipmentCategoryDTO toDto(EquipmentCategory category) {
-        String code = Optional.ofNullable(category.getCode())
-                .map(String::trim)
-                .filter(s -> !s.isBlank())
-                .orElseGet(() -> category.getId() != null ? category.getId().toString() : null);
+    private EquipmentCategoryDTO toDto(CategoryNode category) {
+        String code = Optional.ofNullable(category.code())
+                .orElseGet(() -> category.id() != null ? category.id().toString() : null);
 
         return EquipmentCategoryDTO.builder()
-                .id(category.getId())
-                .parentId(category.getParent() != null ? category.getParent().getId() : null)
-                .level(category.getLevel())
-                .brand(category.getBrand())
-                .nameRu(category.getNameRu())
-                .nameEn(category.getNameEn())
+                .id(category.id())
+                .parentId(category.parentId())
+                .level(category.level())
+                .brand(category.brand())
+                .nameRu(category.nameRu())
+                .nameEn(category.nameEn())
                 .code(code)
-                .sortOrder(category.getSortOrder())
-                .active(category.isActive())
+                .sortOrder(category.sortOrder())
+                .active(true)
                 .build();
     }
 }
@@ -0,0 +1,269 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.bowling.bowlingapp.Entity.EquipmentCategory;
+import ru.bowling.bowlingapp.Repository.EquipmentCategoryRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Неизменяемый снимок активного дерева категорий оборудования.
+ * Дерево строится одним запросом и подменяется целиком при изменении категорий,
+ * поэтому просмотр каталога и сборка карточек деталей не обращаются к БД.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EquipmentCategoryTreeCache {
+
+    private static final Comparator<CategoryNode> ORDER = Comparator
+            .comparing(CategoryNode::sortOrder, Comparator.nullsLast(Integer::compareTo))
+            .thenComparing(CategoryNode::id);
+
+    private final EquipmentCategoryRepository equipmentCategoryRepository;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long observedGeneration = generation.get();
+        Snapshot loaded = load();
+        // Снимок, построенный во время инвалидации, мог прочитать устаревшие данные — его не публикуем.
+        if (generation.get() == observedGeneration) {
+            current.compareAndSet(null, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        current.set(null);
+    }
+
+    @Scheduled(fixedDelayString = "${app.equipment-categories.refresh-interval-ms:600000}",
+            initialDelayString = "${app.equipment-categories.refresh-interval-ms:600000}")
+    public void refresh() {
+        invalidate();
+        snapshot();
+    }
+
+    private Snapshot load() {
+        List<EquipmentCategory> categories = equipmentCategoryRepository.findAll();
+        Map<Long, EquipmentCategory> allById = new HashMap<>();
+        for (EquipmentCategory category : categories) {
+            if (category.getId() != null) {
+                allById.put(category.getId(), category);
+            }
+        }
+
+        Map<Long, CategoryNode> activeById = new HashMap<>();
+        Map<String, CategoryNode> activeByCode = new HashMap<>();
+        Map<Long, List<CategoryNode>> children = new HashMap<>();
+        List<CategoryNode> roots = new ArrayList<>();
+
+        for (EquipmentCategory category : allById.values()) {
+            if (!category.isActive()) {
+                continue;
+            }
+            Long parentId = category.getParent() != null ? category.getParent().getId() : null;
+            CategoryNode node = new CategoryNode(
+                    category.getId(),
+                    parentId,
+                    category.getLevel(),
+                    category.getBrand(),
+                    normalize(category.getCode()),
+                    category.getNameRu(),
+                    category.getNameEn(),
+                    category.getSortOrder(),
+                    buildPath(category.getId(), allById),
+                    resolveDisplayName(category));
+            activeById.put(node.id(), node);
+            if (node.code() != null) {
+                activeByCode.putIfAbsent(node.code().toUpperCase(Locale.ROOT), node);
+            }
+            if (parentId == null) {
+                roots.add(node);
+            } else {
+                children.computeIfAbsent(parentId, id -> new ArrayList<>()).add(node);
+            }
+        }
+
+        roots.sort(ORDER);
+        children.values().forEach(list -> list.sort(ORDER));
+
+        Map<String, List<CategoryNode>> rootsByBrand = groupByBrand(roots);
+        Map<Long, Map<String, List<CategoryNode>>> childrenByBrand = new HashMap<>();
+        Map<Long, List<CategoryNode>> frozenChildren = new HashMap<>();
+        children.forEach((parentId, list) -> {
+            frozenChildren.put(parentId, List.copyOf(list));
+            childrenByBrand.put(parentId, groupByBrand(list));
+        });
+
+        log.debug("Equipment category tree loaded: {} active of {} total", activeById.size(), allById.size());
+        return new Snapshot(Map.copyOf(activeById), Map.copyOf(activeByCode), List.copyOf(roots),
+                rootsByBrand, Map.copyOf(frozenChildren), Map.copyOf(childrenByBrand));
+    }
+
+    private static Map<String, List<CategoryNode>> groupByBrand(List<CategoryNode> ordered) {
+        Map<String, List<CategoryNode>> grouped = new HashMap<>();
+        for (CategoryNode node : ordered) {
+            String brand = brandKey(node.brand());
+            if (brand != null) {
+                grouped.computeIfAbsent(brand, key -> new ArrayList<>()).add(node);
+            }
+        }
+        Map<String, List<CategoryNode>> frozen = new HashMap<>();
+        grouped.forEach((brand, list) -> frozen.put(brand, List.copyOf(list)));
+        return Map.copyOf(frozen);
+    }
+
+    private static List<Long> buildPath(Long categoryId, Map<Long, EquipmentCategory> allById) {
+        List<Long> path = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        EquipmentCategory current = allById.get(categoryId);
+        while (current != null && current.getId() != null && visited.add(current.getId())) {
+            path.add(current.getId());
+            Long parentId = current.getParent() != null ? current.getParent().getId() : null;
+            current = parentId != null ? allById.get(parentId) : null;
+        }
+        Collections.reverse(path);
+        return List.copyOf(path);
+    }
+
+    private static String resolveDisplayName(EquipmentCategory category) {
+        if (category.getNameRu() != null && !category.getNameRu().isBlank()) {
+            return category.getNameRu().trim();
+        }
+        if (category.getNameEn() != null && !category.getNameEn().isBlank()) {
+            return category.getNameEn().trim();
+        }
+        return null;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static String brandKey(String brand) {
+        String normalized = normalize(brand);
+        return normalized != null ? normalized.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Активная категория с заранее вычисленным путём от корня и отображаемым именем.
+     */
+    public record CategoryNode(Long id,
+                               Long parentId,
+                               Integer level,
+                               String brand,
+                               String code,
+                               String nameRu,
+                               String nameEn,
+                               Integer sortOrder,
+                               List<Long> path,
+                               String displayName) {
+    }
+
+    public static final class Snapshot {
+
+        private final Map<Long, CategoryNode> byId;
+        private final Map<String, CategoryNode> byCode;
+        private final List<CategoryNode> roots;
+        private final Map<String, List<CategoryNode>> rootsByBrand;
+        private final Map<Long, List<CategoryNode>> children;
+        private final Map<Long, Map<String, List<CategoryNode>>> childrenByBrand;
+
+        private Snapshot(Map<Long, CategoryNode> byId,
+                         Map<String, CategoryNode> byCode,
+                         List<CategoryNode> roots,
+                         Map<String, List<CategoryNode>> rootsByBrand,
+                         Map<Long, List<CategoryNode>> children,
+                         Map<Long, Map<String, List<CategoryNode>>> childrenByBrand) {
+            this.byId = byId;
+            this.byCode = byCode;
+            this.roots = roots;
+            this.rootsByBrand = rootsByBrand;
+            this.children = children;
+            this.childrenByBrand = childrenByBrand;
+        }
+
+        public Optional<CategoryNode> findById(Long id) {
+            return id != null ? Optional.ofNullable(byId.get(id)) : Optional.empty();
+        }
+
+        public Optional<CategoryNode> findByCode(String code) {
+            String normalized = normalize(code);
+            return normalized != null
+                    ? Optional.ofNullable(byCode.get(normalized.toUpperCase(Locale.ROOT)))
+                    : Optional.empty();
+        }
+
+        /**
+         * Значение {@code category_code} детали может быть как id категории, так и её кодом.
+         */
+        public Optional<CategoryNode> resolve(String categoryCode) {
+            String normalized = normalize(categoryCode);
+            if (normalized == null) {
+                return Optional.empty();
+            }
+            try {
+                return findById(Long.parseLong(normalized));
+            } catch (NumberFormatException ignored) {
+                return findByCode(normalized);
+            }
+        }
+
+        public List<CategoryNode> roots(String brand) {
+            String key = brandKey(brand);
+            return key == null ? roots : rootsByBrand.getOrDefault(key, List.of());
+        }
+
+        public List<CategoryNode> children(Long parentId, String brand) {
+            if (parentId == null) {
+                return List.of();
+            }
+            String key = brandKey(brand);
+            if (key == null) {
+                return children.getOrDefault(parentId, List.of());
+            }
+            return childrenByBrand.getOrDefault(parentId, Map.of()).getOrDefault(key, List.of());
+        }
+
+        /**
+         * Активная категория и все её активные потомки в порядке обхода в ширину.
+         */
+        public List<CategoryNode> subtree(Long rootId) {
+            CategoryNode root = byId.get(rootId);
+            if (root == null) {
+                return List.of();
+            }
+            List<CategoryNode> result = new ArrayList<>();
+            result.add(root);
+            for (int i = 0; i < result.size(); i++) {
+                result.addAll(children.getOrDefault(result.get(i).id(), List.of()));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.bowling.bowlingapp.DTO.EquipmentComponentDTO;
+import ru.bowling.bowlingapp.Entity.EquipmentComponent;
+import ru.bowling.bowlingapp.Repository.EquipmentComponentRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Общий для всех клубов справочник компонентов оборудования, который прикладывается к технической
+ * информации. Читается один раз и сбрасывается {@link EquipmentComponentChangeListener}.
+ */
+@Component
+@RequiredArgsConstructor
+public class EquipmentComponentCache {
+
+    private final EquipmentComponentRepository equipmentComponentRepository;
+
+    private final AtomicReference<List<EquipmentComponentDTO>> current = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public List<EquipmentComponentDTO> components() {
+        List<EquipmentComponentDTO> components = current.get();
+        if (components != null) {
+            return components;
+        }
+        long observedGeneration = generation.get();
+        List<EquipmentComponentDTO> loaded = equipmentComponentRepository.findAll().stream()
+                .map(this::toDto)
+                .toList();
+        // Список, прочитанный во время инвалидации, мог застать старые данные — его не публикуем.
+        if (generation.get() == observedGeneration) {
+            current.compareAndSet(null, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        current.set(null);
+    }
+
+    private EquipmentComponentDTO toDto(EquipmentComponent component) {
+        return EquipmentComponentDTO.builder()
+                .componentId(component.getComponentId())
+                .name(component.getName())
+                .manufacturer(component.getManufacturer())
+                .category(component.getCategory())
+                .code(component.getCode())
+                .notes(component.getNotes())
+                .parentId(component.getParent() != null ? component.getParent().getComponentId() : null)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.bowling.bowlingapp.Entity.EquipmentComponent;
+
+/**
+ * Сбрасывает справочник компонентов при любом изменении {@link EquipmentComponent} через JPA.
+ * Повторный сброс после завершения транзакции отбрасывает списки, прочитанные до коммита или отката.
+ */
+@Component
+public class EquipmentComponentChangeListener {
+
+    private final ObjectProvider<EquipmentComponentCache> componentCache;
+
+    public EquipmentComponentChangeListener(ObjectProvider<EquipmentComponentCache> componentCache) {
+        this.componentCache = componentCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(EquipmentComponent component) {
+        EquipmentComponentCache cache = componentCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Документы в файлах на локальном диске: {@code <storage-dir>/<2 символа ключа>/<ключ>}.
+ * Файл сначала пишется во временный и переименовывается по окончании записи, так что
+ * недописанный файл никогда не виден под итоговым ключом.
+ */
+@Slf4j
+@Component
+public class FileSystemDocumentContentStore implements DocumentContentStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{32}");
+
+    private final Path root;
+
+    public FileSystemDocumentContentStore(@Value("${app.knowledge-base.storage-dir:data/knowledge-base}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String scheme() {
+        return "fs";
+    }
+
+    @Override
+    public StoredContent write(InputStream content) throws IOException {
+        String key = UUID.randomUUID().toString().replace("-", "");
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path partial = target.resolveSibling(key + ".part");
+        long size;
+        try {
+            size = Files.copy(content, partial, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        deleteQuietly(key);
+                    }
+                }
+            });
+        }
+        return new StoredContent(key, size);
+    }
+
+    @Override
+    public void copyRange(String key, long offset, long length, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    throw new IOException("Document file " + key + " is shorter than expected");
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            delete(key);
+        } catch (IOException e) {
+            log.warn("Failed to delete document file {} after rollback", key, e);
+        }
+    }
+
+    private Path resolve(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid document storage key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+}
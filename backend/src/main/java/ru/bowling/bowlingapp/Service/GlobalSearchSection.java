@@ -0,0 +1,37 @@
+package ru.bowling.bowlingapp.Service;
+
+import java.util.Locale;
+
+public enum GlobalSearchSection {
+    PARTS,
+    MAINTENANCE_REQUESTS,
+    WORK_LOGS,
+    CLUBS;
+
+    /**
+     * Имя поля ответа, соответствующего секции: {@code parts}, {@code maintenanceRequests}, ...
+     */
+    public String fieldName() {
+        StringBuilder name = new StringBuilder();
+        for (String word : name().toLowerCase(Locale.ROOT).split("_")) {
+            name.append(name.isEmpty() ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Принимает как имя константы, так и имя поля ответа ({@code workLogs}, {@code maintenanceRequests}).
+     */
+    public static GlobalSearchSection fromString(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        String normalized = raw.trim().replace("_", "").replace("-", "").toUpperCase(Locale.ROOT);
+        for (GlobalSearchSection section : values()) {
+            if (section.name().replace("_", "").equals(normalized)) {
+                return section;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная секция поиска: " + raw);
+    }
+}
@@ -1,11 +1,18 @@
 package ru.bowling.bowlingapp.Service;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.bowling.bowlingapp.DTO.GlobalSearchResponseDTO;
-import ru.bowling.bowlingapp.DTO.InventorySearchRequest;
 import ru.bowling.bowlingapp.DTO.PartDto;
 import ru.bowling.bowlingapp.Entity.BowlingClub;
 import ru.bowling.bowlingapp.Entity.ClubStaff;
@@ -14,6 +21,7 @@ import ru.bowling.bowlingapp.Entity.MechanicProfile;
 import ru.bowling.bowlingapp.Entity.OwnerProfile;
 import ru.bowling.bowlingapp.Entity.ManagerProfile;
 import ru.bowling.bowlingapp.Entity.User;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
 import ru.bowling.bowlingapp.Entity.WorkLog;
 import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
 import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
@@ -23,28 +31,54 @@ import ru.bowling.bowlingapp.Repository.MechanicProfileRepository;
 import ru.bowling.bowlingapp.Repository.OwnerProfileRepository;
 import ru.bowling.bowlingapp.Repository.ManagerProfileRepository;
 import ru.bowling.bowlingapp.Repository.UserRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
 import ru.bowling.bowlingapp.Repository.WorkLogRepository;
+import ru.bowling.bowlingapp.Repository.specification.GlobalSearchSpecifications;
+import ru.bowling.bowlingapp.Repository.specification.WorkLogSpecifications;
 
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Глобальный поиск. Каждая секция — отдельный ограниченный keyset-запрос к БД на {@code limit} строк,
+ * секции выполняются параллельно на ограниченном пуле и возвращают курсор для догрузки.
+ * <p>
+ * Один поиск занимает не больше {@link #SECTIONS_PER_SEARCH} потоков пула (и соединений с БД) одновременно:
+ * остальные секции ждут своей очереди за ними. Секции, не успевшие к общему сроку поиска, возвращаются пустыми
+ * и перечисляются в {@code incompleteSections} ответа.
+ * <p>
+ * Транзакция секции получает таймаут, равный времени, оставшемуся до срока поиска в момент её начала, поэтому
+ * запросы секции, вставшей в очередь, не переживают срок ответа. Секция, до которой очередь дошла после срока,
+ * не выполняется и не берёт соединение.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class GlobalSearchService {
 
-    private static final int FETCH_MULTIPLIER = 4;
+    private static final int SECTION_THREADS = 4;
+    private static final int SECTION_QUEUE_CAPACITY = 64;
+    private static final int SECTIONS_PER_SEARCH = 2;
+    private static final int SEARCH_TIMEOUT_SECONDS = 10;
 
-    private final InventoryService inventoryService;
+    private final PartDtoAssembler partDtoAssembler;
     private final UserRepository userRepository;
     private final MechanicProfileRepository mechanicProfileRepository;
     private final ManagerProfileRepository managerProfileRepository;
@@ -53,160 +87,172 @@ public class GlobalSearchService {
     private final WorkLogRepository workLogRepository;
     private final BowlingClubRepository bowlingClubRepository;
     private final ClubStaffRepository clubStaffRepository;
+    private final WarehouseInventoryRepository warehouseInventoryRepository;
+    private final PlatformTransactionManager transactionManager;
 
-    @Transactional(readOnly = true)
-    public GlobalSearchResponseDTO search(String rawQuery, int limit, Long userId) {
-        String normalizedQuery = rawQuery != null ? rawQuery.trim() : "";
-        String loweredQuery = normalizedQuery.toLowerCase(Locale.ROOT);
-        boolean hasQuery = !loweredQuery.isEmpty();
-
-        User user = userRepository.findById(userId)
-                .orElse(null);
-
-        String roleName = user != null && user.getRole() != null && user.getRole().getName() != null
-                ? user.getRole().getName().trim().toUpperCase(Locale.ROOT)
-                : "";
-
-        List<MechanicProfile> mechanicProfiles = mechanicProfileRepository.findAllByUser_UserIdOrderByProfileIdDesc(userId);
-        MechanicProfile mechanicProfile = mechanicProfiles.isEmpty() ? null : mechanicProfiles.get(0);
-        ManagerProfile managerProfile = managerProfileRepository.findByUser_UserId(userId).orElse(null);
-        OwnerProfile ownerProfile = ownerProfileRepository.findByUser_UserId(userId).orElse(null);
+    // При заполненной очереди секция выполняется в потоке запроса — это и есть ограничение нагрузки.
+    private final ThreadPoolExecutor sectionExecutor = createSectionExecutor();
 
-        List<Long> accessibleClubIds = resolveAccessibleClubIds(user, roleName, mechanicProfile, managerProfile, ownerProfile);
+    public GlobalSearchResponseDTO search(String rawQuery, int limit, Long userId) {
+        return search(rawQuery, limit, userId, null, null);
+    }
 
-        List<PartDto> parts = searchParts(normalizedQuery, limit, accessibleClubIds, roleName);
-        List<GlobalSearchResponseDTO.MaintenanceRequestResult> requests = searchMaintenanceRequests(loweredQuery, hasQuery, limit, user, roleName, mechanicProfile, managerProfile, ownerProfile);
-        List<GlobalSearchResponseDTO.WorkLogResult> workLogs = searchWorkLogs(loweredQuery, hasQuery, limit, user, roleName, mechanicProfile, managerProfile, ownerProfile);
-        List<GlobalSearchResponseDTO.ClubResult> clubs = searchClubs(loweredQuery, hasQuery, limit, user, roleName, accessibleClubIds, ownerProfile, managerProfile);
+    /**
+     * @param section секция для догрузки; {@code null} — все секции с первой страницы
+     * @param cursor  курсор из {@code nextCursors} предыдущего ответа для указанной секции
+     */
+    public GlobalSearchResponseDTO search(String rawQuery, int limit, Long userId,
+                                          GlobalSearchSection section, String cursor) {
+        String normalizedCursor = cursor != null && !cursor.isBlank() ? cursor.trim() : null;
+        if (normalizedCursor != null && section == null) {
+            throw new IllegalArgumentException("Для курсора необходимо указать секцию поиска");
+        }
+        String loweredQuery = rawQuery != null ? rawQuery.trim().toLowerCase(Locale.ROOT) : "";
+        Set<GlobalSearchSection> sections = section != null
+                ? EnumSet.of(section)
+                : EnumSet.allOf(GlobalSearchSection.class);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SEARCH_TIMEOUT_SECONDS);
+        SearchScope scope = inReadOnlyTransaction(() -> resolveScope(userId), SEARCH_TIMEOUT_SECONDS);
+
+        SectionLanes lanes = new SectionLanes(sections, deadline);
+        CompletableFuture<SectionPage<PartDto>> parts = lanes.submit(GlobalSearchSection.PARTS,
+                () -> searchParts(scope, loweredQuery, limit, normalizedCursor));
+        CompletableFuture<SectionPage<GlobalSearchResponseDTO.MaintenanceRequestResult>> requests = lanes.submit(
+                GlobalSearchSection.MAINTENANCE_REQUESTS,
+                () -> searchMaintenanceRequests(scope, loweredQuery, limit, normalizedCursor));
+        CompletableFuture<SectionPage<GlobalSearchResponseDTO.WorkLogResult>> workLogs = lanes.submit(
+                GlobalSearchSection.WORK_LOGS,
+                () -> searchWorkLogs(scope, loweredQuery, limit, normalizedCursor));
+        CompletableFuture<SectionPage<GlobalSearchResponseDTO.ClubResult>> clubs = lanes.submit(
+                GlobalSearchSection.CLUBS,
+                () -> searchClubs(scope, loweredQuery, limit, normalizedCursor));
+
+        List<String> incomplete = new ArrayList<>();
+        SectionPage<PartDto> partsPage = await(GlobalSearchSection.PARTS, parts, deadline, incomplete);
+        SectionPage<GlobalSearchResponseDTO.MaintenanceRequestResult> requestsPage =
+                await(GlobalSearchSection.MAINTENANCE_REQUESTS, requests, deadline, incomplete);
+        SectionPage<GlobalSearchResponseDTO.WorkLogResult> workLogsPage =
+                await(GlobalSearchSection.WORK_LOGS, workLogs, deadline, incomplete);
+        SectionPage<GlobalSearchResponseDTO.ClubResult> clubsPage =
+                await(GlobalSearchSection.CLUBS, clubs, deadline, incomplete);
 
         return GlobalSearchResponseDTO.builder()
-                .parts(parts)
-                .maintenanceRequests(requests)
-                .workLogs(workLogs)
-                .clubs(clubs)
+                .parts(partsPage.items())
+                .maintenanceRequests(requestsPage.items())
+                .workLogs(workLogsPage.items())
+                .clubs(clubsPage.items())
+                .nextCursors(GlobalSearchResponseDTO.SectionCursors.builder()
+                        .parts(partsPage.nextCursor())
+                        .maintenanceRequests(requestsPage.nextCursor())
+                        .workLogs(workLogsPage.nextCursor())
+                        .clubs(clubsPage.nextCursor())
+                        .build())
+                .incompleteSections(List.copyOf(incomplete))
                 .build();
     }
 
-    private List<PartDto> searchParts(String query, int limit, List<Long> accessibleClubIds, String roleName) {
-        Map<Long, PartDto> aggregated = new LinkedHashMap<>();
-        boolean isAdmin = "ADMIN".equals(roleName);
-
-        if (!isAdmin && (accessibleClubIds == null || accessibleClubIds.isEmpty())) {
-            return List.of();
-        }
-
-        if (isAdmin) {
-            inventoryService.searchParts(buildInventorySearchRequest(query, null, null))
-                    .stream()
-                    .limit(limit)
-                    .forEach(part -> aggregated.putIfAbsent(safeInventoryKey(part), part));
-            return new ArrayList<>(aggregated.values());
-        }
+    @PreDestroy
+    public void shutdown() {
+        sectionExecutor.shutdownNow();
+    }
 
-        for (Long clubId : accessibleClubIds) {
-            if (clubId == null) {
-                continue;
+    private <T> SectionPage<T> await(GlobalSearchSection section, CompletableFuture<SectionPage<T>> future,
+                                     long deadline, List<String> incomplete) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Отмена не останавливает уже начатую секцию: её запросы прервёт таймаут транзакции, который не позже
+            // срока поиска. Секция, ещё стоящая в очереди, после срока не выполнится.
+            future.cancel(true);
+            log.warn("Global search section {} did not finish within {}s", section, SEARCH_TIMEOUT_SECONDS);
+            incomplete.add(section.fieldName());
+            return SectionPage.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Глобальный поиск прерван", ex);
+        } catch (ExecutionException ex) {
+            if (isTimeout(ex.getCause())) {
+                log.warn("Global search section {} timed out", section);
+                incomplete.add(section.fieldName());
+                return SectionPage.empty();
             }
-            inventoryService.searchParts(buildInventorySearchRequest(
-                            query,
-                            clubId,
-                            Set.of(Math.toIntExact(clubId))))
-                    .stream()
-                    .filter(Objects::nonNull)
-                    .forEach(part -> aggregated.putIfAbsent(safeInventoryKey(part), part));
-            if (aggregated.size() >= limit) {
-                break;
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
             }
+            throw new IllegalStateException("Ошибка секции поиска " + section, ex.getCause());
         }
+    }
 
-        return aggregated.values().stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof TransactionTimedOutException
+                    || current instanceof QueryTimeoutException
+                    || current instanceof jakarta.persistence.QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private InventorySearchRequest buildInventorySearchRequest(String query,
-                                                             Long clubId,
-                                                             Set<Integer> allowedWarehouseIds) {
-        return InventorySearchRequest.builder()
-                .query(query)
-                .clubId(clubId)
-                .warehouseId(clubId != null ? Math.toIntExact(clubId) : null)
-                .allowedWarehouseIds(allowedWarehouseIds)
-                .build();
+    private <T> T inReadOnlyTransaction(Supplier<T> action, int timeoutSeconds) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setTimeout(timeoutSeconds);
+        return template.execute(status -> action.get());
     }
 
-    private Long safeInventoryKey(PartDto part) {
-        if (part == null) {
-            return null;
+    private SectionPage<PartDto> searchParts(SearchScope scope, String loweredQuery, int limit, String cursor) {
+        List<Specification<WarehouseInventory>> specs = new ArrayList<>();
+        if (!scope.admin()) {
+            if (scope.accessibleClubIds().isEmpty()) {
+                return SectionPage.empty();
+            }
+            specs.add(GlobalSearchSpecifications.inventoryWarehouseIdIn(scope.accessibleClubIds().stream()
+                    .map(Math::toIntExact)
+                    .toList()));
         }
-        if (part.getInventoryId() != null) {
-            return part.getInventoryId();
+        if (!loweredQuery.isEmpty()) {
+            specs.add(GlobalSearchSpecifications.inventoryMatches(loweredQuery));
         }
-        if (part.getCatalogId() != null) {
-            return part.getCatalogId();
+        if (cursor != null) {
+            specs.add(GlobalSearchSpecifications.inventoryIdAfter(decodeId(cursor)));
         }
-        return part.hashCode() & 0xffffffffL;
+
+        List<WarehouseInventory> rows = warehouseInventoryRepository.findBy(Specification.allOf(specs),
+                query -> query.sortBy(Sort.by(Sort.Direction.ASC, "inventoryId")).limit(limit + 1).all());
+        List<WarehouseInventory> page = rows.size() > limit ? rows.subList(0, limit) : rows;
+        String nextCursor = rows.size() > limit
+                ? encode(String.valueOf(page.get(page.size() - 1).getInventoryId()))
+                : null;
+        return new SectionPage<>(partDtoAssembler.assemble(page, Collections.emptyMap()), nextCursor);
     }
 
-    private List<GlobalSearchResponseDTO.MaintenanceRequestResult> searchMaintenanceRequests(
-            String loweredQuery,
-            boolean hasQuery,
-            int limit,
-            User user,
-            String roleName,
-            MechanicProfile mechanicProfile,
-            ManagerProfile managerProfile,
-            OwnerProfile ownerProfile
-    ) {
-        List<MaintenanceRequest> pool = new ArrayList<>();
-
-        if ("ADMIN".equals(roleName)) {
-            pool.addAll(maintenanceRequestRepository.findAllByOrderByRequestDateDesc());
-        } else if ("MECHANIC".equals(roleName) && mechanicProfile != null) {
-            pool.addAll(maintenanceRequestRepository.findByMechanic_ProfileId(mechanicProfile.getProfileId()));
-        } else if ("HEAD_MECHANIC".equals(roleName) && hasVerifiedManagerAccess(user, managerProfile)) {
-            pool.addAll(maintenanceRequestRepository.findByClubClubIdOrderByRequestDateDesc(managerProfile.getClub().getClubId()));
-        } else if ("CLUB_OWNER".equals(roleName) && ownerProfile != null && ownerProfile.getClubs() != null) {
-            for (BowlingClub club : ownerProfile.getClubs()) {
-                if (club != null && club.getClubId() != null) {
-                    pool.addAll(maintenanceRequestRepository.findByClubClubIdOrderByRequestDateDesc(club.getClubId()));
-                }
+    private SectionPage<GlobalSearchResponseDTO.MaintenanceRequestResult> searchMaintenanceRequests(
+            SearchScope scope, String loweredQuery, int limit, String cursor) {
+        List<Specification<MaintenanceRequest>> specs = new ArrayList<>();
+        specs.add(GlobalSearchSpecifications.requestFetchClubAndMechanic());
+        if (!scope.admin()) {
+            if (scope.journalMechanicId() != null) {
+                specs.add(GlobalSearchSpecifications.requestMechanicId(scope.journalMechanicId()));
+            } else if (!scope.journalClubIds().isEmpty()) {
+                specs.add(GlobalSearchSpecifications.requestClubIdIn(scope.journalClubIds()));
+            } else {
+                return SectionPage.empty();
             }
-        } else if (mechanicProfile != null) {
-            pool.addAll(maintenanceRequestRepository.findByMechanic_ProfileId(mechanicProfile.getProfileId()));
         }
-
-        Comparator<MaintenanceRequest> comparator = Comparator
-                .comparing(this::safeRequestDate, Comparator.nullsLast(Comparator.reverseOrder()))
-                .thenComparing(MaintenanceRequest::getRequestId, Comparator.nullsLast(Comparator.naturalOrder()));
-
-        return pool.stream()
-                .filter(Objects::nonNull)
-                .sorted(comparator)
-                .filter(req -> hasQuery ? matchesMaintenanceRequest(req, loweredQuery) : true)
-                .distinct()
-                .limit(limit)
-                .map(this::toMaintenanceResult)
-                .collect(Collectors.toList());
-    }
-
-    private LocalDateTime safeRequestDate(MaintenanceRequest request) {
-        return request != null ? request.getRequestDate() : null;
-    }
-
-    private boolean matchesMaintenanceRequest(MaintenanceRequest request, String loweredQuery) {
-        if (loweredQuery.isEmpty()) {
-            return true;
+        if (!loweredQuery.isEmpty()) {
+            specs.add(GlobalSearchSpecifications.requestMatches(loweredQuery));
+        }
+        if (cursor != null) {
+            specs.add(GlobalSearchSpecifications.requestIdBefore(decodeId(cursor)));
         }
-        String status = Optional.ofNullable(request.getStatus())
-                .map(MaintenanceRequestStatus::name)
-                .orElse("");
-        String clubName = Optional.ofNullable(request.getClub()).map(BowlingClub::getName).orElse("");
-        String mechanicName = Optional.ofNullable(request.getMechanic()).map(MechanicProfile::getFullName).orElse("");
-        String lane = request.getLaneNumber() != null ? String.valueOf(request.getLaneNumber()) : "";
-        String id = request.getRequestId() != null ? String.valueOf(request.getRequestId()) : "";
-
-        return matchesAny(loweredQuery, status, clubName, mechanicName, lane, id);
+
+        // Идентификатор выдаётся при создании заявки, поэтому порядок по нему совпадает с порядком по дате
+        // и, в отличие от даты, не содержит NULL и однозначно задаёт границу страницы.
+        List<MaintenanceRequest> rows = maintenanceRequestRepository.findBy(Specification.allOf(specs),
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "requestId")).limit(limit + 1).all());
+        return toPage(rows, limit, this::toMaintenanceResult, request -> String.valueOf(request.getRequestId()));
     }
 
     private GlobalSearchResponseDTO.MaintenanceRequestResult toMaintenanceResult(MaintenanceRequest request) {
@@ -222,65 +268,29 @@ public class GlobalSearchService {
                 .build();
     }
 
-    private List<GlobalSearchResponseDTO.WorkLogResult> searchWorkLogs(
-            String loweredQuery,
-            boolean hasQuery,
-            int limit,
-            User user,
-            String roleName,
-            MechanicProfile mechanicProfile,
-            ManagerProfile managerProfile,
-            OwnerProfile ownerProfile
-    ) {
-        Set<WorkLog> collected = new LinkedHashSet<>();
-        int pageSize = Math.max(limit * FETCH_MULTIPLIER, limit);
-
-        if ("ADMIN".equals(roleName)) {
-            collected.addAll(workLogRepository.findAllByOrderByCreatedDateDesc(PageRequest.of(0, pageSize)).getContent());
-        } else if ("MECHANIC".equals(roleName) && mechanicProfile != null) {
-            collected.addAll(workLogRepository.findByMechanicProfileId(mechanicProfile.getProfileId(), PageRequest.of(0, pageSize)).getContent());
-        } else if ("HEAD_MECHANIC".equals(roleName) && hasVerifiedManagerAccess(user, managerProfile)) {
-            collected.addAll(workLogRepository.findByClubClubId(managerProfile.getClub().getClubId(), PageRequest.of(0, pageSize)).getContent());
-        } else if ("CLUB_OWNER".equals(roleName) && ownerProfile != null && ownerProfile.getClubs() != null) {
-            for (BowlingClub club : ownerProfile.getClubs()) {
-                if (club != null && club.getClubId() != null) {
-                    collected.addAll(workLogRepository.findByClubClubId(club.getClubId(), PageRequest.of(0, pageSize)).getContent());
-                }
+    private SectionPage<GlobalSearchResponseDTO.WorkLogResult> searchWorkLogs(
+            SearchScope scope, String loweredQuery, int limit, String cursor) {
+        List<Specification<WorkLog>> specs = new ArrayList<>();
+        specs.add(WorkLogSpecifications.fetchClubAndMechanic());
+        if (!scope.admin()) {
+            if (scope.journalMechanicId() != null) {
+                specs.add(WorkLogSpecifications.mechanicId(scope.journalMechanicId()));
+            } else if (!scope.journalClubIds().isEmpty()) {
+                specs.add(WorkLogSpecifications.clubIdIn(scope.journalClubIds()));
+            } else {
+                return SectionPage.empty();
             }
-        } else if (mechanicProfile != null) {
-            collected.addAll(workLogRepository.findByMechanicProfileId(mechanicProfile.getProfileId(), PageRequest.of(0, pageSize)).getContent());
         }
-
-        Comparator<WorkLog> comparator = Comparator
-                .comparing(this::safeCreatedDate, Comparator.nullsLast(Comparator.reverseOrder()))
-                .thenComparing(WorkLog::getLogId, Comparator.nullsLast(Comparator.naturalOrder()));
-
-        return collected.stream()
-                .filter(Objects::nonNull)
-                .sorted(comparator)
-                .filter(log -> hasQuery ? matchesWorkLog(log, loweredQuery) : true)
-                .limit(limit)
-                .map(this::toWorkLogResult)
-                .collect(Collectors.toList());
-    }
-
-    private LocalDateTime safeCreatedDate(WorkLog log) {
-        return log != null ? log.getCreatedDate() : null;
-    }
-
-    private boolean matchesWorkLog(WorkLog log, String loweredQuery) {
-        if (loweredQuery.isEmpty()) {
-            return true;
+        if (!loweredQuery.isEmpty()) {
+            specs.add(GlobalSearchSpecifications.workLogMatches(loweredQuery));
         }
-        String status = Optional.ofNullable(log.getStatus()).map(Enum::name).orElse("");
-        String workType = Optional.ofNullable(log.getWorkType()).map(Enum::name).orElse("");
-        String clubName = Optional.ofNullable(log.getClub()).map(BowlingClub::getName).orElse("");
-        String mechanicName = Optional.ofNullable(log.getMechanic()).map(MechanicProfile::getFullName).orElse("");
-        String lane = log.getLaneNumber() != null ? String.valueOf(log.getLaneNumber()) : "";
-        String id = log.getLogId() != null ? String.valueOf(log.getLogId()) : "";
-        String problem = Optional.ofNullable(log.getProblemDescription()).orElse("");
-
-        return matchesAny(loweredQuery, status, workType, clubName, mechanicName, lane, id, problem);
+        if (cursor != null) {
+            specs.add(GlobalSearchSpecifications.workLogIdBefore(decodeId(cursor)));
+        }
+
+        List<WorkLog> rows = workLogRepository.findBy(Specification.allOf(specs),
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "logId")).limit(limit + 1).all());
+        return toPage(rows, limit, this::toWorkLogResult, log -> String.valueOf(log.getLogId()));
     }
 
     private GlobalSearchResponseDTO.WorkLogResult toWorkLogResult(WorkLog log) {
@@ -298,51 +308,31 @@ public class GlobalSearchService {
                 .build();
     }
 
-    private List<GlobalSearchResponseDTO.ClubResult> searchClubs(
-            String loweredQuery,
-            boolean hasQuery,
-            int limit,
-            User user,
-            String roleName,
-            List<Long> accessibleClubIds,
-            OwnerProfile ownerProfile,
-            ManagerProfile managerProfile
-    ) {
-        Set<BowlingClub> clubs = new LinkedHashSet<>();
-
-        if ("ADMIN".equals(roleName)) {
-            clubs.addAll(bowlingClubRepository.findAll());
-        } else if ("CLUB_OWNER".equals(roleName) && ownerProfile != null && ownerProfile.getClubs() != null) {
-            clubs.addAll(ownerProfile.getClubs());
-        } else if ("HEAD_MECHANIC".equals(roleName) && hasVerifiedManagerAccess(user, managerProfile)) {
-            clubs.add(managerProfile.getClub());
-        } else if (!accessibleClubIds.isEmpty()) {
-            for (Long id : accessibleClubIds) {
-                bowlingClubRepository.findById(id).ifPresent(clubs::add);
+    private SectionPage<GlobalSearchResponseDTO.ClubResult> searchClubs(
+            SearchScope scope, String loweredQuery, int limit, String cursor) {
+        List<Specification<BowlingClub>> specs = new ArrayList<>();
+        if (!scope.admin()) {
+            if (scope.visibleClubIds().isEmpty()) {
+                return SectionPage.empty();
             }
+            specs.add(GlobalSearchSpecifications.clubIdIn(scope.visibleClubIds()));
         }
-
-        Comparator<BowlingClub> comparator = Comparator
-                .comparing(BowlingClub::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
-                .thenComparing(BowlingClub::getClubId, Comparator.nullsLast(Comparator.naturalOrder()));
-
-        return clubs.stream()
-                .filter(Objects::nonNull)
-                .sorted(comparator)
-                .filter(club -> hasQuery ? matchesClub(club, loweredQuery) : true)
-                .limit(limit)
-                .map(this::toClubResult)
-                .collect(Collectors.toList());
-    }
-
-    private boolean matchesClub(BowlingClub club, String loweredQuery) {
-        if (loweredQuery.isEmpty()) {
-            return true;
+        if (!loweredQuery.isEmpty()) {
+            specs.add(GlobalSearchSpecifications.clubMatches(loweredQuery));
         }
-        String name = Optional.ofNullable(club.getName()).orElse("");
-        String address = Optional.ofNullable(club.getAddress()).orElse("");
-        String id = club.getClubId() != null ? String.valueOf(club.getClubId()) : "";
-        return matchesAny(loweredQuery, name, address, id);
+        if (cursor != null) {
+            String decoded = decode(cursor);
+            int separator = decoded.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Некорректный курсор поиска");
+            }
+            specs.add(GlobalSearchSpecifications.clubAfter(decoded.substring(separator + 1),
+                    parseId(decoded.substring(0, separator))));
+        }
+
+        List<BowlingClub> rows = bowlingClubRepository.findBy(Specification.allOf(specs),
+                query -> query.sortBy(Sort.by(Sort.Direction.ASC, "name", "clubId")).limit(limit + 1).all());
+        return toPage(rows, limit, this::toClubResult, club -> club.getClubId() + ":" + club.getName());
     }
 
     private GlobalSearchResponseDTO.ClubResult toClubResult(BowlingClub club) {
@@ -355,18 +345,67 @@ public class GlobalSearchService {
                 .build();
     }
 
-    private boolean matchesAny(String loweredQuery, String... candidates) {
-        for (String candidate : candidates) {
-            if (candidate != null && candidate.toLowerCase(Locale.ROOT).contains(loweredQuery)) {
-                return true;
-            }
+    /**
+     * Строки запрошены с запасом в одну: её наличие означает, что есть следующая страница.
+     */
+    private <E, T> SectionPage<T> toPage(List<E> rows, int limit, Function<E, T> mapper, Function<E, String> cursorKey) {
+        List<E> page = rows.size() > limit ? rows.subList(0, limit) : rows;
+        String nextCursor = rows.size() > limit ? encode(cursorKey.apply(page.get(page.size() - 1))) : null;
+        return new SectionPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+
+    private SearchScope resolveScope(Long userId) {
+        User user = userId != null ? userRepository.findById(userId).orElse(null) : null;
+
+        String roleName = user != null && user.getRole() != null && user.getRole().getName() != null
+                ? user.getRole().getName().trim().toUpperCase(Locale.ROOT)
+                : "";
+
+        List<MechanicProfile> mechanicProfiles = mechanicProfileRepository.findAllByUser_UserIdOrderByProfileIdDesc(userId);
+        MechanicProfile mechanicProfile = mechanicProfiles.isEmpty() ? null : mechanicProfiles.get(0);
+        ManagerProfile managerProfile = managerProfileRepository.findByUser_UserId(userId).orElse(null);
+        OwnerProfile ownerProfile = ownerProfileRepository.findByUser_UserId(userId).orElse(null);
+
+        boolean admin = "ADMIN".equals(roleName);
+        boolean verifiedManager = hasVerifiedManagerAccess(user, managerProfile);
+        Long managerClubId = verifiedManager ? managerProfile.getClub().getClubId() : null;
+        List<Long> ownerClubIds = ownerProfile != null && ownerProfile.getClubs() != null
+                ? ownerProfile.getClubs().stream()
+                        .filter(Objects::nonNull)
+                        .map(BowlingClub::getClubId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList()
+                : List.of();
+        List<Long> accessibleClubIds = resolveAccessibleClubIds(mechanicProfile, managerClubId, ownerClubIds);
+
+        Long journalMechanicId = null;
+        List<Long> journalClubIds = List.of();
+        if ("MECHANIC".equals(roleName) && mechanicProfile != null) {
+            journalMechanicId = mechanicProfile.getProfileId();
+        } else if ("HEAD_MECHANIC".equals(roleName) && managerClubId != null) {
+            journalClubIds = List.of(managerClubId);
+        } else if ("CLUB_OWNER".equals(roleName) && ownerProfile != null && ownerProfile.getClubs() != null) {
+            journalClubIds = ownerClubIds;
+        } else if (mechanicProfile != null) {
+            journalMechanicId = mechanicProfile.getProfileId();
         }
-        return false;
+
+        List<Long> visibleClubIds;
+        if ("CLUB_OWNER".equals(roleName) && ownerProfile != null && ownerProfile.getClubs() != null) {
+            visibleClubIds = ownerClubIds;
+        } else if ("HEAD_MECHANIC".equals(roleName) && managerClubId != null) {
+            visibleClubIds = List.of(managerClubId);
+        } else {
+            visibleClubIds = accessibleClubIds;
+        }
+
+        return new SearchScope(admin, journalMechanicId, journalClubIds, visibleClubIds, accessibleClubIds);
     }
 
-    private List<Long> resolveAccessibleClubIds(User user, String roleName, MechanicProfile mechanicProfile, ManagerProfile managerProfile, OwnerProfile ownerProfile) {
+    private List<Long> resolveAccessibleClubIds(MechanicProfile mechanicProfile, Long managerClubId, List<Long> ownerClubIds) {
         Set<Long> ids = new LinkedHashSet<>();
-        if (("MECHANIC".equals(roleName) || mechanicProfile != null) && mechanicProfile != null) {
+        if (mechanicProfile != null) {
             Long mechanicUserId = Optional.ofNullable(mechanicProfile.getUser())
                     .map(User::getUserId)
                     .orElse(null);
@@ -380,19 +419,10 @@ public class GlobalSearchService {
                         .forEach(ids::add);
             }
         }
-        if (("HEAD_MECHANIC".equals(roleName) || managerProfile != null)
-                && hasVerifiedManagerAccess(user, managerProfile)
-                && managerProfile != null
-                && managerProfile.getClub() != null
-                && managerProfile.getClub().getClubId() != null) {
-            ids.add(managerProfile.getClub().getClubId());
-        }
-        if (("CLUB_OWNER".equals(roleName) || ownerProfile != null) && ownerProfile != null && ownerProfile.getClubs() != null) {
-            ownerProfile.getClubs().stream()
-                    .map(BowlingClub::getClubId)
-                    .filter(Objects::nonNull)
-                    .forEach(ids::add);
+        if (managerClubId != null) {
+            ids.add(managerClubId);
         }
+        ids.addAll(ownerClubIds);
         return new ArrayList<>(ids);
     }
 
@@ -406,6 +436,111 @@ public class GlobalSearchService {
         if (!Boolean.TRUE.equals(managerProfile.getIsDataVerified())) {
             return false;
         }
-        return clubStaffRepository.existsByClubAndUserAndIsActiveTrue(managerProfile.getClub(), user);
+        return managerProfile.getClub().getClubId() != null
+                && clubStaffRepository.existsByClubAndUserAndIsActiveTrue(managerProfile.getClub(), user);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Некорректный курсор поиска");
+        }
+    }
+
+    private static Long decodeId(String cursor) {
+        return parseId(decode(cursor));
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Некорректный курсор поиска");
+        }
+    }
+
+    private static ThreadPoolExecutor createSectionExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("global-search-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(SECTION_THREADS, SECTION_THREADS, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(SECTION_QUEUE_CAPACITY), threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Права пользователя на секции поиска, вычисленные один раз на запрос.
+     *
+     * @param journalMechanicId заявки и журнал работ ограничены механиком
+     * @param journalClubIds    иначе — клубами (пусто, если доступа нет)
+     */
+    private record SearchScope(boolean admin,
+                               Long journalMechanicId,
+                               List<Long> journalClubIds,
+                               List<Long> visibleClubIds,
+                               List<Long> accessibleClubIds) {
+    }
+
+    /**
+     * Очереди секций одного поиска: секции распределяются по {@link #SECTIONS_PER_SEARCH} цепочкам,
+     * внутри цепочки следующая секция стартует после завершения предыдущей (в том числе неудачного).
+     */
+    private final class SectionLanes {
+
+        private final Set<GlobalSearchSection> sections;
+        private final long deadline;
+        private final CompletableFuture<?>[] tails = new CompletableFuture<?>[SECTIONS_PER_SEARCH];
+        private int submitted;
+
+        private SectionLanes(Set<GlobalSearchSection> sections, long deadline) {
+            this.sections = sections;
+            this.deadline = deadline;
+        }
+
+        <T> CompletableFuture<SectionPage<T>> submit(GlobalSearchSection section, Supplier<SectionPage<T>> task) {
+            if (!sections.contains(section)) {
+                return CompletableFuture.completedFuture(SectionPage.empty());
+            }
+            Supplier<SectionPage<T>> transactional = () -> inReadOnlyTransaction(task, secondsLeft(section));
+            // Во внешней транзакции выполняемся в ней же: другие потоки не увидят её незафиксированных данных.
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                try {
+                    return CompletableFuture.completedFuture(transactional.get());
+                } catch (RuntimeException ex) {
+                    return CompletableFuture.failedFuture(ex);
+                }
+            }
+            int lane = submitted++ % tails.length;
+            CompletableFuture<?> tail = tails[lane];
+            CompletableFuture<SectionPage<T>> future = tail == null
+                    ? CompletableFuture.supplyAsync(transactional, sectionExecutor)
+                    : tail.handle((result, error) -> null)
+                            .thenApplyAsync(ignored -> transactional.get(), sectionExecutor);
+            tails[lane] = future;
+            return future;
+        }
+
+        /**
+         * Время до срока поиска, округлённое вверх до секунды, — таймаут транзакции секции.
+         */
+        private int secondsLeft(GlobalSearchSection section) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                throw new TransactionTimedOutException("Global search section " + section
+                        + " reached the deadline in queue");
+            }
+            return (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(left + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+    }
+
+    private record SectionPage<T>(List<T> items, String nextCursor) {
+
+        static <T> SectionPage<T> empty() {
+            return new SectionPage<>(List.of(), null);
+        }
     }
 }
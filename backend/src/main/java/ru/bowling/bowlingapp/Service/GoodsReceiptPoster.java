@@ -0,0 +1,246 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Проводка поступления товара на склад целиком: приёмка заказа поставщику или поставка в клуб.
+ * <p>
+ * Строки поступления сворачиваются по позиции каталога, остатки всех затронутых позиций
+ * (warehouse_id, catalog_id) обновляются одним пакетом: на PostgreSQL —
+ * {@code INSERT ... ON CONFLICT DO UPDATE} с прибавлением количества, на остальных БД — пакет UPDATE
+ * для существующих строк и пакет INSERT для новых. Движения журнала пишутся тем же способом — одним
+ * пакетом на поступление, остатки после движения берутся из только что записанных строк.
+ * <p>
+ * Запись идёт только внутри транзакции вызывающего кода ({@link Propagation#MANDATORY}).
+ * Пакет JDBC минует контекст персистентности: загруженные в нём сущности позиций склада после проводки устаревают.
+ */
+@Slf4j
+@Service
+public class GoodsReceiptPoster {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO warehouse_inventory
+                (warehouse_id, catalog_id, quantity, reserved_quantity, location_reference, shelf_code, cell_code,
+                 notes, last_checked)
+            VALUES (?, ?, ?, 0, ?, ?, ?, ?, ?)
+            ON CONFLICT (warehouse_id, catalog_id) DO UPDATE SET
+                quantity = COALESCE(warehouse_inventory.quantity, 0) + EXCLUDED.quantity,
+                location_reference = COALESCE(EXCLUDED.location_reference, warehouse_inventory.location_reference),
+                shelf_code = COALESCE(EXCLUDED.shelf_code, warehouse_inventory.shelf_code),
+                cell_code = COALESCE(EXCLUDED.cell_code, warehouse_inventory.cell_code),
+                notes = COALESCE(EXCLUDED.notes, warehouse_inventory.notes),
+                last_checked = COALESCE(warehouse_inventory.last_checked, EXCLUDED.last_checked)
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO warehouse_inventory
+                (warehouse_id, catalog_id, quantity, reserved_quantity, location_reference, shelf_code, cell_code,
+                 notes, last_checked)
+            VALUES (?, ?, ?, 0, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE warehouse_inventory
+            SET quantity = COALESCE(quantity, 0) + ?,
+                location_reference = COALESCE(?, location_reference),
+                shelf_code = COALESCE(?, shelf_code),
+                cell_code = COALESCE(?, cell_code),
+                notes = COALESCE(?, notes),
+                last_checked = COALESCE(last_checked, ?)
+            WHERE warehouse_id = ? AND catalog_id = ?
+            """;
+
+    private static final String MOVEMENT_SQL = """
+            INSERT INTO warehouse_movement
+                (warehouse_id, catalog_id, inventory_id, operation_type, quantity_delta, reserved_delta,
+                 quantity_after, reserved_after, request_id, occurred_at)
+            SELECT warehouse_id, catalog_id, inventory_id, ?, ?, 0,
+                   COALESCE(quantity, 0), COALESCE(reserved_quantity, 0), ?, ?
+            FROM warehouse_inventory
+            WHERE warehouse_id = ? AND catalog_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private volatile Boolean postgres;
+
+    public GoodsReceiptPoster(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Строка поступления. Поля размещения необязательны: пустые не затирают уже заданные у позиции.
+     */
+    public record Line(int catalogId, int quantity, String location, String shelfCode, String cellCode, String notes) {
+
+        public static Line of(int catalogId, int quantity) {
+            return new Line(catalogId, quantity, null, null, null, null);
+        }
+    }
+
+    /**
+     * Позиция склада после проводки.
+     */
+    public record Posting(long inventoryId, int catalogId, int quantity, String location, String shelfCode,
+                          String cellCode) {
+    }
+
+    /**
+     * @return позиции склада после проводки по catalog_id; строки с неположительным количеством пропускаются
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Integer, Posting> post(int warehouseId, WarehouseMovementType type, Long requestId,
+                                      Collection<Line> lines) {
+        List<Line> merged = merge(lines);
+        if (merged.isEmpty()) {
+            return Map.of();
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        if (isPostgres()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, merged, merged.size(),
+                    (ps, line) -> bindInsert(ps, warehouseId, line, today));
+        } else {
+            Set<Integer> existing = existingCatalogIds(warehouseId, merged);
+            List<Line> toUpdate = new ArrayList<>(existing.size());
+            List<Line> toInsert = new ArrayList<>(merged.size());
+            for (Line line : merged) {
+                (existing.contains(line.catalogId()) ? toUpdate : toInsert).add(line);
+            }
+            if (!toUpdate.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, toUpdate, toUpdate.size(), (ps, line) -> {
+                    ps.setInt(1, line.quantity());
+                    ps.setString(2, line.location());
+                    ps.setString(3, line.shelfCode());
+                    ps.setString(4, line.cellCode());
+                    ps.setString(5, line.notes());
+                    ps.setDate(6, today);
+                    ps.setInt(7, warehouseId);
+                    ps.setInt(8, line.catalogId());
+                });
+            }
+            if (!toInsert.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, toInsert.size(),
+                        (ps, line) -> bindInsert(ps, warehouseId, line, today));
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(MOVEMENT_SQL, merged, merged.size(), (ps, line) -> {
+            ps.setString(1, type.name());
+            ps.setInt(2, line.quantity());
+            if (requestId != null) {
+                ps.setLong(3, requestId);
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setTimestamp(4, now);
+            ps.setInt(5, warehouseId);
+            ps.setInt(6, line.catalogId());
+        });
+
+        Map<Integer, Posting> postings = loadPostings(warehouseId, merged);
+        log.info("Posted {} receipt for warehouse {}: {} positions, request {}",
+                type, warehouseId, postings.size(), requestId);
+        return postings;
+    }
+
+    /**
+     * Сворачивает строки по catalog_id: количество суммируется, из полей размещения побеждает последнее заданное —
+     * как при построчной проводке.
+     */
+    private List<Line> merge(Collection<Line> lines) {
+        Map<Integer, Line> byCatalog = new LinkedHashMap<>();
+        if (lines == null) {
+            return List.of();
+        }
+        for (Line line : lines) {
+            if (line == null || line.quantity() <= 0) {
+                continue;
+            }
+            byCatalog.merge(line.catalogId(), line, (left, right) -> new Line(left.catalogId(),
+                    left.quantity() + right.quantity(),
+                    right.location() != null ? right.location() : left.location(),
+                    right.shelfCode() != null ? right.shelfCode() : left.shelfCode(),
+                    right.cellCode() != null ? right.cellCode() : left.cellCode(),
+                    right.notes() != null ? right.notes() : left.notes()));
+        }
+        return new ArrayList<>(byCatalog.values());
+    }
+
+    private Set<Integer> existingCatalogIds(int warehouseId, List<Line> lines) {
+        Set<Integer> existing = new HashSet<>();
+        namedJdbcTemplate.query(
+                "SELECT catalog_id FROM warehouse_inventory "
+                        + "WHERE warehouse_id = :warehouseId AND catalog_id IN (:catalogIds)",
+                params(warehouseId, lines),
+                (RowCallbackHandler) rs -> existing.add(rs.getInt(1)));
+        return existing;
+    }
+
+    private Map<Integer, Posting> loadPostings(int warehouseId, List<Line> lines) {
+        Map<Integer, Posting> postings = new HashMap<>();
+        namedJdbcTemplate.query(
+                "SELECT inventory_id, catalog_id, COALESCE(quantity, 0), location_reference, shelf_code, cell_code "
+                        + "FROM warehouse_inventory "
+                        + "WHERE warehouse_id = :warehouseId AND catalog_id IN (:catalogIds)",
+                params(warehouseId, lines),
+                (RowCallbackHandler) rs -> postings.put(rs.getInt(2), new Posting(rs.getLong(1), rs.getInt(2),
+                        rs.getInt(3), rs.getString(4), rs.getString(5), rs.getString(6))));
+        return postings;
+    }
+
+    private MapSqlParameterSource params(int warehouseId, List<Line> lines) {
+        return new MapSqlParameterSource()
+                .addValue("warehouseId", warehouseId)
+                .addValue("catalogIds", lines.stream().map(Line::catalogId).toList());
+    }
+
+    private void bindInsert(PreparedStatement ps, int warehouseId, Line line, Date today) throws SQLException {
+        ps.setInt(1, warehouseId);
+        ps.setInt(2, line.catalogId());
+        ps.setInt(3, line.quantity());
+        ps.setString(4, line.location());
+        ps.setString(5, line.shelfCode());
+        ps.setString(6, line.cellCode());
+        ps.setString(7, line.notes());
+        ps.setDate(8, today);
+    }
+
+    private boolean isPostgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            detected = product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+            postgres = detected;
+        }
+        return detected;
+    }
+}
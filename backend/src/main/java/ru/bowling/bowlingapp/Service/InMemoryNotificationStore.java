@@ -0,0 +1,69 @@
+package ru.bowling.bowlingapp.Service;
+
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.Enum.RoleName;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Хранилище без БД для модульных тестов и запуска без JPA: только окно последних событий,
+ * вытесненные уведомления теряются.
+ */
+final class InMemoryNotificationStore implements NotificationStore {
+
+    static final int DEFAULT_CAPACITY = 10_000;
+
+    private final NotificationHotWindow window;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Set<Long>> readByUser = new ConcurrentHashMap<>();
+
+    InMemoryNotificationStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    InMemoryNotificationStore(int capacity) {
+        this.window = new NotificationHotWindow(capacity);
+    }
+
+    @Override
+    public NotificationEvent append(NotificationEvent event) {
+        NotificationEvent stored = event.toBuilder().sequence(sequence.incrementAndGet()).build();
+        window.add(stored);
+        return stored;
+    }
+
+    @Override
+    public List<NotificationEvent> find(RoleName role, Set<Long> clubIds, Long mechanicId, Long afterSequence, int limit) {
+        return window.query(role, clubIds, mechanicId, afterSequence, limit);
+    }
+
+    @Override
+    public Optional<NotificationEvent> findById(UUID id) {
+        return window.findById(id);
+    }
+
+    @Override
+    public Set<Long> findRead(Long userId, Collection<Long> sequences) {
+        Set<Long> read = readByUser.getOrDefault(userId, Set.of());
+        return sequences.stream().filter(read::contains).collect(Collectors.toSet());
+    }
+
+    @Override
+    public void markRead(Long userId, Collection<Long> sequences) {
+        readByUser.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).addAll(sequences);
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        readByUser.clear();
+    }
+}
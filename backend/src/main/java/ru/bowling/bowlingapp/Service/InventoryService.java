@@ -4,9 +4,15 @@ import ru.bowling.bowlingapp.DTO.InventoryItemRequest;
 import ru.bowling.bowlingapp.DTO.InventorySearchRequest;
 import ru.bowling.bowlingapp.DTO.PartDto;
 import ru.bowling.bowlingapp.DTO.ReservationRequestDto;
+import ru.bowling.bowlingapp.DTO.StockReservationRequestDto;
+import ru.bowling.bowlingapp.DTO.StockReservationResultDto;
+import ru.bowling.bowlingapp.DTO.WarehouseBalanceDto;
+import ru.bowling.bowlingapp.DTO.WarehouseMovementPageDTO;
 import ru.bowling.bowlingapp.DTO.WarehouseSummaryDto;
-import ru.bowling.bowlingapp.DTO.WarehouseMovementDto;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface InventoryService {
@@ -15,13 +21,44 @@ public interface InventoryService {
 
     PartDto getPartById(Long partId);
 
-    void reservePart(ReservationRequestDto reservationRequestDto);
+    /**
+     * Резервирует запчасть на одном из складов {@code allowedWarehouseIds}.
+     *
+     * @return позиция склада, на которой поставлен резерв
+     */
+    StockReservationResultDto.Line reservePart(Collection<Integer> allowedWarehouseIds,
+                                               ReservationRequestDto reservationRequestDto);
 
-    void releasePart(ReservationRequestDto reservationRequestDto);
+    StockReservationResultDto.Line releasePart(Collection<Integer> allowedWarehouseIds,
+                                               ReservationRequestDto reservationRequestDto);
+
+    /**
+     * Списывает выданную запчасть с одного из складов {@code allowedWarehouseIds}: {@code ownReserved} единиц —
+     * из резерва, поставленного этой же заявкой, остальное — из свободного остатка.
+     */
+    StockReservationResultDto.Line issuePart(Collection<Integer> allowedWarehouseIds,
+                                             ReservationRequestDto reservationRequestDto,
+                                             int ownReserved);
+
+    /**
+     * Резервирует все строки запроса в одной транзакции, выбирая склад только из {@code allowedWarehouseIds}.
+     */
+    StockReservationResultDto reserveParts(Collection<Integer> allowedWarehouseIds, StockReservationRequestDto request);
+
+    StockReservationResultDto releaseParts(Collection<Integer> allowedWarehouseIds, StockReservationRequestDto request);
 
     List<WarehouseSummaryDto> getAccessibleWarehouses(Long userId);
 
-    List<WarehouseMovementDto> getWarehouseMovements(Integer warehouseId);
+    /**
+     * Движения склада из журнала за период [{@code from}, {@code to}), постранично от новых к старым.
+     */
+    WarehouseMovementPageDTO getWarehouseMovements(Integer warehouseId, LocalDateTime from, LocalDateTime to,
+                                                   String cursor, Integer size);
+
+    /**
+     * Остатки склада на конец дня {@code asOf} по журналу движений.
+     */
+    List<WarehouseBalanceDto> getWarehouseBalance(Integer warehouseId, LocalDate asOf);
 
     PartDto addInventoryItem(Long userId, InventoryItemRequest request);
 
@@ -9,10 +9,12 @@ import ru.bowling.bowlingapp.DTO.InventoryItemRequest;
 import ru.bowling.bowlingapp.DTO.InventorySearchRequest;
 import ru.bowling.bowlingapp.DTO.PartDto;
 import ru.bowling.bowlingapp.DTO.ReservationRequestDto;
-import ru.bowling.bowlingapp.DTO.WarehouseMovementDto;
+import ru.bowling.bowlingapp.DTO.StockReservationRequestDto;
+import ru.bowling.bowlingapp.DTO.StockReservationResultDto;
+import ru.bowling.bowlingapp.DTO.WarehouseBalanceDto;
+import ru.bowling.bowlingapp.DTO.WarehouseMovementPageDTO;
 import ru.bowling.bowlingapp.DTO.WarehouseSummaryDto;
 import ru.bowling.bowlingapp.Entity.BowlingClub;
-import ru.bowling.bowlingapp.Entity.EquipmentCategory;
 import ru.bowling.bowlingapp.Entity.EquipmentComponent;
 import ru.bowling.bowlingapp.Entity.ManagerProfile;
 import ru.bowling.bowlingapp.Entity.MechanicProfile;
@@ -21,20 +23,23 @@ import ru.bowling.bowlingapp.Entity.PartsCatalog;
 import ru.bowling.bowlingapp.Entity.PersonalWarehouse;
 import ru.bowling.bowlingapp.Entity.User;
 import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
 import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
 import ru.bowling.bowlingapp.Repository.ClubStaffRepository;
 import ru.bowling.bowlingapp.Repository.PersonalWarehouseRepository;
-import ru.bowling.bowlingapp.Repository.PartImageRepository;
 import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
-import ru.bowling.bowlingapp.Repository.EquipmentCategoryRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogSearchRepository;
 import ru.bowling.bowlingapp.Repository.EquipmentComponentRepository;
 import ru.bowling.bowlingapp.Repository.UserRepository;
 import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
 import ru.bowling.bowlingapp.Repository.projection.WarehouseAggregateProjection;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -51,6 +56,8 @@ import java.util.stream.Collectors;
 public class InventoryServiceImpl implements InventoryService {
 
     private static final int LOW_STOCK_THRESHOLD = 3;
+    private static final int CATALOG_SEARCH_LIMIT = 500;
+    private static final int MAX_PLACEHOLDER_WAREHOUSE_ID = 1 << 22;
     private static final Logger log = LoggerFactory.getLogger(InventoryServiceImpl.class);
 
     @Autowired
@@ -65,9 +72,6 @@ public class InventoryServiceImpl implements InventoryService {
     @Autowired
     private BowlingClubRepository bowlingClubRepository;
 
-    @Autowired
-    private PartImageRepository partImageRepository;
-
     @Autowired
     private ClubStaffRepository clubStaffRepository;
 
@@ -78,7 +82,13 @@ public class InventoryServiceImpl implements InventoryService {
     private EquipmentComponentRepository equipmentComponentRepository;
 
     @Autowired
-    private EquipmentCategoryRepository equipmentCategoryRepository;
+    private PartDtoAssembler partDtoAssembler;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private WarehouseLedger warehouseLedger;
 
     @Override
     @Transactional(readOnly = true)
@@ -93,71 +103,178 @@ public class InventoryServiceImpl implements InventoryService {
                 request != null ? request.getAllowedWarehouseIds() : null);
 
         if (normalizedQuery.isEmpty()) {
-            List<WarehouseInventory> inventories = warehouseIdFilter != null
-                    ? warehouseInventoryRepository.findByWarehouseId(warehouseIdFilter)
-                    : warehouseInventoryRepository.findAll();
+            // Склады клубов разреженные: без текстового запроса выводятся только позиции с остатком,
+            // резервом, размещением или заметками, и отбор по складам делает база.
+            List<WarehouseInventory> inventories;
+            if (warehouseIdFilter != null) {
+                inventories = warehouseInventoryRepository.findStockedByWarehouseIdIn(List.of(warehouseIdFilter));
+            } else if (allowedWarehouses != null) {
+                inventories = allowedWarehouses.isEmpty()
+                        ? Collections.emptyList()
+                        : warehouseInventoryRepository.findStockedByWarehouseIdIn(allowedWarehouses);
+            } else {
+                inventories = warehouseInventoryRepository.findAllStocked();
+            }
 
             if (inventories.isEmpty()) {
                 return Collections.emptyList();
             }
 
-            Set<Long> catalogIds = inventories.stream()
-                    .map(WarehouseInventory::getCatalogId)
-                    .filter(Objects::nonNull)
-                    .map(Integer::longValue)
-                    .collect(Collectors.toSet());
-
-            Map<Long, PartsCatalog> catalogById = catalogIds.isEmpty()
-                    ? Collections.emptyMap()
-                    : partsCatalogRepository.findAllById(catalogIds).stream()
-                            .collect(Collectors.toMap(PartsCatalog::getCatalogId, Function.identity()));
-
-            return inventories.stream()
+            List<WarehouseInventory> matching = inventories.stream()
                     .filter(inv -> matchesWarehouse(inv, warehouseIdFilter, allowedWarehouses))
                     .filter(inv -> matchesAvailability(inv, availabilityFilter))
-                    .map(inv -> {
-                        Long catalogId = inv.getCatalogId() != null ? inv.getCatalogId().longValue() : null;
-                        PartsCatalog catalog = catalogId != null ? catalogById.get(catalogId) : null;
-                        return convertToDto(catalog, inv);
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-        }
-
-        List<PartsCatalog> parts = partsCatalogRepository.searchByNameOrNumberOrDescription(normalizedQuery);
-        if (categoryCodeFilter != null) {
-            parts = parts.stream()
-                    .filter(part -> {
-                        String normalizedPartCode = normalizeCategoryCode(part.getCategoryCode());
-                        return normalizedPartCode != null && normalizedPartCode.startsWith(categoryCodeFilter);
-                    })
                     .collect(Collectors.toList());
+            return partDtoAssembler.assemble(matching, Collections.emptyMap());
+        }
+
+        Set<Integer> zeroFillWarehouses = matchesAvailability(zeroEntry(null, null), availabilityFilter)
+                ? resolveClubWarehouses(warehouseIdFilter, allowedWarehouses)
+                : Collections.emptySet();
+
+        // Каталожные совпадения приходят в порядке релевантности; выдача ограничена, чтобы короткий запрос
+        // из подборщика запчастей не разворачивался в весь каталог. Отбор по категории и складам делает
+        // сам запрос: иначе ограничение отрезало бы позиции, которые на запрошенном складе есть.
+        PartsCatalogSearchRepository.SearchParams params = PartsCatalogSearchRepository.SearchParams
+                .text(normalizedQuery, CATALOG_SEARCH_LIMIT)
+                .withCategoryPrefix(categoryCodeFilter);
+        Set<Integer> stockWarehouses = resolveStockWarehouses(warehouseIdFilter, allowedWarehouses);
+        List<PartsCatalogSearchRepository.RankedPart> ranked;
+        if (stockWarehouses == null) {
+            ranked = partsCatalogRepository.searchRanked(params);
+        } else {
+            ranked = partsCatalogRepository.searchRanked(params.inWarehouses(stockWarehouses));
+            if (!zeroFillWarehouses.isEmpty()) {
+                // Нулевые строки подставляются и для деталей, которых на складе нет, — им нужна общая выдача.
+                ranked = mergeRanked(ranked, partsCatalogRepository.searchRanked(params));
+            }
         }
+        List<PartsCatalog> parts = ranked.stream()
+                .map(PartsCatalogSearchRepository.RankedPart::part)
+                .collect(Collectors.toList());
         if (parts.isEmpty()) {
             return Collections.emptyList();
         }
-        List<PartDto> results = new ArrayList<>();
+        Map<Long, PartsCatalog> partsById = new HashMap<>();
+        parts.forEach(part -> partsById.put(part.getCatalogId(), part));
+        Map<Integer, List<WarehouseInventory>> inventoriesByCatalog = warehouseInventoryRepository
+                .findByCatalogIdIn(partsById.keySet().stream().map(Long::intValue).collect(Collectors.toSet()))
+                .stream()
+                .filter(inventory -> matchesWarehouse(inventory, warehouseIdFilter, allowedWarehouses))
+                .collect(Collectors.groupingBy(WarehouseInventory::getCatalogId));
+
+        List<WarehouseInventory> ordered = new ArrayList<>();
         for (PartsCatalog part : parts) {
-            List<WarehouseInventory> inventories = warehouseInventoryRepository.findByCatalogId(part.getCatalogId().intValue());
-            for (WarehouseInventory inventory : inventories) {
-                if (!matchesWarehouse(inventory, warehouseIdFilter, allowedWarehouses)) {
-                    continue;
-                }
-                if (!matchesAvailability(inventory, availabilityFilter)) {
-                    continue;
-                }
-                PartDto dto = convertToDto(part, inventory);
-                if (dto != null) {
-                    results.add(dto);
-                }
+            List<WarehouseInventory> stored = inventoriesByCatalog
+                    .getOrDefault(part.getCatalogId().intValue(), Collections.emptyList());
+            stored.stream()
+                    .filter(inventory -> matchesAvailability(inventory, availabilityFilter))
+                    .forEach(ordered::add);
+            if (!zeroFillWarehouses.isEmpty()) {
+                Set<Integer> present = stored.stream()
+                        .map(WarehouseInventory::getWarehouseId)
+                        .collect(Collectors.toSet());
+                zeroFillWarehouses.stream()
+                        .filter(warehouseId -> !present.contains(warehouseId))
+                        .forEach(warehouseId -> ordered.add(zeroEntry(warehouseId, part)));
+            }
+        }
+        return partDtoAssembler.assemble(ordered, partsById);
+    }
+
+    /**
+     * Склады, на которых ищутся строки остатка; {@code null} — склад не задан, поиск по всем складам.
+     */
+    private Set<Integer> resolveStockWarehouses(Integer warehouseIdFilter, Set<Integer> allowedWarehouses) {
+        if (warehouseIdFilter != null) {
+            return allowedWarehouses == null || allowedWarehouses.contains(warehouseIdFilter)
+                    ? Set.of(warehouseIdFilter)
+                    : Collections.emptySet();
+        }
+        return allowedWarehouses;
+    }
+
+    /**
+     * Объединяет две ранжированные выдачи каталога без повторов, сохраняя порядок поиска: оценка по убыванию,
+     * затем catalog_id.
+     */
+    private List<PartsCatalogSearchRepository.RankedPart> mergeRanked(List<PartsCatalogSearchRepository.RankedPart> left,
+                                                                      List<PartsCatalogSearchRepository.RankedPart> right) {
+        Map<Long, PartsCatalogSearchRepository.RankedPart> byId = new HashMap<>();
+        left.forEach(rankedPart -> byId.put(rankedPart.part().getCatalogId(), rankedPart));
+        right.forEach(rankedPart -> byId.putIfAbsent(rankedPart.part().getCatalogId(), rankedPart));
+        return byId.values().stream()
+                .sorted(Comparator.comparingInt(PartsCatalogSearchRepository.RankedPart::score).reversed()
+                        .thenComparing(rankedPart -> rankedPart.part().getCatalogId()))
+                .toList();
+    }
+
+    /**
+     * Склады клубов, для которых поиск по каталогу подставляет нулевые позиции: склад клуба разреженный,
+     * а подборщику запчастей нужна строка и для отсутствующей детали. Без явного склада или списка
+     * доступных складов нули не подставляются — иначе выдача снова развернулась бы в «каталог × клубы».
+     */
+    private Set<Integer> resolveClubWarehouses(Integer warehouseIdFilter, Set<Integer> allowedWarehouses) {
+        Set<Integer> candidates;
+        if (warehouseIdFilter != null) {
+            if (allowedWarehouses != null && !allowedWarehouses.contains(warehouseIdFilter)) {
+                return Collections.emptySet();
             }
+            candidates = Set.of(warehouseIdFilter);
+        } else if (allowedWarehouses != null) {
+            candidates = allowedWarehouses;
+        } else {
+            return Collections.emptySet();
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Integer> clubWarehouses = new LinkedHashSet<>();
+        bowlingClubRepository.findExistingClubIds(candidates.stream().map(Integer::longValue).toList())
+                .forEach(clubId -> clubWarehouses.add(clubId.intValue()));
+        return clubWarehouses;
+    }
+
+    /**
+     * Несохранённая нулевая позиция склада: остаток и резерв нулевые, inventoryId — {@link #placeholderInventoryId}.
+     */
+    private WarehouseInventory zeroEntry(Integer warehouseId, PartsCatalog part) {
+        return WarehouseInventory.builder()
+                .inventoryId(warehouseId != null && part != null
+                        ? placeholderInventoryId(warehouseId, part.getCatalogId().intValue())
+                        : null)
+                .warehouseId(warehouseId)
+                .catalogId(part != null ? part.getCatalogId().intValue() : null)
+                .quantity(0)
+                .reservedQuantity(0)
+                .isUnique(part != null ? part.getIsUnique() : null)
+                .build();
+    }
+
+    /**
+     * Устойчивый отрицательный inventoryId подставленной нулевой позиции: клиент требует это поле, а настоящие
+     * id положительны, поэтому подставленную строку не спутать с сохранённой. Одна и та же позиция склада
+     * получает один и тот же id в каждой выдаче. Под catalogId отведён 31 бит, под warehouseId — 22, так что
+     * модуль id не превышает 2^53 и точно передаётся в JavaScript (Flutter web).
+     */
+    static long placeholderInventoryId(int warehouseId, int catalogId) {
+        if (warehouseId < 0 || warehouseId >= MAX_PLACEHOLDER_WAREHOUSE_ID || catalogId < 0) {
+            throw new IllegalStateException("Нет подставного inventoryId для склада " + warehouseId
+                    + " и запчасти " + catalogId);
+        }
+        return -(((long) warehouseId << 31) | catalogId);
+    }
+
+    private static void rejectPlaceholder(Long id, String field) {
+        if (id != null && id < 0) {
+            throw new IllegalArgumentException(field + " " + id
+                    + " не существует: отрицательные id обозначают подставные нулевые позиции склада");
         }
-        return results;
     }
 
     @Override
     @Transactional(readOnly = true)
     public PartDto getPartById(Long partId) {
+        rejectPlaceholder(partId, "inventoryId");
         WarehouseInventory inventory = warehouseInventoryRepository.findById(partId)
                 .orElseThrow(() -> new RuntimeException("Part inventory not found"));
         Integer catalogId = inventory.getCatalogId();
@@ -166,73 +283,113 @@ public class InventoryServiceImpl implements InventoryService {
         }
         PartsCatalog part = partsCatalogRepository.findById(Long.valueOf(catalogId))
                 .orElseThrow(() -> new RuntimeException("Part not found"));
-        PartDto dto = convertToDto(part, inventory);
-        if (dto == null) {
-            EquipmentCategory category = resolveCategory(part);
-            List<Long> categoryPath = buildCategoryPath(category);
-            return PartDto.builder()
-                    .inventoryId(inventory.getInventoryId())
-                    .catalogId(part.getCatalogId())
-                    .catalogNumber(part.getCatalogNumber())
-                    .officialNameEn(part.getOfficialNameEn())
-                    .officialNameRu(part.getOfficialNameRu())
-                    .commonName(part.getCommonName())
-                    .description(part.getDescription())
-                    .quantity(inventory.getQuantity())
-                    .reservedQuantity(inventory.getReservedQuantity())
-                    .warehouseId(inventory.getWarehouseId())
-                    .location(inventory.getLocationReference())
-                    .cellCode(inventory.getCellCode())
-                    .shelfCode(inventory.getShelfCode())
-                    .laneNumber(inventory.getLaneNumber())
-                    .placementStatus(Optional.ofNullable(inventory.getPlacementStatus())
-                            .orElseGet(() -> resolvePlacementStatus(inventory)))
-                    .unique(Boolean.TRUE.equals(inventory.getIsUnique()))
-                    .lastChecked(inventory.getLastChecked())
-                    .notes(inventory.getNotes())
-                    .imageUrl(resolveImageUrl(part))
-                    .diagramUrl(null)
-                    .equipmentNodeId(category != null ? category.getId() : null)
-                    .equipmentNodePath(categoryPath)
-                    .equipmentNodeName(category != null ? resolveCategoryName(category) : null)
-                    .compatibility(Collections.emptyList())
-                    .build();
-        }
-        return dto;
+        return partDtoAssembler.assemble(part, inventory);
     }
 
     @Override
-    public void reservePart(ReservationRequestDto reservationRequestDto) {
-        List<WarehouseInventory> inventories = warehouseInventoryRepository.findByCatalogId(reservationRequestDto.getPartId().intValue());
-        if (inventories.isEmpty()) {
-            throw new RuntimeException("Part inventory not found");
-        }
+    public StockReservationResultDto.Line reservePart(Collection<Integer> allowedWarehouseIds,
+                                                      ReservationRequestDto reservationRequestDto) {
+        StockReservationService.Allocation allocation = stockReservationService.reserve(
+                requireWarehouses(allowedWarehouseIds), reservationRequestDto.getWarehouseId(),
+                List.of(toLine(reservationRequestDto)), reservationRequestDto.getMaintenanceRequestId()).get(0);
+        log.info("Reserved {} units of catalog {} (inventory id {}) in warehouse {} by request {}",
+                allocation.quantity(), allocation.catalogId(), allocation.inventoryId(),
+                allocation.warehouseId(), reservationRequestDto.getMaintenanceRequestId());
+        return toResultLine(allocation);
+    }
 
-        WarehouseInventory inventory = inventories.get(0); // Take first available inventory
-        if (inventory.getQuantity() < reservationRequestDto.getQuantity()) {
-            throw new RuntimeException("Not enough parts in stock");
-        }
+    @Override
+    public StockReservationResultDto.Line releasePart(Collection<Integer> allowedWarehouseIds,
+                                                      ReservationRequestDto reservationRequestDto) {
+        StockReservationService.Allocation allocation = stockReservationService.release(
+                requireWarehouses(allowedWarehouseIds), reservationRequestDto.getWarehouseId(),
+                List.of(toLine(reservationRequestDto)), reservationRequestDto.getMaintenanceRequestId()).get(0);
+        log.info("Released {} units of catalog {} (inventory id {}) back to warehouse {} for request {}",
+                allocation.quantity(), allocation.catalogId(), allocation.inventoryId(),
+                allocation.warehouseId(), reservationRequestDto.getMaintenanceRequestId());
+        return toResultLine(allocation);
+    }
 
-        inventory.setQuantity(inventory.getQuantity() - reservationRequestDto.getQuantity());
-        warehouseInventoryRepository.save(inventory);
-        log.info("Reserved {} units of catalog {} (inventory id {}) in warehouse {} by request {}",
-                reservationRequestDto.getQuantity(), inventory.getCatalogId(), inventory.getInventoryId(),
-                inventory.getWarehouseId(), reservationRequestDto.getMaintenanceRequestId());
+    @Override
+    public StockReservationResultDto.Line issuePart(Collection<Integer> allowedWarehouseIds,
+                                                    ReservationRequestDto reservationRequestDto,
+                                                    int ownReserved) {
+        StockReservationService.Line line = toLine(reservationRequestDto);
+        StockReservationService.Allocation allocation = stockReservationService.issue(
+                requireWarehouses(allowedWarehouseIds), reservationRequestDto.getWarehouseId(),
+                List.of(new StockReservationService.Line(line.catalogId(), line.quantity(), ownReserved)),
+                reservationRequestDto.getMaintenanceRequestId()).get(0);
+        log.info("Issued {} units of catalog {} (inventory id {}) from warehouse {} for request {}",
+                allocation.quantity(), allocation.catalogId(), allocation.inventoryId(),
+                allocation.warehouseId(), reservationRequestDto.getMaintenanceRequestId());
+        return toResultLine(allocation);
     }
 
     @Override
-    public void releasePart(ReservationRequestDto reservationRequestDto) {
-        List<WarehouseInventory> inventories = warehouseInventoryRepository.findByCatalogId(reservationRequestDto.getPartId().intValue());
-        if (inventories.isEmpty()) {
-            throw new RuntimeException("Part inventory not found");
+    public StockReservationResultDto reserveParts(Collection<Integer> allowedWarehouseIds, StockReservationRequestDto request) {
+        List<StockReservationService.Allocation> allocations = stockReservationService.reserve(
+                requireWarehouses(allowedWarehouseIds), request.getWarehouseId(), toLines(request),
+                request.getMaintenanceRequestId());
+        log.info("Reserved {} lines for request {}", allocations.size(), request.getMaintenanceRequestId());
+        return toReservationResult(request, allocations);
+    }
+
+    @Override
+    public StockReservationResultDto releaseParts(Collection<Integer> allowedWarehouseIds, StockReservationRequestDto request) {
+        List<StockReservationService.Allocation> allocations = stockReservationService.release(
+                requireWarehouses(allowedWarehouseIds), request.getWarehouseId(), toLines(request),
+                request.getMaintenanceRequestId());
+        log.info("Released {} lines for request {}", allocations.size(), request.getMaintenanceRequestId());
+        return toReservationResult(request, allocations);
+    }
+
+    private Collection<Integer> requireWarehouses(Collection<Integer> allowedWarehouseIds) {
+        if (allowedWarehouseIds == null || allowedWarehouseIds.isEmpty()) {
+            throw new IllegalStateException("Нет доступных складов для пользователя");
         }
+        return allowedWarehouseIds;
+    }
 
-        WarehouseInventory inventory = inventories.get(0); // Take first available inventory
-        inventory.setQuantity(inventory.getQuantity() + reservationRequestDto.getQuantity());
-        warehouseInventoryRepository.save(inventory);
-        log.info("Released {} units of catalog {} (inventory id {}) back to warehouse {} for request {}",
-                reservationRequestDto.getQuantity(), inventory.getCatalogId(), inventory.getInventoryId(),
-                inventory.getWarehouseId(), reservationRequestDto.getMaintenanceRequestId());
+    private StockReservationService.Line toLine(ReservationRequestDto dto) {
+        if (dto == null || dto.getPartId() == null || dto.getQuantity() == null) {
+            throw new IllegalArgumentException("Не указаны запчасть или количество");
+        }
+        rejectPlaceholder(dto.getPartId(), "partId");
+        return new StockReservationService.Line(dto.getPartId(), dto.getQuantity());
+    }
+
+    private List<StockReservationService.Line> toLines(StockReservationRequestDto request) {
+        if (request == null || request.getLines() == null || request.getLines().isEmpty()) {
+            throw new IllegalArgumentException("Не указаны позиции для резерва");
+        }
+        return request.getLines().stream()
+                .map(line -> {
+                    if (line == null || line.getPartId() == null || line.getQuantity() == null) {
+                        throw new IllegalArgumentException("Не указаны запчасть или количество");
+                    }
+                    rejectPlaceholder(line.getPartId(), "partId");
+                    return new StockReservationService.Line(line.getPartId(), line.getQuantity());
+                })
+                .toList();
+    }
+
+    private StockReservationResultDto toReservationResult(StockReservationRequestDto request,
+                                                          List<StockReservationService.Allocation> allocations) {
+        return StockReservationResultDto.builder()
+                .maintenanceRequestId(request.getMaintenanceRequestId())
+                .lines(allocations.stream()
+                        .map(this::toResultLine)
+                        .toList())
+                .build();
+    }
+
+    private StockReservationResultDto.Line toResultLine(StockReservationService.Allocation allocation) {
+        return StockReservationResultDto.Line.builder()
+                .partId(allocation.catalogId())
+                .inventoryId(allocation.inventoryId())
+                .warehouseId(allocation.warehouseId())
+                .quantity(allocation.quantity())
+                .build();
     }
 
     @Override
@@ -364,31 +521,14 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<WarehouseMovementDto> getWarehouseMovements(Integer warehouseId) {
-        if (warehouseId == null) {
-            return Collections.emptyList();
-        }
-
-        List<WarehouseInventory> inventories = warehouseInventoryRepository.findByWarehouseId(warehouseId);
-        if (inventories.isEmpty()) {
-            return Collections.emptyList();
-        }
+    public WarehouseMovementPageDTO getWarehouseMovements(Integer warehouseId, LocalDateTime from, LocalDateTime to,
+                                                          String cursor, Integer size) {
+        return warehouseLedger.getMovements(warehouseId, from, to, cursor, size);
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        return inventories.stream()
-                .map(inv -> WarehouseMovementDto.builder()
-                        .warehouseId(inv.getWarehouseId())
-                        .catalogId(inv.getCatalogId())
-                        .inventoryId(inv.getInventoryId())
-                        .quantityDelta(inv.getQuantity())
-                        .operationType("SNAPSHOT")
-                        .comment("Текущее количество по позиции склада")
-                        .occurredAt(Optional.ofNullable(inv.getLastChecked())
-                                .map(date -> date.atStartOfDay())
-                                .orElse(now))
-                        .build())
-                .collect(Collectors.toList());
+    @Override
+    public List<WarehouseBalanceDto> getWarehouseBalance(Integer warehouseId, LocalDate asOf) {
+        return warehouseLedger.getBalance(warehouseId, asOf);
     }
 
     @Override
@@ -455,7 +595,8 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         WarehouseInventory saved = warehouseInventoryRepository.save(inventory);
-        return convertToDto(part, saved);
+        warehouseLedger.record(saved, WarehouseMovementType.MANUAL_RECEIPT, quantityToAdd, reservedToAdd, null, null);
+        return partDtoAssembler.assemble(part, saved);
     }
 
     private WarehouseTarget resolveWarehouseTarget(User user, InventoryItemRequest request) {
@@ -572,99 +713,6 @@ public class InventoryServiceImpl implements InventoryService {
         }
     }
 
-    private PartDto convertToDto(PartsCatalog part, WarehouseInventory inventory) {
-        if (part == null || inventory == null) {
-            return null;
-        }
-        Integer quantity = inventory.getQuantity();
-        if (quantity == null) {
-            quantity = 0;
-        }
-        EquipmentCategory category = resolveCategory(part);
-        List<Long> categoryPath = buildCategoryPath(category);
-
-        return PartDto.builder()
-                .inventoryId(inventory.getInventoryId())
-                .catalogId(part.getCatalogId())
-                .officialNameEn(part.getOfficialNameEn())
-                .officialNameRu(part.getOfficialNameRu())
-                .commonName(part.getCommonName())
-                .description(part.getDescription())
-                .catalogNumber(part.getCatalogNumber())
-                .quantity(quantity)
-                .reservedQuantity(inventory.getReservedQuantity())
-                .location(inventory.getLocationReference())
-                .cellCode(inventory.getCellCode())
-                .shelfCode(inventory.getShelfCode())
-                .laneNumber(inventory.getLaneNumber())
-                .placementStatus(Optional.ofNullable(inventory.getPlacementStatus())
-                        .orElseGet(() -> resolvePlacementStatus(inventory)))
-                .warehouseId(inventory.getWarehouseId())
-                .unique(Boolean.TRUE.equals(inventory.getIsUnique()))
-                .lastChecked(inventory.getLastChecked())
-                .notes(inventory.getNotes())
-                .imageUrl(resolveImageUrl(part))
-                .diagramUrl(null)
-                .equipmentNodeId(category != null ? category.getId() : null)
-                .equipmentNodePath(categoryPath)
-                .equipmentNodeName(category != null ? resolveCategoryName(category) : null)
-                .compatibility(Collections.emptyList())
-                .build();
-    }
-
-    private String resolveImageUrl(PartsCatalog part) {
-        if (part == null || part.getCatalogId() == null) {
-            return null;
-        }
-        return partImageRepository.findFirstByCatalogId(part.getCatalogId()).map(image -> image.getImageUrl()).orElse(null);
-    }
-
-    private EquipmentCategory resolveCategory(PartsCatalog part) {
-        if (part == null) {
-            return null;
-        }
-        String code = part.getCategoryCode();
-        if (code == null || code.isBlank()) {
-            return null;
-        }
-        String trimmed = code.trim();
-        try {
-            Long id = Long.parseLong(trimmed);
-            return equipmentCategoryRepository.findByIdAndIsActiveTrue(id).orElse(null);
-        } catch (NumberFormatException ignored) {
-            return equipmentCategoryRepository.findByCodeIgnoreCaseAndIsActiveTrue(trimmed).orElse(null);
-        }
-    }
-
-    private List<Long> buildCategoryPath(EquipmentCategory category) {
-        if (category == null) {
-            return Collections.emptyList();
-        }
-        List<Long> path = new ArrayList<>();
-        EquipmentCategory current = category;
-        while (current != null) {
-            if (current.getId() != null) {
-                path.add(current.getId());
-            }
-            current = current.getParent();
-        }
-        Collections.reverse(path);
-        return path;
-    }
-
-    private String resolveCategoryName(EquipmentCategory category) {
-        if (category == null) {
-            return null;
-        }
-        if (category.getNameRu() != null && !category.getNameRu().isBlank()) {
-            return category.getNameRu().trim();
-        }
-        if (category.getNameEn() != null && !category.getNameEn().isBlank()) {
-            return category.getNameEn().trim();
-        }
-        return null;
-    }
-
     private boolean matchesWarehouse(WarehouseInventory inventory,
                                      Integer warehouseIdFilter,
                                      Set<Integer> allowedWarehouses) {
@@ -719,20 +767,6 @@ public class InventoryServiceImpl implements InventoryService {
                 .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
-    private String resolvePlacementStatus(WarehouseInventory inventory) {
-        if (inventory.getLaneNumber() != null) {
-            return "ON_LANE";
-        }
-        if (inventory.getLocationReference() != null && !inventory.getLocationReference().isBlank()) {
-            return "IN_WAREHOUSE";
-        }
-        if ((inventory.getCellCode() != null && !inventory.getCellCode().isBlank())
-                || (inventory.getShelfCode() != null && !inventory.getShelfCode().isBlank())) {
-            return "IN_WAREHOUSE";
-        }
-        return null;
-    }
-
     private String normalizeCategoryCode(String value) {
         if (value == null) {
             return null;
@@ -0,0 +1,242 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.Entity.NotificationRead;
+import ru.bowling.bowlingapp.Entity.NotificationRecord;
+import ru.bowling.bowlingapp.Enum.RoleName;
+import ru.bowling.bowlingapp.Repository.NotificationReadRepository;
+import ru.bowling.bowlingapp.Repository.NotificationRecordRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Уведомления в таблице {@code notifications} плюс окно последних событий в памяти.
+ * <p>
+ * Запись — один INSERT и вставка в ограниченное окно. Чтения «после N» обслуживаются окном,
+ * пока курсор не старше вытесненной части; иначе — запросом к БД по индексу. Окно прогревается
+ * из БД при старте, старые уведомления периодически удаляются вместе с отметками о прочтении.
+ */
+@Slf4j
+@Component
+public class JpaNotificationStore implements NotificationStore {
+
+    /** Пустой IN в JPQL диалектозависим, поэтому «нет клубов» передаётся несуществующим id. */
+    private static final List<Long> NO_CLUBS = List.of(-1L);
+
+    private final NotificationRecordRepository notificationRecordRepository;
+    private final NotificationReadRepository notificationReadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationHotWindow window;
+    private final int hotWindowSize;
+    private final Duration hotWindowAge;
+    private final Duration retention;
+
+    public JpaNotificationStore(NotificationRecordRepository notificationRecordRepository,
+                                NotificationReadRepository notificationReadRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.notifications.hot-window-size:5000}") int hotWindowSize,
+                                @Value("${app.notifications.hot-window-hours:72}") long hotWindowHours,
+                                @Value("${app.notifications.retention-days:90}") long retentionDays) {
+        this.notificationRecordRepository = notificationRecordRepository;
+        this.notificationReadRepository = notificationReadRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotWindowSize = hotWindowSize;
+        this.hotWindowAge = Duration.ofHours(hotWindowHours);
+        this.retention = Duration.ofDays(retentionDays);
+        this.window = new NotificationHotWindow(hotWindowSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now(ZoneOffset.UTC).minus(hotWindowAge);
+        List<NotificationRecord> latest = notificationRecordRepository.findByCreatedAtAfterOrderByIdDesc(
+                since, PageRequest.of(0, hotWindowSize));
+        if (latest.isEmpty()) {
+            return;
+        }
+        // Всё, что старше загруженного, читается из БД.
+        window.markEvictedUpTo(latest.get(latest.size() - 1).getId() - 1);
+        for (int i = latest.size() - 1; i >= 0; i--) {
+            window.add(toEvent(latest.get(i)));
+        }
+        log.info("Notification hot window warmed with {} events", latest.size());
+    }
+
+    @Override
+    public NotificationEvent append(NotificationEvent event) {
+        NotificationRecord saved = notificationRecordRepository.save(toRecord(event));
+        NotificationEvent stored = event.toBuilder().sequence(saved.getId()).build();
+        window.add(stored);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Событие видно сразу (как и отправка в WebSocket), но исчезает, если транзакция откатилась.
+            long sequence = saved.getId();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        window.remove(sequence);
+                    }
+                }
+            });
+        }
+        return stored;
+    }
+
+    @Override
+    public List<NotificationEvent> find(RoleName role, Set<Long> clubIds, Long mechanicId, Long afterSequence, int limit) {
+        if (role == null || limit <= 0) {
+            return List.of();
+        }
+        List<NotificationEvent> fromWindow = window.query(role, clubIds, mechanicId, afterSequence, limit);
+        if (fromWindow.size() >= limit || window.covers(afterSequence)) {
+            return fromWindow;
+        }
+
+        String audience = "%," + role.name() + ",%";
+        PageRequest page = PageRequest.of(0, limit);
+        Collection<Long> clubs = clubIds == null || !clubIds.isEmpty() ? clubIds : NO_CLUBS;
+        List<NotificationRecord> records;
+        if (afterSequence != null) {
+            records = clubs == null
+                    ? notificationRecordRepository.findForAudienceAfter(audience, afterSequence, page)
+                    : notificationRecordRepository.findForUserAfter(audience, clubs, mechanicId, afterSequence, page);
+        } else {
+            records = new ArrayList<>(clubs == null
+                    ? notificationRecordRepository.findLatestForAudience(audience, page)
+                    : notificationRecordRepository.findLatestForUser(audience, clubs, mechanicId, page));
+            Collections.reverse(records);
+        }
+        return records.stream().map(this::toEvent).toList();
+    }
+
+    @Override
+    public Optional<NotificationEvent> findById(UUID id) {
+        Optional<NotificationEvent> cached = window.findById(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return notificationRecordRepository.findByEventId(id).map(this::toEvent);
+    }
+
+    @Override
+    public Set<Long> findRead(Long userId, Collection<Long> sequences) {
+        if (userId == null || sequences.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(notificationReadRepository.findReadNotificationIds(userId, sequences));
+    }
+
+    @Override
+    public void markRead(Long userId, Collection<Long> sequences) {
+        if (userId == null || sequences == null || sequences.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> pending = new HashSet<>(notificationRecordRepository.findExistingIds(sequences));
+            if (pending.isEmpty()) {
+                return;
+            }
+            pending.removeAll(notificationReadRepository.findReadNotificationIds(userId, pending));
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            notificationReadRepository.saveAll(pending.stream()
+                    .map(id -> NotificationRead.builder().userId(userId).notificationId(id).readAt(now).build())
+                    .toList());
+        });
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationReadRepository.deleteAllInBatch();
+            notificationRecordRepository.deleteAllInBatch();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.sweep-interval-ms:3600000}",
+            initialDelayString = "${app.notifications.sweep-interval-ms:3600000}")
+    public void sweep() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        int evicted = window.evictOlderThan(now.minus(hotWindowAge));
+        LocalDateTime cutoff = now.minus(retention).toLocalDateTime();
+        Integer deleted = transactionTemplate.execute(status -> {
+            notificationReadRepository.deleteForNotificationsCreatedBefore(cutoff);
+            return notificationRecordRepository.deleteCreatedBefore(cutoff);
+        });
+        if (evicted > 0 || (deleted != null && deleted > 0)) {
+            log.info("Notification sweep: {} evicted from hot window, {} deleted older than {}", evicted, deleted, cutoff);
+        }
+    }
+
+    private NotificationRecord toRecord(NotificationEvent event) {
+        return NotificationRecord.builder()
+                .eventId(event.getId())
+                .type(event.getType())
+                .message(event.getMessage())
+                .requestId(event.getRequestId())
+                .workLogId(event.getWorkLogId())
+                .mechanicId(event.getMechanicId())
+                .clubId(event.getClubId())
+                .partIds(event.getPartIds() == null || event.getPartIds().isEmpty() ? null
+                        : event.getPartIds().stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .payload(event.getPayload())
+                .audiences(event.getAudiences() == null ? "," : event.getAudiences().stream()
+                        .map(RoleName::name)
+                        .sorted()
+                        .collect(Collectors.joining(",", ",", ",")))
+                .createdAt(event.getCreatedAt() != null
+                        ? event.getCreatedAt().withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime()
+                        : LocalDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+
+    private NotificationEvent toEvent(NotificationRecord record) {
+        Set<RoleName> audiences = EnumSet.noneOf(RoleName.class);
+        Arrays.stream(record.getAudiences().split(","))
+                .filter(name -> !name.isBlank())
+                .map(RoleName::valueOf)
+                .forEach(audiences::add);
+        List<Long> partIds = record.getPartIds() == null || record.getPartIds().isBlank()
+                ? new ArrayList<>()
+                : Arrays.stream(record.getPartIds().split(",")).map(Long::valueOf).collect(Collectors.toList());
+        return NotificationEvent.builder()
+                .id(record.getEventId())
+                .sequence(record.getId())
+                .type(record.getType())
+                .message(record.getMessage())
+                .requestId(record.getRequestId())
+                .workLogId(record.getWorkLogId())
+                .mechanicId(record.getMechanicId())
+                .clubId(record.getClubId())
+                .partIds(partIds)
+                .payload(record.getPayload())
+                .createdAt(record.getCreatedAt().atOffset(ZoneOffset.UTC))
+                .audiences(Collections.unmodifiableSet(audiences))
+                .build();
+    }
+}
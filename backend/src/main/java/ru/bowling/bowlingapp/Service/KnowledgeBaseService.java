@@ -18,6 +18,16 @@ import ru.bowling.bowlingapp.Repository.UserRepository;
 import ru.bowling.bowlingapp.Repository.projection.KnowledgeBaseDocumentContent;
 import ru.bowling.bowlingapp.Repository.projection.KnowledgeBaseDocumentSummary;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -33,6 +43,9 @@ public class KnowledgeBaseService {
     private final DocumentTypeRepository documentTypeRepository;
     private final ManufacturerRepository manufacturerRepository;
     private final AccessLevelRepository accessLevelRepository;
+    private final DocumentContentStorage documentContentStorage;
+
+    private static final int LEGACY_CHUNK_SIZE = 1024 * 1024;
 
     @Transactional(readOnly = true)
     public List<KnowledgeBaseDocumentDTO> getDocumentsForUser(Long userId) {
@@ -71,8 +84,10 @@ public class KnowledgeBaseService {
             }
         }
 
-        byte[] data = document.getFileData();
-        if (data == null || data.length == 0) {
+        long size = Optional.ofNullable(document.getFileSize())
+                .map(Number::longValue)
+                .orElse(0L);
+        if (size <= 0) {
             throw new EntityNotFoundException("Document file is empty");
         }
 
@@ -80,16 +95,50 @@ public class KnowledgeBaseService {
                 .filter(name -> !name.isBlank())
                 .orElseGet(() -> buildDefaultFileName(document));
 
-        long actualSize = Optional.ofNullable(document.getFileSize())
-                .map(Number::longValue)
-                .filter(size -> size > 0)
-                .orElse((long) data.length);
+        String etag = document.getContentSha256() != null
+                ? "\"" + document.getContentSha256() + "\""
+                : "\"legacy-" + document.getDocumentId() + "-" + size + "\"";
 
-        return new DocumentContent(data, fileName, actualSize);
+        return new DocumentContent(document.getDocumentId(), document.getStorageKey(), fileName, size, etag);
+    }
+
+    /**
+     * Пишет в {@code out} диапазон содержимого документа. Вызывается уже после проверки доступа
+     * в {@link #getDocumentContent}, обычно из потока отдачи ответа.
+     */
+    public void writeContent(DocumentContent content, long offset, long length, OutputStream out) throws IOException {
+        if (content.storageKey() != null) {
+            documentContentStorage.copyRange(content.storageKey(), offset, length, out);
+            return;
+        }
+        // Документы, загруженные до выноса файлов из БД, читаются из BYTEA кусками.
+        long position = offset;
+        long remaining = length;
+        while (remaining > 0) {
+            int chunkLength = (int) Math.min(LEGACY_CHUNK_SIZE, remaining);
+            byte[] chunk = technicalDocumentRepository.findLegacyContentChunk(
+                    content.documentId(), position + 1, chunkLength);
+            if (chunk == null || chunk.length == 0) {
+                throw new IOException("Document " + content.documentId() + " is shorter than expected");
+            }
+            out.write(chunk);
+            position += chunk.length;
+            remaining -= chunk.length;
+        }
     }
 
     @Transactional
     public KnowledgeBaseDocumentDTO createDocument(KnowledgeBaseDocumentCreateDTO request, Long userId) {
+        return createDocument(request, decodeBase64(request.getFileBase64()), userId);
+    }
+
+    /**
+     * Создание документа с содержимым из потока: файл сразу уходит в хранилище,
+     * по дороге считаются размер и SHA-256 (он же ETag при отдаче).
+     */
+    @Transactional
+    public KnowledgeBaseDocumentDTO createDocument(KnowledgeBaseDocumentCreateDTO request, InputStream content,
+                                                   Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
@@ -97,11 +146,24 @@ public class KnowledgeBaseService {
             throw new AccessDeniedException("Only admins can upload documents");
         }
 
+        if (request.getClubId() == null) {
+            throw new IllegalArgumentException("Club is required");
+        }
+        if (trim(request.getTitle()) == null) {
+            throw new IllegalArgumentException("Title is required");
+        }
+
         BowlingClub club = bowlingClubRepository.findById(request.getClubId())
                 .orElseThrow(() -> new EntityNotFoundException("Club not found"));
 
-        byte[] fileData = decodeBase64(request.getFileBase64());
-        if (fileData.length == 0) {
+        MessageDigest digest = sha256();
+        DocumentContentStore.StoredContent stored;
+        try {
+            stored = documentContentStorage.write(new DigestInputStream(content, digest));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store document content", e);
+        }
+        if (stored.size() == 0) {
             throw new IllegalArgumentException("File data is empty");
         }
 
@@ -118,8 +180,9 @@ public class KnowledgeBaseService {
                 .equipmentModel(trim(request.getEquipmentModel()))
                 .language(trim(request.getLanguage()))
                 .fileName(fileName)
-                .fileSize((long) fileData.length)
-                .fileData(fileData)
+                .fileSize(stored.size())
+                .storageKey(stored.key())
+                .contentSha256(HexFormat.of().formatHex(digest.digest()))
                 .uploadDate(LocalDateTime.now())
                 .uploadedBy(userId)
                 .accessLevel(resolveAccessLevel(request.getAccessLevel()))
@@ -291,7 +354,7 @@ public class KnowledgeBaseService {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private byte[] decodeBase64(String raw) {
+    private InputStream decodeBase64(String raw) {
         String normalized = Optional.ofNullable(raw).orElse("").trim();
         if (normalized.startsWith("data:")) {
             int commaIndex = normalized.indexOf(',');
@@ -299,10 +362,35 @@ public class KnowledgeBaseService {
                 normalized = normalized.substring(commaIndex + 1);
             }
         }
+        InputStream decoded = Base64.getDecoder()
+                .wrap(new ByteArrayInputStream(normalized.getBytes(StandardCharsets.ISO_8859_1)));
+        // Ошибка декодирования — это неверный запрос, а не сбой записи в хранилище.
+        return new FilterInputStream(decoded) {
+            @Override
+            public int read() {
+                try {
+                    return super.read();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Invalid base64 content", e);
+                }
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                try {
+                    return super.read(buffer, offset, length);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Invalid base64 content", e);
+                }
+            }
+        };
+    }
+
+    private static MessageDigest sha256() {
         try {
-            return Base64.getDecoder().decode(normalized);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid base64 content", e);
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 
@@ -333,6 +421,9 @@ public class KnowledgeBaseService {
                 .orElseGet(() -> accessLevelRepository.save(AccessLevel.builder().name(normalized).build()));
     }
 
-    public record DocumentContent(byte[] data, String fileName, long fileSize) {
+    /**
+     * Метаданные содержимого документа; сами байты отдаются через {@link #writeContent}.
+     */
+    public record DocumentContent(Long documentId, String storageKey, String fileName, long fileSize, String etag) {
     }
 }
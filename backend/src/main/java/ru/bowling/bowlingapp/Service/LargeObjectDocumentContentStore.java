@@ -0,0 +1,145 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.largeobject.LargeObject;
+import org.postgresql.largeobject.LargeObjectManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Документы в больших объектах PostgreSQL ({@code pg_largeobject}). В отличие от колонки BYTEA
+ * большой объект читается и пишется кусками с произвольной позиции, не поднимая весь файл в память.
+ * <p>
+ * API больших объектов работает только внутри транзакции: запись идёт в транзакции создания документа
+ * и откатывается вместе с ней. Чтение идёт отрезками по {@value #READ_SEGMENT_SIZE} байт: каждый отрезок
+ * читается в своей короткой транзакции только для чтения, а клиенту пишется уже после неё. Соединение из пула
+ * не держится, пока медленный клиент скачивает файл.
+ */
+@Component
+public class LargeObjectDocumentContentStore implements DocumentContentStore {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int READ_SEGMENT_SIZE = 1024 * 1024;
+
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransactionTemplate;
+
+    public LargeObjectDocumentContentStore(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public String scheme() {
+        return "pg-lo";
+    }
+
+    @Override
+    public StoredContent write(InputStream content) throws IOException {
+        return inTransaction(transactionTemplate, manager -> {
+            long oid = manager.createLO(LargeObjectManager.READWRITE);
+            LargeObject object = manager.open(oid, LargeObjectManager.WRITE);
+            try {
+                byte[] buffer = new byte[CHUNK_SIZE];
+                long size = 0;
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    object.write(buffer, 0, read);
+                    size += read;
+                }
+                return new StoredContent(Long.toString(oid), size);
+            } finally {
+                object.close();
+            }
+        });
+    }
+
+    @Override
+    public void copyRange(String key, long offset, long length, OutputStream out) throws IOException {
+        long oid = parseOid(key);
+        long position = offset;
+        long remaining = length;
+        while (remaining > 0) {
+            int segmentLength = (int) Math.min(READ_SEGMENT_SIZE, remaining);
+            long segmentStart = position;
+            byte[] segment = inTransaction(readTransactionTemplate, manager -> readSegment(manager, oid, segmentStart, segmentLength));
+            out.write(segment);
+            position += segment.length;
+            remaining -= segment.length;
+        }
+    }
+
+    private static byte[] readSegment(LargeObjectManager manager, long oid, long position, int length)
+            throws SQLException, IOException {
+        LargeObject object = manager.open(oid, LargeObjectManager.READ);
+        try {
+            object.seek64(position, LargeObject.SEEK_SET);
+            byte[] segment = new byte[length];
+            int filled = 0;
+            while (filled < length) {
+                int read = object.read(segment, filled, Math.min(CHUNK_SIZE, length - filled));
+                if (read <= 0) {
+                    throw new IOException("Large object " + oid + " is shorter than expected");
+                }
+                filled += read;
+            }
+            return segment;
+        } finally {
+            object.close();
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        long oid = parseOid(key);
+        inTransaction(transactionTemplate, manager -> {
+            manager.unlink(oid);
+            return null;
+        });
+    }
+
+    private <T> T inTransaction(TransactionTemplate template, LargeObjectCallback<T> callback) throws IOException {
+        try {
+            return template.execute(status -> {
+                Connection connection = DataSourceUtils.getConnection(dataSource);
+                try {
+                    return callback.doWith(connection.unwrap(PGConnection.class).getLargeObjectAPI());
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Large object operation failed", e);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    DataSourceUtils.releaseConnection(connection, dataSource);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long parseOid(String key) {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid large object key: " + key, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LargeObjectCallback<T> {
+        T doWith(LargeObjectManager manager) throws SQLException, IOException;
+    }
+}
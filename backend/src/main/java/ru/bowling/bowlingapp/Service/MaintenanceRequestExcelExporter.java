@@ -0,0 +1,318 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MaintenanceRequest;
+import ru.bowling.bowlingapp.Entity.MechanicProfile;
+import ru.bowling.bowlingapp.Entity.PurchaseOrder;
+import ru.bowling.bowlingapp.Entity.RequestPart;
+import ru.bowling.bowlingapp.Entity.Supplier;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
+import ru.bowling.bowlingapp.Repository.RequestPartRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Выгрузка заявок на обслуживание с запчастями в один xlsx без накопления в памяти.
+ * <p>
+ * Заявки читаются страницами по курсору request_id, запчасти страницы — одним IN-запросом,
+ * после каждой страницы контекст персистентности очищается. Строки пишутся через
+ * {@link SXSSFWorkbook}: в памяти держится не больше {@code rowWindow} строк на лист, остальные
+ * сбрасываются во временный файл. Ширина колонок фиксирована — автоподбор требует всех строк в памяти.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MaintenanceRequestExcelExporter {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private static final List<Column> REQUEST_COLUMNS = List.of(
+            new Column("Номер заявки", 14),
+            new Column("Статус", 16),
+            new Column("Клуб", 30),
+            new Column("ID клуба", 10),
+            new Column("Дорожка", 10),
+            new Column("Механик", 30),
+            new Column("ID механика", 12),
+            new Column("Причина", 45),
+            new Column("Дата заявки", 18),
+            new Column("Дата решения", 18),
+            new Column("Дата завершения", 18),
+            new Column("Верификация", 16),
+            new Column("Заметки менеджера", 40)
+    );
+
+    private static final List<Column> PART_COLUMNS = List.of(
+            new Column("Номер заявки", 14),
+            new Column("ID позиции", 12),
+            new Column("Название", 36),
+            new Column("Каталожный номер", 22),
+            new Column("Количество", 12),
+            new Column("ID склада (позиции)", 18),
+            new Column("ID каталога", 12),
+            new Column("Статус", 16),
+            new Column("Причина отказа", 30),
+            new Column("Доступность", 12),
+            new Column("Принято", 10),
+            new Column("Комментарий приемки", 30),
+            new Column("Дата приемки", 18),
+            new Column("Поставщик", 30),
+            new Column("ID поставщика", 14),
+            new Column("Дата заказа", 18),
+            new Column("Дата доставки", 18),
+            new Column("Дата выдачи", 18),
+            new Column("Локация", 20),
+            new Column("ID склада", 10),
+            new Column("Запрос помощи", 14)
+    );
+
+    private final RequestPartRepository requestPartRepository;
+    private final WarehouseInventoryRepository warehouseInventoryRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.maintenance-export.page-size:500}")
+    private int pageSize;
+
+    @Value("${app.maintenance-export.row-window:200}")
+    private int rowWindow;
+
+    /**
+     * @param clubIds клубы выгрузки; {@code null} — все клубы
+     * @param from    начало периода по дате заявки, включительно
+     * @param to      конец периода, не включительно
+     */
+    public record Scope(Collection<Long> clubIds, MaintenanceRequestStatus status, LocalDateTime from, LocalDateTime to) {
+    }
+
+    private record Column(String title, int width) {
+    }
+
+    /**
+     * @return количество выгруженных заявок
+     */
+    @Transactional(readOnly = true)
+    public long export(Scope scope, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            CellStyle headerStyle = headerStyle(workbook);
+            SXSSFSheet requestSheet = createSheet(workbook, "Заявки", REQUEST_COLUMNS, headerStyle);
+            SXSSFSheet partSheet = createSheet(workbook, "Запчасти", PART_COLUMNS, headerStyle);
+            int requestRow = 1;
+            int partRow = 1;
+            long exported = 0;
+
+            Long afterId = null;
+            while (true) {
+                List<MaintenanceRequest> page = fetchPage(scope, afterId);
+                if (page.isEmpty()) {
+                    break;
+                }
+                List<Long> requestIds = page.stream().map(MaintenanceRequest::getRequestId).toList();
+                List<RequestPart> parts = requestPartRepository.findWithSupplierByRequestIds(requestIds);
+                Map<Long, Boolean> availability = availability(parts);
+
+                for (MaintenanceRequest request : page) {
+                    writeRequest(requestSheet.createRow(requestRow++), request);
+                }
+                for (RequestPart part : parts) {
+                    writePart(partSheet.createRow(partRow++), part, availability);
+                }
+
+                exported += page.size();
+                afterId = requestIds.get(requestIds.size() - 1);
+                // Страница уже записана: сущности больше не нужны, и контекст не должен расти.
+                entityManager.clear();
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+
+            workbook.write(outputStream);
+            outputStream.flush();
+            log.info("Exported {} maintenance requests ({} part rows) to Excel", exported, partRow - 1);
+            return exported;
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+
+    private List<MaintenanceRequest> fetchPage(Scope scope, Long afterId) {
+        StringBuilder jpql = new StringBuilder("""
+                select r from MaintenanceRequest r
+                left join fetch r.club c
+                left join fetch r.mechanic m
+                where 1 = 1
+                """);
+        if (afterId != null) {
+            jpql.append(" and r.requestId > :afterId");
+        }
+        if (scope.clubIds() != null) {
+            jpql.append(" and c.clubId in :clubIds");
+        }
+        if (scope.status() != null) {
+            jpql.append(" and r.status = :status");
+        }
+        if (scope.from() != null) {
+            jpql.append(" and r.requestDate >= :from");
+        }
+        if (scope.to() != null) {
+            jpql.append(" and r.requestDate < :to");
+        }
+        jpql.append(" order by r.requestId asc");
+
+        TypedQuery<MaintenanceRequest> query = entityManager.createQuery(jpql.toString(), MaintenanceRequest.class)
+                .setMaxResults(pageSize);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        if (scope.clubIds() != null) {
+            query.setParameter("clubIds", scope.clubIds());
+        }
+        if (scope.status() != null) {
+            query.setParameter("status", scope.status());
+        }
+        if (scope.from() != null) {
+            query.setParameter("from", scope.from());
+        }
+        if (scope.to() != null) {
+            query.setParameter("to", scope.to());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Доступность позиций без сохранённого признака — по текущему остатку склада, одним запросом на страницу.
+     */
+    private Map<Long, Boolean> availability(List<RequestPart> parts) {
+        List<Long> inventoryIds = parts.stream()
+                .filter(part -> part.getIsAvailable() == null && part.getInventoryId() != null)
+                .map(RequestPart::getInventoryId)
+                .distinct()
+                .toList();
+        if (inventoryIds.isEmpty()) {
+            return Map.of();
+        }
+        return warehouseInventoryRepository.findAllById(inventoryIds).stream()
+                .collect(Collectors.toMap(WarehouseInventory::getInventoryId,
+                        inventory -> Optional.ofNullable(inventory.getQuantity()).orElse(0)
+                                - Optional.ofNullable(inventory.getReservedQuantity()).orElse(0) > 0));
+    }
+
+    private void writeRequest(Row row, MaintenanceRequest request) {
+        BowlingClub club = request.getClub();
+        MechanicProfile mechanic = request.getMechanic();
+        int col = 0;
+        setNumber(row, col++, request.getRequestId());
+        setText(row, col++, request.getStatus() != null ? request.getStatus().name() : null);
+        setText(row, col++, club != null ? club.getName() : null);
+        setNumber(row, col++, club != null ? club.getClubId() : null);
+        setNumber(row, col++, request.getLaneNumber());
+        setText(row, col++, mechanic != null ? mechanic.getFullName() : null);
+        setNumber(row, col++, mechanic != null ? mechanic.getProfileId() : null);
+        setText(row, col++, request.getRequestReason());
+        setText(row, col++, formatDate(request.getRequestDate()));
+        setText(row, col++, formatDate(request.getManagerDecisionDate()));
+        setText(row, col++, formatDate(request.getCompletionDate()));
+        setText(row, col++, request.getVerificationStatus());
+        setText(row, col, request.getManagerNotes());
+    }
+
+    private void writePart(Row row, RequestPart part, Map<Long, Boolean> availability) {
+        Boolean available = part.getIsAvailable() != null
+                ? part.getIsAvailable()
+                : part.getInventoryId() != null ? availability.get(part.getInventoryId()) : null;
+        String supplierName = Optional.ofNullable(part.getPurchaseOrder())
+                .map(PurchaseOrder::getSupplier)
+                .map(Supplier::getLegalName)
+                .orElse(null);
+        int col = 0;
+        setNumber(row, col++, part.getRequest() != null ? part.getRequest().getRequestId() : null);
+        setNumber(row, col++, part.getPartId());
+        setText(row, col++, part.getPartName());
+        setText(row, col++, part.getCatalogNumber());
+        setNumber(row, col++, part.getQuantity());
+        setNumber(row, col++, part.getInventoryId());
+        setNumber(row, col++, part.getCatalogId());
+        setText(row, col++, part.getStatus() != null ? part.getStatus().name() : null);
+        setText(row, col++, part.getRejectionReason());
+        setText(row, col++, yesNo(available));
+        setNumber(row, col++, part.getAcceptedQuantity());
+        setText(row, col++, part.getAcceptanceComment());
+        setText(row, col++, formatDate(part.getAcceptanceDate()));
+        setText(row, col++, supplierName);
+        setNumber(row, col++, part.getSupplierId());
+        setText(row, col++, formatDate(part.getOrderDate()));
+        setText(row, col++, formatDate(part.getDeliveryDate()));
+        setText(row, col++, formatDate(part.getIssueDate()));
+        setText(row, col++, part.getInventoryLocation());
+        setNumber(row, col++, part.getWarehouseId());
+        setText(row, col, yesNo(part.getHelpRequested()));
+    }
+
+    private SXSSFSheet createSheet(SXSSFWorkbook workbook, String name, List<Column> columns, CellStyle headerStyle) {
+        SXSSFSheet sheet = workbook.createSheet(name);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < columns.size(); i++) {
+            sheet.setColumnWidth(i, columns.get(i).width() * 256);
+            header.createCell(i).setCellValue(columns.get(i).title());
+            header.getCell(i).setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+        return sheet;
+    }
+
+    private CellStyle headerStyle(SXSSFWorkbook workbook) {
+        Font font = workbook.createFont();
+        font.setBold(true);
+        CellStyle style = workbook.createCellStyle();
+        style.setFont(font);
+        return style;
+    }
+
+    private void setText(Row row, int column, String value) {
+        if (value != null && !value.isEmpty()) {
+            row.createCell(column).setCellValue(value);
+        }
+    }
+
+    private void setNumber(Row row, int column, Number value) {
+        if (value != null) {
+            row.createCell(column).setCellValue(value.doubleValue());
+        }
+    }
+
+    private String yesNo(Boolean value) {
+        return value == null ? null : value ? "Да" : "Нет";
+    }
+
+    private String formatDate(LocalDateTime dateTime) {
+        return dateTime == null ? null : DATE_FORMAT.format(dateTime);
+    }
+}
@@ -6,26 +6,34 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.bowling.bowlingapp.DTO.ApproveRejectRequestDTO;
 import ru.bowling.bowlingapp.DTO.HelpRequestDTO;
 import ru.bowling.bowlingapp.DTO.HelpResponseDTO;
+import ru.bowling.bowlingapp.DTO.MaintenanceRequestPageDTO;
 import ru.bowling.bowlingapp.DTO.MaintenanceRequestResponseDTO;
 import ru.bowling.bowlingapp.DTO.PartRequestDTO;
 import ru.bowling.bowlingapp.DTO.ReservationRequestDto;
 import ru.bowling.bowlingapp.DTO.StockIssueDecisionDTO;
+import ru.bowling.bowlingapp.DTO.StockReservationResultDto;
 import ru.bowling.bowlingapp.Entity.*;
 import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
 import ru.bowling.bowlingapp.Entity.enums.PartStatus;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
 import ru.bowling.bowlingapp.Enum.AccountTypeName;
 import ru.bowling.bowlingapp.Repository.*;
+import ru.bowling.bowlingapp.Repository.specification.GlobalSearchSpecifications;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.io.ByteArrayOutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -34,6 +42,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,6 +50,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MaintenanceRequestService {
 
+        private static final int DEFAULT_LIST_PAGE_SIZE = 50;
+        private static final int MAX_LIST_PAGE_SIZE = 200;
+        private static final int IN_LIST_CHUNK_SIZE = 500;
+
         private final MaintenanceRequestRepository maintenanceRequestRepository;
         private final RequestPartRepository requestPartRepository;
         private final MechanicProfileRepository mechanicProfileRepository;
@@ -56,6 +69,7 @@ public class MaintenanceRequestService {
         private final PersonalWarehouseRepository personalWarehouseRepository;
         private final ClubInvitationRepository clubInvitationRepository;
         private final UserClubAccessService userClubAccessService;
+        private final WarehouseLedger warehouseLedger;
 
         @Transactional
         public MaintenanceRequestResponseDTO createPartRequest(PartRequestDTO requestDTO) {
@@ -125,9 +139,8 @@ public class MaintenanceRequestService {
 
                 MaintenanceRequest savedRequest = maintenanceRequestRepository.save(request);
 
-                List<RequestPart> requestParts = requestDTO.getRequestedParts().stream()
-                                .map(partDTO -> requestPartRepository.save(buildRequestPart(savedRequest, partDTO)))
-                                .collect(Collectors.toList());
+                List<RequestPart> requestParts = requestPartRepository.saveAll(
+                                buildRequestParts(savedRequest, requestDTO.getRequestedParts()));
 
                 if (!isFreeMechanic) {
                         notifyClubTeamAboutRequest(savedRequest);
@@ -137,14 +150,8 @@ public class MaintenanceRequestService {
         }
 
         @Transactional(readOnly = true)
-        public List<MaintenanceRequestResponseDTO> getAllRequests() {
-                List<MaintenanceRequest> requests = maintenanceRequestRepository.findAllByOrderByRequestDateDesc();
-                return requests.stream()
-                                .map(request -> {
-                                        List<RequestPart> parts = requestPartRepository.findByRequestRequestId(request.getRequestId());
-                                        return convertToResponseDTO(request, parts);
-                                })
-                                .collect(Collectors.toList());
+        public MaintenanceRequestPageDTO getAllRequests(String cursor, Integer size) {
+                return loadRequestPage(new ArrayList<>(), cursor, size);
         }
 
         @Transactional(readOnly = true)
@@ -251,36 +258,78 @@ public class MaintenanceRequestService {
                 }
         }
 
+        /**
+         * Проверяет доступ и собирает параметры массовой выгрузки до начала записи ответа.
+         * Без клуба выгружаются все доступные пользователю клубы (для администрации — все).
+         */
+        @Transactional(readOnly = true)
+        public MaintenanceRequestExcelExporter.Scope resolveExportScope(String requestedByLogin,
+                                                                        Long clubId,
+                                                                        String status,
+                                                                        LocalDate from,
+                                                                        LocalDate to) {
+                User requester = findUserByLogin(requestedByLogin);
+                if (requester == null) {
+                        throw new IllegalArgumentException("User not found");
+                }
+                if (from != null && to != null && to.isBefore(from)) {
+                        throw new IllegalArgumentException("Period end must not be before its start");
+                }
+                MaintenanceRequestStatus st = null;
+                if (status != null && !status.isBlank()) {
+                        try {
+                                st = MaintenanceRequestStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+                        } catch (IllegalArgumentException ex) {
+                                throw new IllegalArgumentException("Unknown status: " + status);
+                        }
+                }
+
+                List<Long> clubIds;
+                if (clubId != null) {
+                        BowlingClub club = bowlingClubRepository.findById(clubId)
+                                        .orElseThrow(() -> new IllegalArgumentException("Club not found"));
+                        if (!userHasAccessToClub(requester, club)) {
+                                throw new IllegalArgumentException("You do not have access to this club");
+                        }
+                        clubIds = List.of(clubId);
+                } else if (isGlobalAdministrator(requester)) {
+                        clubIds = null;
+                } else {
+                        clubIds = userClubAccessService.resolveAccessibleClubIds(requester);
+                        if (clubIds.isEmpty()) {
+                                throw new IllegalArgumentException("You do not have access to any club");
+                        }
+                }
+
+                return new MaintenanceRequestExcelExporter.Scope(
+                                clubIds,
+                                st,
+                                from != null ? from.atStartOfDay() : null,
+                                to != null ? to.plusDays(1).atStartOfDay() : null);
+        }
+
         @Transactional(readOnly = true)
-        public List<MaintenanceRequestResponseDTO> getRequestsByStatus(String status) {
+        public MaintenanceRequestPageDTO getRequestsByStatus(String status, String cursor, Integer size) {
                 MaintenanceRequestStatus st;
                 try {
                         st = MaintenanceRequestStatus.valueOf(status);
-		} catch (IllegalArgumentException ex) {
-			throw new IllegalArgumentException("Unknown status: " + status);
-		}
-		List<MaintenanceRequest> requests = maintenanceRequestRepository.findByStatusOrderByRequestDateDesc(st);
-		return requests.stream()
-				.map(request -> {
-					List<RequestPart> parts = requestPartRepository.findByRequestRequestId(request.getRequestId());
-					return convertToResponseDTO(request, parts);
-				})
-				.collect(Collectors.toList());
-	}
+                } catch (IllegalArgumentException ex) {
+                        throw new IllegalArgumentException("Unknown status: " + status);
+                }
+                List<Specification<MaintenanceRequest>> specs = new ArrayList<>();
+                specs.add(GlobalSearchSpecifications.requestStatus(st));
+                return loadRequestPage(specs, cursor, size);
+        }
 
         @Transactional(readOnly = true)
-        public List<MaintenanceRequestResponseDTO> getRequestsByMechanic(Long mechanicId) {
-                List<MaintenanceRequest> requests = maintenanceRequestRepository.findByMechanic_ProfileId(mechanicId);
-                return requests.stream()
-                                .map(request -> {
-                                        List<RequestPart> parts = requestPartRepository.findByRequestRequestId(request.getRequestId());
-                                        return convertToResponseDTO(request, parts);
-                                })
-                                .collect(Collectors.toList());
+        public MaintenanceRequestPageDTO getRequestsByMechanic(Long mechanicId, String cursor, Integer size) {
+                List<Specification<MaintenanceRequest>> specs = new ArrayList<>();
+                specs.add(GlobalSearchSpecifications.requestMechanicId(mechanicId));
+                return loadRequestPage(specs, cursor, size);
         }
 
         @Transactional(readOnly = true)
-        public List<MaintenanceRequestResponseDTO> getRequestsByClub(Long clubId, String requestedByLogin) {
+        public MaintenanceRequestPageDTO getRequestsByClub(Long clubId, String requestedByLogin, String cursor, Integer size) {
                 if (clubId == null) {
                         throw new IllegalArgumentException("Club is required");
                 }
@@ -298,13 +347,50 @@ public class MaintenanceRequestService {
                         }
                 }
 
-                List<MaintenanceRequest> requests = maintenanceRequestRepository.findByClubClubIdOrderByRequestDateDesc(clubId);
-                return requests.stream()
-                                .map(request -> {
-                                        List<RequestPart> parts = requestPartRepository.findByRequestRequestId(request.getRequestId());
-                                        return convertToResponseDTO(request, parts);
-                                })
-                                .collect(Collectors.toList());
+                List<Specification<MaintenanceRequest>> specs = new ArrayList<>();
+                specs.add(GlobalSearchSpecifications.requestClubIdIn(List.of(clubId)));
+                return loadRequestPage(specs, cursor, size);
+        }
+
+        /**
+         * Страница заявок, новые сначала. Клуб и механик подгружаются в том же запросе, запчасти и остатки
+         * склада — по одному запросу на всю страницу, поэтому время ответа зависит от размера страницы,
+         * а не от истории заявок. Без размера отдаётся страница по умолчанию; следующие страницы клиент
+         * запрашивает по курсору из {@code X-Next-Cursor}.
+         */
+        private MaintenanceRequestPageDTO loadRequestPage(List<Specification<MaintenanceRequest>> specs,
+                        String cursor, Integer size) {
+                specs.add(GlobalSearchSpecifications.requestFetchClubAndMechanic());
+                int pageSize = resolveListPageSize(size);
+                if (cursor != null && !cursor.isBlank()) {
+                        specs.add(GlobalSearchSpecifications.requestIdBefore(parseListCursor(cursor)));
+                }
+
+                // Номер заявки растёт вместе с датой создания и, в отличие от даты, однозначно задаёт границу страницы.
+                List<MaintenanceRequest> rows = maintenanceRequestRepository.findBy(Specification.allOf(specs),
+                                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "requestId")).limit(pageSize + 1).all());
+                boolean hasMore = rows.size() > pageSize;
+                List<MaintenanceRequest> page = hasMore ? rows.subList(0, pageSize) : rows;
+                return MaintenanceRequestPageDTO.builder()
+                                .items(convertToResponseDTOs(page))
+                                .nextCursor(hasMore ? String.valueOf(page.get(page.size() - 1).getRequestId()) : null)
+                                .size(pageSize)
+                                .build();
+        }
+
+        private int resolveListPageSize(Integer requestedSize) {
+                if (requestedSize == null || requestedSize <= 0) {
+                        return DEFAULT_LIST_PAGE_SIZE;
+                }
+                return Math.min(requestedSize, MAX_LIST_PAGE_SIZE);
+        }
+
+        private Long parseListCursor(String cursor) {
+                try {
+                        return Long.parseLong(cursor.trim());
+                } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+                }
         }
 
         @Transactional
@@ -330,10 +416,7 @@ public class MaintenanceRequestService {
                         throw new IllegalStateException("Для выдачи со склада в заявке должен быть указан номер дорожки");
                 }
 
-                for (PartRequestDTO.RequestedPartDTO partDTO : partsToAdd) {
-                        RequestPart requestPart = buildRequestPart(request, partDTO);
-                        requestPartRepository.save(requestPart);
-                }
+                requestPartRepository.saveAll(buildRequestParts(request, partsToAdd));
 
                 List<RequestPart> parts = requestPartRepository.findByRequestRequestId(request.getRequestId());
                 return convertToResponseDTO(request, parts);
@@ -505,7 +588,10 @@ public class MaintenanceRequestService {
                 String partName = normalizeValue(partDTO.getPartName());
                 String location = normalizeValue(partDTO.getLocation());
                 Long catalogId = partDTO.getCatalogId();
-                Long inventoryId = partDTO.getInventoryId();
+                // Отрицательный id у подставленной нулевой позиции склада: строки склада за ней нет.
+                Long inventoryId = partDTO.getInventoryId() != null && partDTO.getInventoryId() > 0
+                                ? partDTO.getInventoryId()
+                                : null;
                 Integer warehouseId = partDTO.getWarehouseId();
 
                 if (partName == null) {
@@ -526,10 +612,18 @@ public class MaintenanceRequestService {
                                 .helpRequested(Boolean.TRUE.equals(partDTO.getHelpRequested()))
                                 .build();
 
-                autoAssignAvailability(part, request);
                 return part;
         }
 
+        private List<RequestPart> buildRequestParts(MaintenanceRequest request,
+                                                    List<PartRequestDTO.RequestedPartDTO> partDTOs) {
+                List<RequestPart> parts = partDTOs.stream()
+                                .map(partDTO -> buildRequestPart(request, partDTO))
+                                .collect(Collectors.toList());
+                autoAssignAvailability(parts, request);
+                return parts;
+        }
+
         private String normalizeValue(String value) {
                 if (value == null) {
                         return null;
@@ -559,75 +653,90 @@ public class MaintenanceRequestService {
                 return "неизвестная запчасть";
         }
 
-    private void autoAssignAvailability(RequestPart part, MaintenanceRequest request) {
-        if (part == null || request == null) {
+    /**
+     * Подбирает склад для всех позиций заявки сразу: кандидаты-склады определяются один раз,
+     * каталожные номера разрешаются одним IN-запросом, остатки читаются одним запросом
+     * по парам (склад, позиция каталога).
+     */
+    private void autoAssignAvailability(List<RequestPart> parts, MaintenanceRequest request) {
+        if (parts == null || parts.isEmpty() || request == null) {
             return;
         }
 
-        Long resolvedCatalogId = part.getCatalogId();
-        if (resolvedCatalogId == null && part.getCatalogNumber() != null) {
-            partsCatalogRepository.findByCatalogNumber(part.getCatalogNumber())
-                            .map(PartsCatalog::getCatalogId)
-                            .ifPresent(part::setCatalogId);
-            resolvedCatalogId = part.getCatalogId();
-        }
-        if (resolvedCatalogId == null) {
-            part.setIsAvailable(false);
-            return;
+        Set<String> unresolvedNumbers = parts.stream()
+                .filter(part -> part.getCatalogId() == null && part.getCatalogNumber() != null)
+                .map(RequestPart::getCatalogNumber)
+                .collect(Collectors.toSet());
+        if (!unresolvedNumbers.isEmpty()) {
+            Map<String, Long> catalogIdsByNumber = new HashMap<>();
+            partsCatalogRepository.findIdsByCatalogNumberIn(unresolvedNumbers)
+                    .forEach(row -> catalogIdsByNumber.putIfAbsent(row.getCatalogNumber(), row.getCatalogId()));
+            for (RequestPart part : parts) {
+                if (part.getCatalogId() == null && part.getCatalogNumber() != null) {
+                    part.setCatalogId(catalogIdsByNumber.get(part.getCatalogNumber()));
+                }
+            }
         }
 
-        List<Integer> candidateWarehouses = new ArrayList<>();
-        MechanicProfile mechanic = request.getMechanic();
-        AccountTypeName accountTypeName = resolveAccountType(mechanic);
-        boolean freeMechanic = accountTypeName == AccountTypeName.FREE_MECHANIC_BASIC
-                || accountTypeName == AccountTypeName.FREE_MECHANIC_PREMIUM;
-
-        if (freeMechanic) {
-            if (request.getClub() != null && request.getClub().getClubId() != null) {
-                candidateWarehouses.add(Math.toIntExact(request.getClub().getClubId()));
-            }
-            if (mechanic != null && mechanic.getProfileId() != null) {
-                personalWarehouseRepository.findByMechanicProfile_ProfileIdAndIsActiveTrue(mechanic.getProfileId())
-                        .forEach(wh -> candidateWarehouses.add(wh.getWarehouseId()));
-            }
-        } else {
-            if (request.getClub() != null && request.getClub().getClubId() != null) {
-                candidateWarehouses.add(Math.toIntExact(request.getClub().getClubId()));
-            }
-            if (mechanic != null && mechanic.getProfileId() != null) {
-                personalWarehouseRepository.findByMechanicProfile_ProfileIdAndIsActiveTrue(mechanic.getProfileId())
-                        .forEach(wh -> candidateWarehouses.add(wh.getWarehouseId()));
+        List<Integer> candidateWarehouses = resolveCandidateWarehouses(request);
+        Set<Integer> catalogIds = parts.stream()
+                .map(RequestPart::getCatalogId)
+                .filter(Objects::nonNull)
+                .map(Long::intValue)
+                .collect(Collectors.toSet());
+        Map<String, WarehouseInventory> stockByWarehouseAndCatalog = new HashMap<>();
+        if (!candidateWarehouses.isEmpty() && !catalogIds.isEmpty()) {
+            for (WarehouseInventory inventory : warehouseInventoryRepository
+                    .findByWarehouseIdInAndCatalogIdIn(candidateWarehouses, catalogIds)) {
+                stockByWarehouseAndCatalog.putIfAbsent(
+                        stockKey(inventory.getWarehouseId(), inventory.getCatalogId()), inventory);
             }
         }
 
-        for (Integer warehouseId : candidateWarehouses) {
-            WarehouseInventory inventory = warehouseInventoryRepository
-                            .findFirstByWarehouseIdAndCatalogId(warehouseId, resolvedCatalogId.intValue());
-            if (inventory == null) {
-                                continue;
-                        }
-                        int available = Optional.ofNullable(inventory.getQuantity()).orElse(0)
-                                        - Optional.ofNullable(inventory.getReservedQuantity()).orElse(0);
-                        if (available >= Optional.ofNullable(part.getQuantity()).orElse(0)) {
-                                part.setIsAvailable(true);
-                                part.setWarehouseId(warehouseId);
-                                part.setInventoryId(inventory.getInventoryId());
-                                part.setInventoryLocation(Optional.ofNullable(inventory.getLocationReference())
-                                                .orElse(joinLocation(inventory)));
-                                part.setStatus(PartStatus.APPROVED_FOR_ISSUE);
-                                return;
-                        }
+        for (RequestPart part : parts) {
+            part.setIsAvailable(false);
+            if (part.getCatalogId() == null) {
+                continue;
+            }
+            for (Integer warehouseId : candidateWarehouses) {
+                WarehouseInventory inventory = stockByWarehouseAndCatalog.get(
+                        stockKey(warehouseId, part.getCatalogId().intValue()));
+                if (inventory == null) {
+                    continue;
+                }
+                int available = Optional.ofNullable(inventory.getQuantity()).orElse(0)
+                        - Optional.ofNullable(inventory.getReservedQuantity()).orElse(0);
+                if (available >= Optional.ofNullable(part.getQuantity()).orElse(0)) {
+                    part.setIsAvailable(true);
+                    part.setWarehouseId(warehouseId);
+                    part.setInventoryId(inventory.getInventoryId());
+                    part.setInventoryLocation(Optional.ofNullable(inventory.getLocationReference())
+                            .orElse(joinLocation(inventory)));
+                    part.setStatus(PartStatus.APPROVED_FOR_ISSUE);
+                    break;
                 }
-
-        part.setIsAvailable(false);
+            }
+        }
     }
 
-    private AccountTypeName resolveAccountType(MechanicProfile mechanic) {
-        if (mechanic == null || mechanic.getUser() == null || mechanic.getUser().getAccountType() == null
-                || mechanic.getUser().getAccountType().getName() == null) {
-            return null;
+    /**
+     * Склад клуба заявки, затем активные личные склады механика — в порядке проверки остатков.
+     */
+    private List<Integer> resolveCandidateWarehouses(MaintenanceRequest request) {
+        List<Integer> candidateWarehouses = new ArrayList<>();
+        if (request.getClub() != null && request.getClub().getClubId() != null) {
+            candidateWarehouses.add(Math.toIntExact(request.getClub().getClubId()));
+        }
+        MechanicProfile mechanic = request.getMechanic();
+        if (mechanic != null && mechanic.getProfileId() != null) {
+            personalWarehouseRepository.findByMechanicProfile_ProfileIdAndIsActiveTrue(mechanic.getProfileId())
+                    .forEach(wh -> candidateWarehouses.add(wh.getWarehouseId()));
         }
-        return AccountTypeName.from(mechanic.getUser().getAccountType().getName());
+        return candidateWarehouses;
+    }
+
+    private String stockKey(Integer warehouseId, Integer catalogId) {
+        return warehouseId + ":" + catalogId;
     }
 
         private String joinLocation(WarehouseInventory inventory) {
@@ -647,7 +756,7 @@ public class MaintenanceRequestService {
                 return chunks.isEmpty() ? null : String.join(", ", chunks);
         }
 
-        private void synchronizeManualWarehouse(RequestPart part, int approvedQty) {
+        private void synchronizeManualWarehouse(RequestPart part, int approvedQty, List<Integer> candidateWarehouses) {
                 if (part == null || approvedQty <= 0) {
                         return;
                 }
@@ -655,17 +764,39 @@ public class MaintenanceRequestService {
                 if (inventoryId == null) {
                         return;
                 }
-                WarehouseInventory inventory = warehouseInventoryRepository.findById(inventoryId)
-                        .orElseThrow(() -> new IllegalStateException(
-                                "Складская позиция не найдена для inventoryId=" + inventoryId));
-                int currentQty = Optional.ofNullable(inventory.getQuantity()).orElse(0);
-                if (currentQty < approvedQty) {
+                Integer warehouseId = warehouseInventoryRepository.findById(inventoryId)
+                                .map(WarehouseInventory::getWarehouseId)
+                                .orElseThrow(() -> new IllegalStateException(
+                                                "Складская позиция не найдена для inventoryId=" + inventoryId));
+                if (!candidateWarehouses.contains(warehouseId)) {
+                        throw new IllegalStateException("Склад " + warehouseId + " недоступен для заявки");
+                }
+                if (warehouseInventoryRepository.reserveIfAvailable(inventoryId, approvedQty) == 0) {
                         throw new IllegalStateException("Недостаточно остатков на складе для inventoryId=" + inventoryId);
                 }
-                inventory.setQuantity(currentQty - approvedQty);
-                Integer reserved = Optional.ofNullable(inventory.getReservedQuantity()).orElse(0);
-                inventory.setReservedQuantity(reserved + approvedQty);
-                warehouseInventoryRepository.save(inventory);
+                warehouseLedger.recordLevels(inventoryId, WarehouseMovementType.RESERVE, 0, approvedQty,
+                                part.getRequest() != null ? part.getRequest().getRequestId() : null, null);
+                part.setWarehouseId(warehouseId);
+                part.setReservedQuantity(approvedQty);
+        }
+
+        /**
+         * Снимает резерв, поставленный под позицию прошлым решением, чтобы повторное решение
+         * не накладывало новый резерв поверх старого.
+         */
+        private void releaseOwnReservation(RequestPart part) {
+                int reserved = Optional.ofNullable(part.getReservedQuantity()).orElse(0);
+                Long inventoryId = part.getInventoryId();
+                if (reserved <= 0 || inventoryId == null) {
+                        part.setReservedQuantity(null);
+                        return;
+                }
+                if (warehouseInventoryRepository.releaseIfReserved(inventoryId, reserved) == 0) {
+                        throw new IllegalStateException("Резерв позиции '" + part.getPartName() + "' уже снят со склада");
+                }
+                warehouseLedger.recordLevels(inventoryId, WarehouseMovementType.RELEASE, 0, -reserved,
+                                part.getRequest() != null ? part.getRequest().getRequestId() : null, null);
+                part.setReservedQuantity(null);
         }
 
         @Transactional
@@ -733,6 +864,8 @@ public class MaintenanceRequestService {
                 Map<Long, RequestPart> partsById = parts.stream()
                                 .filter(Objects::nonNull)
                                 .collect(Collectors.toMap(RequestPart::getPartId, p -> p));
+                // Резервировать можно только на складах заявки: клуба и личных складах её механика.
+                List<Integer> candidateWarehouses = resolveCandidateWarehouses(request);
 
                 boolean anyApproved = false;
                 boolean anyPartial = false;
@@ -758,6 +891,7 @@ public class MaintenanceRequestService {
                                 throw new IllegalArgumentException("Согласованное количество превышает запрошенное");
                         }
 
+                        releaseOwnReservation(part);
                         part.setAcceptedQuantity(approvedQty);
                         part.setAcceptanceComment(decision.getManagerComment());
                         part.setAcceptanceDate(LocalDateTime.now());
@@ -778,15 +912,20 @@ public class MaintenanceRequestService {
                                 if (part.getCatalogId() != null) {
                                         try {
                                                 ReservationRequestDto reservationRequest = new ReservationRequestDto(
-                                                                part.getCatalogId(), approvedQty, requestId);
-                                                inventoryService.reservePart(reservationRequest);
+                                                                part.getCatalogId(), approvedQty, requestId, part.getWarehouseId());
+                                                StockReservationResultDto.Line reserved = inventoryService.reservePart(
+                                                                candidateWarehouses, reservationRequest);
+                                                // Выдача потом списывает именно эту позицию склада.
+                                                part.setWarehouseId(reserved.getWarehouseId());
+                                                part.setInventoryId(reserved.getInventoryId());
+                                                part.setReservedQuantity(approvedQty);
                                         } catch (RuntimeException ex) {
                                                 throw new IllegalStateException(
                                                                 "Недостаточно остатков для выдачи запчасти '" + part.getPartName() + "'",
                                                                 ex);
                                         }
                                 } else {
-                                        synchronizeManualWarehouse(part, approvedQty);
+                                        synchronizeManualWarehouse(part, approvedQty, candidateWarehouses);
                                 }
                                 part.setIssueDate(LocalDateTime.now());
                         }
@@ -1018,16 +1157,26 @@ public class MaintenanceRequestService {
 			}
 			part.setStatus(PartStatus.INSTALLED);
 			part.setIssueDate(java.time.LocalDateTime.now());
-			requestPartRepository.save(part);
 
-			try {
-				partsCatalogRepository.findByCatalogNumber(part.getCatalogNumber()).ifPresent(catalogPart -> {
-					ReservationRequestDto reservationRequest = new ReservationRequestDto(catalogPart.getCatalogId(), part.getQuantity(), req.getRequestId());
-					inventoryService.reservePart(reservationRequest);
-				});
-			} catch (RuntimeException e) {
-				throw new IllegalStateException("Ошибка списания запчасти '" + part.getPartName() + "' со склада: " + e.getMessage());
+			// Выдаётся согласованное количество; то, что под него зарезервировала заявка, списывается из её же резерва.
+			int issueQty = Optional.ofNullable(part.getAcceptedQuantity()).orElse(Optional.ofNullable(part.getQuantity()).orElse(0));
+			int ownReserved = Math.min(Optional.ofNullable(part.getReservedQuantity()).orElse(0), issueQty);
+			if (issueQty > 0) {
+				try {
+					partsCatalogRepository.findByCatalogNumber(part.getCatalogNumber()).ifPresent(catalogPart -> {
+						ReservationRequestDto reservationRequest = new ReservationRequestDto(catalogPart.getCatalogId(), issueQty, req.getRequestId(), part.getWarehouseId());
+						// Зарезервированная позиция списывается со своего склада, иначе — с любого склада заявки.
+						List<Integer> issueWarehouses = part.getWarehouseId() != null
+								? List.of(part.getWarehouseId())
+								: resolveCandidateWarehouses(req);
+						inventoryService.issuePart(issueWarehouses, reservationRequest, ownReserved);
+						part.setReservedQuantity(null);
+					});
+				} catch (RuntimeException e) {
+					throw new IllegalStateException("Ошибка списания запчасти '" + part.getPartName() + "' со склада: " + e.getMessage());
+				}
 			}
+			requestPartRepository.save(part);
 		}
 		req.setStatus(MaintenanceRequestStatus.DONE);
 		maintenanceRequestRepository.save(req);
@@ -1195,7 +1344,44 @@ public class MaintenanceRequestService {
                 notificationService.notifyMaintenanceRequestCreated(request, owners, managers);
         }
 
+        private List<MaintenanceRequestResponseDTO> convertToResponseDTOs(List<MaintenanceRequest> requests) {
+                if (requests.isEmpty()) {
+                        return List.of();
+                }
+                List<Long> requestIds = requests.stream().map(MaintenanceRequest::getRequestId).toList();
+                List<RequestPart> allParts = new ArrayList<>();
+                // Список IN делится на порции, чтобы не упираться в лимит параметров запроса.
+                for (int from = 0; from < requestIds.size(); from += IN_LIST_CHUNK_SIZE) {
+                        allParts.addAll(requestPartRepository.findWithSupplierByRequestIds(
+                                        requestIds.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, requestIds.size()))));
+                }
+                Map<Long, List<RequestPart>> partsByRequest = allParts.stream()
+                                .collect(Collectors.groupingBy(part -> part.getRequest().getRequestId()));
+                Set<Long> inventoryIds = partsByRequest.values().stream()
+                                .flatMap(List::stream)
+                                .filter(part -> part.getIsAvailable() == null && part.getInventoryId() != null)
+                                .map(RequestPart::getInventoryId)
+                                .collect(Collectors.toSet());
+                Map<Long, WarehouseInventory> inventories = new HashMap<>();
+                List<Long> inventoryIdList = new ArrayList<>(inventoryIds);
+                for (int from = 0; from < inventoryIdList.size(); from += IN_LIST_CHUNK_SIZE) {
+                        warehouseInventoryRepository.findAllById(inventoryIdList.subList(from,
+                                                        Math.min(from + IN_LIST_CHUNK_SIZE, inventoryIdList.size())))
+                                        .forEach(inv -> inventories.put(inv.getInventoryId(), inv));
+                }
+                return requests.stream()
+                                .map(request -> convertToResponseDTO(request,
+                                                partsByRequest.getOrDefault(request.getRequestId(), List.of()),
+                                                inventoryId -> Optional.ofNullable(inventories.get(inventoryId))))
+                                .collect(Collectors.toList());
+        }
+
         private MaintenanceRequestResponseDTO convertToResponseDTO(MaintenanceRequest request, List<RequestPart> parts) {
+                return convertToResponseDTO(request, parts, warehouseInventoryRepository::findById);
+        }
+
+        private MaintenanceRequestResponseDTO convertToResponseDTO(MaintenanceRequest request, List<RequestPart> parts,
+                        Function<Long, Optional<WarehouseInventory>> inventoryLookup) {
                 BowlingClub club = request.getClub();
                 Long clubId = club != null ? club.getClubId() : null;
                 String clubName = club != null ? club.getName() : null;
@@ -1211,7 +1397,7 @@ public class MaintenanceRequestService {
                                                         .orElse(null);
                                         Boolean availability = part.getIsAvailable();
                                         if (availability == null && part.getInventoryId() != null) {
-                                                availability = warehouseInventoryRepository.findById(part.getInventoryId())
+                                                availability = inventoryLookup.apply(part.getInventoryId())
                                                                 .map(inv -> {
                                                                         int qty = Optional.ofNullable(inv.getQuantity()).orElse(0);
                                                                         int reserved = Optional
@@ -0,0 +1,68 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.bowling.bowlingapp.Entity.AttestationApplication;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MechanicCertification;
+import ru.bowling.bowlingapp.Entity.MechanicProfile;
+import ru.bowling.bowlingapp.Entity.MechanicWorkHistory;
+import ru.bowling.bowlingapp.Entity.User;
+
+/**
+ * Сообщает {@link MechanicDirectoryIndex}, какие профили механиков затронуло изменение через JPA.
+ * Изменение клуба (название, адрес) касается всех его механиков: тогда перечитываются профили этого клуба.
+ */
+@Component
+public class MechanicDirectoryChangeListener {
+
+    private final ObjectProvider<MechanicDirectoryIndex> directoryIndex;
+
+    public MechanicDirectoryChangeListener(ObjectProvider<MechanicDirectoryIndex> directoryIndex) {
+        this.directoryIndex = directoryIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        MechanicDirectoryIndex index = directoryIndex.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        if (entity instanceof BowlingClub club) {
+            index.clubChanged(club.getClubId());
+            return;
+        }
+        Long profileId = resolveProfileId(entity);
+        if (profileId != null) {
+            index.profileChanged(profileId);
+        }
+    }
+
+    private Long resolveProfileId(Object entity) {
+        if (entity instanceof MechanicProfile profile) {
+            return profile.getProfileId();
+        }
+        if (entity instanceof MechanicCertification certification) {
+            return profileId(certification.getMechanicProfile());
+        }
+        if (entity instanceof MechanicWorkHistory history) {
+            return profileId(history.getMechanicProfile());
+        }
+        if (entity instanceof AttestationApplication application) {
+            return profileId(application.getMechanicProfile());
+        }
+        if (entity instanceof User user) {
+            return profileId(user.getMechanicProfile());
+        }
+        return null;
+    }
+
+    private Long profileId(MechanicProfile profile) {
+        return profile != null ? profile.getProfileId() : null;
+    }
+}
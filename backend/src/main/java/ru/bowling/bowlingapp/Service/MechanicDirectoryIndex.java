@@ -0,0 +1,647 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.Entity.AttestationApplication;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MechanicCertification;
+import ru.bowling.bowlingapp.Entity.MechanicProfile;
+import ru.bowling.bowlingapp.Entity.MechanicWorkHistory;
+import ru.bowling.bowlingapp.Entity.User;
+import ru.bowling.bowlingapp.Entity.enums.AttestationStatus;
+import ru.bowling.bowlingapp.Entity.enums.MechanicGrade;
+import ru.bowling.bowlingapp.Repository.AttestationApplicationRepository;
+import ru.bowling.bowlingapp.Repository.MechanicProfileRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Справочник механиков в памяти: компактные записи, отсортированные по имени, и инвертированные индексы
+ * по триграммам имени и навыков, региону, сертификатам и специализации. Поиск по справочнику и база
+ * специалистов обходятся без обращений к БД.
+ * <p>
+ * Снимок строится целиком при первом обращении, а дальше обновляется по изменённым профилям
+ * ({@link MechanicDirectoryChangeListener}) после коммита: из БД перечитываются только они.
+ * Периодическая полная перезагрузка подстраховывает от изменений в обход JPA.
+ * <p>
+ * Изменение клуба перечитывает только его механиков: и тех, что числятся за клубом в снимке, и тех,
+ * что числятся за ним в БД.
+ * <p>
+ * Транзакция, которая сама изменила профили, видит их сразу после сброса в БД (flush): поверх общего снимка
+ * накладываются её незакоммиченные записи. Только в этом случае обращение к справочнику идёт в БД.
+ * Сам справочник flush не вызывает — изменения, которые ещё не сброшены, он не видит.
+ */
+@Slf4j
+@Component
+public class MechanicDirectoryIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 500;
+    private static final int GRAM = 3;
+
+    private static final Comparator<MechanicEntry> NAME_ORDER = Comparator
+            .comparing(MechanicEntry::fullName, Comparator.nullsLast(String::compareToIgnoreCase))
+            .thenComparing(MechanicEntry::profileId);
+
+    private final MechanicProfileRepository mechanicProfileRepository;
+    private final AttestationApplicationRepository attestationApplicationRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final Object updateLock = new Object();
+    private volatile Snapshot current;
+
+    public MechanicDirectoryIndex(MechanicProfileRepository mechanicProfileRepository,
+                                  AttestationApplicationRepository attestationApplicationRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.mechanicProfileRepository = mechanicProfileRepository;
+        this.attestationApplicationRepository = attestationApplicationRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        // Обновления приходят после коммита чужой транзакции и должны читать уже закоммиченные данные.
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public Snapshot snapshot() {
+        Snapshot committed = committedSnapshot();
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return committed;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            return committed;
+        }
+        Set<Long> affected = affectedProfiles(committed, pending.profileIds, pending.clubIds);
+        return merge(committed, affected, loadEntries(List.copyOf(affected)));
+    }
+
+    /**
+     * Профиль изменён в текущей транзакции; без транзакции он перечитывается сразу.
+     */
+    public void profileChanged(Long profileId) {
+        PendingChanges pending = pendingChanges();
+        if (pending != null) {
+            pending.profileIds.add(profileId);
+        } else {
+            refresh(Set.of(profileId));
+        }
+    }
+
+    /**
+     * Клуб изменён в текущей транзакции: перечитываются его механики.
+     */
+    public void clubChanged(Long clubId) {
+        if (clubId == null) {
+            return;
+        }
+        PendingChanges pending = pendingChanges();
+        if (pending != null) {
+            pending.clubIds.add(clubId);
+        } else {
+            refresh(Set.of(), Set.of(clubId));
+        }
+    }
+
+    /**
+     * Перечитывает указанные профили и подменяет их записи. Удалённые профили исчезают из снимка.
+     */
+    public void refresh(Collection<Long> profileIds) {
+        refresh(profileIds, Set.of());
+    }
+
+    private void refresh(Collection<Long> profileIds, Collection<Long> clubIds) {
+        if ((profileIds == null || profileIds.isEmpty()) && clubIds.isEmpty()) {
+            return;
+        }
+        synchronized (updateLock) {
+            Snapshot snapshot = current;
+            if (snapshot == null) {
+                // Снимок ещё не строился: первая загрузка и так увидит изменения.
+                return;
+            }
+            Set<Long> affected = new HashSet<>();
+            Map<Long, MechanicEntry> loaded = readTransaction.execute(status -> {
+                affected.addAll(affectedProfiles(snapshot, profileIds, clubIds));
+                return loadEntries(List.copyOf(affected));
+            });
+            current = merge(snapshot, affected, loaded);
+        }
+    }
+
+    private Set<Long> affectedProfiles(Snapshot snapshot, Collection<Long> profileIds, Collection<Long> clubIds) {
+        Set<Long> affected = new HashSet<>();
+        if (profileIds != null) {
+            affected.addAll(profileIds);
+        }
+        if (!clubIds.isEmpty()) {
+            affected.addAll(snapshot.profileIdsOfClubs(clubIds));
+            affected.addAll(mechanicProfileRepository.findProfileIdsByClubIds(clubIds));
+        }
+        return affected;
+    }
+
+    public void reload() {
+        synchronized (updateLock) {
+            current = build(loadAll());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mechanic-directory.refresh-interval-ms:900000}",
+            initialDelayString = "${app.mechanic-directory.refresh-interval-ms:900000}")
+    public void scheduledReload() {
+        if (current != null) {
+            reload();
+        }
+    }
+
+    private Snapshot committedSnapshot() {
+        Snapshot snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (updateLock) {
+            if (current == null) {
+                current = build(loadAll());
+            }
+            return current;
+        }
+    }
+
+    private PendingChanges pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private Collection<MechanicEntry> loadAll() {
+        Map<Long, MechanicEntry> entries = readTransaction.execute(status ->
+                loadEntries(mechanicProfileRepository.findAllProfileIds()));
+        log.debug("Mechanic directory loaded: {} profiles", entries.size());
+        return entries.values();
+    }
+
+    private Map<Long, MechanicEntry> loadEntries(List<Long> profileIds) {
+        Map<Long, MechanicEntry> entries = new HashMap<>();
+        for (int from = 0; from < profileIds.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = profileIds.subList(from, Math.min(from + LOAD_CHUNK_SIZE, profileIds.size()));
+            List<MechanicProfile> profiles = mechanicProfileRepository.findAllWithUserAndClubsByIds(chunk);
+            mechanicProfileRepository.fetchCertificationsByIds(chunk);
+            mechanicProfileRepository.fetchWorkHistoryByIds(chunk);
+            Map<Long, AttestationApplication> approved = new HashMap<>();
+            for (AttestationApplication application : attestationApplicationRepository
+                    .findByStatusAndMechanicProfile_ProfileIdIn(AttestationStatus.APPROVED, chunk)) {
+                approved.merge(application.getMechanicProfile().getProfileId(), application,
+                        MechanicDirectoryIndex::selectLatestByUpdate);
+            }
+            for (MechanicProfile profile : profiles) {
+                entries.put(profile.getProfileId(), toEntry(profile, approved.get(profile.getProfileId())));
+            }
+        }
+        return entries;
+    }
+
+    private static MechanicEntry toEntry(MechanicProfile profile, AttestationApplication approvedApplication) {
+        List<String> clubs = Optional.ofNullable(profile.getClubs())
+                .orElse(List.of())
+                .stream()
+                .filter(Objects::nonNull)
+                .map(BowlingClub::getName)
+                .filter(Objects::nonNull)
+                .toList();
+        List<Long> clubIds = Optional.ofNullable(profile.getClubs())
+                .orElse(List.of())
+                .stream()
+                .filter(Objects::nonNull)
+                .map(BowlingClub::getClubId)
+                .filter(Objects::nonNull)
+                .toList();
+        List<CertificationEntry> certifications = Optional.ofNullable(profile.getCertifications())
+                .orElse(List.of())
+                .stream()
+                .filter(Objects::nonNull)
+                .map(MechanicDirectoryIndex::toCertificationEntry)
+                .toList();
+        User user = profile.getUser();
+        return new MechanicEntry(
+                profile.getProfileId(),
+                user != null ? user.getUserId() : null,
+                profile.getFullName(),
+                profile.getSkills(),
+                profile.getAdvantages(),
+                profile.getSpecializationId(),
+                resolveRegion(profile),
+                profile.getClubs() != null && !profile.getClubs().isEmpty() ? "CLUB_MECHANIC" : "FREE_AGENT",
+                clubs,
+                clubIds,
+                certifications,
+                Boolean.TRUE.equals(profile.getIsDataVerified()),
+                Boolean.TRUE.equals(profile.getIsCertified()),
+                approvedApplication != null,
+                approvedApplication != null ? approvedApplication.getRequestedGrade() : null,
+                profile.getCertifiedGrade(),
+                profile.getRating(),
+                profile.getTotalExperienceYears(),
+                profile.getBowlingExperienceYears(),
+                profile.getIsEntrepreneur(),
+                user != null && user.getAccountType() != null ? user.getAccountType().getName() : null,
+                profile.getVerificationDate());
+    }
+
+    private static CertificationEntry toCertificationEntry(MechanicCertification certification) {
+        return new CertificationEntry(
+                certification.getCertificationId(),
+                certification.getTitle(),
+                certification.getIssuer(),
+                certification.getIssueDate(),
+                certification.getExpirationDate(),
+                certification.getCredentialUrl(),
+                certification.getDescription());
+    }
+
+    private static AttestationApplication selectLatestByUpdate(AttestationApplication left, AttestationApplication right) {
+        if (left.getUpdatedAt() == null) {
+            return right;
+        }
+        if (right.getUpdatedAt() == null) {
+            return left;
+        }
+        return left.getUpdatedAt().isAfter(right.getUpdatedAt()) ? left : right;
+    }
+
+    private static Snapshot merge(Snapshot base, Collection<Long> profileIds, Map<Long, MechanicEntry> loaded) {
+        Map<Long, MechanicEntry> entries = new HashMap<>(base.byId);
+        for (Long profileId : profileIds) {
+            MechanicEntry entry = loaded.get(profileId);
+            if (entry != null) {
+                entries.put(profileId, entry);
+            } else {
+                entries.remove(profileId);
+            }
+        }
+        return build(entries.values());
+    }
+
+    private static Snapshot build(Collection<MechanicEntry> entries) {
+        List<MechanicEntry> ordered = new ArrayList<>(entries);
+        ordered.sort(NAME_ORDER);
+
+        int size = ordered.size();
+        Map<Long, MechanicEntry> byId = new HashMap<>();
+        String[] names = new String[size];
+        String[] skills = new String[size];
+        Map<String, BitSet> grams = new HashMap<>();
+        Map<String, BitSet> regions = new HashMap<>();
+        BitSet withoutRegion = new BitSet(size);
+        Map<String, BitSet> certifications = new HashMap<>();
+        BitSet withoutCertifications = new BitSet(size);
+        Map<Integer, BitSet> specializations = new HashMap<>();
+        BitSet specialists = new BitSet(size);
+
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            MechanicEntry entry = ordered.get(ordinal);
+            byId.put(entry.profileId(), entry);
+            names[ordinal] = lower(entry.fullName());
+            skills[ordinal] = lower(entry.skills());
+            addGrams(grams, names[ordinal], ordinal);
+            addGrams(grams, skills[ordinal], ordinal);
+
+            if (entry.region() == null) {
+                withoutRegion.set(ordinal);
+            } else {
+                regions.computeIfAbsent(entry.region().toLowerCase(Locale.ROOT), key -> new BitSet()).set(ordinal);
+            }
+
+            boolean certified = false;
+            for (CertificationEntry certification : entry.certifications()) {
+                for (String token : new String[]{certification.title(), certification.issuer()}) {
+                    if (token != null && !token.isBlank()) {
+                        certifications.computeIfAbsent(token.trim().toLowerCase(Locale.ROOT), key -> new BitSet())
+                                .set(ordinal);
+                        certified = true;
+                    }
+                }
+            }
+            if (!certified) {
+                withoutCertifications.set(ordinal);
+            }
+
+            if (entry.specializationId() != null) {
+                specializations.computeIfAbsent(entry.specializationId(), key -> new BitSet()).set(ordinal);
+            }
+            if (entry.dataVerified() && entry.certified() && entry.attested()) {
+                specialists.set(ordinal);
+            }
+        }
+
+        return new Snapshot(List.copyOf(ordered), Map.copyOf(byId), names, skills, Map.copyOf(grams),
+                Map.copyOf(regions), withoutRegion, Map.copyOf(certifications), withoutCertifications,
+                Map.copyOf(specializations), specialists);
+    }
+
+    private static void addGrams(Map<String, BitSet> grams, String value, int ordinal) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.computeIfAbsent(value.substring(i, i + GRAM), key -> new BitSet()).set(ordinal);
+        }
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    static String resolveRegion(MechanicProfile profile) {
+        if (profile == null) {
+            return null;
+        }
+
+        String profileRegion = normalizeRegion(profile.getRegion());
+        if (profileRegion != null) {
+            return profileRegion;
+        }
+
+        String fromClubAddress = Optional.ofNullable(profile.getClubs())
+                .orElse(List.of())
+                .stream()
+                .map(MechanicDirectoryIndex::resolveClubRegion)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+        if (fromClubAddress != null) {
+            return fromClubAddress;
+        }
+
+        return Optional.ofNullable(profile.getWorkHistoryEntries())
+                .orElse(List.of())
+                .stream()
+                .map(MechanicWorkHistory::getOrganization)
+                .map(MechanicDirectoryIndex::normalizeRegion)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    static String resolveClubRegion(BowlingClub club) {
+        if (club == null || club.getAddress() == null) {
+            return null;
+        }
+        return extractRegionFragment(club.getAddress());
+    }
+
+    private static String extractRegionFragment(String rawAddress) {
+        String trimmed = rawAddress.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        int commaIndex = trimmed.indexOf(',');
+        return commaIndex > 0 ? trimmed.substring(0, commaIndex).trim() : trimmed;
+    }
+
+    private static String normalizeRegion(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        return extractRegionFragment(trimmed);
+    }
+
+    /**
+     * Профили, изменённые в текущей транзакции. После коммита они перечитываются в общий снимок.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Set<Long> profileIds = new HashSet<>();
+        private final Set<Long> clubIds = new HashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(MechanicDirectoryIndex.this);
+            if (status != STATUS_COMMITTED) {
+                return;
+            }
+            try {
+                refresh(profileIds, clubIds);
+            } catch (RuntimeException e) {
+                // Коммит уже состоялся; снимок догонит изменения при плановой перезагрузке.
+                log.warn("Failed to refresh mechanic directory after commit", e);
+            }
+        }
+    }
+
+    /**
+     * Всё, что справочник показывает о механике. {@code attestedGrade} — разряд из последней одобренной
+     * заявки на аттестацию, {@code attested} — есть ли такая заявка вообще.
+     */
+    public record MechanicEntry(Long profileId,
+                                Long userId,
+                                String fullName,
+                                String skills,
+                                String advantages,
+                                Integer specializationId,
+                                String region,
+                                String status,
+                                List<String> clubs,
+                                List<Long> clubIds,
+                                List<CertificationEntry> certifications,
+                                boolean dataVerified,
+                                boolean certified,
+                                boolean attested,
+                                MechanicGrade attestedGrade,
+                                MechanicGrade certifiedGrade,
+                                Double rating,
+                                Integer totalExperienceYears,
+                                Integer bowlingExperienceYears,
+                                Boolean isEntrepreneur,
+                                String accountType,
+                                LocalDate verificationDate) {
+    }
+
+    public record CertificationEntry(Long certificationId,
+                                     String title,
+                                     String issuer,
+                                     LocalDate issueDate,
+                                     LocalDate expirationDate,
+                                     String credentialUrl,
+                                     String description) {
+    }
+
+    /**
+     * Неизменяемый снимок. Позиция записи в {@code byName} — её номер во всех битовых индексах,
+     * поэтому обход пересечения индексов сразу даёт результат в порядке имён.
+     */
+    public static final class Snapshot {
+
+        private final List<MechanicEntry> byName;
+        private final Map<Long, MechanicEntry> byId;
+        private final String[] names;
+        private final String[] skills;
+        private final Map<String, BitSet> grams;
+        private final Map<String, BitSet> regions;
+        private final BitSet withoutRegion;
+        private final Map<String, BitSet> certifications;
+        private final BitSet withoutCertifications;
+        private final Map<Integer, BitSet> specializations;
+        private final BitSet specialists;
+
+        private Snapshot(List<MechanicEntry> byName,
+                         Map<Long, MechanicEntry> byId,
+                         String[] names,
+                         String[] skills,
+                         Map<String, BitSet> grams,
+                         Map<String, BitSet> regions,
+                         BitSet withoutRegion,
+                         Map<String, BitSet> certifications,
+                         BitSet withoutCertifications,
+                         Map<Integer, BitSet> specializations,
+                         BitSet specialists) {
+            this.byName = byName;
+            this.byId = byId;
+            this.names = names;
+            this.skills = skills;
+            this.grams = grams;
+            this.regions = regions;
+            this.withoutRegion = withoutRegion;
+            this.certifications = certifications;
+            this.withoutCertifications = withoutCertifications;
+            this.specializations = specializations;
+            this.specialists = specialists;
+        }
+
+        public int size() {
+            return byName.size();
+        }
+
+        public Optional<MechanicEntry> findById(Long profileId) {
+            return profileId != null ? Optional.ofNullable(byId.get(profileId)) : Optional.empty();
+        }
+
+        /**
+         * Профили, которые в снимке числятся за одним из клубов.
+         */
+        Set<Long> profileIdsOfClubs(Collection<Long> clubIds) {
+            Set<Long> result = new HashSet<>();
+            for (MechanicEntry entry : byName) {
+                if (entry.clubIds().stream().anyMatch(clubIds::contains)) {
+                    result.add(entry.profileId());
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Механики, у которых имя или навыки содержат {@code loweredQuery}. Регион и сертификаты
+         * сопоставляются по вхождению подстроки; записи без региона или без сертификатов фильтр не отсекает.
+         * Все аргументы уже приведены к нижнему регистру, {@code null} — без фильтра.
+         */
+        public List<MechanicEntry> search(String loweredQuery, String loweredRegion, String loweredCertification) {
+            BitSet matches = new BitSet(byName.size());
+            matches.set(0, byName.size());
+            if (loweredQuery != null) {
+                matches.and(queryCandidates(loweredQuery));
+            }
+            if (loweredRegion != null) {
+                matches.and(containing(regions, withoutRegion, loweredRegion));
+            }
+            if (loweredCertification != null) {
+                matches.and(containing(certifications, withoutCertifications, loweredCertification));
+            }
+            List<MechanicEntry> result = new ArrayList<>(matches.cardinality());
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                if (loweredQuery == null || contains(names[ordinal], loweredQuery) || contains(skills[ordinal], loweredQuery)) {
+                    result.add(byName.get(ordinal));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Проверенные и аттестованные механики с одобренной заявкой на аттестацию.
+         */
+        public List<MechanicEntry> specialists(String loweredRegion,
+                                               Integer specializationId,
+                                               MechanicGrade grade,
+                                               Double minRating) {
+            BitSet matches = (BitSet) specialists.clone();
+            if (specializationId != null) {
+                matches.and(specializations.getOrDefault(specializationId, new BitSet()));
+            }
+            if (loweredRegion != null) {
+                matches.and(containing(regions, withoutRegion, loweredRegion));
+            }
+            List<MechanicEntry> result = new ArrayList<>(matches.cardinality());
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                MechanicEntry entry = byName.get(ordinal);
+                if (minRating != null && (entry.rating() == null || entry.rating() < minRating)) {
+                    continue;
+                }
+                if (grade != null && !grade.equals(entry.attestedGrade())) {
+                    continue;
+                }
+                result.add(entry);
+            }
+            return result;
+        }
+
+        /**
+         * Кандидаты по триграммам: подстрока длиной от трёх символов встречается только там,
+         * где есть все её триграммы. Более короткий запрос проверяется по всем записям.
+         */
+        private BitSet queryCandidates(String loweredQuery) {
+            BitSet candidates = new BitSet(byName.size());
+            candidates.set(0, byName.size());
+            for (int i = 0; i + GRAM <= loweredQuery.length() && !candidates.isEmpty(); i++) {
+                BitSet posting = grams.get(loweredQuery.substring(i, i + GRAM));
+                if (posting == null) {
+                    return new BitSet();
+                }
+                candidates.and(posting);
+            }
+            return candidates;
+        }
+
+        /**
+         * Объединение индексов, ключ которых содержит {@code lowered}, плюс записи без значения.
+         */
+        private static BitSet containing(Map<String, BitSet> index, BitSet withoutValue, String lowered) {
+            BitSet result = (BitSet) withoutValue.clone();
+            for (Map.Entry<String, BitSet> entry : index.entrySet()) {
+                if (entry.getKey().contains(lowered)) {
+                    result.or(entry.getValue());
+                }
+            }
+            return result;
+        }
+
+        private static boolean contains(String value, String lowered) {
+            return value != null && value.contains(lowered);
+        }
+    }
+}
@@ -18,14 +18,11 @@ import ru.bowling.bowlingapp.Entity.enums.MechanicGrade;
 import ru.bowling.bowlingapp.Repository.AttestationApplicationRepository;
 import ru.bowling.bowlingapp.Repository.MechanicProfileRepository;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -33,21 +30,13 @@ public class MechanicDirectoryService {
 
     private final MechanicProfileRepository mechanicProfileRepository;
     private final AttestationApplicationRepository attestationApplicationRepository;
+    private final MechanicDirectoryIndex mechanicDirectoryIndex;
 
     public List<MechanicDirectorySummaryDTO> searchMechanics(String query, String region, String certification) {
-        List<MechanicProfile> profiles = mechanicProfileRepository.findAllWithUserAndClubs();
-
-        String loweredQuery = normalize(query);
-        String loweredRegion = normalize(region);
-        String loweredCertification = normalize(certification);
-
-        return profiles.stream()
-                .filter(Objects::nonNull)
-                .filter(profile -> matchesQuery(profile, loweredQuery))
-                .filter(profile -> matchesRegion(profile, loweredRegion))
-                .filter(profile -> matchesCertification(profile, loweredCertification))
+        return mechanicDirectoryIndex.snapshot()
+                .search(normalize(query), normalize(region), normalize(certification))
+                .stream()
                 .map(this::toSummary)
-                .sorted(Comparator.comparing(MechanicDirectorySummaryDTO::getFullName, Comparator.nullsLast(String::compareToIgnoreCase)))
                 .collect(Collectors.toList());
     }
 
@@ -55,33 +44,10 @@ public class MechanicDirectoryService {
                                                     Integer specializationId,
                                                     MechanicGrade grade,
                                                     Double minRating) {
-        List<MechanicProfile> profiles = mechanicProfileRepository.findAllWithUserAndClubs();
-        var approvedGrades = attestationApplicationRepository.findByStatus(AttestationStatus.APPROVED)
-                .stream()
-                .filter(app -> app.getMechanicProfile() != null && app.getMechanicProfile().getProfileId() != null)
-                .collect(Collectors.toMap(app -> app.getMechanicProfile().getProfileId(),
-                        Function.identity(),
-                        this::selectLatestByUpdate))
-                .entrySet()
+        return mechanicDirectoryIndex.snapshot()
+                .specialists(normalize(region), specializationId, grade, minRating)
                 .stream()
-                .collect(Collectors.toMap(
-                        java.util.Map.Entry::getKey,
-                        entry -> entry.getValue().getRequestedGrade()
-                ));
-
-        String normalizedRegion = normalize(region);
-
-        return profiles.stream()
-                .filter(profile -> Boolean.TRUE.equals(profile.getIsDataVerified()))
-                .filter(profile -> Boolean.TRUE.equals(profile.getIsCertified()))
-                .filter(profile -> approvedGrades.containsKey(profile.getProfileId()))
-                .filter(profile -> specializationId == null || Objects.equals(profile.getSpecializationId(), specializationId))
-                .filter(profile -> matchesRegion(profile, normalizedRegion))
-                .filter(profile -> minRating == null || (profile.getRating() != null && profile.getRating() >= minRating))
-                .filter(profile -> grade == null || grade.equals(approvedGrades.get(profile.getProfileId())))
-                .map(profile -> toSpecialistCard(profile, Optional.ofNullable(profile.getCertifiedGrade())
-                        .orElse(approvedGrades.get(profile.getProfileId()))))
-                .sorted(Comparator.comparing(SpecialistCardDTO::getFullName, Comparator.nullsLast(String::compareToIgnoreCase)))
+                .map(this::toSpecialistCard)
                 .collect(Collectors.toList());
     }
 
@@ -106,7 +72,7 @@ public class MechanicDirectoryService {
                 .specialization(profile.getSkills())
                 .rating(profile.getRating())
                 .status(resolveStatus(profile))
-                .region(resolveRegion(profile))
+                .region(MechanicDirectoryIndex.resolveRegion(profile))
                 .certifications(resolveCertificationDtos(profile))
                 .totalExperienceYears(profile.getTotalExperienceYears())
                 .bowlingExperienceYears(profile.getBowlingExperienceYears())
@@ -119,91 +85,38 @@ public class MechanicDirectoryService {
                 .build();
     }
 
-    private boolean matchesQuery(MechanicProfile profile, String loweredQuery) {
-        if (loweredQuery == null) {
-            return true;
-        }
-        return Optional.ofNullable(profile.getFullName())
-                .map(name -> name.toLowerCase(Locale.ROOT))
-                .map(name -> name.contains(loweredQuery))
-                .orElse(false)
-                || Optional.ofNullable(profile.getSkills())
-                .map(skills -> skills.toLowerCase(Locale.ROOT))
-                .map(skills -> skills.contains(loweredQuery))
-                .orElse(false);
-    }
-
-    private boolean matchesRegion(MechanicProfile profile, String loweredRegion) {
-        if (loweredRegion == null) {
-            return true;
-        }
-        String region = resolveRegion(profile);
-        if (region == null) {
-            return true;
-        }
-        return region.toLowerCase(Locale.ROOT).contains(loweredRegion);
-    }
-
-    private boolean matchesCertification(MechanicProfile profile, String loweredCertification) {
-        if (loweredCertification == null) {
-            return true;
-        }
-        List<String> certifications = resolveCertificationTokens(profile);
-        if (certifications.isEmpty()) {
-            return true;
-        }
-        return certifications.stream()
-                .map(value -> value.toLowerCase(Locale.ROOT))
-                .anyMatch(value -> value.contains(loweredCertification));
-    }
-
-    private MechanicDirectorySummaryDTO toSummary(MechanicProfile profile) {
-        List<String> clubs = Optional.ofNullable(profile.getClubs())
-                .orElse(List.of())
-                .stream()
-                .filter(Objects::nonNull)
-                .map(BowlingClub::getName)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-
+    private MechanicDirectorySummaryDTO toSummary(MechanicDirectoryIndex.MechanicEntry entry) {
         return MechanicDirectorySummaryDTO.builder()
-                .profileId(profile.getProfileId())
-                .fullName(profile.getFullName())
-                .specialization(profile.getSkills())
-                .rating(profile.getRating())
-                .status(resolveStatus(profile))
-                .region(resolveRegion(profile))
-                .clubs(clubs)
-                .certifications(resolveCertificationDtos(profile))
+                .profileId(entry.profileId())
+                .fullName(entry.fullName())
+                .specialization(entry.skills())
+                .rating(entry.rating())
+                .status(entry.status())
+                .region(entry.region())
+                .clubs(entry.clubs())
+                .certifications(entry.certifications().stream()
+                        .map(this::toCertificationDtoFromEntry)
+                        .collect(Collectors.toList()))
                 .build();
     }
 
-    private SpecialistCardDTO toSpecialistCard(MechanicProfile profile, MechanicGrade grade) {
-        List<String> clubs = Optional.ofNullable(profile.getClubs())
-                .orElse(List.of())
-                .stream()
-                .filter(Objects::nonNull)
-                .map(BowlingClub::getName)
-                .filter(Objects::nonNull)
-                .toList();
-
-        User user = profile.getUser();
+    private SpecialistCardDTO toSpecialistCard(MechanicDirectoryIndex.MechanicEntry entry) {
         return SpecialistCardDTO.builder()
-                .profileId(profile.getProfileId())
-                .userId(user != null ? user.getUserId() : null)
-                .fullName(profile.getFullName())
-                .region(resolveRegion(profile))
-                .specializationId(profile.getSpecializationId())
-                .skills(profile.getSkills())
-                .advantages(profile.getAdvantages())
-                .totalExperienceYears(profile.getTotalExperienceYears())
-                .bowlingExperienceYears(profile.getBowlingExperienceYears())
-                .isEntrepreneur(profile.getIsEntrepreneur())
-                .rating(profile.getRating())
-                .attestedGrade(grade)
-                .accountType(user != null && user.getAccountType() != null ? user.getAccountType().getName() : null)
-                .verificationDate(profile.getVerificationDate())
-                .clubs(clubs)
+                .profileId(entry.profileId())
+                .userId(entry.userId())
+                .fullName(entry.fullName())
+                .region(entry.region())
+                .specializationId(entry.specializationId())
+                .skills(entry.skills())
+                .advantages(entry.advantages())
+                .totalExperienceYears(entry.totalExperienceYears())
+                .bowlingExperienceYears(entry.bowlingExperienceYears())
+                .isEntrepreneur(entry.isEntrepreneur())
+                .rating(entry.rating())
+                .attestedGrade(Optional.ofNullable(entry.certifiedGrade()).orElse(entry.attestedGrade()))
+                .accountType(entry.accountType())
+                .verificationDate(entry.verificationDate())
+                .clubs(entry.clubs())
                 .build();
     }
 
@@ -214,7 +127,7 @@ public class MechanicDirectoryService {
                 .specialization(null)
                 .rating(null)
                 .status("CLUB")
-                .region(resolveClubRegion(club))
+                .region(MechanicDirectoryIndex.resolveClubRegion(club))
                 .clubs(null)
                 .certifications(null)
                 .build();
@@ -227,68 +140,6 @@ public class MechanicDirectoryService {
         return "FREE_AGENT";
     }
 
-    private String resolveRegion(MechanicProfile profile) {
-        if (profile == null) {
-            return null;
-        }
-
-        String profileRegion = normalizeRegion(profile.getRegion());
-        if (profileRegion != null) {
-            return profileRegion;
-        }
-
-        String fromClubAddress = Optional.ofNullable(profile.getClubs())
-                .orElse(List.of())
-                .stream()
-                .map(this::resolveClubRegion)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
-        if (fromClubAddress != null) {
-            return fromClubAddress;
-        }
-
-        String fromHistory = Optional.ofNullable(profile.getWorkHistoryEntries())
-                .orElse(List.of())
-                .stream()
-                .map(MechanicWorkHistory::getOrganization)
-                .map(this::normalizeRegion)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
-        if (fromHistory != null) {
-            return fromHistory;
-        }
-        return null;
-    }
-
-    private String resolveClubRegion(BowlingClub club) {
-        if (club == null || club.getAddress() == null) {
-            return null;
-        }
-        return extractRegionFragment(club.getAddress());
-    }
-
-    private String extractRegionFragment(String rawAddress) {
-        String trimmed = rawAddress.trim();
-        if (trimmed.isEmpty()) {
-            return null;
-        }
-        int commaIndex = trimmed.indexOf(',');
-        return commaIndex > 0 ? trimmed.substring(0, commaIndex).trim() : trimmed;
-    }
-
-    private String normalizeRegion(String value) {
-        if (value == null) {
-            return null;
-        }
-        String trimmed = value.trim();
-        if (trimmed.isEmpty()) {
-            return null;
-        }
-        return extractRegionFragment(trimmed);
-    }
-
     private List<MechanicCertificationDTO> resolveCertificationDtos(MechanicProfile profile) {
         return Optional.ofNullable(profile)
                 .map(MechanicProfile::getCertifications)
@@ -314,13 +165,16 @@ public class MechanicDirectoryService {
                 .build();
     }
 
-    private List<String> resolveCertificationTokens(MechanicProfile profile) {
-        return resolveCertificationDtos(profile).stream()
-                .flatMap(dto -> Stream.of(dto.getTitle(), dto.getIssuer()))
-                .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(token -> !token.isEmpty())
-                .collect(Collectors.toList());
+    private MechanicCertificationDTO toCertificationDtoFromEntry(MechanicDirectoryIndex.CertificationEntry certification) {
+        return MechanicCertificationDTO.builder()
+                .certificationId(certification.certificationId())
+                .title(certification.title())
+                .issuer(certification.issuer())
+                .issueDate(certification.issueDate())
+                .expirationDate(certification.expirationDate())
+                .credentialUrl(certification.credentialUrl())
+                .description(certification.description())
+                .build();
     }
 
     private List<MechanicWorkHistoryDTO> resolveWorkHistory(MechanicProfile profile) {
@@ -359,16 +213,6 @@ public class MechanicDirectoryService {
                         : AttestationStatus.PENDING);
     }
 
-    private AttestationApplication selectLatestByUpdate(AttestationApplication left, AttestationApplication right) {
-        if (left.getUpdatedAt() == null) {
-            return right;
-        }
-        if (right.getUpdatedAt() == null) {
-            return left;
-        }
-        return left.getUpdatedAt().isAfter(right.getUpdatedAt()) ? left : right;
-    }
-
     private String normalize(String value) {
         if (value == null) {
             return null;
@@ -2,24 +2,47 @@ package ru.bowling.bowlingapp.Service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MessageConversionException;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import ru.bowling.bowlingapp.DTO.NotificationEvent;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MockNotificationWebSocketPublisher implements NotificationWebSocketPublisher {
 
+    static final String USER_QUEUE = "/queue/notifications";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationSubscriberRegistry subscriberRegistry;
 
+    /**
+     * Отправляет событие в {@code /user/queue/notifications} только тем подключённым пользователям,
+     * которые увидели бы его в своей ленте. Событие сериализуется один раз на всех получателей.
+     */
     @Override
     public void publishNotification(NotificationEvent event) {
         if (event == null) {
             return;
         }
-        messagingTemplate.convertAndSend("/topic/notifications", event);
-        log.debug("Mock WebSocket publish to /topic/notifications: {}", event.getId());
+        List<String> recipients = subscriberRegistry.recipients(event);
+        if (recipients.isEmpty()) {
+            log.debug("WebSocket notification {} has no connected recipients", event.getId());
+            return;
+        }
+        Message<?> frame = messagingTemplate.getMessageConverter().toMessage(event, null);
+        if (frame == null) {
+            throw new MessageConversionException("Unable to convert notification " + event.getId());
+        }
+        String prefix = messagingTemplate.getUserDestinationPrefix();
+        for (String user : recipients) {
+            messagingTemplate.send(prefix + user.replace("/", "%2F") + USER_QUEUE, frame);
+        }
+        log.debug("WebSocket notification {} sent to {} users", event.getId(), recipients.size());
     }
 
     @Override
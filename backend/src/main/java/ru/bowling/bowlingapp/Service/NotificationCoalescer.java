@@ -0,0 +1,117 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Склеивает всплески однотипных уведомлений: события с одним ключом, пришедшие в пределах окна,
+ * сохраняются и рассылаются одним событием. Пачка отправляется досрочно, набрав {@code coalesce-max-batch}
+ * событий. При окне 0 события уходят сразу.
+ */
+@Slf4j
+@Component
+public class NotificationCoalescer {
+
+    private final long windowMillis;
+    private final int maxBatch;
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    public NotificationCoalescer(@Value("${app.notifications.coalesce-window-ms:2000}") long windowMillis,
+                                 @Value("${app.notifications.coalesce-max-batch:100}") int maxBatch) {
+        this.windowMillis = windowMillis;
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    /**
+     * Без склейки: каждое событие отправляется сразу (модульные тесты).
+     */
+    static NotificationCoalescer immediate() {
+        return new NotificationCoalescer(0, 1);
+    }
+
+    /**
+     * @param merger собирает одно событие из пачки, в которой больше одного события
+     * @param sink   сохраняет и рассылает итоговое событие
+     */
+    public void submit(String key,
+                       NotificationEvent event,
+                       Function<List<NotificationEvent>, NotificationEvent> merger,
+                       Consumer<NotificationEvent> sink) {
+        if (windowMillis <= 0) {
+            sink.accept(event);
+            return;
+        }
+        Batch full = null;
+        synchronized (batches) {
+            Batch batch = batches.computeIfAbsent(key, ignored -> new Batch(System.currentTimeMillis(), merger, sink));
+            batch.events.add(event);
+            if (batch.events.size() >= maxBatch) {
+                batches.remove(key);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            deliver(full);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.coalesce-flush-interval-ms:500}")
+    public void flushDue() {
+        flush(false);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(true);
+    }
+
+    private void flush(boolean all) {
+        long now = System.currentTimeMillis();
+        List<Batch> due = new ArrayList<>();
+        synchronized (batches) {
+            Iterator<Batch> iterator = batches.values().iterator();
+            while (iterator.hasNext()) {
+                Batch batch = iterator.next();
+                if (all || now - batch.openedAt >= windowMillis) {
+                    iterator.remove();
+                    due.add(batch);
+                }
+            }
+        }
+        due.forEach(this::deliver);
+    }
+
+    private void deliver(Batch batch) {
+        NotificationEvent event = batch.events.size() == 1
+                ? batch.events.get(0)
+                : batch.merger.apply(List.copyOf(batch.events));
+        try {
+            batch.sink.accept(event);
+        } catch (RuntimeException e) {
+            log.error("Failed to deliver {} coalesced notifications", batch.events.size(), e);
+        }
+    }
+
+    private record Batch(long openedAt,
+                         Function<List<NotificationEvent>, NotificationEvent> merger,
+                         Consumer<NotificationEvent> sink,
+                         List<NotificationEvent> events) {
+        private Batch(long openedAt,
+                      Function<List<NotificationEvent>, NotificationEvent> merger,
+                      Consumer<NotificationEvent> sink) {
+            this(openedAt, merger, sink, new ArrayList<>());
+        }
+    }
+}
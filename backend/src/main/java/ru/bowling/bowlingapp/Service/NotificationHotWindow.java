@@ -0,0 +1,306 @@
+package ru.bowling.bowlingapp.Service;
+
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.Enum.RoleName;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Последние уведомления в памяти, упорядоченные по sequence и проиндексированные по роли,
+ * клубу и механику. Размер ограничен: при переполнении и по возрасту вытесняются самые старые.
+ * Вставка — O(log n) при ограниченном n, чтение проходит только по самому узкому индексу.
+ */
+final class NotificationHotWindow {
+
+    private final int capacity;
+    private final NavigableMap<Long, NotificationEvent> bySequence = new TreeMap<>();
+    private final Map<UUID, NotificationEvent> byId = new HashMap<>();
+    private final Map<RoleName, NavigableMap<Long, NotificationEvent>> byRole = new EnumMap<>(RoleName.class);
+    private final KeyIndex byClub = new KeyIndex(NotificationEvent::getClubId);
+    private final KeyIndex byMechanic = new KeyIndex(NotificationEvent::getMechanicId);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Наибольший вытесненный sequence: чтения «после» меньших значений окно обслужить не может. */
+    private long evictedUpTo;
+
+    NotificationHotWindow(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    void add(NotificationEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getSequence() <= evictedUpTo) {
+                return;
+            }
+            bySequence.put(event.getSequence(), event);
+            byId.put(event.getId(), event);
+            if (event.getAudiences() != null) {
+                for (RoleName role : event.getAudiences()) {
+                    byRole.computeIfAbsent(role, key -> new TreeMap<>()).put(event.getSequence(), event);
+                }
+            }
+            byClub.add(event);
+            byMechanic.add(event);
+            while (bySequence.size() > capacity) {
+                evict(bySequence.firstEntry().getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long sequence) {
+        lock.writeLock().lock();
+        try {
+            NotificationEvent event = bySequence.get(sequence);
+            if (event != null) {
+                unlink(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Считает вытесненными все события до {@code sequence} включительно — используется при прогреве,
+     * когда в окно загружены не все сохранённые записи.
+     */
+    void markEvictedUpTo(long sequence) {
+        lock.writeLock().lock();
+        try {
+            evictedUpTo = Math.max(evictedUpTo, sequence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int evictOlderThan(OffsetDateTime cutoff) {
+        lock.writeLock().lock();
+        try {
+            int evicted = 0;
+            while (!bySequence.isEmpty()) {
+                NotificationEvent oldest = bySequence.firstEntry().getValue();
+                if (oldest.getCreatedAt() == null || !oldest.getCreatedAt().isBefore(cutoff)) {
+                    break;
+                }
+                evict(oldest);
+                evicted++;
+            }
+            return evicted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Может ли окно полностью ответить на чтение после {@code afterSequence}.
+     * {@code null} (последние события) — только если из окна ещё ничего не вытеснялось.
+     */
+    boolean covers(Long afterSequence) {
+        lock.readLock().lock();
+        try {
+            return afterSequence != null ? afterSequence >= evictedUpTo : evictedUpTo == 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * События для роли с учётом клубов и механика (как в {@link NotificationService#getNotificationsForUser}),
+     * по возрастанию sequence. {@code clubIds == null} — без фильтра по клубам и механику;
+     * {@code afterSequence == null} — последние {@code limit} событий.
+     */
+    List<NotificationEvent> query(RoleName role, Set<Long> clubIds, Long mechanicId, Long afterSequence, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<Long, NotificationEvent> roleEvents = byRole.get(role);
+            if (roleEvents == null || limit <= 0) {
+                return List.of();
+            }
+            List<NavigableMap<Long, NotificationEvent>> sources = List.of(roleEvents);
+            if (clubIds != null) {
+                List<NavigableMap<Long, NotificationEvent>> clubSources = byClub.sources(clubIds);
+                List<NavigableMap<Long, NotificationEvent>> mechanicSources =
+                        byMechanic.sources(mechanicId != null ? List.of(mechanicId) : List.of());
+                if (size(clubSources) < size(sources)) {
+                    sources = clubSources;
+                }
+                if (size(mechanicSources) < size(sources)) {
+                    sources = mechanicSources;
+                }
+            }
+
+            // Источники упорядочены по sequence, поэтому каждый просматривается только до заполнения лимита.
+            boolean newest = afterSequence == null;
+            TreeMap<Long, NotificationEvent> matched = new TreeMap<>();
+            for (NavigableMap<Long, NotificationEvent> source : sources) {
+                Iterable<NotificationEvent> candidates = newest
+                        ? source.descendingMap().values()
+                        : source.tailMap(afterSequence, false).values();
+                for (NotificationEvent event : candidates) {
+                    if (matched.size() >= limit
+                            && (newest ? event.getSequence() < matched.firstKey() : event.getSequence() > matched.lastKey())) {
+                        break;
+                    }
+                    if (matches(event, role, clubIds, mechanicId)) {
+                        matched.put(event.getSequence(), event);
+                        if (matched.size() > limit) {
+                            if (newest) {
+                                matched.pollFirstEntry();
+                            } else {
+                                matched.pollLastEntry();
+                            }
+                        }
+                    }
+                }
+            }
+            return new ArrayList<>(matched.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Optional<NotificationEvent> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return bySequence.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            bySequence.clear();
+            byId.clear();
+            byRole.clear();
+            byClub.clear();
+            byMechanic.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void evict(NotificationEvent event) {
+        unlink(event);
+        evictedUpTo = Math.max(evictedUpTo, event.getSequence());
+    }
+
+    private void unlink(NotificationEvent event) {
+        bySequence.remove(event.getSequence());
+        byId.remove(event.getId());
+        if (event.getAudiences() != null) {
+            for (RoleName role : event.getAudiences()) {
+                NavigableMap<Long, NotificationEvent> events = byRole.get(role);
+                if (events != null) {
+                    events.remove(event.getSequence());
+                    if (events.isEmpty()) {
+                        byRole.remove(role);
+                    }
+                }
+            }
+        }
+        byClub.remove(event);
+        byMechanic.remove(event);
+    }
+
+    private static boolean matches(NotificationEvent event, RoleName role, Set<Long> clubIds, Long mechanicId) {
+        if (event.getAudiences() == null || !event.getAudiences().contains(role)) {
+            return false;
+        }
+        if (clubIds == null) {
+            return true;
+        }
+        return (event.getClubId() == null || clubIds.contains(event.getClubId()))
+                && (event.getMechanicId() == null || Objects.equals(event.getMechanicId(), mechanicId));
+    }
+
+    private static int size(List<NavigableMap<Long, NotificationEvent>> sources) {
+        int total = 0;
+        for (NavigableMap<Long, NotificationEvent> source : sources) {
+            total += source.size();
+        }
+        return total;
+    }
+
+    /**
+     * Индекс по необязательному ключу: события без ключа видны всем, поэтому хранятся отдельно
+     * и всегда входят в выборку.
+     */
+    private static final class KeyIndex {
+
+        private final Function<NotificationEvent, Long> keyExtractor;
+        private final Map<Long, NavigableMap<Long, NotificationEvent>> keyed = new HashMap<>();
+        private final NavigableMap<Long, NotificationEvent> unkeyed = new TreeMap<>();
+
+        private KeyIndex(Function<NotificationEvent, Long> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        void add(NotificationEvent event) {
+            Long key = keyExtractor.apply(event);
+            if (key == null) {
+                unkeyed.put(event.getSequence(), event);
+            } else {
+                keyed.computeIfAbsent(key, k -> new TreeMap<>()).put(event.getSequence(), event);
+            }
+        }
+
+        void remove(NotificationEvent event) {
+            Long key = keyExtractor.apply(event);
+            if (key == null) {
+                unkeyed.remove(event.getSequence());
+                return;
+            }
+            NavigableMap<Long, NotificationEvent> events = keyed.get(key);
+            if (events != null) {
+                events.remove(event.getSequence());
+                if (events.isEmpty()) {
+                    keyed.remove(key);
+                }
+            }
+        }
+
+        List<NavigableMap<Long, NotificationEvent>> sources(Collection<Long> keys) {
+            List<NavigableMap<Long, NotificationEvent>> sources = new ArrayList<>(keys.size() + 1);
+            sources.add(unkeyed);
+            for (Long key : keys) {
+                NavigableMap<Long, NotificationEvent> events = keyed.get(key);
+                if (events != null) {
+                    sources.add(events);
+                }
+            }
+            return sources;
+        }
+
+        void clear() {
+            keyed.clear();
+            unkeyed.clear();
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package ru.bowling.bowlingapp.Service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import ru.bowling.bowlingapp.DTO.NotificationEvent;
 import ru.bowling.bowlingapp.DTO.NotificationEventType;
@@ -12,47 +12,107 @@ import ru.bowling.bowlingapp.Enum.RoleName;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class NotificationService {
-    private final CopyOnWriteArrayList<NotificationEvent> notifications = new CopyOnWriteArrayList<>();
+    static final int DEFAULT_FEED_LIMIT = 500;
+    private static final String INVENTORY_LOW_SEPARATOR = ": остаток ";
+
     private final NotificationWebSocketPublisher notificationWebSocketPublisher;
+    private final NotificationStore notificationStore;
+    private final NotificationCoalescer notificationCoalescer;
+
+    /**
+     * Без БД: уведомления хранятся только в памяти и не склеиваются (модульные тесты).
+     */
+    public NotificationService(NotificationWebSocketPublisher notificationWebSocketPublisher) {
+        this(notificationWebSocketPublisher, new InMemoryNotificationStore(), NotificationCoalescer.immediate());
+    }
+
+    @Autowired
+    public NotificationService(NotificationWebSocketPublisher notificationWebSocketPublisher,
+                               NotificationStore notificationStore,
+                               NotificationCoalescer notificationCoalescer) {
+        this.notificationWebSocketPublisher = notificationWebSocketPublisher;
+        this.notificationStore = notificationStore;
+        this.notificationCoalescer = notificationCoalescer;
+    }
 
     public List<NotificationEvent> getNotificationsForRole(RoleName role) {
         if (role == null) {
             return List.of();
         }
-        return notifications.stream()
-                .filter(event -> event.getAudiences() != null && event.getAudiences().contains(role))
-                .collect(Collectors.toList());
+        return notificationStore.find(role, null, null, null, DEFAULT_FEED_LIMIT);
     }
 
     public List<NotificationEvent> getNotificationsForUser(User user, List<Long> accessibleClubIds) {
+        return getNotificationsForUser(user, accessibleClubIds, null, null, false);
+    }
+
+    /**
+     * Лента пользователя по возрастанию sequence с признаком прочтения.
+     *
+     * @param afterSequence курсор: вернуть события с sequence больше него; {@code null} — последние события
+     * @param limit         размер страницы, не больше {@value #DEFAULT_FEED_LIMIT}
+     * @param unreadOnly    только непрочитанные; с курсором страница дочитывается до {@code limit}
+     */
+    public List<NotificationEvent> getNotificationsForUser(User user,
+                                                           List<Long> accessibleClubIds,
+                                                           Long afterSequence,
+                                                           Integer limit,
+                                                           boolean unreadOnly) {
         if (user == null || user.getRole() == null) {
             return List.of();
         }
         RoleName role = RoleName.from(user.getRole().getName());
         Long mechanicProfileId = user.getMechanicProfile() != null ? user.getMechanicProfile().getProfileId() : null;
-        List<Long> clubs = accessibleClubIds != null ? accessibleClubIds : List.of();
+        Set<Long> clubs = accessibleClubIds != null ? new HashSet<>(accessibleClubIds) : Set.of();
+        int pageSize = limit != null && limit > 0 ? Math.min(limit, DEFAULT_FEED_LIMIT) : DEFAULT_FEED_LIMIT;
+
+        List<NotificationEvent> result = new ArrayList<>();
+        Long cursor = afterSequence;
+        while (true) {
+            List<NotificationEvent> page = notificationStore.find(role, clubs, mechanicProfileId, cursor, pageSize);
+            Set<Long> read = user.getUserId() != null
+                    ? notificationStore.findRead(user.getUserId(), page.stream().map(NotificationEvent::getSequence).toList())
+                    : Set.of();
+            for (NotificationEvent event : page) {
+                boolean isRead = read.contains(event.getSequence());
+                if (!unreadOnly || !isRead) {
+                    result.add(event.toBuilder().read(isRead).build());
+                }
+            }
+            if (!unreadOnly || cursor == null || page.size() < pageSize || result.size() >= pageSize) {
+                break;
+            }
+            cursor = page.get(page.size() - 1).getSequence();
+        }
+        return result.size() > pageSize ? new ArrayList<>(result.subList(0, pageSize)) : result;
+    }
 
-        return notifications.stream()
-                .filter(event -> event.getAudiences() != null && event.getAudiences().contains(role))
-                .filter(event -> event.getClubId() == null || clubs.contains(event.getClubId()))
-                .filter(event -> event.getMechanicId() == null || Objects.equals(event.getMechanicId(), mechanicProfileId))
-                .collect(Collectors.toList());
+    public void markRead(Long userId, Collection<Long> sequences) {
+        if (userId == null) {
+            throw new IllegalArgumentException("Пользователь не указан");
+        }
+        if (sequences == null || sequences.isEmpty()) {
+            return;
+        }
+        notificationStore.markRead(userId, sequences);
     }
 
     public void clearNotifications() {
-        notifications.clear();
+        notificationStore.clear();
     }
 
     public NotificationEvent notifyFreeMechanicPending(MechanicProfile mechanicProfile) {
@@ -69,7 +129,7 @@ public class NotificationService {
                 .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
                 .audiences(Set.of(RoleName.ADMIN))
                 .build();
-        storeAndPublish(event);
+        event = storeAndPublish(event);
 
         log.info("NOTIFICATION: Свободный механик {} ожидает подтверждения администрацией (user {})",
                 mechanicProfile.getProfileId(), mechanicProfile.getUser().getUserId());
@@ -90,7 +150,7 @@ public class NotificationService {
                 .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
                 .audiences(Set.of(RoleName.MECHANIC))
                 .build();
-        storeAndPublish(event);
+        event = storeAndPublish(event);
 
         log.info("NOTIFICATION: Свободный механик {} подтвержден (user {})",
                 mechanicProfile.getProfileId(), mechanicProfile.getUser().getUserId());
@@ -117,7 +177,7 @@ public class NotificationService {
                 .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
                 .audiences(Set.of(RoleName.ADMIN))
                 .build();
-        storeAndPublish(event);
+        event = storeAndPublish(event);
         return event;
     }
 
@@ -142,7 +202,7 @@ public class NotificationService {
                 .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
                 .audiences(Set.of(RoleName.ADMIN))
                 .build();
-        storeAndPublish(event);
+        event = storeAndPublish(event);
         return event;
     }
 
@@ -163,7 +223,7 @@ public class NotificationService {
                 .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
                 .audiences(Set.of(RoleName.CLUB_OWNER, RoleName.HEAD_MECHANIC))
                 .build();
-        storeAndPublish(event);
+        event = storeAndPublish(event);
         return event;
     }
 
@@ -184,7 +244,7 @@ public class NotificationService {
                 .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
                 .audiences(Set.of(RoleName.MECHANIC))
                 .build();
-        storeAndPublish(event);
+        event = storeAndPublish(event);
         return event;
     }
 
@@ -192,9 +252,7 @@ public class NotificationService {
         if (id == null) {
             return Optional.empty();
         }
-        return notifications.stream()
-                .filter(event -> id.equals(event.getId()))
-                .findFirst();
+        return notificationStore.findById(id);
     }
 
     public NotificationEvent notifyHelpRequested(
@@ -211,7 +269,7 @@ public class NotificationService {
                 reason,
                 Set.of(RoleName.ADMIN, RoleName.HEAD_MECHANIC, RoleName.CLUB_OWNER, RoleName.MECHANIC)
         );
-        storeAndPublish(event);
+        event = storeAndPublish(event);
         log.info("NOTIFICATION: {}. Request #{}, parts={}, reason={}", message, request != null ? request.getRequestId() : null, partIds(parts), reason);
         return event;
     }
@@ -225,7 +283,7 @@ public class NotificationService {
                 comment,
                 Set.of(RoleName.MECHANIC, RoleName.ADMIN, RoleName.HEAD_MECHANIC, RoleName.CLUB_OWNER)
         );
-        storeAndPublish(event);
+        event = storeAndPublish(event);
         log.info("NOTIFICATION: Запрос помощи подтвержден по заявке #{}: {}", request != null ? request.getRequestId() : null, comment);
         return event;
     }
@@ -239,7 +297,7 @@ public class NotificationService {
                 comment,
                 Set.of(RoleName.MECHANIC, RoleName.ADMIN, RoleName.HEAD_MECHANIC, RoleName.CLUB_OWNER)
         );
-        storeAndPublish(event);
+        event = storeAndPublish(event);
         log.info("NOTIFICATION: Запрос помощи отклонен по заявке #{}: {}", request != null ? request.getRequestId() : null, comment);
         return event;
     }
@@ -255,15 +313,16 @@ public class NotificationService {
         ).toBuilder()
                 .mechanicId(newMechanicId)
                 .build();
-        storeAndPublish(event);
+        event = storeAndPublish(event);
         log.info("NOTIFICATION: Заявка #{} переназначена другому механику {}: {}", request != null ? request.getRequestId() : null, newMechanicId, comment);
         return event;
     }
 
 
-    private void storeAndPublish(NotificationEvent event) {
-        notifications.add(event);
-        notificationWebSocketPublisher.publishNotification(event);
+    private NotificationEvent storeAndPublish(NotificationEvent event) {
+        NotificationEvent stored = notificationStore.append(event);
+        notificationWebSocketPublisher.publishNotification(stored);
+        return stored;
     }
 
     private NotificationEvent buildBaseEvent(NotificationEventType type,
@@ -420,23 +479,112 @@ public class NotificationService {
                 workLog.getPriority());
     }
 
+    /**
+     * Сроки одного клуба, пришедшие в пределах окна склейки, уходят владельцу и главному механику
+     * одним уведомлением.
+     */
     public void notifyServiceDue(ServiceHistory serviceHistory, int daysUntilDue) {
         log.info("NOTIFICATION: Приближается срок планового обслуживания! " +
                 "Оборудование: {}, Дней до обслуживания: {}", 
                 serviceHistory.getEquipment() != null ? serviceHistory.getEquipment().getEquipmentId() : "N/A",
                 daysUntilDue);
+        submitClubAlert(NotificationEventType.SERVICE_DUE,
+                serviceHistory.getClub() != null ? serviceHistory.getClub().getClubId() : null,
+                "Приближается плановое обслуживание",
+                equipmentLabel(serviceHistory.getEquipment()) + ": обслуживание через " + daysUntilDue + " дн.");
     }
 
     public void notifyWarrantyExpiring(ServiceHistory serviceHistory, int daysUntilExpiry) {
         log.info("NOTIFICATION: Истекает гарантия! " +
                 "Обслуживание: {}, Дней до окончания гарантии: {}", 
                 serviceHistory.getServiceId(), daysUntilExpiry);
+        submitClubAlert(NotificationEventType.WARRANTY_EXPIRING,
+                serviceHistory.getClub() != null ? serviceHistory.getClub().getClubId() : null,
+                "Истекает гарантия",
+                equipmentLabel(serviceHistory.getEquipment()) + ": гарантия по обслуживанию #"
+                        + serviceHistory.getServiceId() + " истекает через " + daysUntilExpiry + " дн.");
+    }
+
+    public void notifyMaintenanceScheduled(EquipmentMaintenanceSchedule schedule, int daysUntilDue) {
+        log.info("NOTIFICATION: Приближается плановая работа #{} ({}), дней: {}",
+                schedule.getScheduleId(), schedule.getMaintenanceType(), daysUntilDue);
+        submitClubAlert(NotificationEventType.MAINTENANCE_WARNING,
+                schedule.getClub() != null ? schedule.getClub().getClubId() : null,
+                "Приближаются плановые работы",
+                equipmentLabel(schedule.getEquipment()) + ": " + schedule.getMaintenanceType()
+                        + " через " + daysUntilDue + " дн.");
+    }
+
+    private void submitClubAlert(NotificationEventType type, Long clubId, String title, String line) {
+        NotificationEvent event = NotificationEvent.builder()
+                .id(UUID.randomUUID())
+                .type(type)
+                .message(title + ": " + line)
+                .clubId(clubId)
+                .payload(line)
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .audiences(Set.of(RoleName.CLUB_OWNER, RoleName.HEAD_MECHANIC))
+                .build();
+        notificationCoalescer.submit(type.name() + ":" + clubId, event,
+                events -> mergeLines(events, title), this::storeAndPublish);
+    }
+
+    private NotificationEvent mergeLines(List<NotificationEvent> events, String title) {
+        Set<String> lines = events.stream()
+                .map(NotificationEvent::getPayload)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return events.get(events.size() - 1).toBuilder()
+                .id(UUID.randomUUID())
+                .message(title + ": позиций " + lines.size())
+                .payload(String.join("\n", lines))
+                .build();
+    }
+
+    private static String equipmentLabel(ClubEquipment equipment) {
+        if (equipment == null) {
+            return "Оборудование";
+        }
+        return equipment.getModel() != null ? equipment.getModel() : "Оборудование #" + equipment.getEquipmentId();
     }
 
+    /**
+     * Низкие остатки, пришедшие в пределах окна склейки, уходят администраторам одним уведомлением.
+     */
     public void notifyInventoryLow(String catalogNumber, int currentQuantity, int minQuantity) {
         log.warn("NOTIFICATION: НИЗКИЙ ОСТАТОК НА СКЛАДЕ! " +
                 "Запчасть: {}, Остаток: {}, Минимум: {}", 
                 catalogNumber, currentQuantity, minQuantity);
+        NotificationEvent event = NotificationEvent.builder()
+                .id(UUID.randomUUID())
+                .type(NotificationEventType.INVENTORY_LOW)
+                .message("Низкий остаток на складе: " + catalogNumber)
+                .payload(inventoryLowLine(catalogNumber, currentQuantity, minQuantity))
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .audiences(Set.of(RoleName.ADMIN))
+                .build();
+        notificationCoalescer.submit(NotificationEventType.INVENTORY_LOW.name(), event,
+                this::mergeInventoryLow, this::storeAndPublish);
+    }
+
+    private NotificationEvent mergeInventoryLow(List<NotificationEvent> events) {
+        // Повторы одной позиции за окно сводятся к последнему остатку.
+        Map<String, String> lines = new LinkedHashMap<>();
+        for (NotificationEvent event : events) {
+            String line = event.getPayload();
+            String catalogNumber = line.substring(0, line.lastIndexOf(INVENTORY_LOW_SEPARATOR));
+            lines.remove(catalogNumber);
+            lines.put(catalogNumber, line);
+        }
+        NotificationEvent last = events.get(events.size() - 1);
+        return last.toBuilder()
+                .id(UUID.randomUUID())
+                .message("Низкий остаток на складе: позиций " + lines.size())
+                .payload(String.join("\n", lines.values()))
+                .build();
+    }
+
+    private static String inventoryLowLine(String catalogNumber, int currentQuantity, int minQuantity) {
+        return catalogNumber + INVENTORY_LOW_SEPARATOR + currentQuantity + ", минимум " + minQuantity;
     }
 
     private void notifyMechanicAssigned(WorkLog workLog) {
@@ -0,0 +1,42 @@
+package ru.bowling.bowlingapp.Service;
+
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.Enum.RoleName;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Хранилище уведомлений. Каждое сохранённое событие получает возрастающий sequence,
+ * по которому клиенты дочитывают ленту («всё после N»).
+ */
+public interface NotificationStore {
+
+    /**
+     * @return событие с присвоенным sequence
+     */
+    NotificationEvent append(NotificationEvent event);
+
+    /**
+     * События для роли по возрастанию sequence.
+     *
+     * @param clubIds       клубы пользователя; {@code null} — без фильтра по клубам и механику
+     * @param mechanicId    профиль механика пользователя; события для других механиков не возвращаются
+     * @param afterSequence курсор; {@code null} — последние {@code limit} событий
+     */
+    List<NotificationEvent> find(RoleName role, Set<Long> clubIds, Long mechanicId, Long afterSequence, int limit);
+
+    Optional<NotificationEvent> findById(UUID id);
+
+    /**
+     * @return те из {@code sequences}, что пользователь уже прочитал
+     */
+    Set<Long> findRead(Long userId, Collection<Long> sequences);
+
+    void markRead(Long userId, Collection<Long> sequences);
+
+    void clear();
+}
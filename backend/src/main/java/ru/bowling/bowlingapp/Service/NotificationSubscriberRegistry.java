@@ -0,0 +1,238 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.Enum.RoleName;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Подключённые по STOMP пользователи и их доступ к клубам. По событию определяет, каким пользователям
+ * его отправить, по тому же правилу, что и лента уведомлений: роль входит в аудиторию, клуб доступен,
+ * механик совпадает с профилем пользователя.
+ * <p>
+ * Кандидаты берутся из самого узкого индекса (механик, клуб или роль), поэтому адресное событие
+ * не перебирает всех подключённых. Снимки доступа помечаются устаревшими по {@link ClubAccessChangedEvent}
+ * и перечитываются перед следующей рассылкой.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationSubscriberRegistry {
+
+    private final UserClubAccessService userClubAccessService;
+
+    private final Map<String, Long> sessionUsers = new ConcurrentHashMap<>();
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Map<RoleName, Set<Long>> byRole = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byClub = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byMechanic = new ConcurrentHashMap<>();
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    private volatile boolean allStale;
+
+    /**
+     * Регистрирует сессию пользователя. Повторные сессии того же пользователя разделяют один снимок доступа.
+     */
+    public void register(String sessionId, Long userId, String userName) {
+        if (sessionId == null || userId == null || userName == null) {
+            return;
+        }
+        ClubAccessSnapshot access = userClubAccessService.getAccessSnapshot(userId);
+        synchronized (this) {
+            Long previous = sessionUsers.put(sessionId, userId);
+            if (previous != null && !previous.equals(userId)) {
+                detach(sessionId, previous);
+            }
+            Subscriber subscriber = subscribers.get(userId);
+            if (subscriber == null) {
+                subscriber = new Subscriber(userId, userName, access);
+                subscribers.put(userId, subscriber);
+                index(subscriber);
+            }
+            subscriber.sessionIds.add(sessionId);
+        }
+    }
+
+    public void unregister(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        synchronized (this) {
+            Long userId = sessionUsers.remove(sessionId);
+            if (userId != null) {
+                detach(sessionId, userId);
+            }
+        }
+    }
+
+    /**
+     * Имена пользователей STOMP, которым адресовано событие.
+     */
+    public List<String> recipients(NotificationEvent event) {
+        if (event == null || event.getAudiences() == null || event.getAudiences().isEmpty()) {
+            return List.of();
+        }
+        refreshStale();
+        Collection<Long> candidates;
+        if (event.getMechanicId() != null) {
+            candidates = byMechanic.getOrDefault(event.getMechanicId(), Set.of());
+        } else if (event.getClubId() != null) {
+            candidates = byClub.getOrDefault(event.getClubId(), Set.of());
+        } else {
+            Set<Long> union = new HashSet<>();
+            for (RoleName role : event.getAudiences()) {
+                union.addAll(byRole.getOrDefault(role, Set.of()));
+            }
+            candidates = union;
+        }
+        List<String> result = new ArrayList<>(candidates.size());
+        for (Long userId : candidates) {
+            Subscriber subscriber = subscribers.get(userId);
+            if (subscriber != null && subscriber.accepts(event)) {
+                result.add(subscriber.userName);
+            }
+        }
+        return result;
+    }
+
+    public int connectedUsers() {
+        return subscribers.size();
+    }
+
+    public int connectedSessions() {
+        return sessionUsers.size();
+    }
+
+    @EventListener
+    public void onAccessChanged(ClubAccessChangedEvent event) {
+        Long userId = event.userId();
+        markStale(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Перечитанный до коммита снимок мог увидеть старые данные.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    markStale(userId);
+                }
+            });
+        }
+    }
+
+    private void markStale(Long userId) {
+        if (userId == null) {
+            allStale = true;
+        } else if (subscribers.containsKey(userId)) {
+            stale.add(userId);
+        }
+    }
+
+    private void refreshStale() {
+        if (!allStale && stale.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        if (allStale) {
+            allStale = false;
+            userIds.addAll(subscribers.keySet());
+        }
+        for (Long userId : List.copyOf(stale)) {
+            stale.remove(userId);
+            userIds.add(userId);
+        }
+        for (Long userId : userIds) {
+            ClubAccessSnapshot access = userClubAccessService.getAccessSnapshot(userId);
+            synchronized (this) {
+                Subscriber current = subscribers.get(userId);
+                if (current == null) {
+                    continue;
+                }
+                unindex(current);
+                Subscriber refreshed = new Subscriber(userId, current.userName, access);
+                refreshed.sessionIds.addAll(current.sessionIds);
+                subscribers.put(userId, refreshed);
+                index(refreshed);
+            }
+        }
+        log.debug("Refreshed club access of {} notification subscribers", userIds.size());
+    }
+
+    private void detach(String sessionId, Long userId) {
+        Subscriber subscriber = subscribers.get(userId);
+        if (subscriber == null) {
+            return;
+        }
+        subscriber.sessionIds.remove(sessionId);
+        if (subscriber.sessionIds.isEmpty()) {
+            subscribers.remove(userId);
+            unindex(subscriber);
+            stale.remove(userId);
+        }
+    }
+
+    private void index(Subscriber subscriber) {
+        ClubAccessSnapshot access = subscriber.access;
+        if (access.getRole() != null) {
+            byRole.computeIfAbsent(access.getRole(), key -> ConcurrentHashMap.newKeySet()).add(subscriber.userId);
+        }
+        for (Long clubId : access.getClubIds()) {
+            byClub.computeIfAbsent(clubId, key -> ConcurrentHashMap.newKeySet()).add(subscriber.userId);
+        }
+        if (access.getMechanicProfileId() != null) {
+            byMechanic.computeIfAbsent(access.getMechanicProfileId(), key -> ConcurrentHashMap.newKeySet())
+                    .add(subscriber.userId);
+        }
+    }
+
+    private void unindex(Subscriber subscriber) {
+        ClubAccessSnapshot access = subscriber.access;
+        if (access.getRole() != null) {
+            remove(byRole, access.getRole(), subscriber.userId);
+        }
+        for (Long clubId : access.getClubIds()) {
+            remove(byClub, clubId, subscriber.userId);
+        }
+        if (access.getMechanicProfileId() != null) {
+            remove(byMechanic, access.getMechanicProfileId(), subscriber.userId);
+        }
+    }
+
+    private static <K> void remove(Map<K, Set<Long>> index, K key, Long userId) {
+        index.computeIfPresent(key, (ignored, users) -> {
+            users.remove(userId);
+            return users.isEmpty() ? null : users;
+        });
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final String userName;
+        private final ClubAccessSnapshot access;
+        private final Set<String> sessionIds = ConcurrentHashMap.newKeySet();
+
+        private Subscriber(Long userId, String userName, ClubAccessSnapshot access) {
+            this.userId = userId;
+            this.userName = userName;
+            this.access = access;
+        }
+
+        private boolean accepts(NotificationEvent event) {
+            if (access.getRole() == null || !event.getAudiences().contains(access.getRole())) {
+                return false;
+            }
+            return (event.getClubId() == null || access.hasClubAccess(event.getClubId()))
+                    && (event.getMechanicId() == null || Objects.equals(event.getMechanicId(), access.getMechanicProfileId()));
+        }
+    }
+}
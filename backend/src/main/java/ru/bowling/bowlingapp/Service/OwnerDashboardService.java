@@ -12,11 +12,9 @@ import ru.bowling.bowlingapp.Entity.enums.WorkLogStatus;
 import ru.bowling.bowlingapp.Entity.enums.WorkType;
 import ru.bowling.bowlingapp.Entity.ServiceHistory;
 import ru.bowling.bowlingapp.Entity.WorkLogStatusHistory;
-import ru.bowling.bowlingapp.Repository.EquipmentComponentRepository;
 import ru.bowling.bowlingapp.Enum.RoleName;
 import ru.bowling.bowlingapp.Repository.*;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -29,7 +27,7 @@ import java.util.stream.Stream;
 public class OwnerDashboardService {
 
     private final ClubEquipmentRepository clubEquipmentRepository;
-    private final EquipmentComponentRepository equipmentComponentRepository;
+    private final EquipmentComponentCache equipmentComponentCache;
     private final EquipmentMaintenanceScheduleRepository equipmentMaintenanceScheduleRepository;
     private final EquipmentTypeRepository equipmentTypeRepository;
     private final ManufacturerRepository manufacturerRepository;
@@ -41,6 +39,7 @@ public class OwnerDashboardService {
     private final NotificationService notificationService;
     private final UserRepository userRepository;
     private final UserClubAccessService userClubAccessService;
+    private final OwnerWarningEngine ownerWarningEngine;
 
     @Transactional
     public NotificationEvent submitClubAppeal(Long userId, ClubAppealRequestDTO request) {
@@ -69,12 +68,17 @@ public class OwnerDashboardService {
     @Transactional(readOnly = true)
     public List<TechnicalInfoDTO> getTechnicalInformation(Long userId, Long clubId) {
         Long resolvedClubId = resolveClubForUser(userId, clubId);
-        List<EquipmentComponentDTO> components = equipmentComponentRepository.findAll().stream()
-                .map(this::toComponentDto)
-                .toList();
-
-        return clubEquipmentRepository.findByClubClubId(resolvedClubId).stream()
-                .map(eq -> toTechnicalInfoDto(eq, components))
+        List<EquipmentComponentDTO> components = equipmentComponentCache.components();
+        List<ClubEquipment> equipment = clubEquipmentRepository.findWithDetailsByClubClubId(resolvedClubId);
+        Map<Long, List<MaintenanceScheduleDTO>> schedules = equipment.isEmpty()
+                ? Map.of()
+                : equipmentMaintenanceScheduleRepository.findByEquipmentEquipmentIdInOrderByScheduleId(
+                                equipment.stream().map(ClubEquipment::getEquipmentId).toList()).stream()
+                        .collect(Collectors.groupingBy(schedule -> schedule.getEquipment().getEquipmentId(),
+                                Collectors.mapping(this::toScheduleDto, Collectors.toList())));
+
+        return equipment.stream()
+                .map(eq -> toTechnicalInfoDto(eq, components, schedules.getOrDefault(eq.getEquipmentId(), List.of())))
                 .sorted(Comparator.comparing(TechnicalInfoDTO::getEquipmentId))
                 .toList();
     }
@@ -120,13 +124,13 @@ public class OwnerDashboardService {
         }
 
         ClubEquipment saved = clubEquipmentRepository.save(equipment);
-        List<EquipmentComponentDTO> components = equipmentComponentRepository.findAll().stream()
-                .map(this::toComponentDto)
-                .toList();
-        return toTechnicalInfoDto(saved, components);
+        // У только что созданного оборудования графиков ТО ещё нет.
+        return toTechnicalInfoDto(saved, equipmentComponentCache.components(), List.of());
     }
 
-    private TechnicalInfoDTO toTechnicalInfoDto(ClubEquipment equipment, List<EquipmentComponentDTO> components) {
+    private TechnicalInfoDTO toTechnicalInfoDto(ClubEquipment equipment,
+                                                List<EquipmentComponentDTO> components,
+                                                List<MaintenanceScheduleDTO> schedules) {
         return TechnicalInfoDTO.builder()
                 .equipmentId(equipment.getEquipmentId())
                 .model(equipment.getModel())
@@ -142,9 +146,7 @@ public class OwnerDashboardService {
                 .lastMaintenanceDate(equipment.getLastMaintenanceDate())
                 .nextMaintenanceDate(equipment.getNextMaintenanceDate())
                 .components(components)
-                .schedules(equipmentMaintenanceScheduleRepository.findByEquipmentEquipmentId(equipment.getEquipmentId()).stream()
-                        .map(this::toScheduleDto)
-                        .toList())
+                .schedules(schedules)
                 .build();
     }
 
@@ -194,89 +196,36 @@ public class OwnerDashboardService {
                 .toList();
     }
 
+    /**
+     * Предупреждения клуба читаются из заранее посчитанного набора {@link OwnerWarningEngine}.
+     */
     @Transactional(readOnly = true)
     public List<WarningDTO> getWarnings(Long userId, Long clubId) {
         Long resolvedClubId = resolveClubForUser(userId, clubId);
-        LocalDate today = LocalDate.now();
-
-        List<WarningDTO> scheduleWarnings = equipmentMaintenanceScheduleRepository.findByClubClubId(resolvedClubId).stream()
-                .flatMap(schedule -> {
-                    WarningDTO criticalMissing = null;
-                    if (Boolean.TRUE.equals(schedule.getIsCritical()) && schedule.getLastPerformed() == null) {
-                        criticalMissing = WarningDTO.builder()
-                                .type("CRITICAL_MAINTENANCE_MISSING")
-                                .message("Критичное оборудование без запланированного ТО: " + readableEquipment(schedule))
-                                .equipmentId(schedule.getEquipment() != null ? schedule.getEquipment().getEquipmentId() : null)
-                                .scheduleId(schedule.getScheduleId())
-                                .dueDate(schedule.getScheduledDate())
-                                .build();
-                    }
-                    if (schedule.getScheduledDate() == null) {
-                        return List.of(criticalMissing).stream().filter(Objects::nonNull);
-                    }
-                    WarningDTO overdue = null;
-                    WarningDTO upcoming = null;
-                    if (schedule.getScheduledDate().isBefore(today) && (schedule.getLastPerformed() == null || schedule.getLastPerformed().isBefore(schedule.getScheduledDate()))) {
-                        overdue = WarningDTO.builder()
-                                .type("MAINTENANCE_OVERDUE")
-                                .message("Просроченное ТО для " + readableEquipment(schedule))
-                                .equipmentId(schedule.getEquipment() != null ? schedule.getEquipment().getEquipmentId() : null)
-                                .scheduleId(schedule.getScheduleId())
-                                .dueDate(schedule.getScheduledDate())
-                                .build();
-                    } else if (!schedule.getScheduledDate().isAfter(today.plusDays(14))) {
-                        upcoming = WarningDTO.builder()
-                                .type("MAINTENANCE_DUE_SOON")
-                                .message("Скоро плановое ТО для " + readableEquipment(schedule))
-                                .equipmentId(schedule.getEquipment() != null ? schedule.getEquipment().getEquipmentId() : null)
-                                .scheduleId(schedule.getScheduleId())
-                                .dueDate(schedule.getScheduledDate())
-                                .build();
-                    }
-                    return Stream.of(overdue, upcoming, criticalMissing).filter(Objects::nonNull);
-                })
-                .toList();
-
-        List<WarningDTO> equipmentWarnings = clubEquipmentRepository.findByClubClubId(resolvedClubId).stream()
-                .filter(eq -> eq.getNextMaintenanceDate() != null && eq.getNextMaintenanceDate().isBefore(today))
-                .map(eq -> WarningDTO.builder()
-                        .type("EQUIPMENT_NEXT_MAINTENANCE_OVERDUE")
-                        .message("Истек плановый срок обслуживания оборудования " + Optional.ofNullable(eq.getModel()).orElse("оборудование"))
-                        .equipmentId(eq.getEquipmentId())
-                        .dueDate(eq.getNextMaintenanceDate())
-                        .build())
-                .toList();
-
-        List<WarningDTO> partWarnings = serviceHistoryPartRepository.findByServiceHistoryClubClubId(resolvedClubId).stream()
-                .filter(part -> part.getPartsCatalog() != null && part.getPartsCatalog().getNormalServiceLife() != null)
-                .filter(part -> part.getCreatedDate() != null)
-                .filter(part -> part.getCreatedDate().toLocalDate().plusMonths(part.getPartsCatalog().getNormalServiceLife()).isBefore(today))
-                .map(part -> WarningDTO.builder()
-                        .type("PART_SERVICE_LIFE_EXCEEDED")
-                        .message("Превышен ресурс детали " + Optional.ofNullable(part.getPartName()).orElse(part.getCatalogNumber()))
-                        .partCatalogId(part.getPartsCatalog().getCatalogId())
-                        .dueDate(part.getCreatedDate().toLocalDate().plusMonths(part.getPartsCatalog().getNormalServiceLife()))
-                        .build())
-                .toList();
-
-        return Stream.of(scheduleWarnings, equipmentWarnings, partWarnings)
-                .flatMap(List::stream)
-                .sorted(Comparator.comparing(WarningDTO::getDueDate, Comparator.nullsLast(LocalDate::compareTo)))
-                .toList();
+        return ownerWarningEngine.warnings(resolvedClubId);
     }
 
     @Transactional(readOnly = true)
     public List<NotificationEvent> getManagerNotifications(Long userId, Long clubId, RoleName roleName) {
+        return getManagerNotifications(userId, clubId, roleName, null, null, false);
+    }
+
+    /**
+     * Уведомления выбранного клуба. С курсором {@code sinceId} возвращаются только новые
+     * сохранённые события — предупреждения по обслуживанию добавляются лишь к первой странице.
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationEvent> getManagerNotifications(Long userId, Long clubId, RoleName roleName,
+                                                           Long sinceId, Integer limit, boolean unreadOnly) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Пользователь не найден"));
         List<Long> accessibleClubIds = userClubAccessService.resolveAccessibleClubIds(user);
         Long resolvedClubId = resolveClubForNotifications(clubId, accessibleClubIds);
-        List<NotificationEvent> filtered = notificationService.getNotificationsForUser(user, accessibleClubIds).stream()
-                .filter(event -> resolvedClubId == null || event.getClubId() == null || Objects.equals(event.getClubId(), resolvedClubId))
-                .toList();
-        List<NotificationEvent> events = new ArrayList<>(filtered);
+        List<Long> feedClubIds = resolvedClubId != null ? List.of(resolvedClubId) : accessibleClubIds;
+        List<NotificationEvent> events = new ArrayList<>(
+                notificationService.getNotificationsForUser(user, feedClubIds, sinceId, limit, unreadOnly));
 
-        if (resolvedClubId != null) {
+        if (resolvedClubId != null && sinceId == null) {
             getWarnings(userId, resolvedClubId).forEach(warning -> events.add(NotificationEvent.builder()
                     .id(UUID.randomUUID())
                     .type(NotificationEventType.MAINTENANCE_WARNING)
@@ -291,6 +240,10 @@ public class OwnerDashboardService {
         return events;
     }
 
+    public void markNotificationsRead(Long userId, List<Long> notificationIds) {
+        notificationService.markRead(userId, notificationIds);
+    }
+
     private ServiceJournalEntryDTO toJournalEntry(WorkLog log) {
         List<WorkLogPartUsageDTO> parts = workLogPartUsageRepository.findByWorkLogLogIdOrderByInstalledDate(log.getLogId()).stream()
                 .map(part -> WorkLogPartUsageDTO.builder()
@@ -369,18 +322,6 @@ public class OwnerDashboardService {
                 .orElse(null);
     }
 
-    private EquipmentComponentDTO toComponentDto(EquipmentComponent component) {
-        return EquipmentComponentDTO.builder()
-                .componentId(component.getComponentId())
-                .name(component.getName())
-                .manufacturer(component.getManufacturer())
-                .category(component.getCategory())
-                .code(component.getCode())
-                .notes(component.getNotes())
-                .parentId(component.getParent() != null ? component.getParent().getComponentId() : null)
-                .build();
-    }
-
     private MaintenanceScheduleDTO toScheduleDto(EquipmentMaintenanceSchedule schedule) {
         return MaintenanceScheduleDTO.builder()
                 .scheduleId(schedule.getScheduleId())
@@ -428,12 +369,4 @@ public class OwnerDashboardService {
                 || type == NotificationEventType.CLUB_LEGAL_ASSISTANCE
                 || type == NotificationEventType.CLUB_SPECIALIST_ACCESS;
     }
-
-    private String readableEquipment(EquipmentMaintenanceSchedule schedule) {
-        ClubEquipment eq = schedule.getEquipment();
-        if (eq == null) {
-            return "оборудования";
-        }
-        return Optional.ofNullable(eq.getModel()).orElse("оборудование") + " (ID " + eq.getEquipmentId() + ")";
-    }
 }
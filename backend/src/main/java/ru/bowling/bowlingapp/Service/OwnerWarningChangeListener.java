@@ -0,0 +1,46 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.bowling.bowlingapp.Entity.ClubEquipment;
+import ru.bowling.bowlingapp.Entity.EquipmentMaintenanceSchedule;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.ServiceHistory;
+import ru.bowling.bowlingapp.Entity.ServiceHistoryPart;
+
+/**
+ * Сообщает {@link OwnerWarningEngine}, какие источники предупреждений дашборда изменились через JPA.
+ */
+@Component
+public class OwnerWarningChangeListener {
+
+    private final ObjectProvider<OwnerWarningEngine> warningEngine;
+
+    public OwnerWarningChangeListener(ObjectProvider<OwnerWarningEngine> warningEngine) {
+        this.warningEngine = warningEngine;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        OwnerWarningEngine engine = warningEngine.getIfAvailable();
+        if (engine == null) {
+            return;
+        }
+        if (entity instanceof EquipmentMaintenanceSchedule schedule) {
+            engine.scheduleChanged(schedule.getScheduleId());
+        } else if (entity instanceof ClubEquipment equipment) {
+            engine.equipmentChanged(equipment.getEquipmentId());
+        } else if (entity instanceof ServiceHistoryPart part) {
+            engine.servicePartChanged(part.getId());
+        } else if (entity instanceof ServiceHistory history) {
+            engine.serviceHistoryChanged(history.getServiceId());
+        } else if (entity instanceof PartsCatalog catalog) {
+            engine.partsCatalogChanged(catalog.getCatalogId());
+        }
+    }
+}
@@ -0,0 +1,574 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.DTO.WarningDTO;
+import ru.bowling.bowlingapp.Entity.ClubEquipment;
+import ru.bowling.bowlingapp.Entity.ClubWarning;
+import ru.bowling.bowlingapp.Entity.EquipmentMaintenanceSchedule;
+import ru.bowling.bowlingapp.Entity.ServiceHistoryPart;
+import ru.bowling.bowlingapp.Entity.enums.WarningSource;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.ClubEquipmentRepository;
+import ru.bowling.bowlingapp.Repository.ClubWarningRepository;
+import ru.bowling.bowlingapp.Repository.EquipmentMaintenanceScheduleRepository;
+import ru.bowling.bowlingapp.Repository.ServiceHistoryPartRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Предупреждения дашборда владельца, заранее посчитанные в таблицу {@code club_warnings}.
+ * <p>
+ * Строки источника — графика ТО, единицы оборудования или детали из истории обслуживания — пересчитываются
+ * только при изменении этого источника ({@link OwnerWarningChangeListener}) после коммита, в отдельном
+ * потоке: пишущий запрос лишь ставит источники в очередь, очередь копится, пока идёт предыдущий пересчёт,
+ * и разбирается одной транзакцией. До конца пересчёта дашборд показывает прежний набор. Условия
+ * предупреждений сравнивают сегодняшний день лишь со сроками самого источника, поэтому у каждой строки
+ * заранее известно окно показа: дашборд читает активные на сегодня строки клуба одним запросом по индексу,
+ * а ночной обход удаляет строки с истёкшим окном. Изменения в обход JPA подхватываются полной
+ * пересборкой при старте приложения.
+ * <p>
+ * Прочитанные наборы кэшируются по клубу до конца дня или до пересчёта клуба. Транзакция, которая сама
+ * изменила источники, читает таблицу мимо кэша и подменяет строки своих источников посчитанными в памяти:
+ * в таблицу пишет только фоновый пересчёт, поэтому две записи одного источника не пересекаются. Изменения,
+ * ещё не сброшенные в БД (flush), транзакция при этом не видит.
+ */
+@Slf4j
+@Component
+public class OwnerWarningEngine {
+
+    static final int DUE_SOON_DAYS = 14;
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final Comparator<ClubWarning> ORDER = Comparator
+            .comparing(ClubWarning::getDueDate, Comparator.nullsLast(LocalDate::compareTo))
+            .thenComparing(ClubWarning::getSourceType)
+            .thenComparing(ClubWarning::getSourceId)
+            .thenComparing(ClubWarning::getId, Comparator.nullsLast(Long::compareTo));
+
+    private final ClubWarningRepository clubWarningRepository;
+    private final EquipmentMaintenanceScheduleRepository scheduleRepository;
+    private final ClubEquipmentRepository clubEquipmentRepository;
+    private final ServiceHistoryPartRepository serviceHistoryPartRepository;
+    private final BowlingClubRepository bowlingClubRepository;
+    private final TransactionTemplate writeTransaction;
+    private final boolean rebuildOnStartup;
+
+    private final Object updateLock = new Object();
+    private final Map<Long, CachedWarnings> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Set<Change> queued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService recomputeExecutor = createRecomputeExecutor();
+
+    public OwnerWarningEngine(ClubWarningRepository clubWarningRepository,
+                              EquipmentMaintenanceScheduleRepository scheduleRepository,
+                              ClubEquipmentRepository clubEquipmentRepository,
+                              ServiceHistoryPartRepository serviceHistoryPartRepository,
+                              BowlingClubRepository bowlingClubRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.owner-warnings.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.clubWarningRepository = clubWarningRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.clubEquipmentRepository = clubEquipmentRepository;
+        this.serviceHistoryPartRepository = serviceHistoryPartRepository;
+        this.bowlingClubRepository = bowlingClubRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        // Пересчёт идёт после коммита чужой транзакции и должен читать уже закоммиченные данные.
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Активные на сегодня предупреждения клуба, по сроку (без срока — в конце).
+     */
+    public List<WarningDTO> warnings(Long clubId) {
+        LocalDate today = LocalDate.now();
+        Set<Change> own = ownChanges();
+        if (!own.isEmpty()) {
+            return loadWithOwnChanges(clubId, today, own);
+        }
+        CachedWarnings cached = cache.get(clubId);
+        if (cached != null && cached.day().equals(today)) {
+            return cached.warnings();
+        }
+        long observedGeneration = generation.get();
+        List<WarningDTO> loaded = load(clubId, today);
+        // Набор, прочитанный во время пересчёта, мог застать старые строки — его не кэшируем.
+        if (generation.get() == observedGeneration) {
+            cache.put(clubId, new CachedWarnings(today, loaded));
+        }
+        return loaded;
+    }
+
+    public void scheduleChanged(Long scheduleId) {
+        changed(ChangeKind.SCHEDULE, scheduleId);
+    }
+
+    /**
+     * Оборудование входит в текст предупреждений своих графиков ТО, поэтому пересчитываются и они.
+     */
+    public void equipmentChanged(Long equipmentId) {
+        changed(ChangeKind.EQUIPMENT, equipmentId);
+    }
+
+    public void servicePartChanged(Long partId) {
+        changed(ChangeKind.SERVICE_PART, partId);
+    }
+
+    /**
+     * Запись истории определяет клуб своих деталей.
+     */
+    public void serviceHistoryChanged(Long serviceId) {
+        changed(ChangeKind.SERVICE_HISTORY, serviceId);
+    }
+
+    /**
+     * Нормативный ресурс детали каталога определяет срок предупреждений по всем её установкам.
+     */
+    public void partsCatalogChanged(Long catalogId) {
+        changed(ChangeKind.PARTS_CATALOG, catalogId);
+    }
+
+    /**
+     * Дожидается пересчёта всего, что уже стоит в очереди.
+     */
+    void awaitQueuedRecompute() throws InterruptedException, ExecutionException {
+        recomputeExecutor.submit(() -> { }).get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recomputeExecutor.shutdownNow();
+    }
+
+    /**
+     * Ставит закоммиченные изменения в очередь фонового пересчёта.
+     */
+    private void enqueue(Collection<Change> changes) {
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        queued.addAll(changes);
+        recomputeExecutor.execute(this::drain);
+    }
+
+    /**
+     * Забирает всё, что накопилось в очереди, пересчитывает в отдельной транзакции и сбрасывает кэш
+     * затронутых клубов. Изменения попадают в очередь после своего коммита, поэтому пересчёт их видит.
+     */
+    private void drain() {
+        if (queued.isEmpty()) {
+            return;
+        }
+        List<Change> batch = new ArrayList<>(queued);
+        queued.removeAll(batch);
+        try {
+            synchronized (updateLock) {
+                Set<Long> clubIds = writeTransaction.execute(status -> recompute(batch));
+                evict(clubIds);
+            }
+        } catch (RuntimeException e) {
+            // Коммит уже состоялся; таблица догонит изменения при следующей пересборке.
+            log.warn("Failed to recompute owner warnings after commit", e);
+        }
+    }
+
+    /**
+     * Пересобирает предупреждения всех клубов, по транзакции на клуб.
+     */
+    public void rebuildAll() {
+        int rows = 0;
+        for (Long clubId : bowlingClubRepository.findAllClubIds()) {
+            synchronized (updateLock) {
+                Integer saved = writeTransaction.execute(status -> rebuildClub(clubId));
+                rows += saved != null ? saved : 0;
+            }
+        }
+        invalidateAll();
+        log.info("Owner warnings rebuilt: {} rows", rows);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAfterStartup() {
+        if (rebuildOnStartup) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Удаляет предупреждения, окно показа которых закончилось, и сбрасывает наборы прошлого дня.
+     */
+    @Scheduled(cron = "${app.owner-warnings.sweep-cron:0 5 0 * * *}")
+    public void sweep() {
+        Integer removed;
+        synchronized (updateLock) {
+            removed = writeTransaction.execute(status -> clubWarningRepository.deleteExpired(LocalDate.now()));
+        }
+        invalidateAll();
+        log.debug("Owner warnings sweep removed {} expired rows", removed);
+    }
+
+    private void changed(ChangeKind kind, Long id) {
+        if (id == null) {
+            return;
+        }
+        Change change = new Change(kind, id);
+        PendingChanges pending = pendingChanges();
+        if (pending != null) {
+            pending.changes.add(change);
+        } else {
+            enqueue(Set.of(change));
+        }
+    }
+
+    /**
+     * Источники, изменённые текущей транзакцией; общий кэш и таблица для них ещё не пересчитаны.
+     */
+    private Set<Change> ownChanges() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Set.of();
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        return pending != null ? pending.changes : Set.of();
+    }
+
+    /**
+     * Набор клуба для транзакции со своими изменениями: строки изменённых источников из таблицы
+     * заменяются посчитанными в памяти. В таблицу ничего не пишется.
+     */
+    private List<WarningDTO> loadWithOwnChanges(Long clubId, LocalDate today, Collection<Change> changes) {
+        Sources sources = resolve(changes);
+        List<ClubWarning> rows = new ArrayList<>();
+        for (ClubWarning warning : clubWarningRepository.findActive(clubId, today)) {
+            if (!sources.ids(warning.getSourceType()).contains(warning.getSourceId())) {
+                rows.add(warning);
+            }
+        }
+        List<ClubWarning> fresh = new ArrayList<>();
+        forEachChunk(sources.scheduleIds(), chunk -> fresh.addAll(
+                calculate(chunk, scheduleRepository::findAllById, this::scheduleWarnings)));
+        forEachChunk(sources.equipmentIds(), chunk -> fresh.addAll(
+                calculate(chunk, clubEquipmentRepository::findAllById, this::equipmentWarnings)));
+        forEachChunk(sources.partIds(), chunk -> fresh.addAll(
+                calculate(chunk, serviceHistoryPartRepository::findAllById, this::partWarnings)));
+        for (ClubWarning warning : fresh) {
+            if (clubId.equals(warning.getClubId()) && isActive(warning, today)) {
+                rows.add(warning);
+            }
+        }
+        return rows.stream()
+                .sorted(ORDER)
+                .map(this::toDto)
+                .toList();
+    }
+
+    private static boolean isActive(ClubWarning warning, LocalDate day) {
+        return (warning.getActiveFrom() == null || !warning.getActiveFrom().isAfter(day))
+                && (warning.getActiveUntil() == null || !warning.getActiveUntil().isBefore(day));
+    }
+
+    private PendingChanges pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private static ExecutorService createRecomputeExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("owner-warnings-");
+        threadFactory.setDaemon(true);
+        return Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    private List<WarningDTO> load(Long clubId, LocalDate today) {
+        return clubWarningRepository.findActive(clubId, today).stream()
+                .sorted(ORDER)
+                .map(this::toDto)
+                .toList();
+    }
+
+    private void evict(Collection<Long> clubIds) {
+        generation.incrementAndGet();
+        if (clubIds != null) {
+            clubIds.forEach(cache::remove);
+        }
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    /**
+     * @return клубы, у которых изменился набор предупреждений
+     */
+    private Set<Long> recompute(Collection<Change> changes) {
+        Sources sources = resolve(changes);
+        Set<Long> clubIds = new HashSet<>();
+        replace(WarningSource.SCHEDULE, sources.scheduleIds(), scheduleRepository::findAllById, this::scheduleWarnings, clubIds);
+        replace(WarningSource.EQUIPMENT, sources.equipmentIds(), clubEquipmentRepository::findAllById, this::equipmentWarnings, clubIds);
+        replace(WarningSource.SERVICE_PART, sources.partIds(), serviceHistoryPartRepository::findAllById, this::partWarnings, clubIds);
+        return clubIds;
+    }
+
+    /**
+     * Раскрывает изменения в источники строк: оборудование — в его графики ТО, записи истории и детали
+     * каталога — в установленные детали.
+     */
+    private Sources resolve(Collection<Change> changes) {
+        Set<Long> scheduleIds = new LinkedHashSet<>();
+        Set<Long> equipmentIds = new LinkedHashSet<>();
+        Set<Long> partIds = new LinkedHashSet<>();
+        Set<Long> serviceIds = new LinkedHashSet<>();
+        Set<Long> catalogIds = new LinkedHashSet<>();
+        for (Change change : changes) {
+            switch (change.kind()) {
+                case SCHEDULE -> scheduleIds.add(change.id());
+                case EQUIPMENT -> equipmentIds.add(change.id());
+                case SERVICE_PART -> partIds.add(change.id());
+                case SERVICE_HISTORY -> serviceIds.add(change.id());
+                case PARTS_CATALOG -> catalogIds.add(change.id());
+            }
+        }
+        forEachChunk(equipmentIds, chunk -> scheduleRepository.findByEquipmentEquipmentIdInOrderByScheduleId(chunk)
+                .forEach(schedule -> scheduleIds.add(schedule.getScheduleId())));
+        forEachChunk(serviceIds, chunk -> serviceHistoryPartRepository.findByServiceHistoryServiceIdIn(chunk)
+                .forEach(part -> partIds.add(part.getId())));
+        forEachChunk(catalogIds, chunk -> serviceHistoryPartRepository.findByPartsCatalogCatalogIdIn(chunk)
+                .forEach(part -> partIds.add(part.getId())));
+        return new Sources(scheduleIds, equipmentIds, partIds);
+    }
+
+    private <T> void replace(WarningSource source,
+                             Set<Long> sourceIds,
+                             Function<List<Long>, List<T>> loader,
+                             Function<T, List<ClubWarning>> calculator,
+                             Set<Long> clubIds) {
+        forEachChunk(sourceIds, chunk -> {
+            List<ClubWarning> stale = clubWarningRepository.findBySourceTypeAndSourceIdIn(source, chunk);
+            stale.forEach(warning -> clubIds.add(warning.getClubId()));
+            clubWarningRepository.deleteAll(stale);
+            List<ClubWarning> fresh = calculate(chunk, loader, calculator);
+            fresh.forEach(warning -> clubIds.add(warning.getClubId()));
+            clubWarningRepository.saveAll(fresh);
+        });
+    }
+
+    /**
+     * Удалённые источники не загрузятся, и их строк просто не будет.
+     */
+    private static <T> List<ClubWarning> calculate(List<Long> sourceIds,
+                                                   Function<List<Long>, List<T>> loader,
+                                                   Function<T, List<ClubWarning>> calculator) {
+        List<ClubWarning> fresh = new ArrayList<>();
+        for (T entity : loader.apply(sourceIds)) {
+            fresh.addAll(calculator.apply(entity));
+        }
+        dropExpired(fresh);
+        return fresh;
+    }
+
+    private int rebuildClub(Long clubId) {
+        clubWarningRepository.deleteByClub(clubId);
+        List<ClubWarning> rows = new ArrayList<>();
+        scheduleRepository.findByClubClubId(clubId).forEach(schedule -> rows.addAll(scheduleWarnings(schedule)));
+        clubEquipmentRepository.findByClubClubId(clubId).forEach(equipment -> rows.addAll(equipmentWarnings(equipment)));
+        serviceHistoryPartRepository.findByServiceHistoryClubClubId(clubId).forEach(part -> rows.addAll(partWarnings(part)));
+        dropExpired(rows);
+        clubWarningRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    /**
+     * Окно показа уже закончилось — строку незачем хранить до ночного обхода.
+     */
+    private static void dropExpired(List<ClubWarning> warnings) {
+        LocalDate today = LocalDate.now();
+        warnings.removeIf(warning -> warning.getActiveUntil() != null && warning.getActiveUntil().isBefore(today));
+    }
+
+    private static void forEachChunk(Set<Long> ids, Consumer<List<Long>> action) {
+        List<Long> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+            action.accept(all.subList(from, Math.min(from + CHUNK_SIZE, all.size())));
+        }
+    }
+
+    /**
+     * Просрочка показывается со дня после планового срока, пока ТО не выполнено после него.
+     * «Скоро ТО» — за {@value #DUE_SOON_DAYS} дней до срока: для невыполненного ТО до самого срока,
+     * для уже выполненного — без ограничения, как и предупреждение о критичном оборудовании без ТО.
+     */
+    private List<ClubWarning> scheduleWarnings(EquipmentMaintenanceSchedule schedule) {
+        if (schedule.getClub() == null) {
+            return List.of();
+        }
+        List<ClubWarning> warnings = new ArrayList<>(3);
+        LocalDate scheduled = schedule.getScheduledDate();
+        LocalDate lastPerformed = schedule.getLastPerformed();
+        if (scheduled != null) {
+            boolean pending = lastPerformed == null || lastPerformed.isBefore(scheduled);
+            if (pending) {
+                warnings.add(scheduleWarning(schedule, "MAINTENANCE_OVERDUE",
+                        "Просроченное ТО для ", scheduled.plusDays(1), null));
+            }
+            warnings.add(scheduleWarning(schedule, "MAINTENANCE_DUE_SOON",
+                    "Скоро плановое ТО для ", scheduled.minusDays(DUE_SOON_DAYS), pending ? scheduled : null));
+        }
+        if (Boolean.TRUE.equals(schedule.getIsCritical()) && lastPerformed == null) {
+            warnings.add(scheduleWarning(schedule, "CRITICAL_MAINTENANCE_MISSING",
+                    "Критичное оборудование без запланированного ТО: ", null, null));
+        }
+        return warnings;
+    }
+
+    private ClubWarning scheduleWarning(EquipmentMaintenanceSchedule schedule,
+                                        String type,
+                                        String messagePrefix,
+                                        LocalDate activeFrom,
+                                        LocalDate activeUntil) {
+        return ClubWarning.builder()
+                .clubId(schedule.getClub().getClubId())
+                .sourceType(WarningSource.SCHEDULE)
+                .sourceId(schedule.getScheduleId())
+                .type(type)
+                .message(messagePrefix + readableEquipment(schedule))
+                .equipmentId(schedule.getEquipment() != null ? schedule.getEquipment().getEquipmentId() : null)
+                .scheduleId(schedule.getScheduleId())
+                .dueDate(schedule.getScheduledDate())
+                .activeFrom(activeFrom)
+                .activeUntil(activeUntil)
+                .build();
+    }
+
+    private List<ClubWarning> equipmentWarnings(ClubEquipment equipment) {
+        LocalDate next = equipment.getNextMaintenanceDate();
+        if (next == null || equipment.getClub() == null) {
+            return List.of();
+        }
+        return List.of(ClubWarning.builder()
+                .clubId(equipment.getClub().getClubId())
+                .sourceType(WarningSource.EQUIPMENT)
+                .sourceId(equipment.getEquipmentId())
+                .type("EQUIPMENT_NEXT_MAINTENANCE_OVERDUE")
+                .message("Истек плановый срок обслуживания оборудования "
+                        + Optional.ofNullable(equipment.getModel()).orElse("оборудование"))
+                .equipmentId(equipment.getEquipmentId())
+                .dueDate(next)
+                .activeFrom(next.plusDays(1))
+                .build());
+    }
+
+    private List<ClubWarning> partWarnings(ServiceHistoryPart part) {
+        if (part.getServiceHistory() == null || part.getServiceHistory().getClub() == null
+                || part.getPartsCatalog() == null || part.getPartsCatalog().getNormalServiceLife() == null
+                || part.getCreatedDate() == null) {
+            return List.of();
+        }
+        LocalDate due = part.getCreatedDate().toLocalDate().plusMonths(part.getPartsCatalog().getNormalServiceLife());
+        return List.of(ClubWarning.builder()
+                .clubId(part.getServiceHistory().getClub().getClubId())
+                .sourceType(WarningSource.SERVICE_PART)
+                .sourceId(part.getId())
+                .type("PART_SERVICE_LIFE_EXCEEDED")
+                .message("Превышен ресурс детали " + Optional.ofNullable(part.getPartName()).orElse(part.getCatalogNumber()))
+                .partCatalogId(part.getPartsCatalog().getCatalogId())
+                .dueDate(due)
+                .activeFrom(due.plusDays(1))
+                .build());
+    }
+
+    private String readableEquipment(EquipmentMaintenanceSchedule schedule) {
+        ClubEquipment eq = schedule.getEquipment();
+        if (eq == null) {
+            return "оборудования";
+        }
+        return Optional.ofNullable(eq.getModel()).orElse("оборудование") + " (ID " + eq.getEquipmentId() + ")";
+    }
+
+    private WarningDTO toDto(ClubWarning warning) {
+        return WarningDTO.builder()
+                .type(warning.getType())
+                .message(warning.getMessage())
+                .equipmentId(warning.getEquipmentId())
+                .scheduleId(warning.getScheduleId())
+                .partCatalogId(warning.getPartCatalogId())
+                .dueDate(warning.getDueDate())
+                .build();
+    }
+
+    private enum ChangeKind {
+        SCHEDULE,
+        EQUIPMENT,
+        SERVICE_PART,
+        SERVICE_HISTORY,
+        PARTS_CATALOG
+    }
+
+    private record Change(ChangeKind kind, Long id) {
+    }
+
+    private record Sources(Set<Long> scheduleIds, Set<Long> equipmentIds, Set<Long> partIds) {
+
+        Set<Long> ids(WarningSource source) {
+            return switch (source) {
+                case SCHEDULE -> scheduleIds;
+                case EQUIPMENT -> equipmentIds;
+                case SERVICE_PART -> partIds;
+            };
+        }
+    }
+
+    private record CachedWarnings(LocalDate day, List<WarningDTO> warnings) {
+    }
+
+    /**
+     * Источники, изменённые в текущей транзакции. После коммита они уходят в очередь пересчёта общей таблицы.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Set<Change> changes = new LinkedHashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OwnerWarningEngine.this);
+            if (status == STATUS_COMMITTED) {
+                enqueue(changes);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.bowling.bowlingapp.DTO.PartDto;
+import ru.bowling.bowlingapp.Entity.PartImage;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Repository.PartImageRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Service.EquipmentCategoryTreeCache.CategoryNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Собирает {@link PartDto} для целого набора складских позиций.
+ * Каталог и изображения подгружаются пакетно, категории берутся из снимка
+ * {@link EquipmentCategoryTreeCache}, поэтому число запросов не зависит от размера выборки.
+ */
+@Component
+@RequiredArgsConstructor
+public class PartDtoAssembler {
+
+    private final PartsCatalogRepository partsCatalogRepository;
+    private final PartImageRepository partImageRepository;
+    private final EquipmentCategoryTreeCache categoryTreeCache;
+
+    public PartDto assemble(PartsCatalog part, WarehouseInventory inventory) {
+        if (part == null || inventory == null) {
+            return null;
+        }
+        Map<Long, PartsCatalog> catalogById = new HashMap<>();
+        catalogById.put(part.getCatalogId(), part);
+        List<PartDto> result = assemble(List.of(inventory), catalogById);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * @param inventories складские позиции в требуемом порядке вывода
+     * @param knownCatalog уже загруженные каталожные позиции; недостающие будут подгружены одним запросом
+     */
+    public List<PartDto> assemble(List<WarehouseInventory> inventories, Map<Long, PartsCatalog> knownCatalog) {
+        if (inventories == null || inventories.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, PartsCatalog> catalogById = loadCatalog(inventories, knownCatalog);
+        if (catalogById.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, String> imageByCatalogId = loadImages(catalogById.keySet());
+        EquipmentCategoryTreeCache.Snapshot categories = categoryTreeCache.snapshot();
+
+        List<PartDto> result = new ArrayList<>(inventories.size());
+        for (WarehouseInventory inventory : inventories) {
+            if (inventory == null || inventory.getCatalogId() == null) {
+                continue;
+            }
+            PartsCatalog part = catalogById.get(inventory.getCatalogId().longValue());
+            if (part == null) {
+                continue;
+            }
+            result.add(toDto(part, inventory, imageByCatalogId.get(part.getCatalogId()),
+                    categories.resolve(part.getCategoryCode()).orElse(null)));
+        }
+        return result;
+    }
+
+    private Map<Long, PartsCatalog> loadCatalog(List<WarehouseInventory> inventories,
+                                                Map<Long, PartsCatalog> knownCatalog) {
+        Map<Long, PartsCatalog> catalogById = new HashMap<>();
+        if (knownCatalog != null) {
+            knownCatalog.forEach((id, part) -> {
+                if (id != null && part != null) {
+                    catalogById.put(id, part);
+                }
+            });
+        }
+        Set<Long> missing = inventories.stream()
+                .filter(Objects::nonNull)
+                .map(WarehouseInventory::getCatalogId)
+                .filter(Objects::nonNull)
+                .map(Integer::longValue)
+                .filter(id -> !catalogById.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            partsCatalogRepository.findAllById(missing)
+                    .forEach(part -> catalogById.put(part.getCatalogId(), part));
+        }
+        return catalogById;
+    }
+
+    private Map<Long, String> loadImages(Collection<Long> catalogIds) {
+        Map<Long, String> imageByCatalogId = new HashMap<>();
+        for (PartImage image : partImageRepository.findByCatalogIdInOrderByImageIdAsc(catalogIds)) {
+            if (image.getCatalogId() != null) {
+                imageByCatalogId.putIfAbsent(image.getCatalogId(), image.getImageUrl());
+            }
+        }
+        return imageByCatalogId;
+    }
+
+    private PartDto toDto(PartsCatalog part, WarehouseInventory inventory, String imageUrl, CategoryNode category) {
+        Integer quantity = Optional.ofNullable(inventory.getQuantity()).orElse(0);
+        return PartDto.builder()
+                .inventoryId(inventory.getInventoryId())
+                .catalogId(part.getCatalogId())
+                .officialNameEn(part.getOfficialNameEn())
+                .officialNameRu(part.getOfficialNameRu())
+                .commonName(part.getCommonName())
+                .description(part.getDescription())
+                .catalogNumber(part.getCatalogNumber())
+                .quantity(quantity)
+                .reservedQuantity(inventory.getReservedQuantity())
+                .location(inventory.getLocationReference())
+                .cellCode(inventory.getCellCode())
+                .shelfCode(inventory.getShelfCode())
+                .laneNumber(inventory.getLaneNumber())
+                .placementStatus(Optional.ofNullable(inventory.getPlacementStatus())
+                        .orElseGet(() -> resolvePlacementStatus(inventory)))
+                .warehouseId(inventory.getWarehouseId())
+                .unique(Boolean.TRUE.equals(inventory.getIsUnique()))
+                .lastChecked(inventory.getLastChecked())
+                .notes(inventory.getNotes())
+                .imageUrl(imageUrl)
+                .diagramUrl(null)
+                .equipmentNodeId(category != null ? category.id() : null)
+                .equipmentNodePath(category != null ? category.path() : Collections.emptyList())
+                .equipmentNodeName(category != null ? category.displayName() : null)
+                .compatibility(Collections.emptyList())
+                .build();
+    }
+
+    static String resolvePlacementStatus(WarehouseInventory inventory) {
+        if (inventory.getLaneNumber() != null) {
+            return "ON_LANE";
+        }
+        if (inventory.getLocationReference() != null && !inventory.getLocationReference().isBlank()) {
+            return "IN_WAREHOUSE";
+        }
+        if ((inventory.getCellCode() != null && !inventory.getCellCode().isBlank())
+                || (inventory.getShelfCode() != null && !inventory.getShelfCode().isBlank())) {
+            return "IN_WAREHOUSE";
+        }
+        return null;
+    }
+}
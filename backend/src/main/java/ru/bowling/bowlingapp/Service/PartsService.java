@@ -1,7 +1,6 @@
 package ru.bowling.bowlingapp.Service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -10,18 +9,20 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.bowling.bowlingapp.DTO.PartsCatalogCreateDTO;
 import ru.bowling.bowlingapp.DTO.PartsCatalogResponseDTO;
 import ru.bowling.bowlingapp.DTO.PartsSearchDTO;
-import ru.bowling.bowlingapp.Entity.EquipmentCategory;
+import ru.bowling.bowlingapp.DTO.PartsSearchPageDTO;
 import ru.bowling.bowlingapp.Entity.PartsCatalog;
 import ru.bowling.bowlingapp.Entity.WarehouseInventory;
 import ru.bowling.bowlingapp.Entity.enums.AvailabilityStatus;
-import ru.bowling.bowlingapp.Repository.EquipmentCategoryRepository;
 import ru.bowling.bowlingapp.Repository.EquipmentComponentRepository;
 import ru.bowling.bowlingapp.Repository.PartImageRepository;
 import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogSearchRepository;
 import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Service.EquipmentCategoryTreeCache.CategoryNode;
 
-import java.util.ArrayDeque;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -35,17 +36,29 @@ public class PartsService {
         private final PartsCatalogRepository partsCatalogRepository;
         private final WarehouseInventoryRepository warehouseInventoryRepository;
         private final PartImageRepository partImageRepository;
-        private final EquipmentCategoryRepository equipmentCategoryRepository;
+        private final EquipmentCategoryTreeCache categoryTreeCache;
         private final EquipmentComponentRepository equipmentComponentRepository;
 
         @Transactional(readOnly = true)
         public List<PartsCatalogResponseDTO> searchParts(PartsSearchDTO searchDTO) {
+                return searchPartsPage(searchDTO).getItems();
+        }
+
+        /**
+         * Текстовый запрос и фильтр по номеру обслуживает ранжированный поиск по каталогу с курсором
+         * следующей страницы; просмотр каталога без запроса сохраняет постраничную сортировку.
+         */
+        @Transactional(readOnly = true)
+        public PartsSearchPageDTO searchPartsPage(PartsSearchDTO searchDTO) {
                 String query = (searchDTO.getSearchQuery() != null && !searchDTO.getSearchQuery().isBlank())
                                 ? searchDTO.getSearchQuery().trim()
                                 : null;
                 String catalogNumberFilter = (searchDTO.getCatalogNumber() != null && !searchDTO.getCatalogNumber().isBlank())
                                 ? searchDTO.getCatalogNumber().trim()
                                 : null;
+                String cursor = (searchDTO.getCursor() != null && !searchDTO.getCursor().isBlank())
+                                ? searchDTO.getCursor().trim()
+                                : null;
                 Integer manufacturerId = (searchDTO.getManufacturerId() != null && searchDTO.getManufacturerId() > 0)
                                 ? searchDTO.getManufacturerId().intValue()
                                 : null;
@@ -57,41 +70,50 @@ public class PartsService {
                 String componentRootCode = resolveComponentCode(searchDTO.getComponentId());
                 String[] categoryCodes = resolveCategoryCodes(componentRootCode != null ? componentRootCode
                                 : normalizedCategoryCode);
-                Sort sort = Sort.by(resolveSortDirection(searchDTO.getSortDirection()),
-                                resolveSortBy(searchDTO.getSortBy()));
-                Pageable pageable = PageRequest.of(resolvePage(searchDTO.getPage()),
-                                resolvePageSize(searchDTO.getSize()), sort);
-
-                Page<PartsCatalog> page = partsCatalogRepository.search(query, manufacturerId, isUnique, categoryCodes, pageable);
-                List<PartsCatalog> parts = page.getContent();
-
-                if (parts.isEmpty() && categoryCodes != null && categoryCodes.length > 0) {
-                        Page<PartsCatalog> fallbackPage = partsCatalogRepository.search(query, manufacturerId, isUnique, null,
-                                        pageable);
-
-                        parts = fallbackPage.getContent().stream()
-                                        .filter(part -> part.getCategoryCode() != null)
-                                        .filter(part -> containsCategory(categoryCodes, part.getCategoryCode()))
-                                        .toList();
-                }
-                if (catalogNumberFilter != null) {
-                        String loweredFilter = catalogNumberFilter.toLowerCase();
-                        parts = parts.stream()
-                                        .filter(part -> part.getCatalogNumber() != null
-                                                        && part.getCatalogNumber().toLowerCase().contains(loweredFilter))
-                                        .toList();
-                }
-                if (query == null && catalogNumberFilter != null && parts.isEmpty()) {
-                        parts = partsCatalogRepository.findByCatalogNumberContainingIgnoreCase(catalogNumberFilter);
+                int pageSize = resolvePageSize(searchDTO.getSize());
+
+                List<PartsCatalog> parts;
+                String nextCursor = null;
+                if (query != null || catalogNumberFilter != null || cursor != null) {
+                        SearchCursor after = cursor != null ? SearchCursor.decode(cursor) : null;
+                        // Запрашиваем на одну строку больше, чтобы понять, есть ли следующая страница.
+                        List<PartsCatalogSearchRepository.RankedPart> ranked = partsCatalogRepository.searchRanked(
+                                        new PartsCatalogSearchRepository.SearchParams(
+                                                        query,
+                                                        catalogNumberFilter,
+                                                        manufacturerId,
+                                                        isUnique,
+                                                        categoryCodes != null ? List.of(categoryCodes) : List.of(),
+                                                        after != null ? after.score() : null,
+                                                        after != null ? after.catalogId() : null,
+                                                        after == null ? resolvePage(searchDTO.getPage()) * pageSize : 0,
+                                                        pageSize + 1));
+                        if (ranked.size() > pageSize) {
+                                PartsCatalogSearchRepository.RankedPart last = ranked.get(pageSize - 1);
+                                nextCursor = new SearchCursor(last.score(), last.part().getCatalogId()).encode();
+                                ranked = ranked.subList(0, pageSize);
+                        }
+                        parts = ranked.stream().map(PartsCatalogSearchRepository.RankedPart::part).toList();
+                } else {
+                        Sort sort = Sort.by(resolveSortDirection(searchDTO.getSortDirection()),
+                                        resolveSortBy(searchDTO.getSortBy()));
+                        Pageable pageable = PageRequest.of(resolvePage(searchDTO.getPage()), pageSize, sort);
+                        parts = partsCatalogRepository.browse(manufacturerId, isUnique, categoryCodes, pageable).getContent();
                 }
+
                 Map<Integer, Integer> totals = warehouseInventoryRepository
                                 .sumQuantitiesByCatalogIds(parts.stream().map(p -> p.getCatalogId().intValue()).toList())
                                 .stream().collect(Collectors.toMap(
                                         row -> (Integer) row[0],
 					row -> ((Number) row[1]).intValue()
 				));
-		return parts.stream().map(p -> convertToResponseDTO(p, totals.getOrDefault(p.getCatalogId().intValue(), 0)))
+		List<PartsCatalogResponseDTO> items = parts.stream()
+				.map(p -> convertToResponseDTO(p, totals.getOrDefault(p.getCatalogId().intValue(), 0)))
 				.collect(Collectors.toList());
+		return PartsSearchPageDTO.builder()
+				.items(items)
+				.nextCursor(nextCursor)
+				.build();
 	}
 
 	@Transactional(readOnly = true)
@@ -251,25 +273,12 @@ public class PartsService {
                 try {
                         Long rootId = Long.parseLong(normalizedCategoryCode);
 
-                        equipmentCategoryRepository.findByIdAndIsActiveTrue(rootId).ifPresent(root -> {
-                                ArrayDeque<EquipmentCategory> queue = new ArrayDeque<>();
-                                queue.add(root);
-
-                                while (!queue.isEmpty()) {
-                                        EquipmentCategory current = queue.poll();
-
-                                        if (current.getId() != null) {
-                                                rawCodes.add(current.getId().toString());
-                                        }
-                                        if (current.getCode() != null && !current.getCode().isBlank()) {
-                                                rawCodes.add(current.getCode());
-                                        }
-
-                                        equipmentCategoryRepository
-                                                        .findByParent_IdAndIsActiveTrueOrderBySortOrder(current.getId())
-                                                        .forEach(queue::add);
+                        for (CategoryNode node : categoryTreeCache.snapshot().subtree(rootId)) {
+                                rawCodes.add(node.id().toString());
+                                if (node.code() != null) {
+                                        rawCodes.add(node.code());
                                 }
-                        });
+                        }
 
                         if (rawCodes.isEmpty()) {
                                 rawCodes.add(normalizedCategoryCode);
@@ -291,19 +300,6 @@ public class PartsService {
                 return cleaned.isEmpty() ? null : cleaned.toArray(String[]::new);
         }
 
-        private boolean containsCategory(String[] categories, String candidate) {
-                if (candidate == null || categories == null || categories.length == 0) {
-                        return false;
-                }
-                String normalized = candidate.trim().toLowerCase();
-                for (String category : categories) {
-                        if (category != null && category.trim().toLowerCase().equals(normalized)) {
-                                return true;
-                        }
-                }
-                return false;
-        }
-
         private String resolveComponentCode(Long componentId) {
                 if (componentId == null) {
                         return null;
@@ -312,4 +308,26 @@ public class PartsService {
                                 .map(component -> component.getCode() != null ? component.getCode().trim() : null)
                                 .orElse(null);
         }
+
+        /**
+         * Позиция в ранжированной выдаче: оценка и catalog_id последней отданной строки.
+         */
+        private record SearchCursor(int score, long catalogId) {
+
+                String encode() {
+                        return Base64.getUrlEncoder().withoutPadding()
+                                        .encodeToString((score + ":" + catalogId).getBytes(StandardCharsets.UTF_8));
+                }
+
+                static SearchCursor decode(String value) {
+                        try {
+                                String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                                int separator = decoded.indexOf(':');
+                                return new SearchCursor(Integer.parseInt(decoded.substring(0, separator)),
+                                                Long.parseLong(decoded.substring(separator + 1)));
+                        } catch (RuntimeException ex) {
+                                throw new IllegalArgumentException("Некорректный курсор поиска запчастей");
+                        }
+                }
+        }
 }
@@ -1,10 +1,12 @@
 package ru.bowling.bowlingapp.Service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.bowling.bowlingapp.DTO.PurchaseOrderAcceptanceRequestDTO;
 import ru.bowling.bowlingapp.DTO.PurchaseOrderDetailDTO;
+import ru.bowling.bowlingapp.DTO.PurchaseOrderPageDTO;
 import ru.bowling.bowlingapp.DTO.PurchaseOrderPartDTO;
 import ru.bowling.bowlingapp.DTO.PurchaseOrderSummaryDTO;
 import ru.bowling.bowlingapp.DTO.SupplierComplaintRequestDTO;
@@ -18,21 +20,21 @@ import ru.bowling.bowlingapp.Entity.PurchaseOrder;
 import ru.bowling.bowlingapp.Entity.RequestPart;
 import ru.bowling.bowlingapp.Entity.Supplier;
 import ru.bowling.bowlingapp.Entity.SupplierReview;
-import ru.bowling.bowlingapp.Entity.WarehouseInventory;
 import ru.bowling.bowlingapp.Entity.enums.PartStatus;
 import ru.bowling.bowlingapp.Entity.enums.PurchaseOrderStatus;
 import ru.bowling.bowlingapp.Entity.enums.SupplierComplaintStatus;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
 import ru.bowling.bowlingapp.Repository.PersonalWarehouseRepository;
 import ru.bowling.bowlingapp.Repository.PurchaseOrderRepository;
 import ru.bowling.bowlingapp.Repository.SupplierRepository;
 import ru.bowling.bowlingapp.Repository.SupplierReviewRepository;
-import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Repository.projection.PurchaseOrderSummaryProjection;
 
-import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
@@ -45,18 +47,29 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PurchaseOrderService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final SupplierReviewRepository supplierReviewRepository;
     private final ClubWarehouseService clubWarehouseService;
     private final SupplierRepository supplierRepository;
-    private final WarehouseInventoryRepository warehouseInventoryRepository;
     private final PersonalWarehouseRepository personalWarehouseRepository;
-
+    private final GoodsReceiptPoster goodsReceiptPoster;
+
+    /**
+     * Список заказов от новых к старым с keyset-пагинацией по (order_date, order_id). Фильтры по статусу,
+     * клубу и признакам отзыва/претензии применяет база, строки собираются из проекции без загрузки
+     * заказов, позиций и отзывов. Без размера отдаётся страница по умолчанию; следующие клиент запрашивает
+     * по курсору из {@code X-Next-Cursor}.
+     */
     @Transactional(readOnly = true)
-    public List<PurchaseOrderSummaryDTO> getOrders(Long clubId, boolean archived,
-                                                   PurchaseOrderStatus status,
-                                                   Boolean hasComplaint,
-                                                   Boolean hasReview) {
+    public PurchaseOrderPageDTO getOrders(Long clubId, boolean archived,
+                                          PurchaseOrderStatus status,
+                                          Boolean hasComplaint,
+                                          Boolean hasReview,
+                                          String cursor,
+                                          Integer size) {
         Collection<PurchaseOrderStatus> statusFilter;
         if (status != null) {
             statusFilter = List.of(status);
@@ -70,50 +83,28 @@ public class PurchaseOrderService {
                     PurchaseOrderStatus.CONFIRMED);
         }
 
-        List<PurchaseOrder> orders = clubId != null
-                ? purchaseOrderRepository.findByMaintenanceRequest_Club_ClubIdAndStatusIn(clubId, statusFilter)
-                : purchaseOrderRepository.findByStatusIn(statusFilter);
-
-        Map<Long, List<SupplierReview>> reviewsByOrder = loadReviewsGrouped(orders);
-
-        return orders.stream()
-                .map(order -> toSummary(order, reviewsByOrder.get(order.getOrderId())))
-                .filter(dto -> filterByFlag(dto, hasComplaint, hasReview))
-                .sorted(Comparator.comparing(PurchaseOrderSummaryDTO::getOrderDate,
-                        Comparator.nullsLast(Comparator.naturalOrder())).reversed())
-                .collect(Collectors.toList());
-    }
-
-    private boolean filterByFlag(PurchaseOrderSummaryDTO dto, Boolean hasComplaint, Boolean hasReview) {
-        if (hasComplaint != null && hasComplaint && !dto.isHasComplaint()) {
-            return false;
-        }
-        if (hasComplaint != null && !hasComplaint && dto.isHasComplaint()) {
-            return false;
-        }
-        if (hasReview != null && hasReview && !dto.isHasReview()) {
-            return false;
-        }
-        if (hasReview != null && !hasReview && dto.isHasReview()) {
-            return false;
-        }
-        return true;
+        int pageSize = resolvePageSize(size);
+        OrderCursor after = cursor != null && !cursor.isBlank() ? OrderCursor.decode(cursor.trim()) : null;
+        List<PurchaseOrderSummaryProjection> rows = purchaseOrderRepository.findSummaries(statusFilter, clubId,
+                hasComplaint, hasReview,
+                after != null ? after.orderDate() : null,
+                after != null ? after.orderId() : null,
+                PageRequest.ofSize(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<PurchaseOrderSummaryProjection> page = hasMore ? rows.subList(0, pageSize) : rows;
+        PurchaseOrderSummaryProjection last = hasMore ? page.get(page.size() - 1) : null;
+        return PurchaseOrderPageDTO.builder()
+                .items(page.stream().map(this::toSummary).toList())
+                .nextCursor(last != null ? new OrderCursor(last.getOrderDate(), last.getOrderId()).encode() : null)
+                .size(pageSize)
+                .build();
     }
 
-    private Map<Long, List<SupplierReview>> loadReviewsGrouped(List<PurchaseOrder> orders) {
-        if (orders == null || orders.isEmpty()) {
-            return Map.of();
+    private int resolvePageSize(Integer requestedSize) {
+        if (requestedSize == null || requestedSize <= 0) {
+            return DEFAULT_PAGE_SIZE;
         }
-        List<Long> orderIds = orders.stream()
-                .map(PurchaseOrder::getOrderId)
-                .filter(Objects::nonNull)
-                .toList();
-        if (orderIds.isEmpty()) {
-            return Map.of();
-        }
-        return supplierReviewRepository.findByPurchaseOrder_OrderIdIn(orderIds).stream()
-                .filter(review -> review.getPurchaseOrder() != null && review.getPurchaseOrder().getOrderId() != null)
-                .collect(Collectors.groupingBy(review -> review.getPurchaseOrder().getOrderId()));
+        return Math.min(requestedSize, MAX_PAGE_SIZE);
     }
 
     @Transactional(readOnly = true)
@@ -296,32 +287,22 @@ public class PurchaseOrderService {
         return toDetail(order, reviews);
     }
 
-    private PurchaseOrderSummaryDTO toSummary(PurchaseOrder order, List<SupplierReview> reviews) {
-        Supplier supplier = order.getSupplier();
-        MaintenanceRequest maintenanceRequest = order.getMaintenanceRequest();
-        BowlingClub club = maintenanceRequest != null ? maintenanceRequest.getClub() : null;
-        List<RequestPart> parts = Optional.ofNullable(order.getOrderedParts()).orElseGet(List::of);
-        int acceptedPositions = (int) parts.stream()
-                .filter(part -> part.getAcceptedQuantity() != null && part.getAcceptedQuantity() > 0)
-                .count();
-        boolean hasReview = reviews != null && reviews.stream().anyMatch(review -> !Boolean.TRUE.equals(review.getIsComplaint()));
-        boolean hasComplaint = reviews != null && reviews.stream().anyMatch(review -> Boolean.TRUE.equals(review.getIsComplaint()));
-
+    private PurchaseOrderSummaryDTO toSummary(PurchaseOrderSummaryProjection row) {
         return PurchaseOrderSummaryDTO.builder()
-                .orderId(order.getOrderId())
-                .requestId(maintenanceRequest != null ? maintenanceRequest.getRequestId() : null)
-                .clubId(club != null ? club.getClubId() : null)
-                .clubName(club != null ? club.getName() : null)
-                .supplierName(supplier != null ? supplier.getLegalName() : null)
-                .supplierInn(supplier != null ? supplier.getInn() : null)
-                .status(order.getStatus())
-                .orderDate(order.getOrderDate())
-                .expectedDeliveryDate(order.getExpectedDeliveryDate())
-                .actualDeliveryDate(order.getActualDeliveryDate())
-                .totalPositions(parts.size())
-                .acceptedPositions(acceptedPositions)
-                .hasReview(hasReview)
-                .hasComplaint(hasComplaint)
+                .orderId(row.getOrderId())
+                .requestId(row.getRequestId())
+                .clubId(row.getClubId())
+                .clubName(row.getClubName())
+                .supplierName(row.getSupplierName())
+                .supplierInn(row.getSupplierInn())
+                .status(row.getStatus())
+                .orderDate(row.getOrderDate())
+                .expectedDeliveryDate(row.getExpectedDeliveryDate())
+                .actualDeliveryDate(row.getActualDeliveryDate())
+                .totalPositions(Optional.ofNullable(row.getTotalPositions()).orElse(0L).intValue())
+                .acceptedPositions(Optional.ofNullable(row.getAcceptedPositions()).orElse(0L).intValue())
+                .hasReview(Boolean.TRUE.equals(row.getHasReview()))
+                .hasComplaint(Boolean.TRUE.equals(row.getHasComplaint()))
                 .build();
     }
 
@@ -417,100 +398,75 @@ public class PurchaseOrderService {
         return supplier;
     }
 
+    /**
+     * Проводит принятые позиции заказа одним поступлением на склад клуба или личный склад механика.
+     * Изменения позиций заявки сбрасываются пакетом при коммите (hibernate.jdbc.batch_size).
+     */
     private void placeAcceptedParts(MaintenanceRequest request,
                                     Map<Long, PurchaseOrderAcceptanceRequestDTO.PartAcceptanceDTO> acceptanceByPart,
                                     List<RequestPart> parts) {
         if (parts == null || parts.isEmpty()) {
             return;
         }
+        List<RequestPart> received = parts.stream()
+                .filter(part -> part != null && part.getAcceptedQuantity() != null && part.getAcceptedQuantity() > 0
+                        && part.getCatalogId() != null)
+                .toList();
+        if (received.isEmpty()) {
+            return;
+        }
         BowlingClub club = request != null ? request.getClub() : null;
         MechanicProfile mechanic = request != null ? request.getMechanic() : null;
-        Integer personalWarehouseId = null;
-        if (club == null && mechanic != null) {
-            personalWarehouseId = ensurePersonalWarehouse(mechanic);
+        Integer targetWarehouseId = null;
+        if (club != null && club.getClubId() != null) {
+            targetWarehouseId = Math.toIntExact(club.getClubId());
+        } else if (mechanic != null) {
+            targetWarehouseId = ensurePersonalWarehouse(mechanic);
         }
-        for (RequestPart part : parts) {
-            if (part == null || part.getAcceptedQuantity() == null || part.getAcceptedQuantity() <= 0
-                    || part.getCatalogId() == null) {
-                continue;
-            }
+        if (targetWarehouseId == null) {
+            return;
+        }
+
+        List<GoodsReceiptPoster.Line> lines = new ArrayList<>(received.size());
+        for (RequestPart part : received) {
             PurchaseOrderAcceptanceRequestDTO.PartAcceptanceDTO acceptance = acceptanceByPart.get(part.getPartId());
-            Integer targetWarehouseId = club != null && club.getClubId() != null
-                    ? Math.toIntExact(club.getClubId())
-                    : personalWarehouseId;
-            if (targetWarehouseId == null) {
-                continue;
-            }
-            WarehouseInventory inventory = updateOrCreateInventory(targetWarehouseId,
-                    part.getCatalogId().intValue(),
-                    part.getAcceptedQuantity(),
-                    acceptance);
+            lines.add(new GoodsReceiptPoster.Line(part.getCatalogId().intValue(), part.getAcceptedQuantity(),
+                    acceptance != null ? acceptance.getStorageLocation() : null,
+                    acceptance != null ? acceptance.getShelfCode() : null,
+                    acceptance != null ? acceptance.getCellCode() : null,
+                    acceptance != null ? acceptance.getPlacementNotes() : null));
+        }
+        Map<Integer, GoodsReceiptPoster.Posting> postings = goodsReceiptPoster.post(targetWarehouseId,
+                WarehouseMovementType.PURCHASE_ACCEPTANCE, request != null ? request.getRequestId() : null, lines);
+
+        for (RequestPart part : received) {
             part.setWarehouseId(targetWarehouseId);
-            if (inventory != null) {
-                part.setInventoryId(inventory.getInventoryId());
-                part.setInventoryLocation(buildInventoryLocation(inventory, acceptance));
+            GoodsReceiptPoster.Posting posting = postings.get(part.getCatalogId().intValue());
+            if (posting != null) {
+                part.setInventoryId(posting.inventoryId());
+                part.setInventoryLocation(buildInventoryLocation(posting, acceptanceByPart.get(part.getPartId())));
                 part.setIsAvailable(Boolean.TRUE);
             }
         }
     }
 
-    private String buildInventoryLocation(WarehouseInventory inventory,
+    private String buildInventoryLocation(GoodsReceiptPoster.Posting posting,
                                           PurchaseOrderAcceptanceRequestDTO.PartAcceptanceDTO acceptance) {
         List<String> tokens = new ArrayList<>();
         if (acceptance != null && acceptance.getStorageLocation() != null) {
             tokens.add(acceptance.getStorageLocation());
         }
-        if (inventory != null) {
-            if (inventory.getShelfCode() != null) {
-                tokens.add("shelf: " + inventory.getShelfCode());
+        if (posting != null) {
+            if (posting.shelfCode() != null) {
+                tokens.add("shelf: " + posting.shelfCode());
             }
-            if (inventory.getCellCode() != null) {
-                tokens.add("cell: " + inventory.getCellCode());
+            if (posting.cellCode() != null) {
+                tokens.add("cell: " + posting.cellCode());
             }
         }
         return String.join(", ", tokens);
     }
 
-    private WarehouseInventory updateOrCreateInventory(Integer warehouseId,
-                                                       Integer catalogId,
-                                                       Integer quantity,
-                                                       PurchaseOrderAcceptanceRequestDTO.PartAcceptanceDTO acceptance) {
-        if (warehouseId == null || catalogId == null || quantity == null || quantity <= 0) {
-            return null;
-        }
-        WarehouseInventory inventory = warehouseInventoryRepository
-                .findFirstByWarehouseIdAndCatalogId(warehouseId, catalogId);
-        if (inventory == null) {
-            inventory = WarehouseInventory.builder()
-                    .warehouseId(warehouseId)
-                    .catalogId(catalogId)
-                    .quantity(quantity)
-                    .lastChecked(LocalDate.now())
-                    .build();
-        } else {
-            int currentQty = Optional.ofNullable(inventory.getQuantity()).orElse(0);
-            inventory.setQuantity(currentQty + quantity);
-            if (inventory.getLastChecked() == null) {
-                inventory.setLastChecked(LocalDate.now());
-            }
-        }
-        if (acceptance != null) {
-            if (acceptance.getStorageLocation() != null) {
-                inventory.setLocationReference(acceptance.getStorageLocation());
-            }
-            if (acceptance.getShelfCode() != null) {
-                inventory.setShelfCode(acceptance.getShelfCode());
-            }
-            if (acceptance.getCellCode() != null) {
-                inventory.setCellCode(acceptance.getCellCode());
-            }
-            if (acceptance.getPlacementNotes() != null) {
-                inventory.setNotes(acceptance.getPlacementNotes());
-            }
-        }
-        return warehouseInventoryRepository.save(inventory);
-    }
-
     private Integer ensurePersonalWarehouse(MechanicProfile mechanicProfile) {
         return personalWarehouseRepository.findByMechanicProfile_ProfileIdAndIsActiveTrue(mechanicProfile.getProfileId())
                 .stream()
@@ -572,4 +528,26 @@ public class PurchaseOrderService {
                 .createdAt(review.getReviewDate())
                 .build();
     }
+
+    /**
+     * Позиция в списке заказов: order_date и order_id последней отданной строки.
+     */
+    private record OrderCursor(LocalDateTime orderDate, long orderId) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((orderDate + "|" + orderId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static OrderCursor decode(String value) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf('|');
+                return new OrderCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+        }
+    }
 }
@@ -3,6 +3,7 @@ package ru.bowling.bowlingapp.Service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,12 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ServiceHistoryService {
 
+    /**
+     * Полные списки сроков заменены оповещениями {@link DueAlertSweeper}: выборки для экранов возвращают
+     * не более стольких записей — ближайшие по сроку.
+     */
+    private static final int MAX_DUE_LIST_SIZE = 500;
+
     private final ServiceHistoryRepository serviceHistoryRepository;
     private final ServiceHistoryPartRepository serviceHistoryPartRepository;
     private final MechanicProfileRepository mechanicProfileRepository;
@@ -118,9 +125,13 @@ public class ServiceHistoryService {
         return serviceHistoryRepository.findByServiceDateBetweenOrderByServiceDateDesc(startDate, endDate);
     }
 
+    /**
+     * Действующие гарантии, ближайшие к окончанию первыми; не более {@value #MAX_DUE_LIST_SIZE} записей.
+     */
     @Transactional(readOnly = true)
     public List<ServiceHistory> getRecordsWithActiveWarranty() {
-        return serviceHistoryRepository.findByWarrantyUntilAfterOrderByWarrantyUntilAsc(LocalDateTime.now());
+        return serviceHistoryRepository.findByWarrantyUntilAfterOrderByWarrantyUntilAsc(LocalDateTime.now(),
+                PageRequest.ofSize(MAX_DUE_LIST_SIZE));
     }
 
     @Transactional(readOnly = true)
@@ -128,10 +139,15 @@ public class ServiceHistoryService {
         return serviceHistoryRepository.findByNextServiceDueBeforeOrderByNextServiceDueAsc(LocalDateTime.now());
     }
 
+    /**
+     * Записи со сроком обслуживания до «сейчас + daysAhead», включая уже просроченные, в порядке срока;
+     * не более {@value #MAX_DUE_LIST_SIZE} записей.
+     */
     @Transactional(readOnly = true)
     public List<ServiceHistory> getUpcomingServiceDue(int daysAhead) {
         LocalDateTime futureDate = LocalDateTime.now().plusDays(daysAhead);
-        return serviceHistoryRepository.findByNextServiceDueBeforeOrderByNextServiceDueAsc(futureDate);
+        return serviceHistoryRepository.findByNextServiceDueBeforeOrderByNextServiceDueAsc(futureDate,
+                PageRequest.ofSize(MAX_DUE_LIST_SIZE));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,222 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Repository.projection.StockLevelProjection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Атомарное резервирование остатков.
+ * <p>
+ * quantity — физический остаток позиции, reserved_quantity — его зарезервированная часть,
+ * свободно quantity - reserved_quantity. Каждая операция — условный UPDATE одной строки
+ * (см. {@link WarehouseInventoryRepository#reserveIfAvailable}), поэтому чтение-изменение-запись
+ * в Java и блокировки не нужны. Все строки запроса выполняются в одной транзакции: если хотя бы
+ * одну поставить не удалось, откатываются все. Каждое изменение пишется в журнал {@link WarehouseLedger}
+ * в той же транзакции.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final WarehouseInventoryRepository warehouseInventoryRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final WarehouseLedger warehouseLedger;
+
+    /**
+     * @param reserved для выдачи — сколько из {@code quantity} покрывает собственный резерв вызывающего;
+     *                 для резерва и снятия резерва не используется
+     */
+    public record Line(Long catalogId, int quantity, int reserved) {
+
+        public Line(Long catalogId, int quantity) {
+            this(catalogId, quantity, 0);
+        }
+    }
+
+    public record Allocation(Long catalogId, Long inventoryId, Integer warehouseId, int quantity) {
+    }
+
+    private enum Operation {
+        RESERVE, RELEASE, ISSUE
+    }
+
+    /**
+     * @param allowedWarehouseIds склады, из которых можно резервировать; {@code null} — любые
+     * @param preferredWarehouseId склад, который пробуется первым; {@code null} — без предпочтения
+     */
+    public List<Allocation> reserve(Collection<Integer> allowedWarehouseIds, Integer preferredWarehouseId, List<Line> lines) {
+        return reserve(allowedWarehouseIds, preferredWarehouseId, lines, null);
+    }
+
+    /**
+     * @param requestId заявка на обслуживание, к которой относится движение в журнале; {@code null} — без заявки
+     */
+    public List<Allocation> reserve(Collection<Integer> allowedWarehouseIds, Integer preferredWarehouseId,
+                                    List<Line> lines, Long requestId) {
+        return execute(Operation.RESERVE, allowedWarehouseIds, preferredWarehouseId, lines, requestId);
+    }
+
+    public List<Allocation> release(Collection<Integer> allowedWarehouseIds, Integer preferredWarehouseId, List<Line> lines) {
+        return release(allowedWarehouseIds, preferredWarehouseId, lines, null);
+    }
+
+    public List<Allocation> release(Collection<Integer> allowedWarehouseIds, Integer preferredWarehouseId,
+                                    List<Line> lines, Long requestId) {
+        return execute(Operation.RELEASE, allowedWarehouseIds, preferredWarehouseId, lines, requestId);
+    }
+
+    /**
+     * Списывает выданные запчасти: {@link Line#reserved()} единиц — из собственного резерва, остальное —
+     * из свободного остатка. Чужие резервы позиции не расходуются. Собственный резерв списывается только
+     * с предпочтительного склада — того, на котором он был поставлен.
+     */
+    public List<Allocation> issue(Collection<Integer> allowedWarehouseIds, Integer preferredWarehouseId, List<Line> lines) {
+        return issue(allowedWarehouseIds, preferredWarehouseId, lines, null);
+    }
+
+    public List<Allocation> issue(Collection<Integer> allowedWarehouseIds, Integer preferredWarehouseId,
+                                  List<Line> lines, Long requestId) {
+        return execute(Operation.ISSUE, allowedWarehouseIds, preferredWarehouseId, lines, requestId);
+    }
+
+    private List<Allocation> execute(Operation operation, Collection<Integer> allowedWarehouseIds,
+                                     Integer preferredWarehouseId, List<Line> lines, Long requestId) {
+        validate(lines);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Внутри чужой транзакции повторять нельзя: при ошибке она уже помечена на откат.
+            return apply(operation, allowedWarehouseIds, preferredWarehouseId, lines, requestId);
+        }
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return template.execute(status -> apply(operation, allowedWarehouseIds, preferredWarehouseId, lines, requestId));
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Retrying stock {} after lock conflict (attempt {})", operation, attempt, ex);
+            }
+        }
+    }
+
+    private List<Allocation> apply(Operation operation, Collection<Integer> allowedWarehouseIds,
+                                   Integer preferredWarehouseId, List<Line> lines, Long requestId) {
+        List<Integer> catalogIds = lines.stream()
+                .map(line -> Math.toIntExact(line.catalogId()))
+                .distinct()
+                .toList();
+        Map<Integer, List<StockLevelProjection>> candidatesByCatalog = new LinkedHashMap<>();
+        for (StockLevelProjection level : warehouseInventoryRepository.findStockLevelsByCatalogIds(catalogIds)) {
+            if (allowedWarehouseIds != null && !allowedWarehouseIds.contains(level.getWarehouseId())) {
+                continue;
+            }
+            candidatesByCatalog.computeIfAbsent(level.getCatalogId(), key -> new ArrayList<>()).add(level);
+        }
+
+        List<Allocation> allocations = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            List<StockLevelProjection> candidates = candidatesByCatalog.getOrDefault(
+                    Math.toIntExact(line.catalogId()), List.of());
+            if (candidates.isEmpty()) {
+                throw new IllegalStateException("Запчасть " + line.catalogId() + " отсутствует на доступных складах");
+            }
+            Allocation allocation = null;
+            for (StockLevelProjection candidate : ordered(operation, candidates, preferredWarehouseId)) {
+                if (line.reserved() > 0 && !Objects.equals(candidate.getWarehouseId(), preferredWarehouseId)) {
+                    continue;
+                }
+                if (update(operation, candidate.getInventoryId(), line) == 1) {
+                    record(operation, candidate.getInventoryId(), line, requestId);
+                    allocation = new Allocation(line.catalogId(), candidate.getInventoryId(),
+                            candidate.getWarehouseId(), line.quantity());
+                    break;
+                }
+            }
+            if (allocation == null) {
+                throw new IllegalStateException(switch (operation) {
+                    case RELEASE -> "Резерв запчасти " + line.catalogId() + " меньше " + line.quantity();
+                    case RESERVE, ISSUE -> "Недостаточно остатков запчасти " + line.catalogId()
+                            + " для количества " + line.quantity();
+                });
+            }
+            allocations.add(allocation);
+        }
+        return allocations;
+    }
+
+    private int update(Operation operation, Long inventoryId, Line line) {
+        return switch (operation) {
+            case RESERVE -> warehouseInventoryRepository.reserveIfAvailable(inventoryId, line.quantity());
+            case RELEASE -> warehouseInventoryRepository.releaseIfReserved(inventoryId, line.quantity());
+            case ISSUE -> warehouseInventoryRepository.issueIfAvailable(inventoryId, line.quantity(), line.reserved());
+        };
+    }
+
+    /**
+     * Дельты — ровно то, что изменил условный UPDATE; остаток после движения журнал читает из базы.
+     */
+    private void record(Operation operation, Long inventoryId, Line line, Long requestId) {
+        switch (operation) {
+            case RESERVE -> warehouseLedger.recordLevels(inventoryId, WarehouseMovementType.RESERVE,
+                    0, line.quantity(), requestId, null);
+            case RELEASE -> warehouseLedger.recordLevels(inventoryId, WarehouseMovementType.RELEASE,
+                    0, -line.quantity(), requestId, null);
+            case ISSUE -> warehouseLedger.recordLevels(inventoryId, WarehouseMovementType.ISSUE,
+                    -line.quantity(), -line.reserved(), requestId, null);
+        }
+    }
+
+    /**
+     * Порядок попыток: предпочтительный склад, затем строки с наибольшим запасом для операции.
+     * Снимок остатков может устареть — окончательно решает условный UPDATE.
+     */
+    private List<StockLevelProjection> ordered(Operation operation, List<StockLevelProjection> candidates,
+                                               Integer preferredWarehouseId) {
+        ToIntFunction<StockLevelProjection> headroom = switch (operation) {
+            case RESERVE, ISSUE -> level -> level.getQuantity() - level.getReservedQuantity();
+            case RELEASE -> StockLevelProjection::getReservedQuantity;
+        };
+        Comparator<StockLevelProjection> order = Comparator
+                .comparing((StockLevelProjection level) -> !Objects.equals(level.getWarehouseId(), preferredWarehouseId))
+                .thenComparing(Comparator.comparingInt(headroom).reversed());
+        return candidates.stream()
+                .sorted(order.thenComparing(StockLevelProjection::getInventoryId))
+                .toList();
+    }
+
+    private void validate(List<Line> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Не указаны позиции для резерва");
+        }
+        for (Line line : lines) {
+            if (line == null || line.catalogId() == null) {
+                throw new IllegalArgumentException("Не указана запчасть");
+            }
+            if (line.quantity() <= 0) {
+                throw new IllegalArgumentException("Количество должно быть положительным");
+            }
+            if (line.reserved() < 0 || line.reserved() > line.quantity()) {
+                throw new IllegalArgumentException("Резерв списания должен быть от 0 до количества");
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ru.bowling.bowlingapp.Service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.ClubAccessCacheStatsDTO;
 import ru.bowling.bowlingapp.Entity.*;
 import ru.bowling.bowlingapp.Enum.AccountTypeName;
 import ru.bowling.bowlingapp.Enum.RoleName;
@@ -24,25 +25,67 @@ public class UserClubAccessService {
     private final BowlingClubRepository bowlingClubRepository;
     private final ClubStaffRepository clubStaffRepository;
     private final ClubInvitationRepository clubInvitationRepository;
+    private final ClubAccessSnapshotCache snapshotCache;
 
     @Transactional(readOnly = true)
     public List<Long> resolveAccessibleClubIds(Long userId) {
-        User user = userId != null ? userRepository.findById(userId).orElse(null) : null;
-        return resolveAccessibleClubIds(user);
+        if (userId == null) {
+            return List.of();
+        }
+        return snapshotCache.get(userId, () -> loadSnapshot(userRepository.findById(userId).orElse(null)))
+                .getClubIds();
     }
 
     @Transactional(readOnly = true)
     public List<Long> resolveAccessibleClubIds(User user) {
+        return getAccessSnapshot(user).getClubIds();
+    }
+
+    /**
+     * Снимок доступа пользователя к клубам. Повторные вызовы в пределах TTL берутся из кэша,
+     * который сбрасывается при изменении персонала, приглашений, профилей и владельцев клубов.
+     */
+    @Transactional(readOnly = true)
+    public ClubAccessSnapshot getAccessSnapshot(User user) {
+        if (user == null) {
+            return ClubAccessSnapshot.EMPTY;
+        }
+        return snapshotCache.get(user.getUserId(), () -> loadSnapshot(user));
+    }
+
+    @Transactional(readOnly = true)
+    public ClubAccessSnapshot getAccessSnapshot(Long userId) {
+        if (userId == null) {
+            return ClubAccessSnapshot.EMPTY;
+        }
+        return snapshotCache.get(userId, () -> loadSnapshot(userRepository.findById(userId).orElse(null)));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasClubAccess(User user, Long clubId) {
+        if (clubId == null) {
+            return false;
+        }
+        return getAccessSnapshot(user).hasClubAccess(clubId);
+    }
+
+    public ClubAccessCacheStatsDTO getCacheStats() {
+        return snapshotCache.stats();
+    }
+
+    private ClubAccessSnapshot loadSnapshot(User user) {
         if (user == null || user.getRole() == null || user.getRole().getName() == null) {
-            return List.of();
+            return ClubAccessSnapshot.EMPTY;
         }
 
         RoleName roleName = RoleName.from(user.getRole().getName());
+        AccountTypeName accountType = resolveAccountType(user);
         if (roleName == RoleName.ADMIN) {
-            return bowlingClubRepository.findAll().stream()
+            List<Long> allClubIds = bowlingClubRepository.findAll().stream()
                     .map(BowlingClub::getClubId)
                     .filter(Objects::nonNull)
                     .toList();
+            return new ClubAccessSnapshot(user.getUserId(), roleName, accountType, null, allClubIds);
         }
 
         Set<Long> clubIds = new LinkedHashSet<>();
@@ -53,7 +96,6 @@ public class UserClubAccessService {
         ManagerProfile managerProfile = managerProfileRepository.findByUser_UserId(user.getUserId()).orElse(null);
 
         if (mechanicProfile != null && roleName == RoleName.MECHANIC) {
-            AccountTypeName accountType = resolveAccountType(user);
             if (accountType == AccountTypeName.INDIVIDUAL) {
                 clubStaffRepository.findByUserUserIdAndIsActiveTrue(user.getUserId())
                         .forEach(staff -> clubIds.add(staff.getClub().getClubId()));
@@ -80,15 +122,8 @@ public class UserClubAccessService {
                     .forEach(clubIds::add);
         }
 
-        return clubIds.stream().toList();
-    }
-
-    @Transactional(readOnly = true)
-    public boolean hasClubAccess(User user, Long clubId) {
-        if (clubId == null) {
-            return false;
-        }
-        return resolveAccessibleClubIds(user).contains(clubId);
+        return new ClubAccessSnapshot(user.getUserId(), roleName, accountType,
+                mechanicProfile != null ? mechanicProfile.getProfileId() : null, clubIds);
     }
 
     private AccountTypeName resolveAccountType(User user) {
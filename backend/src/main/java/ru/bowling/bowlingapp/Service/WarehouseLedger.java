@@ -0,0 +1,197 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.WarehouseBalanceDto;
+import ru.bowling.bowlingapp.DTO.WarehouseMovementDto;
+import ru.bowling.bowlingapp.DTO.WarehouseMovementPageDTO;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Entity.WarehouseMovement;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseMovementRepository;
+import ru.bowling.bowlingapp.Repository.projection.StockLevelProjection;
+import ru.bowling.bowlingapp.Repository.specification.WarehouseMovementSpecifications;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Журнал складских движений.
+ * <p>
+ * Запись идёт только внутри транзакции, изменившей остаток ({@link Propagation#MANDATORY}): строка журнала
+ * и изменение остатка фиксируются или откатываются вместе. В строке хранится остаток позиции после движения,
+ * поэтому журнал сам ведёт остатки нарастающим итогом: «движения склада за период» и «остаток на дату» —
+ * выборки по диапазону индекса, без свёртки всей истории.
+ */
+@Service
+@RequiredArgsConstructor
+public class WarehouseLedger {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final WarehouseMovementRepository warehouseMovementRepository;
+    private final WarehouseInventoryRepository warehouseInventoryRepository;
+
+    /**
+     * Записывает движение по сохранённой сущности: остаток после движения берётся из неё.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(WarehouseInventory inventory, WarehouseMovementType type,
+                       int quantityDelta, int reservedDelta, Long requestId, String comment) {
+        if (inventory == null || inventory.getInventoryId() == null || (quantityDelta == 0 && reservedDelta == 0)) {
+            return;
+        }
+        warehouseMovementRepository.save(WarehouseMovement.builder()
+                .warehouseId(inventory.getWarehouseId())
+                .catalogId(inventory.getCatalogId())
+                .inventoryId(inventory.getInventoryId())
+                .operationType(type)
+                .quantityDelta(quantityDelta)
+                .reservedDelta(reservedDelta)
+                .quantityAfter(Optional.ofNullable(inventory.getQuantity()).orElse(0))
+                .reservedAfter(Optional.ofNullable(inventory.getReservedQuantity()).orElse(0))
+                .requestId(requestId)
+                .comment(comment)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Записывает движение после условного UPDATE: остаток после движения читается из базы.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordLevels(Long inventoryId, WarehouseMovementType type,
+                             int quantityDelta, int reservedDelta, Long requestId, String comment) {
+        StockLevelProjection level = warehouseInventoryRepository.findStockLevelByInventoryId(inventoryId)
+                .orElseThrow(() -> new IllegalStateException("Позиция склада " + inventoryId + " не найдена"));
+        warehouseMovementRepository.save(WarehouseMovement.builder()
+                .warehouseId(level.getWarehouseId())
+                .catalogId(level.getCatalogId())
+                .inventoryId(level.getInventoryId())
+                .operationType(type)
+                .quantityDelta(quantityDelta)
+                .reservedDelta(reservedDelta)
+                .quantityAfter(level.getQuantity())
+                .reservedAfter(level.getReservedQuantity())
+                .requestId(requestId)
+                .comment(comment)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Движения склада за период [{@code from}, {@code to}), от новых к старым. Страницы идут по ключу
+     * (occurred_at, movement_id) — тому же, что и индекс idx_warehouse_movement_warehouse_time, поэтому период
+     * и курсор сужают один диапазон индекса. Курсор — {@code movementId:occurredAt} последнего движения страницы.
+     */
+    @Transactional(readOnly = true)
+    public WarehouseMovementPageDTO getMovements(Integer warehouseId, LocalDateTime from, LocalDateTime to,
+                                                 String cursor, Integer size) {
+        if (warehouseId == null) {
+            throw new IllegalArgumentException("Склад обязателен");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Начало периода должно быть раньше конца");
+        }
+        int pageSize = resolvePageSize(size);
+        List<Specification<WarehouseMovement>> specs = new ArrayList<>();
+        specs.add(WarehouseMovementSpecifications.warehouseId(warehouseId));
+        if (from != null) {
+            specs.add(WarehouseMovementSpecifications.occurredFrom(from));
+        }
+        if (to != null) {
+            specs.add(WarehouseMovementSpecifications.occurredBefore(to));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            specs.add(parseCursor(cursor));
+        }
+
+        List<WarehouseMovement> rows = warehouseMovementRepository.findBy(Specification.allOf(specs),
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "occurredAt", "movementId")).limit(pageSize + 1).all());
+        boolean hasMore = rows.size() > pageSize;
+        List<WarehouseMovement> page = hasMore ? rows.subList(0, pageSize) : rows;
+        WarehouseMovement last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return WarehouseMovementPageDTO.builder()
+                .items(page.stream().map(this::toDto).toList())
+                .nextCursor(hasMore ? last.getMovementId() + ":" + last.getOccurredAt() : null)
+                .size(pageSize)
+                .build();
+    }
+
+    /**
+     * Остатки склада на конец дня {@code asOf}: по каждой позиции — последнее движение до следующего дня.
+     */
+    @Transactional(readOnly = true)
+    public List<WarehouseBalanceDto> getBalance(Integer warehouseId, LocalDate asOf) {
+        if (warehouseId == null) {
+            throw new IllegalArgumentException("Склад обязателен");
+        }
+        LocalDate day = asOf != null ? asOf : LocalDate.now();
+        Map<Integer, WarehouseMovement> latest = new LinkedHashMap<>();
+        for (WarehouseMovement movement : warehouseMovementRepository
+                .findLatestPerPositionBefore(warehouseId, day.plusDays(1).atStartOfDay())) {
+            latest.put(movement.getCatalogId(), movement);
+        }
+        return latest.values().stream()
+                .map(movement -> WarehouseBalanceDto.builder()
+                        .warehouseId(movement.getWarehouseId())
+                        .catalogId(movement.getCatalogId())
+                        .inventoryId(movement.getInventoryId())
+                        .quantity(movement.getQuantityAfter())
+                        .reservedQuantity(movement.getReservedAfter())
+                        .asOf(day)
+                        .lastMovementAt(movement.getOccurredAt())
+                        .build())
+                .toList();
+    }
+
+    private WarehouseMovementDto toDto(WarehouseMovement movement) {
+        return WarehouseMovementDto.builder()
+                .movementId(movement.getMovementId())
+                .operationType(movement.getOperationType().name())
+                .quantityDelta(movement.getQuantityDelta())
+                .reservedDelta(movement.getReservedDelta())
+                .quantityAfter(movement.getQuantityAfter())
+                .reservedAfter(movement.getReservedAfter())
+                .inventoryId(movement.getInventoryId())
+                .catalogId(movement.getCatalogId())
+                .warehouseId(movement.getWarehouseId())
+                .requestId(movement.getRequestId())
+                .comment(movement.getComment())
+                .occurredAt(movement.getOccurredAt())
+                .build();
+    }
+
+    private int resolvePageSize(Integer requestedSize) {
+        if (requestedSize == null || requestedSize <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requestedSize, MAX_PAGE_SIZE);
+    }
+
+    private Specification<WarehouseMovement> parseCursor(String cursor) {
+        String value = cursor.trim();
+        int separator = value.indexOf(':');
+        try {
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return WarehouseMovementSpecifications.before(LocalDateTime.parse(value.substring(separator + 1)),
+                    Long.parseLong(value.substring(0, separator)));
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
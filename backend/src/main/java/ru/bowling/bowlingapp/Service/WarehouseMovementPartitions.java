@@ -0,0 +1,79 @@
+package ru.bowling.bowlingapp.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Заранее создаёт месячные секции журнала warehouse_movement ({@code WarehouseLedgerInitializer}), чтобы движения нового месяца
+ * не попадали в секцию по умолчанию. Работает только на PostgreSQL и только если таблица
+ * действительно секционирована — на H2 и на схеме, созданной Hibernate, ничего не делает.
+ */
+@Slf4j
+@Component
+public class WarehouseMovementPartitions {
+
+    private static final String TABLE = "warehouse_movement";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private volatile Boolean partitioned;
+
+    public WarehouseMovementPartitions(JdbcTemplate jdbcTemplate,
+                                       @Value("${app.warehouse-movements.partitions-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = Math.max(1, monthsAhead);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.warehouse-movements.partition-cron:0 30 3 * * *}")
+    public void ensurePartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String sql = "CREATE TABLE IF NOT EXISTS " + TABLE + "_" + month.format(SUFFIX)
+                + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException ex) {
+            // Например, в секции по умолчанию уже есть строки этого месяца: пишем дальше в неё.
+            log.warn("Failed to create warehouse movement partition for {}", month, ex);
+        }
+    }
+
+    private boolean isPartitioned() {
+        Boolean detected = partitioned;
+        if (detected == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            detected = product != null && product.toLowerCase(Locale.ROOT).contains("postgres")
+                    && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid "
+                            + "WHERE c.relname = ?)", Boolean.class, TABLE));
+            if (!detected) {
+                log.info("{} is not partitioned, monthly partitions are not maintained", TABLE);
+            }
+            partitioned = detected;
+        }
+        return detected;
+    }
+}
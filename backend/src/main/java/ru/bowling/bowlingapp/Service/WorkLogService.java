@@ -3,10 +3,10 @@ package ru.bowling.bowlingapp.Service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.bowling.bowlingapp.DTO.WorkLogDTO;
@@ -18,13 +18,13 @@ import ru.bowling.bowlingapp.Enum.AccountTypeName;
 import ru.bowling.bowlingapp.Repository.*;
 import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
 import ru.bowling.bowlingapp.Repository.ClubEquipmentRepository;
+import ru.bowling.bowlingapp.Repository.specification.WorkLogSpecifications;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.Objects;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -86,70 +86,64 @@ public class WorkLogService {
             return Page.empty();
         }
 
-        List<WorkLog> filtered = workLogRepository.findAll().stream()
-                .filter(log -> isAdmin || (log.getClub() != null && accessibleClubIds.contains(log.getClub().getClubId())))
-                .filter(log -> criteria.getClubId() == null ||
-                        (log.getClub() != null && criteria.getClubId().equals(log.getClub().getClubId())))
-                .filter(log -> criteria.getLaneNumber() == null || criteria.getLaneNumber().equals(log.getLaneNumber()))
-                .filter(log -> criteria.getMechanicId() == null ||
-                        (log.getMechanic() != null && criteria.getMechanicId().equals(log.getMechanic().getProfileId())))
-                .filter(log -> criteria.getEquipmentId() == null ||
-                        (log.getEquipment() != null && criteria.getEquipmentId().equals(log.getEquipment().getEquipmentId())))
-                .filter(log -> matchesStatus(criteria.getStatus(), log.getStatus()))
-                .filter(log -> matchesWorkType(criteria.getWorkType(), log.getWorkType()))
-                .filter(log -> criteria.getPriority() == null ||
-                        (log.getPriority() != null && log.getPriority() <= criteria.getPriority()))
-                .filter(log -> criteria.getStartDate() == null ||
-                        (log.getCreatedDate() != null && !log.getCreatedDate().isBefore(criteria.getStartDate())))
-                .filter(log -> criteria.getEndDate() == null ||
-                        (log.getCreatedDate() != null && !log.getCreatedDate().isAfter(criteria.getEndDate())))
-                .filter(log -> criteria.getCompletedOnly() == null || !criteria.getCompletedOnly()
-                        || log.getCompletedDate() != null)
-                .filter(log -> criteria.getActiveOnly() == null || !criteria.getActiveOnly()
-                        || isActiveStatus(log.getStatus()))
-                .filter(log -> criteria.getIncludeManualEdits() == null || criteria.getIncludeManualEdits()
-                        || Boolean.FALSE.equals(log.getIsManualEdit()))
-                .filter(log -> !isFreeBasicMechanicRestricted(viewerRole, accountType)
-                        || (log.getMechanic() != null && log.getMechanic().getUser() != null
-                        && Objects.equals(log.getMechanic().getUser().getUserId(), userId)))
-                .filter(log -> criteria.getKeyword() == null || criteria.getKeyword().isBlank()
-                        || containsKeyword(log, criteria.getKeyword()))
-                .filter(log -> userId == null || Objects.equals(log.getCreatedBy(), userId)
-                        || (log.getMechanic() != null && Objects.equals(log.getMechanic().getUser().getUserId(), userId)))
-                .collect(Collectors.toList());
+        List<Specification<WorkLog>> specifications = new ArrayList<>();
+        specifications.add(WorkLogSpecifications.fetchClubAndMechanic());
+        if (!isAdmin) {
+            specifications.add(WorkLogSpecifications.clubIdIn(accessibleClubIds));
+        }
+        if (criteria.getClubId() != null) {
+            specifications.add(WorkLogSpecifications.clubId(criteria.getClubId()));
+        }
+        if (criteria.getLaneNumber() != null) {
+            specifications.add(WorkLogSpecifications.laneNumber(criteria.getLaneNumber()));
+        }
+        if (criteria.getMechanicId() != null) {
+            specifications.add(WorkLogSpecifications.mechanicId(criteria.getMechanicId()));
+        }
+        if (criteria.getEquipmentId() != null) {
+            specifications.add(WorkLogSpecifications.equipmentId(criteria.getEquipmentId()));
+        }
+        parseEnum(WorkLogStatus.class, criteria.getStatus())
+                .ifPresent(status -> specifications.add(WorkLogSpecifications.status(status)));
+        parseEnum(WorkType.class, criteria.getWorkType())
+                .ifPresent(workType -> specifications.add(WorkLogSpecifications.workType(workType)));
+        if (criteria.getPriority() != null) {
+            specifications.add(WorkLogSpecifications.priorityAtMost(criteria.getPriority()));
+        }
+        if (criteria.getStartDate() != null) {
+            specifications.add(WorkLogSpecifications.createdFrom(criteria.getStartDate()));
+        }
+        if (criteria.getEndDate() != null) {
+            specifications.add(WorkLogSpecifications.createdTo(criteria.getEndDate()));
+        }
+        if (Boolean.TRUE.equals(criteria.getCompletedOnly())) {
+            specifications.add(WorkLogSpecifications.completed());
+        }
+        if (Boolean.TRUE.equals(criteria.getActiveOnly())) {
+            specifications.add(WorkLogSpecifications.active());
+        }
+        if (Boolean.FALSE.equals(criteria.getIncludeManualEdits())) {
+            specifications.add(WorkLogSpecifications.withoutManualEdits());
+        }
+        if (isFreeBasicMechanicRestricted(viewerRole, accountType)) {
+            specifications.add(WorkLogSpecifications.assignedToUser(userId));
+        }
+        if (criteria.getKeyword() != null && !criteria.getKeyword().isBlank()) {
+            specifications.add(WorkLogSpecifications.keyword(criteria.getKeyword()));
+        }
+        if (userId != null) {
+            specifications.add(WorkLogSpecifications.createdByOrAssignedTo(userId));
+        }
 
         Sort.Direction direction = "ASC".equalsIgnoreCase(criteria.getSortDirection())
                 ? Sort.Direction.ASC
                 : Sort.Direction.DESC;
-        Comparator<WorkLog> comparator = (first, second) -> {
-            Comparable<Object> firstValue = (Comparable<Object>) resolveComparableField(first, criteria.getSortBy());
-            Comparable<Object> secondValue = (Comparable<Object>) resolveComparableField(second, criteria.getSortBy());
-
-            if (firstValue == null && secondValue == null) {
-                return 0;
-            }
-            if (firstValue == null) {
-                return 1;
-            }
-            if (secondValue == null) {
-                return -1;
-            }
-
-            return firstValue.compareTo(secondValue);
-        };
-        if (direction == Sort.Direction.DESC) {
-            comparator = comparator.reversed();
-        }
-        filtered.sort(comparator);
-
         int page = criteria.getPage() != null && criteria.getPage() >= 0 ? criteria.getPage() : 0;
         int size = criteria.getSize() != null && criteria.getSize() > 0 ? criteria.getSize() : 20;
-        int fromIndex = Math.min(page * size, filtered.size());
-        int toIndex = Math.min(fromIndex + size, filtered.size());
-        List<WorkLog> pageContent = filtered.subList(fromIndex, toIndex);
+        Sort sort = Sort.by(direction, resolveSortProperty(criteria.getSortBy()))
+                .and(Sort.by(direction, "logId"));
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, criteria.getSortBy()));
-        return new PageImpl<>(pageContent, pageable, filtered.size());
+        return workLogRepository.findAll(Specification.allOf(specifications), PageRequest.of(page, size, sort));
     }
 
     private boolean isFreeBasicMechanicRestricted(String viewerRole, AccountTypeName accountType) {
@@ -159,50 +153,24 @@ public class WorkLogService {
         return "MECHANIC".equalsIgnoreCase(viewerRole) && accountType == AccountTypeName.FREE_MECHANIC_BASIC;
     }
 
-    private boolean matchesStatus(String requestedStatus, WorkLogStatus actualStatus) {
-        if (requestedStatus == null || requestedStatus.isBlank()) {
-            return true;
+    private <E extends Enum<E>> Optional<E> parseEnum(Class<E> type, String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
         }
         try {
-            return WorkLogStatus.valueOf(requestedStatus.toUpperCase()).equals(actualStatus);
+            return Optional.of(Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT)));
         } catch (IllegalArgumentException ex) {
-            return true;
+            return Optional.empty();
         }
     }
 
-    private boolean matchesWorkType(String requestedType, WorkType actualType) {
-        if (requestedType == null || requestedType.isBlank()) {
-            return true;
-        }
-        try {
-            return WorkType.valueOf(requestedType.toUpperCase()).equals(actualType);
-        } catch (IllegalArgumentException ex) {
-            return true;
+    private String resolveSortProperty(String sortBy) {
+        if (sortBy == null) {
+            return "createdDate";
         }
-    }
-
-    private boolean containsKeyword(WorkLog workLog, String keyword) {
-        String lowered = keyword.toLowerCase();
-        return (workLog.getProblemDescription() != null && workLog.getProblemDescription().toLowerCase().contains(lowered))
-                || (workLog.getWorkPerformed() != null && workLog.getWorkPerformed().toLowerCase().contains(lowered))
-                || (workLog.getSolutionDescription() != null && workLog.getSolutionDescription().toLowerCase().contains(lowered));
-    }
-
-    private boolean isActiveStatus(WorkLogStatus status) {
-        return status != null && status != WorkLogStatus.CLOSED && status != WorkLogStatus.CANCELLED;
-    }
-
-    private Comparable<?> resolveComparableField(WorkLog log, String sortBy) {
-        if (log == null) {
-            return null;
-        }
-        String normalized = sortBy != null ? sortBy : "createdDate";
-        return switch (normalized) {
-            case "priority" -> log.getPriority();
-            case "status" -> Optional.ofNullable(log.getStatus()).map(Enum::name).orElse(null);
-            case "workType" -> Optional.ofNullable(log.getWorkType()).map(Enum::name).orElse(null);
-            case "completedDate" -> log.getCompletedDate();
-            default -> log.getCreatedDate();
+        return switch (sortBy) {
+            case "priority", "status", "workType", "completedDate" -> sortBy;
+            default -> "createdDate";
         };
     }
 
@@ -4,9 +4,21 @@ import ru.bowling.bowlingapp.integration.onec.dto.OneCProductDto;
 import ru.bowling.bowlingapp.integration.onec.dto.OneCStockItemDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OneCClient {
     List<OneCStockItemDto> importStockBalances();
 
+    /**
+     * Передаёт строки остатков потребителю по мере чтения ответа 1С, не собирая их в список.
+     *
+     * @return количество прочитанных строк
+     */
+    default long streamStockBalances(Consumer<OneCStockItemDto> consumer) {
+        List<OneCStockItemDto> items = importStockBalances();
+        items.forEach(consumer);
+        return items.size();
+    }
+
     void exportProducts(List<OneCProductDto> products);
 }
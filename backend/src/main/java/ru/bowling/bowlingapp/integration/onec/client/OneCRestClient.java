@@ -1,5 +1,8 @@
 package ru.bowling.bowlingapp.integration.onec.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpEntity;
@@ -17,9 +20,11 @@ import ru.bowling.bowlingapp.integration.onec.dto.OneCStockItemDto;
 import ru.bowling.bowlingapp.integration.onec.dto.OneCStockResponseDto;
 import ru.bowling.bowlingapp.integration.onec.exception.OneCClientException;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Component
 public class OneCRestClient implements OneCClient {
@@ -28,9 +33,11 @@ public class OneCRestClient implements OneCClient {
 
     private final OneCIntegrationProperties properties;
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
 
-    public OneCRestClient(OneCIntegrationProperties properties) {
+    public OneCRestClient(OneCIntegrationProperties properties, ObjectMapper objectMapper) {
         this.properties = properties;
+        this.objectMapper = objectMapper;
         this.restTemplate = new RestTemplate(requestFactory(properties));
     }
 
@@ -54,6 +61,67 @@ public class OneCRestClient implements OneCClient {
         }
     }
 
+    /**
+     * Читает ответ потоковым парсером Jackson: в памяти одновременно находится только текущая строка.
+     * Поддерживаются формы {@code {"items": [...]}} и {@code [...]}.
+     */
+    @Override
+    public long streamStockBalances(Consumer<OneCStockItemDto> consumer) {
+        String url = absoluteUrl(properties.getStockEndpoint());
+        HttpHeaders headers = authorizedHeaders();
+        try {
+            Long count = restTemplate.execute(
+                    url,
+                    HttpMethod.GET,
+                    request -> request.getHeaders().putAll(headers),
+                    response -> {
+                        try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+                            return readStockItems(parser, consumer);
+                        }
+                    }
+            );
+            return count != null ? count : 0L;
+        } catch (RestClientException ex) {
+            throw new OneCClientException("Не удалось получить остатки из 1С", ex);
+        }
+    }
+
+    private long readStockItems(JsonParser parser, Consumer<OneCStockItemDto> consumer) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            return readStockArray(parser, consumer);
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return 0L;
+        }
+        long count = 0L;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                count += readStockArray(parser, consumer);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    private long readStockArray(JsonParser parser, Consumer<OneCStockItemDto> consumer) throws IOException {
+        long count = 0L;
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                consumer.accept(objectMapper.readValue(parser, OneCStockItemDto.class));
+            } else {
+                parser.skipChildren();
+                consumer.accept(null);
+            }
+            count++;
+        }
+        return count;
+    }
+
     @Override
     public void exportProducts(List<OneCProductDto> products) {
         String url = absoluteUrl(properties.getProductsEndpoint());
@@ -21,4 +21,7 @@ public class OneCIntegrationProperties {
     private Integer retryAttempts = 3;
     private Long retryDelayMs = 800L;
     private String syncCron = "0 */30 * * * *";
+    private Integer stockChunkSize = 1000;
+    private Integer productExportChunkSize = 500;
+    private Integer productExportOverlapSeconds = 300;
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -17,7 +18,23 @@ public class OneCSyncStatusDto {
     private Boolean success;
     private String trigger;
     private String message;
+    private Integer exported;
     private Integer imported;
     private Integer updated;
     private Integer skipped;
+    private Integer received;
+    private Long catalogLookupMs;
+    private List<ChunkStatus> chunks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChunkStatus {
+        private Integer index;
+        private Integer size;
+        private Integer imported;
+        private Integer updated;
+        private Long durationMs;
+    }
 }
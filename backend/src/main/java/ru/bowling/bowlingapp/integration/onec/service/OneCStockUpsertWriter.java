@@ -0,0 +1,221 @@
+package ru.bowling.bowlingapp.integration.onec.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Пакетная запись остатков 1С в warehouse_inventory.
+ * <p>
+ * На PostgreSQL — JDBC batch {@code INSERT ... ON CONFLICT (warehouse_id, catalog_id) DO UPDATE}
+ * (уникальный индекс, см. {@code WarehouseInventoryDeduplicator}). На остальных БД — пакет UPDATE
+ * для существующих строк и пакет INSERT для новых.
+ * Транзакцией управляет вызывающий код: один вызов {@link #write} — одна порция.
+ * <p>
+ * 1С задаёт только физический остаток: reserved_quantity ведут резервы заявок этого приложения
+ * ({@code StockReservationService}), новые позиции создаются без резерва. Если 1С прислала остаток меньше
+ * резерва, резерв урезается до остатка (иначе нарушается quantity >= reserved_quantity), а конфликт
+ * пишется в лог и в комментарий движения журнала.
+ * <p>
+ * Изменившиеся остатки той же порцией пишутся в журнал warehouse_movement: дельта считается от остатков,
+ * прочитанных перед записью, остаток после движения берётся из только что записанной строки.
+ */
+@Component
+public class OneCStockUpsertWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(OneCStockUpsertWriter.class);
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO warehouse_inventory
+                (warehouse_id, catalog_id, quantity, reserved_quantity, location_reference, last_checked, notes)
+            VALUES (?, ?, ?, 0, ?, ?, ?)
+            ON CONFLICT (warehouse_id, catalog_id) DO UPDATE SET
+                quantity = EXCLUDED.quantity,
+                reserved_quantity = LEAST(COALESCE(warehouse_inventory.reserved_quantity, 0), EXCLUDED.quantity),
+                location_reference = EXCLUDED.location_reference,
+                last_checked = EXCLUDED.last_checked,
+                notes = EXCLUDED.notes
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO warehouse_inventory
+                (warehouse_id, catalog_id, quantity, reserved_quantity, location_reference, last_checked, notes)
+            VALUES (?, ?, ?, 0, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE warehouse_inventory
+            SET quantity = ?, reserved_quantity = LEAST(COALESCE(reserved_quantity, 0), ?),
+                location_reference = ?, last_checked = ?, notes = ?
+            WHERE warehouse_id = ? AND catalog_id = ?
+            """;
+
+    private static final String MOVEMENT_SQL = """
+            INSERT INTO warehouse_movement
+                (warehouse_id, catalog_id, inventory_id, operation_type, quantity_delta, reserved_delta,
+                 quantity_after, reserved_after, comment, occurred_at)
+            SELECT warehouse_id, catalog_id, inventory_id, 'ONE_C_SYNC', ?, ?,
+                   quantity, COALESCE(reserved_quantity, 0), ?, ?
+            FROM warehouse_inventory
+            WHERE warehouse_id = ? AND catalog_id = ?
+            """;
+
+    static final String SYNC_NOTE = "Synced from 1C";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private volatile Boolean postgres;
+
+    public OneCStockUpsertWriter(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public record Row(int warehouseId, int catalogId, int quantity, String location) {
+
+        Key key() {
+            return new Key(warehouseId, catalogId);
+        }
+    }
+
+    public record Key(int warehouseId, int catalogId) {
+    }
+
+    private record Level(int quantity, int reserved) {
+    }
+
+
+    public record Result(int imported, int updated) {
+    }
+
+    /**
+     * @param rows строки без повторов по (warehouse_id, catalog_id)
+     */
+    public Result write(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return new Result(0, 0);
+        }
+        Map<Key, Level> existing = existingLevels(rows);
+        int updated = (int) rows.stream().filter(row -> existing.containsKey(row.key())).count();
+        int imported = rows.size() - updated;
+        LocalDate today = LocalDate.now();
+
+        if (isPostgres()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> bindInsert(ps, row, today));
+            recordMovements(rows, existing);
+            return new Result(imported, updated);
+        }
+
+        List<Row> toUpdate = new ArrayList<>(updated);
+        List<Row> toInsert = new ArrayList<>(imported);
+        for (Row row : rows) {
+            (existing.containsKey(row.key()) ? toUpdate : toInsert).add(row);
+        }
+        if (!toUpdate.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, toUpdate, toUpdate.size(), (ps, row) -> {
+                ps.setInt(1, row.quantity());
+                ps.setInt(2, row.quantity());
+                ps.setString(3, row.location());
+                ps.setDate(4, Date.valueOf(today));
+                ps.setString(5, SYNC_NOTE);
+                ps.setInt(6, row.warehouseId());
+                ps.setInt(7, row.catalogId());
+            });
+        }
+        if (!toInsert.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, toInsert.size(), (ps, row) -> bindInsert(ps, row, today));
+        }
+        recordMovements(rows, existing);
+        return new Result(imported, updated);
+    }
+
+    private void recordMovements(List<Row> rows, Map<Key, Level> before) {
+        Level none = new Level(0, 0);
+        List<Row> changed = new ArrayList<>();
+        for (Row row : rows) {
+            Level level = before.getOrDefault(row.key(), none);
+            if (level.quantity() != row.quantity() || level.reserved() > row.quantity()) {
+                changed.add(row);
+            }
+            if (level.reserved() > row.quantity()) {
+                log.warn("1C stock {} for warehouse {} catalog {} is below reserved {}; reservation cut to stock",
+                        row.quantity(), row.warehouseId(), row.catalogId(), level.reserved());
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(MOVEMENT_SQL, changed, changed.size(), (ps, row) -> {
+            Level level = before.getOrDefault(row.key(), none);
+            int reservedCut = Math.max(level.reserved() - Math.max(row.quantity(), 0), 0);
+            ps.setInt(1, row.quantity() - level.quantity());
+            ps.setInt(2, -reservedCut);
+            ps.setString(3, reservedCut > 0 ? SYNC_NOTE + "; reservation cut by " + reservedCut : SYNC_NOTE);
+            ps.setTimestamp(4, now);
+            ps.setInt(5, row.warehouseId());
+            ps.setInt(6, row.catalogId());
+        });
+    }
+
+    private Map<Key, Level> existingLevels(List<Row> rows) {
+        Set<Integer> catalogIds = new HashSet<>();
+        Set<Integer> warehouseIds = new HashSet<>();
+        for (Row row : rows) {
+            catalogIds.add(row.catalogId());
+            warehouseIds.add(row.warehouseId());
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("catalogIds", catalogIds)
+                .addValue("warehouseIds", warehouseIds);
+        Map<Key, Level> levels = new HashMap<>();
+        namedJdbcTemplate.query(
+                "SELECT warehouse_id, catalog_id, COALESCE(quantity, 0), COALESCE(reserved_quantity, 0) "
+                        + "FROM warehouse_inventory "
+                        + "WHERE catalog_id IN (:catalogIds) AND warehouse_id IN (:warehouseIds)",
+                params,
+                (RowCallbackHandler) rs -> levels.put(new Key(rs.getInt(1), rs.getInt(2)),
+                        new Level(rs.getInt(3), rs.getInt(4))));
+        return levels;
+    }
+
+    private void bindInsert(PreparedStatement ps, Row row, LocalDate today) throws SQLException {
+        ps.setInt(1, row.warehouseId());
+        ps.setInt(2, row.catalogId());
+        ps.setInt(3, row.quantity());
+        ps.setString(4, row.location());
+        ps.setDate(5, Date.valueOf(today));
+        ps.setString(6, SYNC_NOTE);
+    }
+
+    private boolean isPostgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            detected = product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+            log.info("1C stock sync uses {} upsert", detected ? "ON CONFLICT" : "portable update/insert");
+            postgres = detected;
+        }
+        return detected;
+    }
+}
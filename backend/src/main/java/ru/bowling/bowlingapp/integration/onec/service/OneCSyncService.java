@@ -6,5 +6,10 @@ public interface OneCSyncService {
 
     OneCSyncStatusDto runManualSync();
 
+    /**
+     * Синхронизация с выгрузкой всего каталога, независимо от сохранённой отметки.
+     */
+    OneCSyncStatusDto runFullSync();
+
     OneCSyncStatusDto getLastStatus();
 }
@@ -2,13 +2,17 @@ package ru.bowling.bowlingapp.integration.onec.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import ru.bowling.bowlingapp.Entity.PartsCatalog;
-import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.Entity.OneCSyncWatermark;
+import ru.bowling.bowlingapp.Repository.OneCSyncWatermarkRepository;
 import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
-import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Repository.projection.CatalogExportProjection;
+import ru.bowling.bowlingapp.Repository.projection.CatalogNumberProjection;
 import ru.bowling.bowlingapp.integration.onec.client.OneCClient;
 import ru.bowling.bowlingapp.integration.onec.config.OneCIntegrationProperties;
 import ru.bowling.bowlingapp.integration.onec.dto.OneCProductDto;
@@ -18,19 +22,28 @@ import ru.bowling.bowlingapp.integration.onec.exception.OneCSyncException;
 import ru.bowling.bowlingapp.integration.onec.mapper.OneCInventoryMapper;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class OneCSyncServiceImpl implements OneCSyncService {
 
     private static final Logger log = LoggerFactory.getLogger(OneCSyncServiceImpl.class);
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int CATALOG_LOOKUP_BATCH = 1000;
+    static final String PRODUCTS_EXPORT_TARGET = "PRODUCTS_EXPORT";
 
     private final OneCClient oneCClient;
     private final PartsCatalogRepository partsCatalogRepository;
-    private final WarehouseInventoryRepository warehouseInventoryRepository;
     private final OneCInventoryMapper mapper;
     private final OneCIntegrationProperties properties;
+    private final OneCStockUpsertWriter stockWriter;
+    private final OneCSyncWatermarkRepository watermarkRepository;
+    private final TransactionTemplate transactionTemplate;
 
     private volatile OneCSyncStatusDto lastStatus = OneCSyncStatusDto.builder()
             .success(false)
@@ -43,29 +56,36 @@ public class OneCSyncServiceImpl implements OneCSyncService {
 
     public OneCSyncServiceImpl(OneCClient oneCClient,
                                PartsCatalogRepository partsCatalogRepository,
-                               WarehouseInventoryRepository warehouseInventoryRepository,
                                OneCInventoryMapper mapper,
-                               OneCIntegrationProperties properties) {
+                               OneCIntegrationProperties properties,
+                               OneCStockUpsertWriter stockWriter,
+                               OneCSyncWatermarkRepository watermarkRepository,
+                               PlatformTransactionManager transactionManager) {
         this.oneCClient = oneCClient;
         this.partsCatalogRepository = partsCatalogRepository;
-        this.warehouseInventoryRepository = warehouseInventoryRepository;
         this.mapper = mapper;
         this.properties = properties;
+        this.stockWriter = stockWriter;
+        this.watermarkRepository = watermarkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    @Transactional
     public OneCSyncStatusDto runManualSync() {
-        return sync("MANUAL");
+        return sync("MANUAL", false);
+    }
+
+    @Override
+    public OneCSyncStatusDto runFullSync() {
+        return sync("FULL_RESYNC", true);
     }
 
     @Scheduled(cron = "${integration.onec.sync-cron:0 */30 * * * *}")
-    @Transactional
     public void runScheduledSync() {
         if (!properties.isEnabled()) {
             return;
         }
-        sync("SCHEDULED");
+        sync("SCHEDULED", false);
     }
 
     @Override
@@ -73,7 +93,7 @@ public class OneCSyncServiceImpl implements OneCSyncService {
         return lastStatus;
     }
 
-    private OneCSyncStatusDto sync(String trigger) {
+    private OneCSyncStatusDto sync(String trigger, boolean fullExport) {
         if (!properties.isEnabled()) {
             lastStatus = OneCSyncStatusDto.builder()
                     .startedAt(LocalDateTime.now())
@@ -89,79 +109,232 @@ public class OneCSyncServiceImpl implements OneCSyncService {
         }
 
         LocalDateTime startedAt = LocalDateTime.now();
-        int imported = 0;
-        int updated = 0;
-        int skipped = 0;
+        int exported = 0;
+        AtomicReference<StockImport> current = new AtomicReference<>(new StockImport(chunkSize()));
 
         try {
-            exportProductsWithRetry();
-            List<OneCStockItemDto> items = importStockBalancesWithRetry();
+            exported = exportProductsWithRetry(fullExport);
+            // Повтор начинает чтение заново; upsert идемпотентен, поэтому уже записанные порции не портятся
+            StockImport stockImport = executeWithRetry(() -> {
+                StockImport attempt = new StockImport(chunkSize());
+                current.set(attempt);
+                oneCClient.streamStockBalances(attempt::accept);
+                attempt.flush();
+                return attempt;
+            }, "import stock balances");
+
+            lastStatus = stockImport.status(startedAt, trigger, exported)
+                    .success(true)
+                    .message("Синхронизация 1С успешно завершена")
+                    .build();
+            log.info("1C stock sync finished: {} received, {} imported, {} updated, {} skipped in {} chunks",
+                    stockImport.received, stockImport.imported, stockImport.updated, stockImport.skipped,
+                    stockImport.chunks.size());
+            return lastStatus;
+        } catch (Exception ex) {
+            log.error("1C sync failed", ex);
+            // Уже записанные порции закоммичены, их счётчики остаются в статусе
+            lastStatus = current.get().status(startedAt, trigger, exported)
+                    .success(false)
+                    .message(ex.getMessage())
+                    .build();
+            throw new OneCSyncException("Ошибка синхронизации с 1С", ex);
+        }
+    }
+
+    /**
+     * Потоковый импорт остатков: строки копятся в буфере размером с порцию, для порции одним запросом
+     * находятся catalog_id, затем она записывается пакетным upsert в отдельной транзакции.
+     * В памяти одновременно держится не больше одной порции.
+     */
+    private final class StockImport {
+
+        private final int chunkSize;
+        private final List<OneCStockItemDto> buffer;
+        private final List<OneCSyncStatusDto.ChunkStatus> chunks = new ArrayList<>();
+        private int received;
+        private int imported;
+        private int updated;
+        private int skipped;
+        private long catalogLookupMs;
 
-            for (OneCStockItemDto item : items) {
-                if (item == null || item.getCatalogNumber() == null || item.getWarehouseId() == null) {
+        private StockImport(int chunkSize) {
+            this.chunkSize = chunkSize;
+            this.buffer = new ArrayList<>(chunkSize);
+        }
+
+        void accept(OneCStockItemDto item) {
+            received++;
+            if (item == null || item.getCatalogNumber() == null || item.getWarehouseId() == null) {
+                skipped++;
+                return;
+            }
+            buffer.add(item);
+            if (buffer.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            long lookupStarted = System.nanoTime();
+            Map<String, Integer> catalogIds = resolveCatalogIds(buffer);
+            catalogLookupMs += elapsedMs(lookupStarted);
+
+            // Последняя строка по (склад, позиция) побеждает, как и при прежней построчной записи;
+            // между порциями это обеспечивает порядок записи
+            Map<OneCStockUpsertWriter.Key, OneCStockUpsertWriter.Row> staged = new LinkedHashMap<>();
+            for (OneCStockItemDto item : buffer) {
+                Integer catalogId = catalogIds.get(item.getCatalogNumber());
+                if (catalogId == null) {
                     skipped++;
                     continue;
                 }
-                Optional<PartsCatalog> partOpt = partsCatalogRepository.findByCatalogNumber(item.getCatalogNumber());
-                if (partOpt.isEmpty()) {
+                OneCStockUpsertWriter.Row row = mapper.toStockRow(catalogId, item);
+                if (staged.put(new OneCStockUpsertWriter.Key(row.warehouseId(), row.catalogId()), row) != null) {
                     skipped++;
-                    continue;
-                }
-                Integer catalogId = Math.toIntExact(partOpt.get().getCatalogId());
-                WarehouseInventory existing = warehouseInventoryRepository
-                        .findFirstByWarehouseIdAndCatalogId(item.getWarehouseId(), catalogId);
-                boolean wasExisting = existing != null;
-                WarehouseInventory mapped = mapper.toWarehouseInventory(catalogId, item, existing);
-                warehouseInventoryRepository.save(mapped);
-                if (wasExisting) {
-                    updated++;
-                } else {
-                    imported++;
                 }
             }
+            buffer.clear();
+            if (staged.isEmpty()) {
+                return;
+            }
 
-            lastStatus = OneCSyncStatusDto.builder()
-                    .startedAt(startedAt)
-                    .finishedAt(LocalDateTime.now())
-                    .success(true)
-                    .trigger(trigger)
-                    .message("Синхронизация 1С успешно завершена")
-                    .imported(imported)
-                    .updated(updated)
-                    .skipped(skipped)
-                    .build();
-            return lastStatus;
-        } catch (Exception ex) {
-            log.error("1C sync failed", ex);
-            lastStatus = OneCSyncStatusDto.builder()
+            List<OneCStockUpsertWriter.Row> chunk = new ArrayList<>(staged.values());
+            long chunkStarted = System.nanoTime();
+            OneCStockUpsertWriter.Result result = transactionTemplate.execute(status -> stockWriter.write(chunk));
+            long durationMs = elapsedMs(chunkStarted);
+            imported += result.imported();
+            updated += result.updated();
+            chunks.add(OneCSyncStatusDto.ChunkStatus.builder()
+                    .index(chunks.size())
+                    .size(chunk.size())
+                    .imported(result.imported())
+                    .updated(result.updated())
+                    .durationMs(durationMs)
+                    .build());
+            log.debug("1C stock chunk {} ({} rows) written in {} ms", chunks.size() - 1, chunk.size(), durationMs);
+        }
+
+        OneCSyncStatusDto.OneCSyncStatusDtoBuilder status(LocalDateTime startedAt, String trigger, int exported) {
+            return OneCSyncStatusDto.builder()
                     .startedAt(startedAt)
                     .finishedAt(LocalDateTime.now())
-                    .success(false)
                     .trigger(trigger)
-                    .message(ex.getMessage())
+                    .exported(exported)
                     .imported(imported)
                     .updated(updated)
                     .skipped(skipped)
-                    .build();
-            throw new OneCSyncException("Ошибка синхронизации с 1С", ex);
+                    .received(received)
+                    .catalogLookupMs(catalogLookupMs)
+                    .chunks(List.copyOf(chunks));
+        }
+    }
+
+    /**
+     * Один запрос на порцию номеров вместо findByCatalogNumber на каждую строку выгрузки.
+     */
+    private Map<String, Integer> resolveCatalogIds(List<OneCStockItemDto> items) {
+        List<String> numbers = items.stream()
+                .map(OneCStockItemDto::getCatalogNumber)
+                .distinct()
+                .toList();
+        Map<String, Integer> catalogIds = new HashMap<>(numbers.size() * 2);
+        for (int from = 0; from < numbers.size(); from += CATALOG_LOOKUP_BATCH) {
+            List<String> slice = numbers.subList(from, Math.min(from + CATALOG_LOOKUP_BATCH, numbers.size()));
+            for (CatalogNumberProjection match : partsCatalogRepository.findIdsByCatalogNumberIn(slice)) {
+                catalogIds.put(match.getCatalogNumber(), Math.toIntExact(match.getCatalogId()));
+            }
         }
+        return catalogIds;
     }
 
-    private List<OneCStockItemDto> importStockBalancesWithRetry() {
-        return executeWithRetry(oneCClient::importStockBalances, "import stock balances");
+    private int chunkSize() {
+        Integer configured = properties.getStockChunkSize();
+        return configured != null && configured > 0 ? configured : DEFAULT_CHUNK_SIZE;
     }
 
-    private void exportProductsWithRetry() {
-        List<OneCProductDto> payload = partsCatalogRepository.findAll().stream()
-                .map(this::toProductDto)
-                .toList();
-        executeWithRetry(() -> {
-            oneCClient.exportProducts(payload);
-            return null;
-        }, "export products");
+    private static long elapsedMs(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    /**
+     * Отправляет в 1С только позиции, изменённые после сохранённой отметки, порциями по
+     * integration.onec.product-export-chunk-size в порядке (updated_at, catalog_id).
+     * Отметка сдвигается после каждой принятой порции, поэтому сбой не приводит к повторной отправке
+     * уже принятого. При полной пересинхронизации выгрузка начинается с начала каталога.
+     * <p>
+     * updated_at ставится часами приложения до фиксации транзакции: строка, зафиксированная позже,
+     * чем порция с более поздней отметкой, оказалась бы позади отметки навсегда. Поэтому каждый запуск
+     * начинает с отметки минус integration.onec.product-export-overlap-seconds и повторно отправляет
+     * строки этого окна; окно должно быть не короче самой долгой транзакции, меняющей каталог.
+     * Повторная отправка безопасна: до выгрузки изменений 1С каждый раз получала весь каталог.
+     */
+    private int exportProductsWithRetry(boolean fullExport) {
+        transactionTemplate.executeWithoutResult(status ->
+                partsCatalogRepository.touchMissingUpdatedAt(LocalDateTime.now()));
+        OneCSyncWatermark watermark = fullExport
+                ? null
+                : watermarkRepository.findById(PRODUCTS_EXPORT_TARGET).orElse(null);
+        LocalDateTime afterUpdatedAt = null;
+        Long afterId = null;
+        if (watermark != null && watermark.getLastUpdatedAt() != null) {
+            afterUpdatedAt = watermark.getLastUpdatedAt().minusSeconds(exportOverlapSeconds());
+            afterId = 0L;
+        }
+        Pageable chunk = PageRequest.ofSize(exportChunkSize());
+        int exported = 0;
+
+        while (true) {
+            List<CatalogExportProjection> batch = afterUpdatedAt == null
+                    ? partsCatalogRepository.findExportBatch(chunk)
+                    : partsCatalogRepository.findExportBatchAfter(afterUpdatedAt, afterId, chunk);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<OneCProductDto> payload = batch.stream()
+                    .map(this::toProductDto)
+                    .toList();
+            executeWithRetry(() -> {
+                oneCClient.exportProducts(payload);
+                return null;
+            }, "export products");
+
+            CatalogExportProjection last = batch.get(batch.size() - 1);
+            afterUpdatedAt = last.getUpdatedAt();
+            afterId = last.getCatalogId();
+            saveWatermark(afterUpdatedAt, afterId);
+            exported += batch.size();
+            if (batch.size() < chunk.getPageSize()) {
+                break;
+            }
+        }
+        log.info("Exported {} products to 1C ({})", exported, fullExport ? "full resync" : "delta");
+        return exported;
+    }
+
+    private void saveWatermark(LocalDateTime lastUpdatedAt, Long lastId) {
+        OneCSyncWatermark watermark = watermarkRepository.findById(PRODUCTS_EXPORT_TARGET)
+                .orElseGet(() -> OneCSyncWatermark.builder().target(PRODUCTS_EXPORT_TARGET).build());
+        watermark.setLastUpdatedAt(lastUpdatedAt);
+        watermark.setLastId(lastId);
+        watermark.setSyncedAt(LocalDateTime.now());
+        watermarkRepository.save(watermark);
+    }
+
+    private long exportOverlapSeconds() {
+        Integer configured = properties.getProductExportOverlapSeconds();
+        return configured != null && configured > 0 ? configured : 0;
+    }
+
+    private int exportChunkSize() {
+        Integer configured = properties.getProductExportChunkSize();
+        return configured != null && configured > 0 ? configured : DEFAULT_CHUNK_SIZE;
     }
 
-    private OneCProductDto toProductDto(PartsCatalog part) {
+    private OneCProductDto toProductDto(CatalogExportProjection part) {
         return OneCProductDto.builder()
                 .catalogNumber(part.getCatalogNumber())
                 .nameRu(part.getOfficialNameRu())
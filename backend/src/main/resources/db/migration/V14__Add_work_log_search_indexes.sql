@@ -0,0 +1,9 @@
+-- Composite indexes backing the work log journal search (club timeline, mechanic workload, status queues)
+CREATE INDEX IF NOT EXISTS idx_work_logs_club_created
+    ON work_logs(club_id, created_date);
+
+CREATE INDEX IF NOT EXISTS idx_work_logs_mechanic_status
+    ON work_logs(mechanic_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_work_logs_status_created
+    ON work_logs(status, created_date);
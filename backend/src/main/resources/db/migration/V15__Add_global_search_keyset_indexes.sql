@@ -0,0 +1,18 @@
+-- Keyset pagination indexes for global search sections (newest first per club/mechanic, clubs by name, stock by warehouse)
+CREATE INDEX IF NOT EXISTS idx_maintenance_requests_club_request
+    ON maintenance_requests(club_id, request_id);
+
+CREATE INDEX IF NOT EXISTS idx_maintenance_requests_mechanic_request
+    ON maintenance_requests(mechanic_id, request_id);
+
+CREATE INDEX IF NOT EXISTS idx_work_logs_club_log
+    ON work_logs(club_id, log_id);
+
+CREATE INDEX IF NOT EXISTS idx_work_logs_mechanic_log
+    ON work_logs(mechanic_id, log_id);
+
+CREATE INDEX IF NOT EXISTS idx_bowling_clubs_name_id
+    ON bowling_clubs(name, club_id);
+
+CREATE INDEX IF NOT EXISTS idx_warehouse_inventory_warehouse_inventory
+    ON warehouse_inventory(warehouse_id, inventory_id);
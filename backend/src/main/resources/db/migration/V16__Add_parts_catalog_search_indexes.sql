@@ -0,0 +1,35 @@
+-- Full-text and trigram search over the parts catalog (mobile part picker, inventory search)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE parts_catalog
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(catalog_number, '')), 'A') ||
+            setweight(to_tsvector('russian', coalesce(official_name_ru, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(official_name_en, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(common_name, '')), 'B') ||
+            setweight(to_tsvector('russian', coalesce(description, '')), 'D')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_parts_catalog_search_vector
+    ON parts_catalog USING gin (search_vector);
+
+-- Substring matches (lower(col) LIKE '%q%') are served by trigram indexes
+CREATE INDEX IF NOT EXISTS idx_parts_catalog_number_trgm
+    ON parts_catalog USING gin (lower(catalog_number) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_parts_catalog_name_ru_trgm
+    ON parts_catalog USING gin (lower(official_name_ru) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_parts_catalog_name_en_trgm
+    ON parts_catalog USING gin (lower(official_name_en) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_parts_catalog_common_name_trgm
+    ON parts_catalog USING gin (lower(common_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_parts_catalog_description_trgm
+    ON parts_catalog USING gin (lower(description) gin_trgm_ops);
+
+-- Catalog number prefix matches (lower(catalog_number) LIKE 'q%')
+CREATE INDEX IF NOT EXISTS idx_parts_catalog_number_prefix
+    ON parts_catalog (lower(catalog_number) text_pattern_ops);
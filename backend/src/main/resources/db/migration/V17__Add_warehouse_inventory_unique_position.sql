@@ -0,0 +1,40 @@
+-- One stock row per (warehouse, catalog position): required by the 1C bulk upsert (ON CONFLICT)
+-- Merge duplicates into the oldest row before adding the constraint
+-- Applied at startup by WarehouseInventoryDeduplicator (the project has no migration runner); kept as the SQL reference
+WITH ranked AS (
+    SELECT inventory_id,
+           MIN(inventory_id) OVER (PARTITION BY warehouse_id, catalog_id) AS keep_id,
+           SUM(COALESCE(quantity, 0)) OVER (PARTITION BY warehouse_id, catalog_id) AS total_quantity,
+           SUM(COALESCE(reserved_quantity, 0)) OVER (PARTITION BY warehouse_id, catalog_id) AS total_reserved,
+           COUNT(*) OVER (PARTITION BY warehouse_id, catalog_id) AS copies
+    FROM warehouse_inventory
+    WHERE warehouse_id IS NOT NULL AND catalog_id IS NOT NULL
+)
+UPDATE warehouse_inventory w
+SET quantity = r.total_quantity,
+    reserved_quantity = r.total_reserved
+FROM ranked r
+WHERE w.inventory_id = r.inventory_id
+  AND r.inventory_id = r.keep_id
+  AND r.copies > 1;
+
+-- Repoint request parts to the kept row before the copies are deleted
+UPDATE request_parts rp
+SET inventory_id = keep.inventory_id
+FROM warehouse_inventory dup
+JOIN warehouse_inventory keep
+  ON keep.warehouse_id = dup.warehouse_id
+ AND keep.catalog_id = dup.catalog_id
+ AND keep.inventory_id = (SELECT MIN(k.inventory_id) FROM warehouse_inventory k
+                          WHERE k.warehouse_id = dup.warehouse_id AND k.catalog_id = dup.catalog_id)
+WHERE rp.inventory_id = dup.inventory_id
+  AND dup.inventory_id <> keep.inventory_id;
+
+DELETE FROM warehouse_inventory w
+USING warehouse_inventory keep
+WHERE w.warehouse_id = keep.warehouse_id
+  AND w.catalog_id = keep.catalog_id
+  AND w.inventory_id > keep.inventory_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_warehouse_inventory_warehouse_catalog
+    ON warehouse_inventory(warehouse_id, catalog_id);
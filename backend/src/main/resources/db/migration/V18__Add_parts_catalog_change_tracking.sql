@@ -0,0 +1,18 @@
+-- Change tracking for the delta product export to 1C
+ALTER TABLE parts_catalog ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+
+UPDATE parts_catalog SET updated_at = NOW() WHERE updated_at IS NULL;
+
+ALTER TABLE parts_catalog ALTER COLUMN updated_at SET DEFAULT NOW();
+
+-- Keyset scan of changed products in export order
+CREATE INDEX IF NOT EXISTS idx_parts_catalog_updated_at_id
+    ON parts_catalog(updated_at, catalog_id);
+
+-- Last exported (updated_at, id) key per sync target
+CREATE TABLE IF NOT EXISTS onec_sync_watermarks (
+    target          VARCHAR(64) PRIMARY KEY,
+    last_updated_at TIMESTAMP,
+    last_id         BIGINT,
+    synced_at       TIMESTAMP
+);
@@ -0,0 +1,35 @@
+-- Persistent notification feed; notification_id is the cursor for "since id" reads
+CREATE TABLE IF NOT EXISTS notifications (
+    notification_id BIGSERIAL PRIMARY KEY,
+    event_id        UUID        NOT NULL,
+    type            VARCHAR(64) NOT NULL,
+    message         TEXT,
+    request_id      BIGINT,
+    work_log_id     BIGINT,
+    mechanic_id     BIGINT,
+    club_id         BIGINT,
+    part_ids        TEXT,
+    payload         TEXT,
+    audiences       VARCHAR(255) NOT NULL,
+    created_at      TIMESTAMP   NOT NULL DEFAULT NOW()
+);
+
+-- Lookup by public event id (appeal replies)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_notifications_event_id ON notifications(event_id);
+
+-- Retention sweep and hot window warm-up
+CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON notifications(created_at);
+
+-- Club and mechanic feeds read past the hot window
+CREATE INDEX IF NOT EXISTS idx_notifications_club_id ON notifications(club_id, notification_id);
+CREATE INDEX IF NOT EXISTS idx_notifications_mechanic_id ON notifications(mechanic_id, notification_id);
+
+-- Per-user read marks; a missing row means unread
+CREATE TABLE IF NOT EXISTS notification_reads (
+    user_id         BIGINT    NOT NULL,
+    notification_id BIGINT    NOT NULL REFERENCES notifications(notification_id) ON DELETE CASCADE,
+    read_at         TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, notification_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_reads_notification ON notification_reads(notification_id);
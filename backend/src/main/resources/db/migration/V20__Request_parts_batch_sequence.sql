@@ -0,0 +1,10 @@
+-- Pooled id sequence for request_parts so JPA can batch inserts (IDENTITY disables JDBC batching).
+-- allocationSize on RequestPart must match INCREMENT BY.
+CREATE SEQUENCE IF NOT EXISTS request_parts_seq INCREMENT BY 50;
+
+-- Start past existing ids: the pooled optimizer hands out the 50 values ending at nextval().
+-- Runs on every start before the EntityManagerFactory (RequestPartsSequenceInitializer),
+-- so it only ever moves the sequence forward.
+SELECT setval('request_parts_seq',
+              GREATEST(COALESCE(MAX(part_id), 0) + 50, (SELECT last_value FROM request_parts_seq)))
+FROM request_parts;
@@ -0,0 +1,3 @@
+-- Keyset pagination of maintenance request listings by status (newest first)
+CREATE INDEX IF NOT EXISTS idx_maintenance_requests_status_request
+    ON maintenance_requests(status, request_id);
@@ -0,0 +1,4 @@
+-- Document content moves out of the BYTEA column into a pluggable store;
+-- file_data stays for documents uploaded before the change
+ALTER TABLE technical_documents ADD COLUMN IF NOT EXISTS storage_key VARCHAR(255);
+ALTER TABLE technical_documents ADD COLUMN IF NOT EXISTS content_sha256 VARCHAR(64);
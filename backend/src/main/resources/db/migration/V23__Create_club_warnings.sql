@@ -0,0 +1,25 @@
+-- Materialized owner dashboard warnings, one set of rows per source
+-- (maintenance schedule, club equipment, installed service part)
+CREATE TABLE IF NOT EXISTS club_warnings (
+    warning_id      BIGSERIAL PRIMARY KEY,
+    club_id         BIGINT      NOT NULL,
+    source_type     VARCHAR(32) NOT NULL,
+    source_id       BIGINT      NOT NULL,
+    type            VARCHAR(64) NOT NULL,
+    message         TEXT,
+    equipment_id    BIGINT,
+    schedule_id     BIGINT,
+    part_catalog_id BIGINT,
+    due_date        DATE,
+    active_from     DATE,
+    active_until    DATE
+);
+
+-- Dashboard read: warnings of one club active today
+CREATE INDEX IF NOT EXISTS idx_club_warnings_club_active ON club_warnings(club_id, active_from);
+
+-- Incremental recomputation replaces the rows of a single source
+CREATE INDEX IF NOT EXISTS idx_club_warnings_source ON club_warnings(source_type, source_id);
+
+-- Nightly sweep of expired "due soon" warnings
+CREATE INDEX IF NOT EXISTS idx_club_warnings_active_until ON club_warnings(active_until);
@@ -0,0 +1,57 @@
+-- Append-only stock ledger: every change of warehouse_inventory writes one row
+-- in the same transaction. quantity_after/reserved_after carry the running balance
+-- of the position, so "balance as of D" is the last row of each position before D.
+-- Range-partitioned by month; WarehouseMovementPartitions keeps future months created.
+-- Applied at startup by WarehouseLedgerInitializer (the project has no migration runner).
+CREATE TABLE IF NOT EXISTS warehouse_movement (
+    movement_id    BIGSERIAL,
+    warehouse_id   INTEGER     NOT NULL,
+    catalog_id     INTEGER,
+    inventory_id   BIGINT,
+    operation_type VARCHAR(32) NOT NULL,
+    quantity_delta INTEGER     NOT NULL,
+    reserved_delta INTEGER     NOT NULL,
+    quantity_after INTEGER,
+    reserved_after INTEGER,
+    request_id     BIGINT,
+    comment        TEXT,
+    occurred_at    TIMESTAMP   NOT NULL,
+    PRIMARY KEY (movement_id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+-- Rows outside of the created months land here instead of failing the write
+CREATE TABLE IF NOT EXISTS warehouse_movement_default PARTITION OF warehouse_movement DEFAULT;
+
+-- Current month and the next three; later months are created by the application
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', CURRENT_DATE)::DATE;
+BEGIN
+    FOR i IN 0..3 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF warehouse_movement FOR VALUES FROM (%L) TO (%L)',
+            'warehouse_movement_' || to_char(month_start + make_interval(months => i), 'YYYY_MM'),
+            month_start + make_interval(months => i),
+            month_start + make_interval(months => i + 1));
+    END LOOP;
+END $$;
+
+-- Keyset-paged movements of one warehouse, newest first, optionally within a period
+CREATE INDEX IF NOT EXISTS idx_warehouse_movement_warehouse_time
+    ON warehouse_movement(warehouse_id, occurred_at, movement_id);
+
+-- Period reads and "last movement of a position before D"
+CREATE INDEX IF NOT EXISTS idx_warehouse_movement_position_time
+    ON warehouse_movement(warehouse_id, catalog_id, occurred_at);
+
+-- Opening balances for stock that existed before the ledger
+INSERT INTO warehouse_movement
+    (warehouse_id, catalog_id, inventory_id, operation_type, quantity_delta, reserved_delta,
+     quantity_after, reserved_after, comment, occurred_at)
+SELECT w.warehouse_id, w.catalog_id, w.inventory_id, 'OPENING',
+       COALESCE(w.quantity, 0), COALESCE(w.reserved_quantity, 0),
+       COALESCE(w.quantity, 0), COALESCE(w.reserved_quantity, 0),
+       'Opening balance', now()
+FROM warehouse_inventory w
+WHERE w.warehouse_id IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM warehouse_movement m WHERE m.inventory_id = w.inventory_id);
@@ -0,0 +1,31 @@
+-- Due-date alert sweeper (service due, warranty expiry, scheduled maintenance, low stock)
+
+-- Keyset windows (due, id] per alert source
+CREATE INDEX IF NOT EXISTS idx_service_history_next_service_due
+    ON service_history(next_service_due, service_id);
+
+CREATE INDEX IF NOT EXISTS idx_service_history_warranty_until
+    ON service_history(warranty_until, service_id);
+
+CREATE INDEX IF NOT EXISTS idx_equipment_maintenance_schedule_scheduled_date
+    ON equipment_maintenance_schedule(scheduled_date, schedule_id);
+
+-- Resume (due, id) key of an unfinished window pass per alert source; low stock keeps the last warehouse_movement id
+CREATE TABLE IF NOT EXISTS alert_watermarks (
+    alert_type  VARCHAR(64) PRIMARY KEY,
+    last_due_at TIMESTAMP,
+    last_id     BIGINT,
+    swept_at    TIMESTAMP
+);
+
+-- Alerts already sent for a source row and due date
+CREATE TABLE IF NOT EXISTS fired_alerts (
+    fired_alert_id BIGSERIAL PRIMARY KEY,
+    alert_type     VARCHAR(64) NOT NULL,
+    source_id      BIGINT      NOT NULL,
+    due_at         TIMESTAMP   NOT NULL,
+    fired_at       TIMESTAMP   NOT NULL,
+    CONSTRAINT uq_fired_alerts_source_due UNIQUE (alert_type, source_id, due_at)
+);
+
+CREATE INDEX IF NOT EXISTS idx_fired_alerts_due_at ON fired_alerts(due_at);
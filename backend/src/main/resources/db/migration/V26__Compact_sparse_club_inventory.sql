@@ -0,0 +1,32 @@
+-- Sparse club warehouses: only positions with stock, a reservation, a placement or notes are stored.
+-- Zero placeholders (catalog x clubs) created by the old warehouse initialization are removed;
+-- text search synthesizes them on read.
+-- Applied once by SparseInventoryCompactor (PostgreSQL only, app.warehouse.sparse-inventory=true),
+-- before the web server starts; the run is recorded in applied_schema_scripts.
+
+-- Rows kept on purpose:
+--   * personal warehouses (zero rows there were entered by hand);
+--   * rows referenced by request_parts.inventory_id;
+--   * rows with ledger history beyond the opening balance seeded at startup.
+DELETE FROM warehouse_inventory w
+WHERE COALESCE(w.quantity, 0) = 0
+  AND COALESCE(w.reserved_quantity, 0) = 0
+  AND w.location_reference IS NULL
+  AND w.cell_code IS NULL
+  AND w.shelf_code IS NULL
+  AND w.lane_number IS NULL
+  AND w.placement_status IS NULL
+  AND w.notes IS NULL
+  AND EXISTS (SELECT 1 FROM bowling_clubs c WHERE c.club_id = w.warehouse_id)
+  AND NOT EXISTS (SELECT 1 FROM personal_warehouses p WHERE p.warehouse_id = w.warehouse_id)
+  AND NOT EXISTS (SELECT 1 FROM request_parts r WHERE r.inventory_id = w.inventory_id)
+  AND NOT EXISTS (SELECT 1 FROM warehouse_movement m
+                  WHERE m.inventory_id = w.inventory_id
+                    AND m.operation_type <> 'OPENING');
+
+-- Zero opening balances of the removed placeholders
+DELETE FROM warehouse_movement m
+WHERE m.operation_type = 'OPENING'
+  AND m.quantity_after = 0
+  AND m.reserved_after = 0
+  AND NOT EXISTS (SELECT 1 FROM warehouse_inventory w WHERE w.inventory_id = m.inventory_id);
@@ -0,0 +1,11 @@
+-- Purchase order lists: status filter + keyset order on (order_date, order_id) read from one index;
+-- request_id and supplier_id are included for the joins to the maintenance request club and supplier.
+-- Hibernate cannot declare INCLUDE columns, so this index lives only here under its own name; the plain
+-- (status, order_date, order_id) index that older entity mappings created is replaced by it.
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_status_order_date_covering
+    ON purchase_orders(status, order_date DESC, order_id DESC) INCLUDE (request_id, supplier_id);
+
+DROP INDEX IF EXISTS idx_purchase_orders_status_order_date;
+
+-- The club filter (purchase_orders.request_id), review/complaint probes (supplier_reviews(order_id, is_complaint))
+-- and position counts (request_parts.order_id) are served by indexes declared on the entities.
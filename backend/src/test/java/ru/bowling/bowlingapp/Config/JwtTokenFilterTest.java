@@ -10,6 +10,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -43,7 +44,7 @@ class JwtTokenFilterTest {
         MockHttpServletResponse response = new MockHttpServletResponse();
         FilterChain chain = mock(FilterChain.class);
 
-        when(provider.isValidToken("bad-token")).thenReturn(false);
+        when(provider.resolveAuthentication("bad-token")).thenReturn(Optional.empty());
 
         filter.doFilter(request, response, chain);
 
@@ -61,10 +62,9 @@ class JwtTokenFilterTest {
         MockHttpServletResponse response = new MockHttpServletResponse();
         FilterChain chain = mock(FilterChain.class);
 
-        when(provider.isValidToken("ok-token")).thenReturn(true);
-        when(provider.getAuthentication("ok-token")).thenReturn(
+        when(provider.resolveAuthentication("ok-token")).thenReturn(Optional.of(
                 new UsernamePasswordAuthenticationToken("user", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")))
-        );
+        ));
 
         filter.doFilter(request, response, chain);
 
@@ -1,5 +1,6 @@
 package ru.bowling.bowlingapp.Config;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.Authentication;
@@ -8,7 +9,12 @@ import ru.bowling.bowlingapp.Entity.Role;
 import ru.bowling.bowlingapp.Entity.User;
 import ru.bowling.bowlingapp.Security.UserPrincipal;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JwtTokenProviderTest {
 
@@ -20,6 +26,7 @@ class JwtTokenProviderTest {
         ReflectionTestUtils.setField(provider, "secret", "test-secret");
         ReflectionTestUtils.setField(provider, "accessTokenValidity", 3_600_000L);
         ReflectionTestUtils.setField(provider, "refreshTokenValidity", 7_200_000L);
+        ReflectionTestUtils.setField(provider, "verifiedTokenCacheSize", 100);
         provider.init();
     }
 
@@ -46,4 +53,58 @@ class JwtTokenProviderTest {
                 .extracting("authority")
                 .containsExactly("ROLE_MECHANIC");
     }
+
+    @Test
+    void verifiesTokenOnceAndHonoursRevocation() {
+        String token = provider.generateAccessToken(user(7L));
+
+        assertThat(provider.isValidToken(token)).isTrue();
+        assertThat(provider.getAuthentication(token).getName()).isEqualTo("+70000000007");
+        assertThat(provider.cachedTokenCount()).isEqualTo(1);
+
+        Set<String> revoked = new HashSet<>();
+        provider.setRevocationList((tokenHash, principal) -> revoked.contains(tokenHash));
+        revoked.add(JwtTokenProvider.tokenHash(token));
+
+        assertThat(provider.resolveAuthentication(token)).isEmpty();
+        assertThat(provider.cachedTokenCount()).isZero();
+        assertThatThrownBy(() -> provider.getAuthentication(token)).isInstanceOf(JWTVerificationException.class);
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = provider.generateAccessToken(user(8L));
+
+        assertThat(provider.isValidToken(token + "x")).isFalse();
+        assertThat(provider.cachedTokenCount()).isZero();
+    }
+
+    @Test
+    void cacheDropsExpiredEntriesAndStaysBounded() {
+        AtomicLong now = new AtomicLong(1_000L);
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, now::get);
+        UserPrincipal principal = UserPrincipal.fromClaims(1L, "+70000000001", "ADMIN");
+
+        cache.put("short", principal, 2_000L);
+        cache.put("long", principal, 60_000L);
+        now.set(2_000L);
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.get("long")).isSameAs(principal);
+
+        for (int i = 0; i < 50; i++) {
+            cache.put("token-" + i, principal, 60_000L);
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+    }
+
+    private User user(Long id) {
+        Role role = new Role();
+        role.setName("ADMIN");
+        return User.builder()
+                .userId(id)
+                .phone("+7000000000" + id)
+                .role(role)
+                .isActive(true)
+                .build();
+    }
 }
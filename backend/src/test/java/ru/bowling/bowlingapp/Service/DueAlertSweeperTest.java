@@ -0,0 +1,185 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.DTO.NotificationEventType;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.ClubEquipment;
+import ru.bowling.bowlingapp.Entity.EquipmentMaintenanceSchedule;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.ServiceHistory;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Enum.RoleName;
+import ru.bowling.bowlingapp.Repository.AlertWatermarkRepository;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.ClubEquipmentRepository;
+import ru.bowling.bowlingapp.Repository.ClubWarningRepository;
+import ru.bowling.bowlingapp.Repository.EquipmentMaintenanceScheduleRepository;
+import ru.bowling.bowlingapp.Repository.FiredAlertRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.ServiceHistoryRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseMovementRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Без {@code @Transactional}: отметки сохраняются в собственных транзакциях сборщика.
+ * Склейка уведомлений выключена, чтобы события сохранялись сразу.
+ */
+@SpringBootTest(properties = "app.notifications.coalesce-window-ms=0")
+class DueAlertSweeperTest {
+
+    private static final int WAREHOUSE_ID = 9201;
+
+    @Autowired
+    private DueAlertSweeper dueAlertSweeper;
+    @Autowired
+    private NotificationStore notificationStore;
+    @Autowired
+    private StockReservationService stockReservationService;
+    @Autowired
+    private AlertWatermarkRepository alertWatermarkRepository;
+    @Autowired
+    private FiredAlertRepository firedAlertRepository;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private ClubEquipmentRepository clubEquipmentRepository;
+    @Autowired
+    private ClubWarningRepository clubWarningRepository;
+    @Autowired
+    private EquipmentMaintenanceScheduleRepository scheduleRepository;
+    @Autowired
+    private ServiceHistoryRepository serviceHistoryRepository;
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+    @Autowired
+    private WarehouseInventoryRepository warehouseInventoryRepository;
+    @Autowired
+    private WarehouseMovementRepository warehouseMovementRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BowlingClub club;
+    private ClubEquipment equipment;
+    private PartsCatalog part;
+    private WarehouseInventory inventory;
+    private ServiceHistory record;
+    private EquipmentMaintenanceSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        alertWatermarkRepository.deleteAll();
+        firedAlertRepository.deleteAll();
+        club = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Alerts Club")
+                .address("Alerts street 1")
+                .createdAt(LocalDate.now())
+                .build());
+        equipment = clubEquipmentRepository.save(ClubEquipment.builder().club(club).model("Pinsetter A1").build());
+        part = partsCatalogRepository.save(PartsCatalog.builder().catalogNumber("ALR-1").officialNameRu("Ролик").build());
+        inventory = warehouseInventoryRepository.save(WarehouseInventory.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .catalogId(part.getCatalogId().intValue())
+                .quantity(5)
+                .reservedQuantity(0)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (schedule != null) {
+                scheduleRepository.deleteById(schedule.getScheduleId());
+            }
+            if (record != null) {
+                serviceHistoryRepository.deleteById(record.getServiceId());
+            }
+            clubEquipmentRepository.deleteById(equipment.getEquipmentId());
+            clubWarningRepository.deleteByClub(club.getClubId());
+            bowlingClubRepository.deleteById(club.getClubId());
+        });
+        warehouseMovementRepository.deleteAll(warehouseMovementRepository.findAll().stream()
+                .filter(movement -> movement.getWarehouseId() == WAREHOUSE_ID)
+                .toList());
+        warehouseInventoryRepository.deleteById(inventory.getInventoryId());
+        partsCatalogRepository.delete(part);
+        alertWatermarkRepository.deleteAll();
+        firedAlertRepository.deleteAll();
+    }
+
+    @Test
+    void newlyDueItemsAreAlertedOnceAndLowStockOnCrossing() {
+        dueAlertSweeper.sweep();
+        assertThat(clubEvents()).isEmpty();
+
+        LocalDateTime now = LocalDateTime.now();
+        record = serviceHistoryRepository.save(ServiceHistory.builder()
+                .club(club)
+                .equipment(equipment)
+                .serviceDate(now.minusDays(30))
+                .nextServiceDue(now.plusDays(3))
+                .warrantyUntil(now.plusDays(10))
+                .build());
+        schedule = scheduleRepository.save(EquipmentMaintenanceSchedule.builder()
+                .club(club)
+                .equipment(equipment)
+                .maintenanceType("Weekly")
+                .scheduledDate(LocalDate.now().plusDays(2))
+                .isCritical(false)
+                .build());
+        stockReservationService.issue(List.of(WAREHOUSE_ID), null,
+                List.of(new StockReservationService.Line(part.getCatalogId(), 3)));
+
+        dueAlertSweeper.sweep();
+        dueAlertSweeper.sweep();
+
+        assertThat(clubEvents()).extracting(NotificationEvent::getType).containsExactlyInAnyOrder(
+                NotificationEventType.SERVICE_DUE,
+                NotificationEventType.WARRANTY_EXPIRING,
+                NotificationEventType.MAINTENANCE_WARNING);
+        assertThat(notificationStore.find(RoleName.ADMIN, null, null, null, 500)).filteredOn(event ->
+                        event.getType() == NotificationEventType.INVENTORY_LOW
+                                && event.getPayload().contains("ALR-1"))
+                .hasSize(1);
+    }
+
+    @Test
+    void rescheduledWorkIsAlertedAgain() {
+        schedule = scheduleRepository.save(EquipmentMaintenanceSchedule.builder()
+                .club(club)
+                .equipment(equipment)
+                .maintenanceType("Weekly")
+                .scheduledDate(LocalDate.now().plusDays(1))
+                .isCritical(false)
+                .build());
+        dueAlertSweeper.sweep();
+
+        schedule.setScheduledDate(LocalDate.now().plusDays(2));
+        schedule = scheduleRepository.save(schedule);
+        dueAlertSweeper.sweep();
+        dueAlertSweeper.sweep();
+
+        assertThat(clubEvents()).extracting(NotificationEvent::getType).containsExactly(
+                NotificationEventType.MAINTENANCE_WARNING,
+                NotificationEventType.MAINTENANCE_WARNING);
+    }
+
+    private List<NotificationEvent> clubEvents() {
+        return notificationStore.find(RoleName.CLUB_OWNER, Set.of(club.getClubId()), null, null, 100).stream()
+                .filter(event -> club.getClubId().equals(event.getClubId()))
+                .toList();
+    }
+}
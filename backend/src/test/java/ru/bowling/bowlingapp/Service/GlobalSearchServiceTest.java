@@ -0,0 +1,162 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.GlobalSearchResponseDTO;
+import ru.bowling.bowlingapp.Entity.*;
+import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
+import ru.bowling.bowlingapp.Entity.enums.WorkLogStatus;
+import ru.bowling.bowlingapp.Enum.AccountTypeName;
+import ru.bowling.bowlingapp.Enum.RoleName;
+import ru.bowling.bowlingapp.Repository.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class GlobalSearchServiceTest {
+
+    @Autowired
+    private GlobalSearchService globalSearchService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private AccountTypeRepository accountTypeRepository;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private MaintenanceRequestRepository maintenanceRequestRepository;
+    @Autowired
+    private WorkLogRepository workLogRepository;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        Role adminRole = roleRepository.findByNameIgnoreCase(RoleName.ADMIN.name())
+                .orElseGet(() -> roleRepository.save(Role.builder().name(RoleName.ADMIN.name()).build()));
+        AccountType mainAdmin = accountTypeRepository.findByNameIgnoreCase(AccountTypeName.MAIN_ADMIN.name())
+                .orElseGet(() -> accountTypeRepository.save(AccountType.builder().name(AccountTypeName.MAIN_ADMIN.name()).build()));
+
+        admin = userRepository.save(User.builder()
+                .phone("+79990007800")
+                .passwordHash("hash")
+                .role(adminRole)
+                .accountType(mainAdmin)
+                .registrationDate(LocalDate.now())
+                .isActive(true)
+                .isVerified(true)
+                .lastModified(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    void requestsAreServedPageByPageWithContinuationCursor() {
+        BowlingClub club = saveClub("Strike Keyset Arena");
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(maintenanceRequestRepository.save(MaintenanceRequest.builder()
+                    .club(club)
+                    .laneNumber(i + 1)
+                    .status(MaintenanceRequestStatus.NEW)
+                    .requestDate(LocalDateTime.now().minusHours(5 - i))
+                    .build()).getRequestId());
+        }
+
+        GlobalSearchResponseDTO first = globalSearchService.search("keyset arena", 2, admin.getUserId());
+        assertThat(first.getMaintenanceRequests())
+                .extracting(GlobalSearchResponseDTO.MaintenanceRequestResult::getId)
+                .containsExactly(ids.get(4), ids.get(3));
+        assertThat(first.getMaintenanceRequests())
+                .allSatisfy(result -> assertThat(result.getClubName()).isEqualTo("Strike Keyset Arena"));
+        assertThat(first.getNextCursors().getMaintenanceRequests()).isNotNull();
+        assertThat(first.getIncompleteSections()).isEmpty();
+
+        List<Long> collected = new ArrayList<>();
+        first.getMaintenanceRequests().forEach(result -> collected.add(result.getId()));
+        String cursor = first.getNextCursors().getMaintenanceRequests();
+        while (cursor != null) {
+            GlobalSearchResponseDTO next = globalSearchService.search("keyset arena", 2, admin.getUserId(),
+                    GlobalSearchSection.MAINTENANCE_REQUESTS, cursor);
+            assertThat(next.getClubs()).isEmpty();
+            next.getMaintenanceRequests().forEach(result -> collected.add(result.getId()));
+            cursor = next.getNextCursors().getMaintenanceRequests();
+        }
+
+        assertThat(collected).containsExactly(ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(0));
+    }
+
+    @Test
+    void clubsAndWorkLogsAreMatchedInDatabase() {
+        BowlingClub alpha = saveClub("Keyset Alpha");
+        saveClub("Keyset Beta");
+        saveClub("Keyset Gamma");
+        saveClub("Unrelated Lanes");
+        workLogRepository.save(WorkLog.builder()
+                .club(alpha)
+                .createdBy(admin.getUserId())
+                .createdDate(LocalDateTime.now())
+                .status(WorkLogStatus.IN_PROGRESS)
+                .problemDescription("Застревает шар в возврате")
+                .build());
+
+        GlobalSearchResponseDTO first = globalSearchService.search("KEYSET", 2, admin.getUserId());
+        assertThat(first.getClubs())
+                .extracting(GlobalSearchResponseDTO.ClubResult::getName)
+                .containsExactly("Keyset Alpha", "Keyset Beta");
+        assertThat(first.getWorkLogs())
+                .extracting(GlobalSearchResponseDTO.WorkLogResult::getClubName)
+                .containsExactly("Keyset Alpha");
+        assertThat(first.getNextCursors().getWorkLogs()).isNull();
+
+        GlobalSearchResponseDTO second = globalSearchService.search("KEYSET", 2, admin.getUserId(),
+                GlobalSearchSection.fromString("clubs"), first.getNextCursors().getClubs());
+        assertThat(second.getClubs())
+                .extracting(GlobalSearchResponseDTO.ClubResult::getName)
+                .containsExactly("Keyset Gamma");
+        assertThat(second.getNextCursors().getClubs()).isNull();
+
+        GlobalSearchResponseDTO byDescription = globalSearchService.search("возврате", 5, admin.getUserId());
+        assertThat(byDescription.getWorkLogs()).hasSize(1);
+    }
+
+    @Test
+    void incompleteSectionsAreReportedByResponseFieldName() {
+        assertThat(GlobalSearchSection.MAINTENANCE_REQUESTS.fieldName()).isEqualTo("maintenanceRequests");
+        assertThat(GlobalSearchSection.PARTS.fieldName()).isEqualTo("parts");
+        for (GlobalSearchSection section : GlobalSearchSection.values()) {
+            assertThat(GlobalSearchSection.fromString(section.fieldName())).isEqualTo(section);
+        }
+    }
+
+    @Test
+    void cursorRequiresSectionAndValidValue() {
+        assertThatThrownBy(() -> globalSearchService.search("x", 5, admin.getUserId(), null, "MQ"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> globalSearchService.search("x", 5, admin.getUserId(),
+                GlobalSearchSection.WORK_LOGS, "not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GlobalSearchSection.fromString("users"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BowlingClub saveClub(String name) {
+        return bowlingClubRepository.save(BowlingClub.builder()
+                .name(name)
+                .address("Test street")
+                .isActive(true)
+                .createdAt(LocalDate.now())
+                .build());
+    }
+}
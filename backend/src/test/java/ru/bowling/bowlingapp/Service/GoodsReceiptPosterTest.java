@@ -0,0 +1,101 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.DTO.WarehouseMovementDto;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseMovementRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Без {@code @Transactional}: проводка пишет через JDBC, результат проверяется чтением из базы.
+ */
+@SpringBootTest
+class GoodsReceiptPosterTest {
+
+    private static final int WAREHOUSE_ID = 9301;
+
+    @Autowired
+    private GoodsReceiptPoster goodsReceiptPoster;
+    @Autowired
+    private WarehouseLedger warehouseLedger;
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+    @Autowired
+    private WarehouseInventoryRepository warehouseInventoryRepository;
+    @Autowired
+    private WarehouseMovementRepository warehouseMovementRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PartsCatalog stocked;
+    private PartsCatalog fresh;
+
+    @BeforeEach
+    void setUp() {
+        stocked = partsCatalogRepository.save(PartsCatalog.builder().catalogNumber("GRP-1").officialNameRu("Вал").build());
+        fresh = partsCatalogRepository.save(PartsCatalog.builder().catalogNumber("GRP-2").officialNameRu("Втулка").build());
+        warehouseInventoryRepository.save(WarehouseInventory.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .catalogId(stocked.getCatalogId().intValue())
+                .quantity(2)
+                .reservedQuantity(1)
+                .cellCode("C-1")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        warehouseMovementRepository.deleteAll(warehouseMovementRepository.findAll().stream()
+                .filter(movement -> movement.getWarehouseId() == WAREHOUSE_ID)
+                .toList());
+        warehouseInventoryRepository.deleteAll(warehouseInventoryRepository.findByWarehouseId(WAREHOUSE_ID));
+        partsCatalogRepository.deleteAll(List.of(stocked, fresh));
+    }
+
+    @Test
+    void receiptUpsertsMergedPositionsAndJournalsOneMovementPerPosition() {
+        int stockedId = stocked.getCatalogId().intValue();
+        int freshId = fresh.getCatalogId().intValue();
+
+        Map<Integer, GoodsReceiptPoster.Posting> postings = new TransactionTemplate(transactionManager).execute(status ->
+                goodsReceiptPoster.post(WAREHOUSE_ID, WarehouseMovementType.PURCHASE_ACCEPTANCE, 55L, List.of(
+                        new GoodsReceiptPoster.Line(stockedId, 3, null, "S-1", null, null),
+                        GoodsReceiptPoster.Line.of(stockedId, 1),
+                        GoodsReceiptPoster.Line.of(freshId, 4),
+                        GoodsReceiptPoster.Line.of(freshId, 0))));
+
+        assertThat(postings).containsOnlyKeys(stockedId, freshId);
+        WarehouseInventory updated = warehouseInventoryRepository.findFirstByWarehouseIdAndCatalogId(WAREHOUSE_ID, stockedId);
+        assertThat(updated.getQuantity()).isEqualTo(6);
+        assertThat(updated.getReservedQuantity()).isEqualTo(1);
+        assertThat(updated.getShelfCode()).isEqualTo("S-1");
+        assertThat(updated.getCellCode()).isEqualTo("C-1");
+        assertThat(postings.get(stockedId).inventoryId()).isEqualTo(updated.getInventoryId());
+
+        WarehouseInventory created = warehouseInventoryRepository.findFirstByWarehouseIdAndCatalogId(WAREHOUSE_ID, freshId);
+        assertThat(created.getQuantity()).isEqualTo(4);
+        assertThat(created.getLastChecked()).isNotNull();
+
+        List<WarehouseMovementDto> movements = warehouseLedger.getMovements(WAREHOUSE_ID, null, null, null, null).getItems();
+        assertThat(movements).hasSize(2).allSatisfy(movement -> {
+            assertThat(movement.getOperationType()).isEqualTo("PURCHASE_ACCEPTANCE");
+            assertThat(movement.getRequestId()).isEqualTo(55L);
+        });
+        assertThat(movements).extracting(WarehouseMovementDto::getQuantityDelta).containsExactlyInAnyOrder(4, 4);
+        assertThat(movements).extracting(WarehouseMovementDto::getQuantityAfter).containsExactlyInAnyOrder(6, 4);
+    }
+}
@@ -0,0 +1,150 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.InventorySearchRequest;
+import ru.bowling.bowlingapp.DTO.PartDto;
+import ru.bowling.bowlingapp.Entity.EquipmentCategory;
+import ru.bowling.bowlingapp.Entity.PartImage;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Repository.EquipmentCategoryRepository;
+import ru.bowling.bowlingapp.Repository.PartImageRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class InventorySearchQueryCountTest {
+
+    private static final int WAREHOUSE_ID = 9100;
+
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+    @Autowired
+    private PartImageRepository partImageRepository;
+    @Autowired
+    private WarehouseInventoryRepository warehouseInventoryRepository;
+    @Autowired
+    private EquipmentCategoryRepository equipmentCategoryRepository;
+    @Autowired
+    private EquipmentCategoryTreeCache categoryTreeCache;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        EquipmentCategory root = equipmentCategoryRepository.save(category(9001L, null, 1, "QC-ROOT"));
+        EquipmentCategory node = equipmentCategoryRepository.save(category(9002L, root, 2, "QC-NODE"));
+        equipmentCategoryRepository.save(category(9003L, node, 3, "QC-LEAF"));
+        seeded = 0;
+    }
+
+    @Test
+    void keywordSearchQueryCountDoesNotGrowWithResultSize() {
+        seedParts(3);
+        long small = countStatements(() -> assertThat(search("QC-PART")).hasSize(3));
+
+        seedParts(40);
+        long large = countStatements(() -> assertThat(search("QC-PART")).hasSize(43));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void warehouseListingQueryCountDoesNotGrowWithResultSize() {
+        seedParts(3);
+        long small = countStatements(() -> assertThat(search(null)).hasSize(3));
+
+        seedParts(40);
+        long large = countStatements(() -> assertThat(search(null)).hasSize(43));
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void assembledDtoCarriesImageAndCategoryPath() {
+        seedParts(2);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PartDto> result = search("QC-PART");
+
+        assertThat(result).allSatisfy(dto -> {
+            assertThat(dto.getImageUrl()).startsWith("https://img/");
+            assertThat(dto.getEquipmentNodeId()).isEqualTo(9003L);
+            assertThat(dto.getEquipmentNodePath()).containsExactly(9001L, 9002L, 9003L);
+            assertThat(dto.getEquipmentNodeName()).isEqualTo("QC-LEAF");
+        });
+    }
+
+    private List<PartDto> search(String query) {
+        return inventoryService.searchParts(InventorySearchRequest.builder()
+                .query(query)
+                .warehouseId(WAREHOUSE_ID)
+                .build());
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        categoryTreeCache.snapshot();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedParts(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = seeded++;
+            // Половина позиций ссылается на категорию по id, половина — по коду.
+            PartsCatalog part = partsCatalogRepository.save(PartsCatalog.builder()
+                    .catalogNumber("QC-PART-" + n)
+                    .officialNameRu("Деталь " + n)
+                    .categoryCode(n % 2 == 0 ? "9003" : "qc-leaf")
+                    .build());
+            partImageRepository.save(PartImage.builder()
+                    .catalogId(part.getCatalogId())
+                    .imageUrl("https://img/" + n)
+                    .build());
+            warehouseInventoryRepository.save(WarehouseInventory.builder()
+                    .warehouseId(WAREHOUSE_ID)
+                    .catalogId(part.getCatalogId().intValue())
+                    .quantity(n + 1)
+                    .build());
+        }
+    }
+
+    private EquipmentCategory category(Long id, EquipmentCategory parent, int level, String code) {
+        return EquipmentCategory.builder()
+                .id(id)
+                .parent(parent)
+                .level(level)
+                .brand("Brunswick")
+                .code(code)
+                .nameRu(code)
+                .sortOrder(level)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.KnowledgeBaseDocumentCreateDTO;
+import ru.bowling.bowlingapp.DTO.KnowledgeBaseDocumentDTO;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.Role;
+import ru.bowling.bowlingapp.Entity.TechnicalDocument;
+import ru.bowling.bowlingapp.Entity.User;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.RoleRepository;
+import ru.bowling.bowlingapp.Repository.TechnicalDocumentRepository;
+import ru.bowling.bowlingapp.Repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class KnowledgeBaseServiceTest {
+
+    @Autowired
+    private KnowledgeBaseService knowledgeBaseService;
+    @Autowired
+    private TechnicalDocumentRepository technicalDocumentRepository;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private User admin;
+    private BowlingClub club;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName("ADMIN")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("ADMIN").build()));
+        admin = userRepository.save(User.builder()
+                .phone("+79995550011")
+                .passwordHash("pwd")
+                .role(role)
+                .registrationDate(LocalDate.now())
+                .isActive(true)
+                .isVerified(true)
+                .build());
+        club = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Docs Club")
+                .createdAt(LocalDate.now())
+                .build());
+    }
+
+    @Test
+    void storesUploadedContentOutsideDatabaseAndServesRanges() throws Exception {
+        byte[] data = content(300_000);
+
+        KnowledgeBaseDocumentDTO created = knowledgeBaseService.createDocument(
+                metadata("Руководство"), new ByteArrayInputStream(data), admin.getUserId());
+
+        TechnicalDocument stored = technicalDocumentRepository.findById(created.getDocumentId()).orElseThrow();
+        assertThat(stored.getStorageKey()).startsWith("fs:");
+        assertThat(stored.getFileData()).isNull();
+        assertThat(created.getFileSize()).isEqualTo(data.length);
+
+        KnowledgeBaseService.DocumentContent content = knowledgeBaseService
+                .getDocumentContent(created.getDocumentId(), admin.getUserId());
+        assertThat(content.fileSize()).isEqualTo(data.length);
+        assertThat(content.etag()).isEqualTo("\"" + stored.getContentSha256() + "\"");
+
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        knowledgeBaseService.writeContent(content, 1000, 5000, range);
+        assertThat(range.toByteArray()).isEqualTo(Arrays.copyOfRange(data, 1000, 6000));
+    }
+
+    @Test
+    void acceptsBase64UploadAndRejectsInvalidContent() throws Exception {
+        byte[] data = content(1024);
+        KnowledgeBaseDocumentCreateDTO request = metadata("Схема");
+        request.setFileBase64("data:application/pdf;base64," + Base64.getEncoder().encodeToString(data));
+
+        KnowledgeBaseDocumentDTO created = knowledgeBaseService.createDocument(request, admin.getUserId());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        KnowledgeBaseService.DocumentContent content = knowledgeBaseService
+                .getDocumentContent(created.getDocumentId(), admin.getUserId());
+        knowledgeBaseService.writeContent(content, 0, content.fileSize(), out);
+        assertThat(out.toByteArray()).isEqualTo(data);
+
+        KnowledgeBaseDocumentCreateDTO invalid = metadata("Битый файл");
+        invalid.setFileBase64("@@not-base64@@");
+        assertThatThrownBy(() -> knowledgeBaseService.createDocument(invalid, admin.getUserId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid base64 content");
+    }
+
+    @Test
+    void readsLegacyDocumentsFromDatabaseColumn() throws Exception {
+        byte[] data = content(4096);
+        TechnicalDocument legacy = technicalDocumentRepository.save(TechnicalDocument.builder()
+                .club(club)
+                .title("Старый документ")
+                .fileName("old.pdf")
+                .fileData(data)
+                .uploadDate(LocalDateTime.now())
+                .build());
+
+        KnowledgeBaseService.DocumentContent content = knowledgeBaseService
+                .getDocumentContent(legacy.getDocumentId(), admin.getUserId());
+        assertThat(content.storageKey()).isNull();
+        assertThat(content.etag()).isEqualTo("\"legacy-" + legacy.getDocumentId() + "-4096\"");
+
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        knowledgeBaseService.writeContent(content, 100, 200, range);
+        assertThat(range.toByteArray()).isEqualTo(Arrays.copyOfRange(data, 100, 300));
+    }
+
+    private KnowledgeBaseDocumentCreateDTO metadata(String title) {
+        KnowledgeBaseDocumentCreateDTO request = new KnowledgeBaseDocumentCreateDTO();
+        request.setClubId(club.getClubId());
+        request.setTitle(title);
+        return request;
+    }
+
+    private static byte[] content(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i * 31 + 7);
+        }
+        return data;
+    }
+}
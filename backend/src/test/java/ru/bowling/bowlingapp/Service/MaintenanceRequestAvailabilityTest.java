@@ -0,0 +1,183 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.MaintenanceRequestResponseDTO;
+import ru.bowling.bowlingapp.DTO.PartRequestDTO;
+import ru.bowling.bowlingapp.DTO.StockIssueDecisionDTO;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MechanicProfile;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.User;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.MechanicProfileRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class MaintenanceRequestAvailabilityTest {
+
+    @Autowired
+    private MaintenanceRequestService maintenanceRequestService;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private MechanicProfileRepository mechanicProfileRepository;
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+    @Autowired
+    private WarehouseInventoryRepository warehouseInventoryRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BowlingClub club;
+    private MechanicProfile mechanic;
+
+    @BeforeEach
+    void setUp() {
+        club = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Availability Club")
+                .createdAt(LocalDate.now())
+                .build());
+        User mechanicUser = User.builder()
+                .phone("+79990001122")
+                .passwordHash("pwd")
+                .registrationDate(LocalDate.now())
+                .isActive(true)
+                .isVerified(true)
+                .build();
+        mechanic = MechanicProfile.builder()
+                .user(mechanicUser)
+                .fullName("Механик Остатки")
+                .isDataVerified(true)
+                .createdAt(LocalDate.now())
+                .updatedAt(LocalDate.now())
+                .clubs(List.of(club))
+                .build();
+        mechanicUser.setMechanicProfile(mechanic);
+        mechanicProfileRepository.save(mechanic);
+
+        for (int i = 0; i < 40; i++) {
+            PartsCatalog part = partsCatalogRepository.save(PartsCatalog.builder()
+                    .catalogNumber("AV-" + i)
+                    .officialNameRu("Деталь " + i)
+                    .build());
+            warehouseInventoryRepository.save(WarehouseInventory.builder()
+                    .warehouseId(Math.toIntExact(club.getClubId()))
+                    .catalogId(part.getCatalogId().intValue())
+                    .quantity(i % 2 == 0 ? 5 : 0)
+                    .reservedQuantity(0)
+                    .build());
+        }
+    }
+
+    @Test
+    void resolvesAvailabilityForWholeRequestAtOnce() {
+        AtomicReference<MaintenanceRequestResponseDTO> created = new AtomicReference<>();
+        long small = countStatements(() -> created.set(maintenanceRequestService.createPartRequest(request(3))));
+        long large = countStatements(() -> created.set(maintenanceRequestService.createPartRequest(request(40))));
+
+        // Число запросов не зависит от количества позиций в заявке.
+        assertThat(large).isLessThanOrEqualTo(small);
+
+        List<MaintenanceRequestResponseDTO.RequestPartResponseDTO> parts = created.get().getRequestedParts();
+        assertThat(parts).hasSize(40);
+        assertThat(parts.get(0).getAvailable()).isTrue();
+        assertThat(parts.get(0).getWarehouseId()).isEqualTo(Math.toIntExact(club.getClubId()));
+        assertThat(parts.get(0).getInventoryId()).isNotNull();
+        assertThat(parts.get(0).getCatalogId()).isNotNull();
+        assertThat(parts.get(1).getAvailable()).isFalse();
+        assertThat(parts.get(1).getInventoryId()).isNull();
+    }
+
+    @Test
+    void stockIsReservedOnlyInRequestWarehouses() {
+        BowlingClub otherClub = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Other Availability Club")
+                .createdAt(LocalDate.now())
+                .build());
+        PartsCatalog missing = partsCatalogRepository.findByCatalogNumber("AV-1").orElseThrow();
+        WarehouseInventory foreign = warehouseInventoryRepository.save(WarehouseInventory.builder()
+                .warehouseId(Math.toIntExact(otherClub.getClubId()))
+                .catalogId(missing.getCatalogId().intValue())
+                .quantity(5)
+                .reservedQuantity(0)
+                .build());
+        MaintenanceRequestResponseDTO created = maintenanceRequestService.createPartRequest(request(2));
+        MaintenanceRequestResponseDTO.RequestPartResponseDTO stocked = created.getRequestedParts().get(0);
+        MaintenanceRequestResponseDTO.RequestPartResponseDTO elsewhere = created.getRequestedParts().get(1);
+
+        MaintenanceRequestResponseDTO approved = maintenanceRequestService.issueFromStock(created.getRequestId(),
+                decision(stocked.getPartId()));
+        assertThat(approved.getRequestedParts())
+                .filteredOn(part -> part.getPartId().equals(stocked.getPartId()))
+                .singleElement()
+                .satisfies(part -> assertThat(part.getWarehouseId()).isEqualTo(Math.toIntExact(club.getClubId())));
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(warehouseInventoryRepository.findById(stocked.getInventoryId()).orElseThrow().getReservedQuantity())
+                .isEqualTo(1);
+
+        assertThatThrownBy(() -> maintenanceRequestService.issueFromStock(created.getRequestId(),
+                decision(elsewhere.getPartId())))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(warehouseInventoryRepository.findById(foreign.getInventoryId()).orElseThrow().getReservedQuantity())
+                .isZero();
+    }
+
+    private StockIssueDecisionDTO decision(Long partId) {
+        StockIssueDecisionDTO dto = new StockIssueDecisionDTO();
+        dto.setPartDecisions(List.of(StockIssueDecisionDTO.PartDecisionDTO.builder()
+                .partId(partId)
+                .approvedQuantity(1)
+                .build()));
+        return dto;
+    }
+
+    private PartRequestDTO request(int lines) {
+        PartRequestDTO dto = new PartRequestDTO();
+        dto.setMechanicId(mechanic.getProfileId());
+        dto.setClubId(club.getClubId());
+        dto.setLaneNumber(2);
+        dto.setReason("Переборка дорожки");
+        List<PartRequestDTO.RequestedPartDTO> parts = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            PartRequestDTO.RequestedPartDTO part = new PartRequestDTO.RequestedPartDTO();
+            part.setCatalogNumber("AV-" + i);
+            part.setPartName("Деталь " + i);
+            part.setQuantity(1);
+            parts.add(part);
+        }
+        dto.setRequestedParts(parts);
+        return dto;
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,111 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MaintenanceRequest;
+import ru.bowling.bowlingapp.Entity.RequestPart;
+import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
+import ru.bowling.bowlingapp.Entity.enums.PartStatus;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.MaintenanceRequestRepository;
+import ru.bowling.bowlingapp.Repository.RequestPartRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Маленькая страница, чтобы выгрузка прошла через несколько курсорных запросов.
+ */
+@SpringBootTest(properties = {
+        "app.maintenance-export.page-size=2",
+        "app.maintenance-export.row-window=3"
+})
+@Transactional
+class MaintenanceRequestExcelExporterTest {
+
+    @Autowired
+    private MaintenanceRequestExcelExporter exporter;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private MaintenanceRequestRepository maintenanceRequestRepository;
+    @Autowired
+    private RequestPartRepository requestPartRepository;
+
+    @Test
+    void exportsAllRequestsOfClubAcrossPagesWithTheirParts() throws Exception {
+        BowlingClub club = club("Export Club");
+        BowlingClub otherClub = club("Other Club");
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            MaintenanceRequest request = request(club, MaintenanceRequestStatus.APPROVED, LocalDateTime.now().minusDays(i));
+            part(request, "EXP-" + i + "-A");
+            part(request, "EXP-" + i + "-B");
+            expectedIds.add(request.getRequestId());
+        }
+        part(request(otherClub, MaintenanceRequestStatus.APPROVED, LocalDateTime.now()), "OTHER");
+        request(club, MaintenanceRequestStatus.APPROVED, LocalDateTime.now().minusYears(1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exporter.export(new MaintenanceRequestExcelExporter.Scope(
+                List.of(club.getClubId()),
+                MaintenanceRequestStatus.APPROVED,
+                LocalDate.now().minusDays(10).atStartOfDay(),
+                LocalDate.now().plusDays(1).atStartOfDay()), out);
+
+        assertThat(exported).isEqualTo(5);
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet requests = workbook.getSheet("Заявки");
+            Sheet parts = workbook.getSheet("Запчасти");
+            assertThat(requests.getLastRowNum()).isEqualTo(5);
+            assertThat(parts.getLastRowNum()).isEqualTo(10);
+
+            List<Long> exportedIds = new ArrayList<>();
+            for (int row = 1; row <= requests.getLastRowNum(); row++) {
+                exportedIds.add((long) requests.getRow(row).getCell(0).getNumericCellValue());
+                assertThat(requests.getRow(row).getCell(2).getStringCellValue()).isEqualTo("Export Club");
+            }
+            assertThat(exportedIds).containsExactlyElementsOf(expectedIds);
+            assertThat(parts.getRow(1).getCell(3).getStringCellValue()).isEqualTo("EXP-0-A");
+            assertThat(parts.getColumnWidth(2)).isEqualTo(36 * 256);
+        }
+    }
+
+    private BowlingClub club(String name) {
+        return bowlingClubRepository.save(BowlingClub.builder()
+                .name(name)
+                .createdAt(LocalDate.now())
+                .build());
+    }
+
+    private MaintenanceRequest request(BowlingClub club, MaintenanceRequestStatus status, LocalDateTime date) {
+        return maintenanceRequestRepository.save(MaintenanceRequest.builder()
+                .club(club)
+                .requestDate(date)
+                .status(status)
+                .requestReason("Плановое обслуживание")
+                .build());
+    }
+
+    private void part(MaintenanceRequest request, String catalogNumber) {
+        requestPartRepository.save(RequestPart.builder()
+                .request(request)
+                .catalogNumber(catalogNumber)
+                .partName("Деталь " + catalogNumber)
+                .quantity(1)
+                .status(PartStatus.APPROVED_FOR_ISSUE)
+                .build());
+    }
+}
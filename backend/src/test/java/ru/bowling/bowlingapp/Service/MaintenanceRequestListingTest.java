@@ -0,0 +1,137 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.MaintenanceRequestPageDTO;
+import ru.bowling.bowlingapp.DTO.MaintenanceRequestResponseDTO;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MaintenanceRequest;
+import ru.bowling.bowlingapp.Entity.RequestPart;
+import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
+import ru.bowling.bowlingapp.Entity.enums.PartStatus;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.MaintenanceRequestRepository;
+import ru.bowling.bowlingapp.Repository.RequestPartRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class MaintenanceRequestListingTest {
+
+    @Autowired
+    private MaintenanceRequestService maintenanceRequestService;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private MaintenanceRequestRepository maintenanceRequestRepository;
+    @Autowired
+    private RequestPartRepository requestPartRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BowlingClub club;
+    private final List<Long> requestIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        club = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Listing Club")
+                .createdAt(LocalDate.now())
+                .build());
+        BowlingClub otherClub = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Other Listing Club")
+                .createdAt(LocalDate.now())
+                .build());
+        for (int i = 0; i < 7; i++) {
+            MaintenanceRequest request = maintenanceRequestRepository.save(MaintenanceRequest.builder()
+                    .club(club)
+                    .requestDate(LocalDateTime.now().minusDays(7 - i))
+                    .status(MaintenanceRequestStatus.NEW)
+                    .requestReason("Ремонт " + i)
+                    .build());
+            for (int p = 0; p < 3; p++) {
+                requestPartRepository.save(RequestPart.builder()
+                        .request(request)
+                        .catalogNumber("LST-" + i + "-" + p)
+                        .partName("Деталь " + p)
+                        .quantity(1)
+                        .status(PartStatus.APPROVAL_PENDING)
+                        .build());
+            }
+            requestIds.add(0, request.getRequestId());
+        }
+        maintenanceRequestRepository.save(MaintenanceRequest.builder()
+                .club(otherClub)
+                .requestDate(LocalDateTime.now())
+                .status(MaintenanceRequestStatus.NEW)
+                .build());
+    }
+
+    @Test
+    void walksClubHistoryWithKeysetCursor() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MaintenanceRequestPageDTO page = maintenanceRequestService.getRequestsByClub(club.getClubId(), null, cursor, 3);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(3);
+            page.getItems().forEach(item -> {
+                assertThat(item.getClubName()).isEqualTo("Listing Club");
+                assertThat(item.getRequestedParts()).hasSize(3);
+            });
+            page.getItems().forEach(item -> seen.add(item.getRequestId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(requestIds);
+    }
+
+    @Test
+    void statementCountDoesNotDependOnPageSize() {
+        AtomicReference<MaintenanceRequestPageDTO> page = new AtomicReference<>();
+        long small = countStatements(() -> page.set(maintenanceRequestService.getRequestsByClub(club.getClubId(), null, null, 1)));
+        long large = countStatements(() -> page.set(maintenanceRequestService.getRequestsByClub(club.getClubId(), null, null, 7)));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(page.get().getItems()).extracting(MaintenanceRequestResponseDTO::getRequestId)
+                .containsExactlyElementsOf(requestIds);
+        assertThat(page.get().getNextCursor()).isNull();
+    }
+
+    @Test
+    void usesDefaultPageWithoutSize() {
+        MaintenanceRequestPageDTO page = maintenanceRequestService.getRequestsByClub(club.getClubId(), null, null, null);
+
+        assertThat(page.getItems()).extracting(MaintenanceRequestResponseDTO::getRequestId)
+                .containsExactlyElementsOf(requestIds);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getSize()).isEqualTo(50);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,176 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.DTO.MechanicDirectorySummaryDTO;
+import ru.bowling.bowlingapp.DTO.SpecialistCardDTO;
+import ru.bowling.bowlingapp.Entity.AttestationApplication;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MechanicProfile;
+import ru.bowling.bowlingapp.Entity.enums.AttestationStatus;
+import ru.bowling.bowlingapp.Entity.enums.MechanicGrade;
+import ru.bowling.bowlingapp.Repository.AttestationApplicationRepository;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.MechanicProfileRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Без {@code @Transactional}: справочник обновляется только закоммиченными изменениями.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MechanicDirectoryIndexTest {
+
+    @Autowired
+    private MechanicDirectoryService mechanicDirectoryService;
+    @Autowired
+    private MechanicDirectoryIndex mechanicDirectoryIndex;
+    @Autowired
+    private MechanicProfileRepository mechanicProfileRepository;
+    @Autowired
+    private AttestationApplicationRepository attestationApplicationRepository;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transaction;
+    private final List<Long> createdProfiles = new ArrayList<>();
+    private final List<Long> createdClubs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transaction.executeWithoutResult(status -> {
+            attestationApplicationRepository.findAll().stream()
+                    .filter(application -> application.getMechanicProfile() != null
+                            && createdProfiles.contains(application.getMechanicProfile().getProfileId()))
+                    .forEach(attestationApplicationRepository::delete);
+            mechanicProfileRepository.deleteAllById(createdProfiles);
+            bowlingClubRepository.deleteAllById(createdClubs);
+        });
+    }
+
+    @Test
+    void answersFromMemoryAndPicksUpCommittedChanges() {
+        Long anna = mechanic("Анна Смирнова", "Москва, ул. Ленина 1", "настройка пинсеттеров", 1, 4.8);
+        Long boris = mechanic("Борис Петров", "Казань", "ремонт дорожек", 2, 3.9);
+        mechanicDirectoryIndex.reload();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(ids(mechanicDirectoryService.searchMechanics("ПИНСЕТ", null, null))).containsExactly(anna);
+        assertThat(ids(mechanicDirectoryService.searchMechanics(null, "казань", null))).containsExactly(boris);
+        assertThat(ids(mechanicDirectoryService.searchMechanics("пе", "моск", null))).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        transaction.executeWithoutResult(status -> {
+            MechanicProfile profile = mechanicProfileRepository.findById(boris).orElseThrow();
+            profile.setFullName("Алексей Петров");
+            profile.setSkills("замена пинсеттеров");
+        });
+
+        assertThat(ids(mechanicDirectoryService.searchMechanics("пинсет", null, null))).containsExactly(boris, anna);
+        assertThat(mechanicDirectoryIndex.snapshot().findById(boris))
+                .hasValueSatisfying(entry -> assertThat(entry.fullName()).isEqualTo("Алексей Петров"));
+    }
+
+    @Test
+    void approvedAttestationAddsSpecialistAfterCommit() {
+        Long profileId = mechanic("Виктор Аттестованный", "Самара", "электрика", 3, 4.2);
+        mechanicDirectoryIndex.reload();
+        assertThat(specialistIds(null)).doesNotContain(profileId);
+
+        transaction.executeWithoutResult(status -> {
+            MechanicProfile profile = mechanicProfileRepository.findById(profileId).orElseThrow();
+            profile.setIsCertified(true);
+            attestationApplicationRepository.save(AttestationApplication.builder()
+                    .mechanicProfile(profile)
+                    .status(AttestationStatus.APPROVED)
+                    .requestedGrade(MechanicGrade.MIDDLE)
+                    .submittedAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        });
+
+        assertThat(specialistIds(MechanicGrade.MIDDLE)).contains(profileId);
+        assertThat(specialistIds(MechanicGrade.SENIOR)).doesNotContain(profileId);
+        assertThat(mechanicDirectoryService.getSpecialistBase("сама", 3, null, 4.0))
+                .extracting(SpecialistCardDTO::getAttestedGrade)
+                .containsExactly(MechanicGrade.MIDDLE);
+    }
+
+    @Test
+    void clubRenameRefreshesOnlyItsMechanics() {
+        Long clubId = transaction.execute(status -> bowlingClubRepository.save(BowlingClub.builder()
+                .name("Клуб Старт")
+                .createdAt(LocalDate.now())
+                .build()).getClubId());
+        createdClubs.add(clubId);
+        Long member = mechanic("Григорий Клубный", "Тверь", "смазка", 1, 4.0);
+        Long outsider = mechanic("Дмитрий Свободный", "Тверь", "смазка", 1, 4.0);
+        transaction.executeWithoutResult(status -> {
+            MechanicProfile profile = mechanicProfileRepository.findById(member).orElseThrow();
+            profile.setClubs(new ArrayList<>(List.of(bowlingClubRepository.findById(clubId).orElseThrow())));
+        });
+        mechanicDirectoryIndex.reload();
+        MechanicDirectoryIndex.MechanicEntry outsiderBefore = mechanicDirectoryIndex.snapshot().findById(outsider).orElseThrow();
+
+        transaction.executeWithoutResult(status ->
+                bowlingClubRepository.findById(clubId).orElseThrow().setName("Клуб Финиш"));
+
+        assertThat(mechanicDirectoryIndex.snapshot().findById(member))
+                .hasValueSatisfying(entry -> assertThat(entry.clubs()).containsExactly("Клуб Финиш"));
+        assertThat(mechanicDirectoryIndex.snapshot().findById(outsider)).containsSame(outsiderBefore);
+    }
+
+    private Long mechanic(String name, String region, String skills, int specializationId, double rating) {
+        Long profileId = transaction.execute(status -> mechanicProfileRepository.save(MechanicProfile.builder()
+                .fullName(name)
+                .region(region)
+                .skills(skills)
+                .specializationId(specializationId)
+                .rating(rating)
+                .isDataVerified(true)
+                .isCertified(false)
+                .createdAt(LocalDate.now())
+                .updatedAt(LocalDate.now())
+                .build()).getProfileId());
+        createdProfiles.add(profileId);
+        return profileId;
+    }
+
+    private List<Long> ids(List<MechanicDirectorySummaryDTO> found) {
+        return found.stream()
+                .map(MechanicDirectorySummaryDTO::getProfileId)
+                .filter(createdProfiles::contains)
+                .toList();
+    }
+
+    private List<Long> specialistIds(MechanicGrade grade) {
+        return mechanicDirectoryService.getSpecialistBase(null, null, grade, null).stream()
+                .map(SpecialistCardDTO::getProfileId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
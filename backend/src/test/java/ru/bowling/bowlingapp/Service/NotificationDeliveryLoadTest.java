@@ -0,0 +1,310 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import ru.bowling.bowlingapp.Config.JwtTokenProvider;
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.DTO.NotificationEventType;
+import ru.bowling.bowlingapp.Entity.Role;
+import ru.bowling.bowlingapp.Entity.User;
+import ru.bowling.bowlingapp.Enum.RoleName;
+
+import java.lang.reflect.Type;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Нагрузочная проверка адресной доставки: STOMP-сессии через настоящий WebSocket-эндпоинт и встроенный брокер.
+ * В обычном прогоне тестов сессий 200; полная нагрузка — {@code ./gradlew test -Dnotifications.load.sessions=2000}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.notifications.coalesce-window-ms=60000",
+        "app.notifications.coalesce-max-batch=100"
+})
+class NotificationDeliveryLoadTest {
+
+    private static final int SESSIONS = Integer.getInteger("notifications.load.sessions", 200);
+    private static final int CLUBS = 40;
+    private static final int CONNECT_BATCH = 100;
+    private static final long FIRST_USER = 900_000L;
+    private static final long FIRST_CLUB = 700_000L;
+    private static final long FIRST_MECHANIC = 800_000L;
+    private static final String PROBE = "probe";
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private NotificationWebSocketPublisher notificationWebSocketPublisher;
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private NotificationCoalescer notificationCoalescer;
+    @Autowired
+    private NotificationSubscriberRegistry subscriberRegistry;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @MockBean
+    private UserClubAccessService userClubAccessService;
+
+    private final Map<Long, ClubAccessSnapshot> access = new ConcurrentHashMap<>();
+    private final List<Client> clients = new ArrayList<>();
+    private WebSocketStompClient stompClient;
+
+    @BeforeEach
+    void setUp() {
+        when(userClubAccessService.getAccessSnapshot(anyLong()))
+                .thenAnswer(invocation -> access.getOrDefault(invocation.<Long>getArgument(0), ClubAccessSnapshot.EMPTY));
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.stream()
+                .filter(client -> client.session != null && client.session.isConnected())
+                .forEach(client -> client.session.disconnect());
+        stompClient.stop();
+    }
+
+    @Test
+    void deliversOnlyAddressedAndCoalescedFramesToEachSession() throws Exception {
+        for (int i = 0; i < SESSIONS; i++) {
+            long userId = FIRST_USER + i;
+            long clubId = FIRST_CLUB + i % CLUBS;
+            if (i % 100 == 0) {
+                access.put(userId, new ClubAccessSnapshot(userId, RoleName.ADMIN, null, null,
+                        LongStream.range(FIRST_CLUB, FIRST_CLUB + CLUBS).boxed().toList()));
+            } else if (i % 3 == 0) {
+                access.put(userId, new ClubAccessSnapshot(userId, RoleName.CLUB_OWNER, null, null, List.of(clubId)));
+            } else {
+                access.put(userId, new ClubAccessSnapshot(userId, RoleName.MECHANIC, null, FIRST_MECHANIC + i, List.of(clubId)));
+            }
+        }
+        connectAll();
+        assertThat(subscriberRegistry.connectedSessions()).isGreaterThanOrEqualTo(SESSIONS);
+        awaitSubscriptions();
+
+        // Событие клуба и личное событие каждого седьмого механика.
+        for (long clubId = FIRST_CLUB; clubId < FIRST_CLUB + CLUBS; clubId++) {
+            notificationWebSocketPublisher.publishNotification(event(NotificationEventType.MAINTENANCE_WARNING,
+                    clubId, null, Set.of(RoleName.ADMIN, RoleName.CLUB_OWNER, RoleName.MECHANIC)));
+        }
+        List<Long> addressedMechanics = new ArrayList<>();
+        for (ClubAccessSnapshot snapshot : access.values()) {
+            if (snapshot.getMechanicProfileId() != null && snapshot.getMechanicProfileId() % 7 == 0) {
+                addressedMechanics.add(snapshot.getMechanicProfileId());
+                notificationWebSocketPublisher.publishNotification(event(NotificationEventType.ADMIN_RESPONSE,
+                        null, snapshot.getMechanicProfileId(), Set.of(RoleName.MECHANIC, RoleName.ADMIN)));
+            }
+        }
+
+        long expectedTotal = clients.stream().mapToLong(client -> {
+            ClubAccessSnapshot snapshot = access.get(client.userId);
+            if (snapshot.getRole() == RoleName.ADMIN) {
+                return CLUBS;
+            }
+            return addressedMechanics.contains(snapshot.getMechanicProfileId()) ? 2 : 1;
+        }).sum();
+        awaitCondition(() -> received(null) >= expectedTotal);
+        awaitProbeEverywhere();
+        assertThat(received(null)).isEqualTo(expectedTotal);
+        assertThat(expectedTotal).isLessThan((long) SESSIONS * (CLUBS + addressedMechanics.size()));
+
+        for (Client client : clients) {
+            ClubAccessSnapshot snapshot = access.get(client.userId);
+            if (snapshot.getRole() == RoleName.ADMIN) {
+                assertThat(client.frames(NotificationEventType.MAINTENANCE_WARNING)).hasSize(CLUBS);
+                assertThat(client.frames(NotificationEventType.ADMIN_RESPONSE)).isEmpty();
+                continue;
+            }
+            assertThat(client.frames(NotificationEventType.MAINTENANCE_WARNING))
+                    .singleElement()
+                    .satisfies(frame -> assertThat(((Number) frame.get("clubId")).longValue())
+                            .isEqualTo(snapshot.getClubIds().get(0)));
+            List<Map<String, Object>> personal = client.frames(NotificationEventType.ADMIN_RESPONSE);
+            if (addressedMechanics.contains(snapshot.getMechanicProfileId())) {
+                assertThat(personal).singleElement()
+                        .satisfies(frame -> assertThat(((Number) frame.get("mechanicId")).longValue())
+                                .isEqualTo(snapshot.getMechanicProfileId()));
+            } else {
+                assertThat(personal).isEmpty();
+            }
+        }
+
+        // Всплеск низких остатков: 500 событий по 50 позициям уходят пачками по 100.
+        for (int i = 0; i < 500; i++) {
+            notificationService.notifyInventoryLow("LOW-" + i % 50, i % 3, 5);
+        }
+        notificationCoalescer.flushAll();
+        List<Client> admins = clients.stream()
+                .filter(client -> access.get(client.userId).getRole() == RoleName.ADMIN)
+                .toList();
+        awaitCondition(() -> admins.stream().allMatch(admin -> admin.frames(NotificationEventType.INVENTORY_LOW).size() == 5));
+        awaitProbeEverywhere();
+        assertThat(received(NotificationEventType.INVENTORY_LOW)).isEqualTo(5L * admins.size());
+        assertThat(admins.get(0).frames(NotificationEventType.INVENTORY_LOW))
+                .allSatisfy(frame -> assertThat(frame.get("payload").toString().split("\n")).hasSize(50));
+
+        // Владелец получил доступ к другому клубу: после события об изменении доступа рассылка следует за ним.
+        Client owner = clients.stream()
+                .filter(client -> access.get(client.userId).getRole() == RoleName.CLUB_OWNER)
+                .findFirst()
+                .orElseThrow();
+        long newClub = FIRST_CLUB + CLUBS;
+        access.put(owner.userId, new ClubAccessSnapshot(owner.userId, RoleName.CLUB_OWNER, null, null, List.of(newClub)));
+        eventPublisher.publishEvent(new ClubAccessChangedEvent(owner.userId));
+        notificationWebSocketPublisher.publishNotification(event(NotificationEventType.CLUB_TECH_SUPPORT,
+                newClub, null, Set.of(RoleName.CLUB_OWNER)));
+        awaitCondition(() -> received(NotificationEventType.CLUB_TECH_SUPPORT) >= 1);
+        awaitProbeEverywhere();
+        assertThat(owner.frames(NotificationEventType.CLUB_TECH_SUPPORT)).hasSize(1);
+        assertThat(received(NotificationEventType.CLUB_TECH_SUPPORT)).isEqualTo(1);
+    }
+
+    private void connectAll() throws Exception {
+        String url = "ws://localhost:" + port + "/ws-notifications/websocket";
+        List<Long> userIds = new ArrayList<>(access.keySet());
+        for (int from = 0; from < userIds.size(); from += CONNECT_BATCH) {
+            List<Client> batch = new ArrayList<>();
+            List<CompletableFuture<StompSession>> futures = new ArrayList<>();
+            for (Long userId : userIds.subList(from, Math.min(from + CONNECT_BATCH, userIds.size()))) {
+                Client client = new Client(userId);
+                StompHeaders headers = new StompHeaders();
+                headers.add("Authorization", "Bearer " + token(userId, access.get(userId).getRole()));
+                batch.add(client);
+                futures.add(stompClient.connectAsync(url, new WebSocketHttpHeaders(), headers, client));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Client client = batch.get(i);
+                client.session = futures.get(i).get(30, TimeUnit.SECONDS);
+                client.session.subscribe("/user/queue/notifications", client);
+                clients.add(client);
+            }
+        }
+    }
+
+    /**
+     * SUBSCRIBE обрабатывается асинхронно: пробные события шлются, пока каждая сессия не получит хотя бы одно.
+     */
+    private void awaitSubscriptions() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (clients.stream().anyMatch(client -> client.probes == 0)) {
+            assertThat(System.nanoTime()).as("all sessions subscribed").isLessThan(deadline);
+            notificationWebSocketPublisher.publishNotification(event(NotificationEventType.ADMIN_RESPONSE,
+                    null, null, Set.of(RoleName.values())).toBuilder().payload(PROBE).build());
+            Thread.sleep(200);
+        }
+    }
+
+    /**
+     * Кадры одной сессии брокер отдаёт в порядке публикации, поэтому пробное событие, дошедшее до всех сессий,
+     * означает, что всё опубликованное до него уже доставлено и лишних кадров больше не будет.
+     */
+    private void awaitProbeEverywhere() throws InterruptedException {
+        Map<Client, Integer> before = new HashMap<>();
+        clients.forEach(client -> before.put(client, client.probes));
+        notificationWebSocketPublisher.publishNotification(event(NotificationEventType.ADMIN_RESPONSE,
+                null, null, Set.of(RoleName.values())).toBuilder().payload(PROBE).build());
+        awaitCondition(() -> clients.stream().allMatch(client -> client.probes > before.get(client)));
+    }
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("frames delivered in time").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private long received(NotificationEventType type) {
+        return clients.stream()
+                .mapToLong(client -> type == null ? client.frames.size() : client.frames(type).size())
+                .sum();
+    }
+
+    private String token(Long userId, RoleName roleName) {
+        Role role = new Role();
+        role.setName(roleName.name());
+        return jwtTokenProvider.generateAccessToken(User.builder()
+                .userId(userId)
+                .phone("+7" + userId)
+                .role(role)
+                .isActive(true)
+                .build());
+    }
+
+    private static NotificationEvent event(NotificationEventType type, Long clubId, Long mechanicId, Set<RoleName> audiences) {
+        return NotificationEvent.builder()
+                .id(UUID.randomUUID())
+                .type(type)
+                .message(type.name())
+                .clubId(clubId)
+                .mechanicId(mechanicId)
+                .createdAt(OffsetDateTime.now())
+                .audiences(audiences)
+                .build();
+    }
+
+    private static final class Client extends StompSessionHandlerAdapter {
+        private final Long userId;
+        private final ConcurrentLinkedQueue<Map<String, Object>> frames = new ConcurrentLinkedQueue<>();
+        private volatile int probes;
+        private volatile StompSession session;
+
+        private Client(Long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized void handleFrame(StompHeaders headers, Object payload) {
+            Map<String, Object> frame = (Map<String, Object>) payload;
+            if (PROBE.equals(frame.get("payload"))) {
+                probes++;
+            } else {
+                frames.add(frame);
+            }
+        }
+
+        private List<Map<String, Object>> frames(NotificationEventType type) {
+            return frames.stream()
+                    .filter(frame -> type.name().equals(frame.get("type")))
+                    .toList();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import ru.bowling.bowlingapp.Entity.User;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 class NotificationServiceAudienceTest {
 
@@ -17,7 +18,7 @@ class NotificationServiceAudienceTest {
 
     @BeforeEach
     void setUp() {
-        notificationService = new NotificationService(new MockNotificationWebSocketPublisher());
+        notificationService = new NotificationService(mock(NotificationWebSocketPublisher.class));
         notificationService.clearNotifications();
     }
 
@@ -0,0 +1,110 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.NotificationEvent;
+import ru.bowling.bowlingapp.DTO.NotificationEventType;
+import ru.bowling.bowlingapp.Enum.RoleName;
+import ru.bowling.bowlingapp.Repository.NotificationReadRepository;
+import ru.bowling.bowlingapp.Repository.NotificationRecordRepository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class NotificationStoreTest {
+
+    private static final int WINDOW = 3;
+
+    @Autowired
+    private NotificationRecordRepository notificationRecordRepository;
+    @Autowired
+    private NotificationReadRepository notificationReadRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JpaNotificationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new JpaNotificationStore(notificationRecordRepository, notificationReadRepository,
+                transactionManager, WINDOW, 72, 90);
+        store.clear();
+    }
+
+    @Test
+    void sinceIdReadsFallBackToDatabaseAfterEviction() {
+        List<NotificationEvent> stored = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            stored.add(store.append(event(1L, null, Set.of(RoleName.CLUB_OWNER))));
+        }
+        assertThat(stored).extracting(NotificationEvent::getSequence).isSorted().doesNotContainNull();
+
+        List<NotificationEvent> afterFirst = store.find(RoleName.CLUB_OWNER, Set.of(1L), null,
+                stored.get(0).getSequence(), 10);
+        assertThat(afterFirst).extracting(NotificationEvent::getId)
+                .containsExactlyElementsOf(stored.subList(1, 6).stream().map(NotificationEvent::getId).toList());
+
+        List<NotificationEvent> latest = store.find(RoleName.CLUB_OWNER, Set.of(1L), null, null, 2);
+        assertThat(latest).extracting(NotificationEvent::getSequence)
+                .containsExactly(stored.get(4).getSequence(), stored.get(5).getSequence());
+
+        assertThat(store.findById(stored.get(0).getId())).isPresent()
+                .get().extracting(NotificationEvent::getAudiences).isEqualTo(Set.of(RoleName.CLUB_OWNER));
+    }
+
+    @Test
+    void filtersByRoleClubAndMechanic() {
+        NotificationEvent ownClub = store.append(event(1L, null, Set.of(RoleName.CLUB_OWNER, RoleName.ADMIN)));
+        store.append(event(2L, null, Set.of(RoleName.CLUB_OWNER)));
+        NotificationEvent global = store.append(event(null, null, Set.of(RoleName.CLUB_OWNER)));
+        NotificationEvent ownMechanic = store.append(event(null, 77L, Set.of(RoleName.MECHANIC)));
+        store.append(event(null, 99L, Set.of(RoleName.MECHANIC)));
+
+        assertThat(store.find(RoleName.CLUB_OWNER, Set.of(1L), null, 0L, 10))
+                .extracting(NotificationEvent::getId)
+                .containsExactly(ownClub.getId(), global.getId());
+        assertThat(store.find(RoleName.MECHANIC, Set.of(), 77L, 0L, 10))
+                .extracting(NotificationEvent::getId)
+                .containsExactly(ownMechanic.getId());
+        assertThat(store.find(RoleName.ADMIN, null, null, null, 10))
+                .extracting(NotificationEvent::getId)
+                .containsExactly(ownClub.getId());
+    }
+
+    @Test
+    void tracksReadStatePerUser() {
+        NotificationEvent first = store.append(event(1L, null, Set.of(RoleName.CLUB_OWNER)));
+        NotificationEvent second = store.append(event(1L, null, Set.of(RoleName.CLUB_OWNER)));
+
+        store.markRead(10L, List.of(first.getSequence(), first.getSequence(), -5L));
+
+        assertThat(store.findRead(10L, List.of(first.getSequence(), second.getSequence())))
+                .containsExactly(first.getSequence());
+        assertThat(store.findRead(11L, List.of(first.getSequence(), second.getSequence()))).isEmpty();
+    }
+
+    private NotificationEvent event(Long clubId, Long mechanicId, Set<RoleName> audiences) {
+        return NotificationEvent.builder()
+                .id(UUID.randomUUID())
+                .type(NotificationEventType.ADMIN_RESPONSE)
+                .message("Ответ")
+                .clubId(clubId)
+                .mechanicId(mechanicId)
+                .partIds(List.of(1L, 2L))
+                .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .audiences(audiences)
+                .build();
+    }
+}
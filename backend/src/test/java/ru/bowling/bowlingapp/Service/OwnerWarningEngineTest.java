@@ -0,0 +1,160 @@
+package ru.bowling.bowlingapp.Service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.bowling.bowlingapp.DTO.WarningDTO;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.ClubEquipment;
+import ru.bowling.bowlingapp.Entity.ClubWarning;
+import ru.bowling.bowlingapp.Entity.EquipmentMaintenanceSchedule;
+import ru.bowling.bowlingapp.Entity.enums.WarningSource;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.ClubEquipmentRepository;
+import ru.bowling.bowlingapp.Repository.ClubWarningRepository;
+import ru.bowling.bowlingapp.Repository.EquipmentMaintenanceScheduleRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Без {@code @Transactional}: набор предупреждений пересчитывается только закоммиченными изменениями,
+ * в фоновом потоке — перед чтением тест дожидается очереди пересчёта.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OwnerWarningEngineTest {
+
+    @Autowired
+    private OwnerWarningEngine ownerWarningEngine;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private ClubEquipmentRepository clubEquipmentRepository;
+    @Autowired
+    private EquipmentMaintenanceScheduleRepository scheduleRepository;
+    @Autowired
+    private ClubWarningRepository clubWarningRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transaction;
+    private BowlingClub club;
+    private ClubEquipment equipment;
+    private EquipmentMaintenanceSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        LocalDate today = LocalDate.now();
+        club = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Warnings Club")
+                .createdAt(today)
+                .build());
+        equipment = clubEquipmentRepository.save(ClubEquipment.builder()
+                .club(club)
+                .model("Pinsetter W1")
+                .nextMaintenanceDate(today.plusDays(30))
+                .build());
+        schedule = scheduleRepository.save(EquipmentMaintenanceSchedule.builder()
+                .club(club)
+                .equipment(equipment)
+                .maintenanceType("Monthly")
+                .scheduledDate(today.minusDays(3))
+                .isCritical(false)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transaction.executeWithoutResult(status -> {
+            scheduleRepository.deleteById(schedule.getScheduleId());
+            clubEquipmentRepository.deleteById(equipment.getEquipmentId());
+            clubWarningRepository.deleteByClub(club.getClubId());
+            bowlingClubRepository.deleteById(club.getClubId());
+        });
+    }
+
+    @Test
+    void dashboardReadIsOneLookupAndChangedSourcesAreRecomputedAfterCommit() throws Exception {
+        Long clubId = club.getClubId();
+        ownerWarningEngine.awaitQueuedRecompute();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(types(ownerWarningEngine.warnings(clubId))).containsExactly("MAINTENANCE_OVERDUE");
+        assertThat(types(ownerWarningEngine.warnings(clubId))).containsExactly("MAINTENANCE_OVERDUE");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        LocalDate today = LocalDate.now();
+        schedule.setScheduledDate(today.plusDays(7));
+        schedule = scheduleRepository.save(schedule);
+        ownerWarningEngine.awaitQueuedRecompute();
+        assertThat(types(ownerWarningEngine.warnings(clubId))).containsExactly("MAINTENANCE_DUE_SOON");
+
+        equipment.setModel("Pinsetter W2");
+        equipment.setNextMaintenanceDate(today.minusDays(1));
+        equipment = clubEquipmentRepository.save(equipment);
+        ownerWarningEngine.awaitQueuedRecompute();
+        List<WarningDTO> warnings = ownerWarningEngine.warnings(clubId);
+        assertThat(types(warnings)).containsExactly("EQUIPMENT_NEXT_MAINTENANCE_OVERDUE", "MAINTENANCE_DUE_SOON");
+        assertThat(warnings.get(1).getMessage()).contains("Pinsetter W2");
+    }
+
+    @Test
+    void ownTransactionSeesItsChangesWithoutWritingWarnings() throws Exception {
+        Long clubId = club.getClubId();
+        ownerWarningEngine.awaitQueuedRecompute();
+        LocalDate today = LocalDate.now();
+
+        transaction.executeWithoutResult(status -> {
+            EquipmentMaintenanceSchedule changed = scheduleRepository.findById(schedule.getScheduleId()).orElseThrow();
+            changed.setScheduledDate(today.plusDays(7));
+            scheduleRepository.saveAndFlush(changed);
+            assertThat(types(ownerWarningEngine.warnings(clubId))).containsExactly("MAINTENANCE_DUE_SOON");
+            // Таблицу пересчитывает только фоновый поток после коммита.
+            assertThat(clubWarningRepository.findActive(clubId, today)).extracting(ClubWarning::getType)
+                    .containsExactly("MAINTENANCE_OVERDUE");
+        });
+        ownerWarningEngine.awaitQueuedRecompute();
+
+        assertThat(clubWarningRepository.findBySourceTypeAndSourceIdIn(WarningSource.SCHEDULE,
+                List.of(schedule.getScheduleId()))).extracting(ClubWarning::getType)
+                .containsExactly("MAINTENANCE_DUE_SOON");
+        assertThat(types(ownerWarningEngine.warnings(clubId))).containsExactly("MAINTENANCE_DUE_SOON");
+    }
+
+    @Test
+    void sweepRemovesWarningsWhoseWindowHasEnded() throws Exception {
+        Long clubId = club.getClubId();
+        ownerWarningEngine.awaitQueuedRecompute();
+        LocalDate today = LocalDate.now();
+        ClubWarning expired = clubWarningRepository.save(ClubWarning.builder()
+                .clubId(clubId)
+                .sourceType(WarningSource.SCHEDULE)
+                .sourceId(schedule.getScheduleId())
+                .type("MAINTENANCE_DUE_SOON")
+                .dueDate(today.minusDays(1))
+                .activeFrom(today.minusDays(15))
+                .activeUntil(today.minusDays(1))
+                .build());
+
+        ownerWarningEngine.sweep();
+
+        assertThat(clubWarningRepository.findById(expired.getId())).isEmpty();
+        assertThat(types(ownerWarningEngine.warnings(clubId))).containsExactly("MAINTENANCE_OVERDUE");
+    }
+
+    private List<String> types(List<WarningDTO> warnings) {
+        return warnings.stream().map(WarningDTO::getType).toList();
+    }
+}
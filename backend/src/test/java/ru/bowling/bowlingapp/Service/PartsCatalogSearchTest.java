@@ -0,0 +1,96 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.PartsCatalogResponseDTO;
+import ru.bowling.bowlingapp.DTO.PartsSearchDTO;
+import ru.bowling.bowlingapp.DTO.PartsSearchPageDTO;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PartsCatalogSearchTest {
+
+    @Autowired
+    private PartsService partsService;
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+
+    @BeforeEach
+    void setUp() {
+        save("ZX-100", "Ремень привода", "Drive belt", null);
+        save("ZX-100-A", "Ремень привода усиленный", "Heavy drive belt", null);
+        save("AB-ZX-100", "Шкив", "Pulley", null);
+        save("QQ-7", "Датчик", "Sensor", "подходит к zx-100");
+        save("QQ-8", "Ролик zx-100 натяжной", "Idler", null);
+    }
+
+    @Test
+    void ranksExactNumberThenPrefixThenOtherMatches() {
+        List<PartsCatalogResponseDTO> result = partsService.searchParts(PartsSearchDTO.builder()
+                .searchQuery("zx-100")
+                .size(10)
+                .build());
+
+        assertThat(result)
+                .extracting(PartsCatalogResponseDTO::getCatalogNumber)
+                .containsExactly("ZX-100", "ZX-100-A", "QQ-8", "QQ-7", "AB-ZX-100");
+    }
+
+    @Test
+    void pagesWithCursorWithoutGapsOrDuplicates() {
+        List<String> collected = new ArrayList<>();
+        PartsSearchPageDTO page = partsService.searchPartsPage(PartsSearchDTO.builder()
+                .searchQuery("ZX-100")
+                .size(2)
+                .build());
+        page.getItems().forEach(item -> collected.add(item.getCatalogNumber()));
+        int requests = 1;
+        while (page.getNextCursor() != null) {
+            page = partsService.searchPartsPage(PartsSearchDTO.builder()
+                    .searchQuery("ZX-100")
+                    .size(2)
+                    .cursor(page.getNextCursor())
+                    .build());
+            page.getItems().forEach(item -> collected.add(item.getCatalogNumber()));
+            requests++;
+        }
+
+        assertThat(requests).isEqualTo(3);
+        assertThat(collected).containsExactly("ZX-100", "ZX-100-A", "QQ-8", "QQ-7", "AB-ZX-100");
+    }
+
+    @Test
+    void catalogNumberFilterAndLikeWildcardsAreAppliedLiterally() {
+        assertThat(partsService.searchParts(PartsSearchDTO.builder().catalogNumber("qq-").build()))
+                .extracting(PartsCatalogResponseDTO::getCatalogNumber)
+                .containsExactlyInAnyOrder("QQ-7", "QQ-8");
+        assertThat(partsService.searchParts(PartsSearchDTO.builder().searchQuery("zx_100").build())).isEmpty();
+        assertThatThrownBy(() -> partsService.searchPartsPage(PartsSearchDTO.builder()
+                .searchQuery("zx")
+                .cursor("broken")
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void save(String number, String nameRu, String nameEn, String description) {
+        partsCatalogRepository.save(PartsCatalog.builder()
+                .catalogNumber(number)
+                .officialNameRu(nameRu)
+                .officialNameEn(nameEn)
+                .description(description)
+                .build());
+    }
+}
@@ -0,0 +1,194 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.PurchaseOrderPageDTO;
+import ru.bowling.bowlingapp.DTO.PurchaseOrderSummaryDTO;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.MaintenanceRequest;
+import ru.bowling.bowlingapp.Entity.PurchaseOrder;
+import ru.bowling.bowlingapp.Entity.RequestPart;
+import ru.bowling.bowlingapp.Entity.Supplier;
+import ru.bowling.bowlingapp.Entity.SupplierReview;
+import ru.bowling.bowlingapp.Entity.enums.MaintenanceRequestStatus;
+import ru.bowling.bowlingapp.Entity.enums.PartStatus;
+import ru.bowling.bowlingapp.Entity.enums.PurchaseOrderStatus;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.MaintenanceRequestRepository;
+import ru.bowling.bowlingapp.Repository.PurchaseOrderRepository;
+import ru.bowling.bowlingapp.Repository.RequestPartRepository;
+import ru.bowling.bowlingapp.Repository.SupplierRepository;
+import ru.bowling.bowlingapp.Repository.SupplierReviewRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class PurchaseOrderListingTest {
+
+    @Autowired
+    private PurchaseOrderService purchaseOrderService;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private MaintenanceRequestRepository maintenanceRequestRepository;
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired
+    private RequestPartRepository requestPartRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private SupplierReviewRepository supplierReviewRepository;
+
+    private BowlingClub club;
+    private Supplier supplier;
+    private final List<Long> archivedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        club = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Orders Club")
+                .createdAt(LocalDate.now())
+                .build());
+        BowlingClub otherClub = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Other Orders Club")
+                .createdAt(LocalDate.now())
+                .build());
+        supplier = supplierRepository.save(Supplier.builder()
+                .inn("7700000025")
+                .legalName("ООО Поставка")
+                .build());
+
+        // Два заказа с одинаковой датой: порядок внутри даты решает order_id.
+        LocalDateTime base = LocalDateTime.now().minusDays(10).withNano(0);
+        LocalDateTime[] dates = {base, base.plusDays(1), base.plusDays(2), base.plusDays(2), base.plusDays(3)};
+        for (LocalDateTime date : dates) {
+            archivedIds.add(order(club, PurchaseOrderStatus.COMPLETED, date).getOrderId());
+        }
+        order(club, PurchaseOrderStatus.PENDING, base.plusDays(4));
+        order(otherClub, PurchaseOrderStatus.COMPLETED, base.plusDays(5));
+    }
+
+    @Test
+    void walksArchivedOrdersByDateWithKeysetCursor() {
+        List<PurchaseOrderSummaryDTO> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PurchaseOrderPageDTO page = purchaseOrderService.getOrders(club.getClubId(), true, null, null, null, cursor, 2);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(5)
+                .allSatisfy(dto -> {
+                    assertThat(dto.getClubId()).isEqualTo(club.getClubId());
+                    assertThat(dto.getStatus()).isEqualTo(PurchaseOrderStatus.COMPLETED);
+                    assertThat(dto.getSupplierName()).isEqualTo("ООО Поставка");
+                    assertThat(dto.getTotalPositions()).isEqualTo(2);
+                    assertThat(dto.getAcceptedPositions()).isEqualTo(1);
+                });
+        assertThat(seen).extracting(PurchaseOrderSummaryDTO::getOrderId).doesNotHaveDuplicates();
+        for (int i = 1; i < seen.size(); i++) {
+            PurchaseOrderSummaryDTO previous = seen.get(i - 1);
+            PurchaseOrderSummaryDTO current = seen.get(i);
+            assertThat(current.getOrderDate()).isBeforeOrEqualTo(previous.getOrderDate());
+            if (current.getOrderDate().isEqual(previous.getOrderDate())) {
+                assertThat(current.getOrderId()).isLessThan(previous.getOrderId());
+            }
+        }
+    }
+
+    @Test
+    void complaintAndReviewFlagsAreFilteredInQuery() {
+        PurchaseOrder withComplaint = purchaseOrderRepository.findById(archivedIds.get(0)).orElseThrow();
+        PurchaseOrder withReview = purchaseOrderRepository.findById(archivedIds.get(1)).orElseThrow();
+        review(withComplaint, true);
+        review(withReview, false);
+
+        assertThat(purchaseOrderService.getOrders(club.getClubId(), true, null, true, null, null, null).getItems())
+                .extracting(PurchaseOrderSummaryDTO::getOrderId)
+                .containsExactly(withComplaint.getOrderId());
+        assertThat(purchaseOrderService.getOrders(club.getClubId(), true, null, null, true, null, null).getItems())
+                .singleElement()
+                .satisfies(dto -> {
+                    assertThat(dto.getOrderId()).isEqualTo(withReview.getOrderId());
+                    assertThat(dto.isHasReview()).isTrue();
+                    assertThat(dto.isHasComplaint()).isFalse();
+                });
+        assertThat(purchaseOrderService.getOrders(club.getClubId(), true, null, false, false, null, null).getItems())
+                .hasSize(3);
+        assertThat(purchaseOrderService.getOrders(null, false, null, null, null, null, null).getItems())
+                .extracting(PurchaseOrderSummaryDTO::getStatus)
+                .contains(PurchaseOrderStatus.PENDING)
+                .doesNotContain(PurchaseOrderStatus.COMPLETED);
+    }
+
+    @Test
+    void usesDefaultPageWithoutSize() {
+        for (int i = 0; i < 55; i++) {
+            order(club, PurchaseOrderStatus.CANCELED, LocalDateTime.now().minusDays(20).plusMinutes(i));
+        }
+
+        PurchaseOrderPageDTO first = purchaseOrderService.getOrders(club.getClubId(), true, null, null, null, null, null);
+        assertThat(first.getItems()).hasSize(50);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        PurchaseOrderPageDTO rest = purchaseOrderService.getOrders(club.getClubId(), true, null, null, null,
+                first.getNextCursor(), null);
+        assertThat(rest.getItems()).hasSize(10);
+        assertThat(rest.getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> purchaseOrderService.getOrders(club.getClubId(), true, null, null, null, "broken", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PurchaseOrder order(BowlingClub orderClub, PurchaseOrderStatus status, LocalDateTime orderDate) {
+        MaintenanceRequest request = maintenanceRequestRepository.save(MaintenanceRequest.builder()
+                .club(orderClub)
+                .requestDate(orderDate)
+                .status(MaintenanceRequestStatus.NEW)
+                .build());
+        PurchaseOrder order = purchaseOrderRepository.save(PurchaseOrder.builder()
+                .supplier(supplier)
+                .maintenanceRequest(request)
+                .status(status)
+                .orderDate(orderDate)
+                .build());
+        for (int i = 0; i < 2; i++) {
+            requestPartRepository.save(RequestPart.builder()
+                    .request(request)
+                    .purchaseOrder(order)
+                    .catalogNumber("PO-" + order.getOrderId() + "-" + i)
+                    .partName("Деталь " + i)
+                    .quantity(1)
+                    .acceptedQuantity(i == 0 ? 1 : 0)
+                    .status(PartStatus.APPROVAL_PENDING)
+                    .build());
+        }
+        return order;
+    }
+
+    private void review(PurchaseOrder order, boolean complaint) {
+        supplierReviewRepository.save(SupplierReview.builder()
+                .purchaseOrder(order)
+                .supplierId(supplier.getSupplierId())
+                .clubId(club.getClubId())
+                .rating(complaint ? 2 : 5)
+                .isComplaint(complaint)
+                .build());
+    }
+}
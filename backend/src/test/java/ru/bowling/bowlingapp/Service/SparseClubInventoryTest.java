@@ -0,0 +1,121 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.InventorySearchRequest;
+import ru.bowling.bowlingapp.DTO.PartDto;
+import ru.bowling.bowlingapp.Entity.BowlingClub;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Repository.BowlingClubRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SparseClubInventoryTest {
+
+    @Autowired
+    private ClubWarehouseService clubWarehouseService;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+    @Autowired
+    private WarehouseInventoryRepository warehouseInventoryRepository;
+
+    private Integer warehouseId;
+    private PartsCatalog stocked;
+    private PartsCatalog missing;
+
+    @BeforeEach
+    void setUp() {
+        BowlingClub club = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Sparse Club")
+                .address("Sparse street 1")
+                .createdAt(LocalDate.now())
+                .build());
+        warehouseId = club.getClubId().intValue();
+        stocked = partsCatalogRepository.save(PartsCatalog.builder().catalogNumber("SPR-1").officialNameRu("Ремень").build());
+        missing = partsCatalogRepository.save(PartsCatalog.builder().catalogNumber("SPR-2").officialNameRu("Ремень узкий").build());
+
+        clubWarehouseService.initializeWarehouseForClub(club);
+        warehouseInventoryRepository.save(WarehouseInventory.builder()
+                .warehouseId(warehouseId)
+                .catalogId(stocked.getCatalogId().intValue())
+                .quantity(2)
+                .build());
+    }
+
+    @Test
+    void clubInitializationCreatesNoZeroRows() {
+        assertThat(warehouseInventoryRepository.findByWarehouseId(warehouseId))
+                .extracting(WarehouseInventory::getCatalogId)
+                .containsExactly(stocked.getCatalogId().intValue());
+    }
+
+    @Test
+    void placeholderIdsStayWithinJavaScriptSafeIntegers() {
+        long largest = InventoryServiceImpl.placeholderInventoryId((1 << 22) - 1, Integer.MAX_VALUE);
+
+        assertThat(-largest).isLessThanOrEqualTo((1L << 53) - 1);
+        assertThat(InventoryServiceImpl.placeholderInventoryId(1, 2))
+                .isNotEqualTo(InventoryServiceImpl.placeholderInventoryId(2, 1));
+    }
+
+    @Test
+    void textSearchSynthesizesZeroEntriesForMissingParts() {
+        List<PartDto> result = search("SPR", null);
+
+        assertThat(result).extracting(PartDto::getCatalogNumber).containsExactlyInAnyOrder("SPR-1", "SPR-2");
+        PartDto zero = result.stream()
+                .filter(dto -> dto.getCatalogId().equals(missing.getCatalogId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(zero.getInventoryId())
+                .isNegative()
+                .isEqualTo(InventoryServiceImpl.placeholderInventoryId(warehouseId,
+                        missing.getCatalogId().intValue()));
+        assertThat(search("SPR", null)).extracting(PartDto::getInventoryId).contains(zero.getInventoryId());
+        assertThatThrownBy(() -> inventoryService.getPartById(zero.getInventoryId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(zero.getQuantity()).isZero();
+        assertThat(zero.getWarehouseId()).isEqualTo(warehouseId);
+
+        assertThat(search("SPR", InventoryAvailabilityFilter.IN_STOCK))
+                .extracting(PartDto::getCatalogNumber)
+                .containsExactly("SPR-1");
+    }
+
+    @Test
+    void listingWithoutQuerySkipsZeroRows() {
+        warehouseInventoryRepository.save(WarehouseInventory.builder()
+                .warehouseId(warehouseId)
+                .catalogId(missing.getCatalogId().intValue())
+                .quantity(0)
+                .build());
+
+        assertThat(search(null, null)).extracting(PartDto::getCatalogNumber).containsExactly("SPR-1");
+    }
+
+    private List<PartDto> search(String query, InventoryAvailabilityFilter availability) {
+        return inventoryService.searchParts(InventorySearchRequest.builder()
+                .query(query)
+                .warehouseId(warehouseId)
+                .availability(availability)
+                .build());
+    }
+}
@@ -0,0 +1,167 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Без {@code @Transactional}: потоки работают в собственных транзакциях и должны видеть
+ * закоммиченные данные, поэтому строки удаляются вручную.
+ */
+@SpringBootTest
+class StockReservationConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+    @Autowired
+    private WarehouseInventoryRepository warehouseInventoryRepository;
+
+    private PartsCatalog part;
+    private PartsCatalog secondPart;
+    private final List<Long> inventoryIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        part = partsCatalogRepository.save(PartsCatalog.builder().catalogNumber("RSV-1").officialNameRu("Ремень").build());
+        secondPart = partsCatalogRepository.save(PartsCatalog.builder().catalogNumber("RSV-2").officialNameRu("Ролик").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        warehouseInventoryRepository.deleteAllById(inventoryIds);
+        partsCatalogRepository.deleteAll(List.of(part, secondPart));
+    }
+
+    @Test
+    void parallelReservationsNeverOversellStock() throws Exception {
+        WarehouseInventory inventory = stock(part, 9001, 25);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 10; i++) {
+                try {
+                    stockReservationService.reserve(null, null, List.of(new StockReservationService.Line(part.getCatalogId(), 1)));
+                    succeeded.incrementAndGet();
+                } catch (IllegalStateException ex) {
+                    rejected.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        WarehouseInventory reloaded = warehouseInventoryRepository.findById(inventory.getInventoryId()).orElseThrow();
+        assertThat(succeeded.get()).isEqualTo(25);
+        assertThat(rejected.get()).isEqualTo(THREADS * 10 - 25);
+        assertThat(reloaded.getReservedQuantity()).isEqualTo(25);
+        assertThat(reloaded.getQuantity()).isEqualTo(25);
+    }
+
+    @Test
+    void interleavedReserveAndReleaseLoseNoUpdates() throws Exception {
+        WarehouseInventory inventory = stock(part, 9001, 100);
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 20; i++) {
+                List<StockReservationService.Line> line = List.of(new StockReservationService.Line(part.getCatalogId(), 2));
+                stockReservationService.reserve(null, null, line);
+                stockReservationService.release(null, null, line);
+            }
+            stockReservationService.reserve(null, null, List.of(new StockReservationService.Line(part.getCatalogId(), 1)));
+            return null;
+        });
+
+        WarehouseInventory reloaded = warehouseInventoryRepository.findById(inventory.getInventoryId()).orElseThrow();
+        assertThat(reloaded.getReservedQuantity()).isEqualTo(THREADS);
+        assertThat(reloaded.getQuantity()).isEqualTo(100);
+    }
+
+    @Test
+    void multiLineReservationIsAllOrNothingAndRespectsAllowedWarehouses() {
+        WarehouseInventory foreign = stock(part, 9002, 10);
+        WarehouseInventory own = stock(part, 9001, 3);
+        WarehouseInventory second = stock(secondPart, 9001, 1);
+
+        assertThatThrownBy(() -> stockReservationService.reserve(List.of(9001), null, List.of(
+                new StockReservationService.Line(part.getCatalogId(), 2),
+                new StockReservationService.Line(secondPart.getCatalogId(), 5))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(reserved(own)).isZero();
+
+        List<StockReservationService.Allocation> allocations = stockReservationService.reserve(List.of(9001), null, List.of(
+                new StockReservationService.Line(part.getCatalogId(), 2),
+                new StockReservationService.Line(secondPart.getCatalogId(), 1)));
+        assertThat(allocations).extracting(StockReservationService.Allocation::inventoryId)
+                .containsExactly(own.getInventoryId(), second.getInventoryId());
+        assertThat(reserved(foreign)).isZero();
+
+        // Единственная единица второй запчасти зарезервирована — без своего резерва её не выдать.
+        assertThatThrownBy(() -> stockReservationService.issue(List.of(9001), 9001,
+                List.of(new StockReservationService.Line(secondPart.getCatalogId(), 1))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(reserved(second)).isEqualTo(1);
+
+        stockReservationService.issue(List.of(9001), 9001, List.of(new StockReservationService.Line(part.getCatalogId(), 2, 2)));
+        WarehouseInventory issued = warehouseInventoryRepository.findById(own.getInventoryId()).orElseThrow();
+        assertThat(issued.getQuantity()).isEqualTo(1);
+        assertThat(issued.getReservedQuantity()).isZero();
+    }
+
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private WarehouseInventory stock(PartsCatalog catalog, int warehouseId, int quantity) {
+        WarehouseInventory saved = warehouseInventoryRepository.save(WarehouseInventory.builder()
+                .warehouseId(warehouseId)
+                .catalogId(Math.toIntExact(catalog.getCatalogId()))
+                .quantity(quantity)
+                .reservedQuantity(0)
+                .build());
+        inventoryIds.add(saved.getInventoryId());
+        return saved;
+    }
+
+    private int reserved(WarehouseInventory inventory) {
+        return warehouseInventoryRepository.findById(inventory.getInventoryId()).orElseThrow().getReservedQuantity();
+    }
+}
@@ -197,4 +197,70 @@ class UserClubAccessServiceTest {
         List<Long> accessible = userClubAccessService.resolveAccessibleClubIds(mechanic);
         assertThat(accessible).containsExactly(staffClub.getClubId()).doesNotContain(otherClub.getClubId());
     }
+
+    @Test
+    void cachedSnapshotIsInvalidatedWhenStaffLinksChange() {
+        BowlingClub firstClub = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Snapshot Club A")
+                .address("E")
+                .lanesCount(4)
+                .isActive(true)
+                .createdAt(LocalDate.now())
+                .updatedAt(LocalDate.now())
+                .build());
+        BowlingClub secondClub = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Snapshot Club B")
+                .address("F")
+                .lanesCount(6)
+                .isActive(true)
+                .createdAt(LocalDate.now())
+                .updatedAt(LocalDate.now())
+                .build());
+
+        User mechanic = userRepository.save(User.builder()
+                .phone("+79993330303")
+                .passwordHash("hash")
+                .role(roleRepository.findByNameIgnoreCase(RoleName.MECHANIC.name()).orElseThrow())
+                .accountType(accountTypeRepository.findByNameIgnoreCase(AccountTypeName.INDIVIDUAL.name()).orElseThrow())
+                .registrationDate(LocalDate.now())
+                .isActive(true)
+                .isVerified(true)
+                .lastModified(LocalDateTime.now())
+                .build());
+        MechanicProfile profile = mechanicProfileRepository.save(MechanicProfile.builder()
+                .user(mechanic)
+                .fullName("Кэшируемый")
+                .updatedAt(LocalDate.now())
+                .createdAt(LocalDate.now())
+                .build());
+        clubStaffRepository.save(staff(firstClub, mechanic));
+
+        ClubAccessSnapshot snapshot = userClubAccessService.getAccessSnapshot(mechanic);
+        assertThat(snapshot.getRole()).isEqualTo(RoleName.MECHANIC);
+        assertThat(snapshot.getAccountType()).isEqualTo(AccountTypeName.INDIVIDUAL);
+        assertThat(snapshot.getMechanicProfileId()).isEqualTo(profile.getProfileId());
+        assertThat(snapshot.getClubIds()).containsExactly(firstClub.getClubId());
+
+        long hitsBefore = userClubAccessService.getCacheStats().getHits();
+        assertThat(userClubAccessService.hasClubAccess(mechanic, firstClub.getClubId())).isTrue();
+        assertThat(userClubAccessService.hasClubAccess(mechanic, secondClub.getClubId())).isFalse();
+        assertThat(userClubAccessService.getCacheStats().getHits()).isEqualTo(hitsBefore + 2);
+
+        clubStaffRepository.save(staff(secondClub, mechanic));
+
+        assertThat(userClubAccessService.resolveAccessibleClubIds(mechanic.getUserId()))
+                .containsExactlyInAnyOrder(firstClub.getClubId(), secondClub.getClubId());
+        assertThat(userClubAccessService.hasClubAccess(mechanic, secondClub.getClubId())).isTrue();
+    }
+
+    private ClubStaff staff(BowlingClub club, User user) {
+        return ClubStaff.builder()
+                .club(club)
+                .user(user)
+                .role(roleRepository.findByNameIgnoreCase(RoleName.MECHANIC.name()).orElseThrow())
+                .assignedAt(LocalDateTime.now())
+                .isActive(true)
+                .infoAccessRestricted(false)
+                .build();
+    }
 }
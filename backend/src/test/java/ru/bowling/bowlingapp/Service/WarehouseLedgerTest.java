@@ -0,0 +1,185 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.bowling.bowlingapp.Configuration.WarehouseLedgerInitializer;
+import ru.bowling.bowlingapp.DTO.WarehouseBalanceDto;
+import ru.bowling.bowlingapp.DTO.WarehouseMovementDto;
+import ru.bowling.bowlingapp.DTO.WarehouseMovementPageDTO;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Entity.WarehouseMovement;
+import ru.bowling.bowlingapp.Entity.enums.WarehouseMovementType;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseMovementRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Без {@code @Transactional}: проверяется, что строка журнала фиксируется и откатывается
+ * вместе с изменением остатка.
+ */
+@SpringBootTest
+class WarehouseLedgerTest {
+
+    private static final int WAREHOUSE_ID = 9101;
+
+    @Autowired
+    private WarehouseLedger warehouseLedger;
+    @Autowired
+    private StockReservationService stockReservationService;
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+    @Autowired
+    private WarehouseInventoryRepository warehouseInventoryRepository;
+    @Autowired
+    private WarehouseMovementRepository warehouseMovementRepository;
+    @Autowired
+    private WarehouseLedgerInitializer warehouseLedgerInitializer;
+
+    private PartsCatalog part;
+    private WarehouseInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        part = partsCatalogRepository.save(PartsCatalog.builder().catalogNumber("LDG-1").officialNameRu("Шкив").build());
+        inventory = warehouseInventoryRepository.save(WarehouseInventory.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .catalogId(part.getCatalogId().intValue())
+                .quantity(10)
+                .reservedQuantity(0)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        warehouseMovementRepository.deleteAll(warehouseMovementRepository.findAll().stream()
+                .filter(movement -> movement.getWarehouseId() == WAREHOUSE_ID)
+                .toList());
+        warehouseInventoryRepository.deleteById(inventory.getInventoryId());
+        partsCatalogRepository.delete(part);
+    }
+
+    @Test
+    void stockChangesAreJournaledWithRunningBalanceAndPagedByKeyset() {
+        List<StockReservationService.Line> lines = List.of(new StockReservationService.Line(part.getCatalogId(), 4));
+        stockReservationService.reserve(List.of(WAREHOUSE_ID), null, lines, 77L);
+        stockReservationService.issue(List.of(WAREHOUSE_ID), WAREHOUSE_ID,
+                List.of(new StockReservationService.Line(part.getCatalogId(), 3, 3)), 77L);
+        stockReservationService.release(List.of(WAREHOUSE_ID), null,
+                List.of(new StockReservationService.Line(part.getCatalogId(), 1)), 77L);
+
+        List<WarehouseMovementDto> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            WarehouseMovementPageDTO page = warehouseLedger.getMovements(WAREHOUSE_ID, null, null, cursor, 2);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).extracting(WarehouseMovementDto::getOperationType)
+                .containsExactly("RELEASE", "ISSUE", "RESERVE");
+        assertThat(seen).extracting(WarehouseMovementDto::getRequestId).containsOnly(77L);
+        WarehouseMovementDto issue = seen.get(1);
+        assertThat(issue.getQuantityDelta()).isEqualTo(-3);
+        assertThat(issue.getReservedDelta()).isEqualTo(-3);
+        assertThat(issue.getQuantityAfter()).isEqualTo(7);
+        assertThat(issue.getReservedAfter()).isEqualTo(1);
+        assertThat(seen.get(0).getReservedAfter()).isZero();
+    }
+
+    @Test
+    void failedReservationLeavesNoMovement() {
+        assertThatThrownBy(() -> stockReservationService.reserve(List.of(WAREHOUSE_ID), null,
+                List.of(new StockReservationService.Line(part.getCatalogId(), 11)), null))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(warehouseLedger.getMovements(WAREHOUSE_ID, null, null, null, null).getItems()).isEmpty();
+    }
+
+    @Test
+    void balanceAsOfDateUsesLastMovementBeforeThatDay() {
+        LocalDateTime now = LocalDateTime.now();
+        movement(now.minusDays(10), 10, 10);
+        movement(now.minusDays(2), -4, 6);
+
+        assertThat(warehouseLedger.getBalance(WAREHOUSE_ID, LocalDate.now().minusDays(11))).isEmpty();
+        assertThat(warehouseLedger.getBalance(WAREHOUSE_ID, LocalDate.now().minusDays(5)))
+                .extracting(WarehouseBalanceDto::getQuantity).containsExactly(10);
+        assertThat(warehouseLedger.getBalance(WAREHOUSE_ID, LocalDate.now()))
+                .extracting(WarehouseBalanceDto::getQuantity).containsExactly(6);
+
+        assertThat(warehouseLedger.getMovements(WAREHOUSE_ID, now.minusDays(3), now, null, null).getItems())
+                .extracting(WarehouseMovementDto::getQuantityAfter).containsExactly(6);
+    }
+
+    @Test
+    void periodPagesFollowOccurrenceTimeEvenWhenIdsDoNot() {
+        LocalDateTime now = LocalDateTime.now();
+        movement(now.minusDays(1), 1, 3);
+        movement(now.minusDays(3), 1, 1);
+        movement(now.minusDays(2), 1, 2);
+        movement(now.minusDays(9), 1, 9);
+
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            WarehouseMovementPageDTO page = warehouseLedger.getMovements(WAREHOUSE_ID, now.minusDays(4), now, cursor, 1);
+            page.getItems().forEach(item -> seen.add(item.getQuantityAfter()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    void balanceOutlivesDeletedStockRow() {
+        movement(LocalDateTime.now().minusDays(3), 10, 10);
+        movement(LocalDateTime.now().minusDays(1), -10, 0);
+        warehouseInventoryRepository.deleteById(inventory.getInventoryId());
+
+        assertThat(warehouseLedger.getBalance(WAREHOUSE_ID, LocalDate.now().minusDays(2)))
+                .extracting(WarehouseBalanceDto::getQuantity).containsExactly(10);
+        assertThat(warehouseLedger.getBalance(WAREHOUSE_ID, LocalDate.now()))
+                .extracting(WarehouseBalanceDto::getQuantity).containsExactly(0);
+    }
+
+    @Test
+    void untouchedStockGetsOpeningBalanceOnce() {
+        warehouseLedgerInitializer.run(null);
+        warehouseLedgerInitializer.run(null);
+
+        assertThat(warehouseLedger.getMovements(WAREHOUSE_ID, null, null, null, null).getItems())
+                .singleElement()
+                .satisfies(opening -> {
+                    assertThat(opening.getOperationType()).isEqualTo(WarehouseMovementType.OPENING.name());
+                    assertThat(opening.getQuantityAfter()).isEqualTo(10);
+                });
+        assertThat(warehouseLedger.getBalance(WAREHOUSE_ID, LocalDate.now()))
+                .extracting(WarehouseBalanceDto::getQuantity).containsExactly(10);
+    }
+
+    private void movement(LocalDateTime occurredAt, int quantityDelta, int quantityAfter) {
+        warehouseMovementRepository.save(WarehouseMovement.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .catalogId(part.getCatalogId().intValue())
+                .inventoryId(inventory.getInventoryId())
+                .operationType(WarehouseMovementType.MANUAL_RECEIPT)
+                .quantityDelta(quantityDelta)
+                .reservedDelta(0)
+                .quantityAfter(quantityAfter)
+                .reservedAfter(0)
+                .occurredAt(occurredAt)
+                .build());
+    }
+}
@@ -0,0 +1,161 @@
+package ru.bowling.bowlingapp.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.WorkLogSearchDTO;
+import ru.bowling.bowlingapp.Entity.*;
+import ru.bowling.bowlingapp.Entity.enums.WorkLogStatus;
+import ru.bowling.bowlingapp.Entity.enums.WorkType;
+import ru.bowling.bowlingapp.Enum.AccountTypeName;
+import ru.bowling.bowlingapp.Enum.RoleName;
+import ru.bowling.bowlingapp.Repository.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class WorkLogSearchTest {
+
+    @Autowired
+    private WorkLogService workLogService;
+    @Autowired
+    private WorkLogRepository workLogRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private AccountTypeRepository accountTypeRepository;
+    @Autowired
+    private BowlingClubRepository bowlingClubRepository;
+
+    private User admin;
+    private BowlingClub club;
+    private BowlingClub otherClub;
+
+    @BeforeEach
+    void setUp() {
+        Role adminRole = roleRepository.findByNameIgnoreCase(RoleName.ADMIN.name())
+                .orElseGet(() -> roleRepository.save(Role.builder().name(RoleName.ADMIN.name()).build()));
+        AccountType mainAdmin = accountTypeRepository.findByNameIgnoreCase(AccountTypeName.MAIN_ADMIN.name())
+                .orElseGet(() -> accountTypeRepository.save(AccountType.builder().name(AccountTypeName.MAIN_ADMIN.name()).build()));
+
+        admin = userRepository.save(User.builder()
+                .phone("+79990007700")
+                .passwordHash("hash")
+                .role(adminRole)
+                .accountType(mainAdmin)
+                .registrationDate(LocalDate.now())
+                .isActive(true)
+                .isVerified(true)
+                .lastModified(LocalDateTime.now())
+                .build());
+
+        club = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Journal Club")
+                .isActive(true)
+                .createdAt(LocalDate.now())
+                .build());
+        otherClub = bowlingClubRepository.save(BowlingClub.builder()
+                .name("Other Journal Club")
+                .isActive(true)
+                .createdAt(LocalDate.now())
+                .build());
+    }
+
+    @Test
+    void filtersSortsAndPagesInDatabase() {
+        LocalDateTime base = LocalDateTime.now().minusDays(10);
+        for (int i = 0; i < 6; i++) {
+            workLogRepository.save(WorkLog.builder()
+                    .club(club)
+                    .createdBy(admin.getUserId())
+                    .createdDate(base.plusDays(i))
+                    .status(i % 3 == 0 ? WorkLogStatus.CLOSED : WorkLogStatus.IN_PROGRESS)
+                    .workType(WorkType.CORRECTIVE_MAINTENANCE)
+                    .priority(5 - (i % 5))
+                    .problemDescription("Замена ремня на дорожке " + i)
+                    .build());
+        }
+        workLogRepository.save(WorkLog.builder()
+                .club(otherClub)
+                .createdBy(admin.getUserId())
+                .createdDate(base)
+                .status(WorkLogStatus.IN_PROGRESS)
+                .problemDescription("Замена ремня в соседнем клубе")
+                .build());
+        workLogRepository.save(WorkLog.builder()
+                .club(club)
+                .createdBy(admin.getUserId())
+                .createdDate(base)
+                .status(WorkLogStatus.IN_PROGRESS)
+                .problemDescription("Калибровка датчиков")
+                .build());
+
+        Page<WorkLog> firstPage = workLogService.searchWorkLogs(WorkLogSearchDTO.builder()
+                .clubId(club.getClubId())
+                .keyword("РЕМНЯ")
+                .activeOnly(true)
+                .sortBy("createdDate")
+                .sortDirection("ASC")
+                .page(0)
+                .size(3)
+                .build(), admin.getUserId());
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(4);
+        assertThat(firstPage.getTotalPages()).isEqualTo(2);
+        assertThat(firstPage.getContent())
+                .extracting(WorkLog::getProblemDescription)
+                .containsExactly("Замена ремня на дорожке 1", "Замена ремня на дорожке 2", "Замена ремня на дорожке 4");
+        assertThat(firstPage.getContent())
+                .allSatisfy(log -> assertThat(log.getClub().getName()).isEqualTo("Journal Club"));
+
+        Page<WorkLog> secondPage = workLogService.searchWorkLogs(WorkLogSearchDTO.builder()
+                .clubId(club.getClubId())
+                .keyword("ремня")
+                .activeOnly(true)
+                .sortBy("createdDate")
+                .sortDirection("ASC")
+                .page(1)
+                .size(3)
+                .build(), admin.getUserId());
+
+        assertThat(secondPage.getContent())
+                .extracting(WorkLog::getProblemDescription)
+                .containsExactly("Замена ремня на дорожке 5");
+    }
+
+    @Test
+    void unknownSortFieldFallsBackToCreatedDate() {
+        workLogRepository.save(WorkLog.builder()
+                .club(club)
+                .createdBy(admin.getUserId())
+                .createdDate(LocalDateTime.now().minusDays(1))
+                .status(WorkLogStatus.CREATED)
+                .problemDescription("older")
+                .build());
+        workLogRepository.save(WorkLog.builder()
+                .club(club)
+                .createdBy(admin.getUserId())
+                .createdDate(LocalDateTime.now())
+                .status(WorkLogStatus.CREATED)
+                .problemDescription("newer")
+                .build());
+
+        Page<WorkLog> page = workLogService.searchWorkLogs(WorkLogSearchDTO.builder()
+                .clubId(club.getClubId())
+                .sortBy("problemDescription; drop table work_logs")
+                .build(), admin.getUserId());
+
+        assertThat(page.getContent())
+                .extracting(WorkLog::getProblemDescription)
+                .containsExactly("newer", "older");
+    }
+}
@@ -0,0 +1,103 @@
+package ru.bowling.bowlingapp.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.bowling.bowlingapp.integration.onec.client.OneCRestClient;
+import ru.bowling.bowlingapp.integration.onec.config.OneCIntegrationProperties;
+import ru.bowling.bowlingapp.integration.onec.dto.OneCStockItemDto;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Заглушка 1С отдаёт сгенерированный на лету ответ. Размер задаётся через
+ * {@code -Donec.stub.items=3000000} (~300 МБ); по умолчанию — облегчённый вариант для CI.
+ */
+class OneCRestClientStreamingTest {
+
+    private static final int ITEMS = Integer.getInteger("onec.stub.items", 200_000);
+    private static final int ITEMS_BEFORE_PAUSE = 1_000;
+
+    private HttpServer server;
+    private final CountDownLatch firstItemConsumed = new CountDownLatch(1);
+    private final AtomicBoolean consumedBeforeBodyCompleted = new AtomicBoolean();
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hs/warehouse/v1/stocks", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8))) {
+                out.write("{\"meta\":{\"source\":\"stub\",\"tags\":[1,2]},\"items\":[");
+                for (int i = 0; i < ITEMS; i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    out.write("{\"productCode\":\"P" + i + "\",\"catalogNumber\":\"CAT-" + i
+                            + "\",\"warehouseId\":" + (i % 7 + 1) + ",\"quantity\":" + (i % 50)
+                            + ",\"reservedQuantity\":0,\"location\":\"Стеллаж " + (i % 20) + "\"}");
+                    if (i == ITEMS_BEFORE_PAUSE) {
+                        // Остальное тело не отправляется, пока клиент не обработал первую строку
+                        out.flush();
+                        try {
+                            consumedBeforeBodyCompleted.set(firstItemConsumed.await(10, TimeUnit.SECONDS));
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                }
+                out.write("],\"total\":" + ITEMS + "}");
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void consumesItemsWhileResponseIsStillBeingSent() {
+        OneCIntegrationProperties properties = new OneCIntegrationProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setTimeoutMs(30_000);
+        OneCRestClient client = new OneCRestClient(properties, new ObjectMapper());
+
+        AtomicLong consumed = new AtomicLong();
+        AtomicLong quantitySum = new AtomicLong();
+        AtomicReference<OneCStockItemDto> last = new AtomicReference<>();
+        long reported = client.streamStockBalances(item -> {
+            consumed.incrementAndGet();
+            quantitySum.addAndGet(item.getQuantity());
+            last.set(item);
+            firstItemConsumed.countDown();
+        });
+
+        long expectedQuantity = 0;
+        for (int i = 0; i < ITEMS; i++) {
+            expectedQuantity += i % 50;
+        }
+        assertThat(consumedBeforeBodyCompleted).isTrue();
+        assertThat(reported).isEqualTo(ITEMS);
+        assertThat(consumed.get()).isEqualTo(ITEMS);
+        assertThat(quantitySum.get()).isEqualTo(expectedQuantity);
+        assertThat(last.get().getCatalogNumber()).isEqualTo("CAT-" + (ITEMS - 1));
+        assertThat(last.get().getLocation()).startsWith("Стеллаж");
+    }
+}
@@ -0,0 +1,206 @@
+package ru.bowling.bowlingapp.integration;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.integration.onec.client.OneCClient;
+import ru.bowling.bowlingapp.integration.onec.config.OneCIntegrationProperties;
+import ru.bowling.bowlingapp.integration.onec.dto.OneCProductDto;
+import ru.bowling.bowlingapp.integration.onec.dto.OneCStockItemDto;
+import ru.bowling.bowlingapp.integration.onec.dto.OneCSyncStatusDto;
+import ru.bowling.bowlingapp.integration.onec.service.OneCSyncService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "integration.onec.enabled=true",
+        "integration.onec.stock-chunk-size=2",
+        "integration.onec.product-export-overlap-seconds=0"
+})
+@Transactional
+class OneCStockSyncTest {
+
+    @MockBean
+    private OneCClient oneCClient;
+
+    @Autowired
+    private OneCSyncService oneCSyncService;
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+    @Autowired
+    private WarehouseInventoryRepository warehouseInventoryRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private OneCIntegrationProperties properties;
+
+    @BeforeEach
+    void streamThroughStubbedImport() {
+        when(oneCClient.streamStockBalances(any())).thenCallRealMethod();
+    }
+
+    @Test
+    void upsertsBalancesInChunksAndReportsCounts() {
+        PartsCatalog belt = saveCatalog("1C-BELT");
+        PartsCatalog roller = saveCatalog("1C-ROLLER");
+        PartsCatalog sensor = saveCatalog("1C-SENSOR");
+        warehouseInventoryRepository.saveAndFlush(WarehouseInventory.builder()
+                .warehouseId(7001)
+                .catalogId(Math.toIntExact(belt.getCatalogId()))
+                .quantity(1)
+                .reservedQuantity(1)
+                .build());
+
+        when(oneCClient.importStockBalances()).thenReturn(List.of(
+                stock("1C-BELT", 7001, 10, 2),
+                stock("1C-ROLLER", 7001, 4, 0),
+                stock("1C-SENSOR", 7002, 6, 1),
+                stock("1C-SENSOR", 7002, 8, 1),
+                stock("UNKNOWN", 7001, 3, 0),
+                stock("1C-ROLLER", null, 3, 0)));
+
+        OneCSyncStatusDto status = oneCSyncService.runManualSync();
+
+        assertThat(status.getSuccess()).isTrue();
+        assertThat(status.getReceived()).isEqualTo(6);
+        assertThat(status.getImported()).isEqualTo(2);
+        assertThat(status.getUpdated()).isEqualTo(1);
+        assertThat(status.getSkipped()).isEqualTo(3);
+        assertThat(status.getChunks())
+                .extracting(OneCSyncStatusDto.ChunkStatus::getSize)
+                .containsExactly(2, 1);
+
+        entityManager.clear();
+        Map<Integer, WarehouseInventory> byCatalog = warehouseInventoryRepository.findByCatalogIdIn(List.of(
+                        Math.toIntExact(belt.getCatalogId()),
+                        Math.toIntExact(roller.getCatalogId()),
+                        Math.toIntExact(sensor.getCatalogId())))
+                .stream()
+                .collect(Collectors.toMap(WarehouseInventory::getCatalogId, Function.identity()));
+        assertThat(byCatalog).hasSize(3);
+        WarehouseInventory updatedBelt = byCatalog.get(Math.toIntExact(belt.getCatalogId()));
+        assertThat(updatedBelt.getQuantity()).isEqualTo(10);
+        // Резерв ведут заявки приложения: значение из 1С его не перезаписывает.
+        assertThat(updatedBelt.getReservedQuantity()).isEqualTo(1);
+        assertThat(byCatalog.get(Math.toIntExact(sensor.getCatalogId())).getReservedQuantity()).isZero();
+        assertThat(byCatalog.get(Math.toIntExact(sensor.getCatalogId())).getQuantity()).isEqualTo(8);
+        assertThat(byCatalog.get(Math.toIntExact(sensor.getCatalogId())).getWarehouseId()).isEqualTo(7002);
+    }
+
+    @Test
+    void stockBelowReservationCutsReservationToStock() {
+        PartsCatalog pin = saveCatalog("1C-SHORT-PIN");
+        WarehouseInventory row = warehouseInventoryRepository.saveAndFlush(WarehouseInventory.builder()
+                .warehouseId(7001)
+                .catalogId(Math.toIntExact(pin.getCatalogId()))
+                .quantity(5)
+                .reservedQuantity(4)
+                .build());
+        when(oneCClient.importStockBalances()).thenReturn(List.of(stock("1C-SHORT-PIN", 7001, 2, 0)));
+
+        assertThat(oneCSyncService.runManualSync().getSuccess()).isTrue();
+
+        entityManager.clear();
+        WarehouseInventory synced = warehouseInventoryRepository.findById(row.getInventoryId()).orElseThrow();
+        assertThat(synced.getQuantity()).isEqualTo(2);
+        assertThat(synced.getReservedQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    void exportsOnlyProductsChangedSinceLastRunUnlessFullResync() {
+        when(oneCClient.importStockBalances()).thenReturn(List.of());
+        PartsCatalog belt = saveCatalog("1C-DELTA-BELT");
+        saveCatalog("1C-DELTA-ROLLER");
+        partsCatalogRepository.flush();
+
+        OneCSyncStatusDto first = oneCSyncService.runManualSync();
+        assertThat(first.getExported()).isGreaterThanOrEqualTo(2);
+        assertThat(exportedNumbers()).contains("1C-DELTA-BELT", "1C-DELTA-ROLLER");
+
+        clearInvocations(oneCClient);
+        assertThat(oneCSyncService.runManualSync().getExported()).isZero();
+        verify(oneCClient, never()).exportProducts(anyList());
+
+        belt.setDescription("Усиленный");
+        partsCatalogRepository.saveAndFlush(belt);
+        clearInvocations(oneCClient);
+        assertThat(oneCSyncService.runManualSync().getExported()).isEqualTo(1);
+        assertThat(exportedNumbers()).containsExactly("1C-DELTA-BELT");
+
+        clearInvocations(oneCClient);
+        assertThat(oneCSyncService.runFullSync().getExported()).isEqualTo(first.getExported());
+    }
+
+    @Test
+    void exportRereadsOverlapForRowsCommittedBehindWatermark() {
+        when(oneCClient.importStockBalances()).thenReturn(List.of());
+        saveCatalog("1C-LATE-BELT");
+        partsCatalogRepository.flush();
+        oneCSyncService.runManualSync();
+
+        // Строка получила updated_at до отметки, но зафиксирована после выгрузки.
+        PartsCatalog late = saveCatalog("1C-LATE-ROLLER");
+        partsCatalogRepository.flush();
+        entityManager.createQuery("update PartsCatalog p set p.updatedAt = :stamp where p.catalogId = :id")
+                .setParameter("stamp", LocalDateTime.now().minusSeconds(30))
+                .setParameter("id", late.getCatalogId())
+                .executeUpdate();
+
+        clearInvocations(oneCClient);
+        properties.setProductExportOverlapSeconds(120);
+        try {
+            oneCSyncService.runManualSync();
+        } finally {
+            properties.setProductExportOverlapSeconds(0);
+        }
+        assertThat(exportedNumbers()).contains("1C-LATE-ROLLER");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> exportedNumbers() {
+        ArgumentCaptor<List<OneCProductDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(oneCClient, atLeastOnce()).exportProducts(captor.capture());
+        return captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(OneCProductDto::getCatalogNumber)
+                .toList();
+    }
+
+    private PartsCatalog saveCatalog(String number) {
+        return partsCatalogRepository.save(PartsCatalog.builder()
+                .catalogNumber(number)
+                .officialNameRu("Позиция " + number)
+                .build());
+    }
+
+    private OneCStockItemDto stock(String number, Integer warehouseId, int quantity, int reserved) {
+        return OneCStockItemDto.builder()
+                .catalogNumber(number)
+                .warehouseId(warehouseId)
+                .quantity(quantity)
+                .reservedQuantity(reserved)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package ru.bowling.bowlingapp.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.bowling.bowlingapp.DTO.InventorySearchRequest;
+import ru.bowling.bowlingapp.DTO.PartDto;
+import ru.bowling.bowlingapp.Entity.PartsCatalog;
+import ru.bowling.bowlingapp.Entity.WarehouseInventory;
+import ru.bowling.bowlingapp.Repository.PartsCatalogRepository;
+import ru.bowling.bowlingapp.Repository.PartsCatalogSearchRepository;
+import ru.bowling.bowlingapp.Repository.WarehouseInventoryRepository;
+import ru.bowling.bowlingapp.Service.InventoryService;
+import ru.bowling.bowlingapp.integration.support.PostgresContainerBase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect")
+@Transactional
+class PartsCatalogFullTextPostgresTest extends PostgresContainerBase {
+
+    private static final int WAREHOUSE_ID = 9501;
+
+    @Autowired
+    private PartsCatalogRepository partsCatalogRepository;
+    @Autowired
+    private WarehouseInventoryRepository warehouseInventoryRepository;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void schemaScriptAddsSearchVectorAndRanksByFullText() {
+        assertThat(jdbcTemplate.queryForObject("select count(*) from information_schema.columns "
+                + "where table_name = 'parts_catalog' and column_name = 'search_vector'", Integer.class))
+                .isEqualTo(1);
+
+        PartsCatalog exact = partsCatalogRepository.save(PartsCatalog.builder()
+                .catalogNumber("ролик").officialNameRu("Ролик натяжной").build());
+        PartsCatalog byName = partsCatalogRepository.save(PartsCatalog.builder()
+                .catalogNumber("FT-2").officialNameRu("Ролики подачи шара").build());
+        partsCatalogRepository.save(PartsCatalog.builder()
+                .catalogNumber("FT-3").officialNameRu("Ремень привода").build());
+
+        // «роликов» не входит подстрокой ни в одно название: находит только полнотекстовое совпадение.
+        assertThat(partsCatalogRepository.searchRanked(PartsCatalogSearchRepository.SearchParams.text("роликов", 10)))
+                .extracting(ranked -> ranked.part().getCatalogId())
+                .containsExactlyInAnyOrder(exact.getCatalogId(), byName.getCatalogId());
+
+        assertThat(partsCatalogRepository.searchRanked(PartsCatalogSearchRepository.SearchParams.text("ролик", 10)))
+                .extracting(ranked -> ranked.part().getCatalogId())
+                .startsWith(exact.getCatalogId());
+    }
+
+    @Test
+    void descriptionSubstringMatchesLikePortableSearch() {
+        PartsCatalog described = partsCatalogRepository.save(PartsCatalog.builder()
+                .catalogNumber("FT-DESC").officialNameRu("Кронштейн").description("Подходит к модели XJ-42b").build());
+
+        // «j-42» не является лексемой tsvector: находит только совпадение подстроки описания.
+        assertThat(partsCatalogRepository.searchRanked(PartsCatalogSearchRepository.SearchParams.text("j-42", 10)))
+                .extracting(ranked -> ranked.part().getCatalogId())
+                .containsExactly(described.getCatalogId());
+    }
+
+    @Test
+    void warehouseStockIsFoundBeyondCatalogSearchLimit() {
+        List<PartsCatalog> filler = new ArrayList<>();
+        for (int i = 0; i < 510; i++) {
+            filler.add(PartsCatalog.builder().catalogNumber("FL-" + i).officialNameRu("Втулка " + i).build());
+        }
+        partsCatalogRepository.saveAll(filler);
+        PartsCatalog stocked = partsCatalogRepository.save(PartsCatalog.builder()
+                .catalogNumber("FL-STOCK").officialNameRu("Втулка складская").build());
+        warehouseInventoryRepository.save(WarehouseInventory.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .catalogId(stocked.getCatalogId().intValue())
+                .quantity(2)
+                .reservedQuantity(0)
+                .build());
+
+        List<PartDto> result = inventoryService.searchParts(InventorySearchRequest.builder()
+                .query("втулка")
+                .warehouseId(WAREHOUSE_ID)
+                .build());
+
+        assertThat(result).singleElement()
+                .satisfies(dto -> assertThat(dto.getCatalogId()).isEqualTo(stocked.getCatalogId()));
+    }
+}
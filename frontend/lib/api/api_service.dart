@@ -133,34 +133,26 @@ class ApiService {
 
   /// GET /api/maintenance/requests - Получение всех заявок
   Future<List<MaintenanceRequestResponseDto>> getAllMaintenanceRequests() async {
-    final response = await _dio.get('/api/maintenance/requests');
-    return (response.data as List)
-        .map((e) => MaintenanceRequestResponseDto.fromJson(e))
-        .toList();
+    final items = await _getAllPages('/api/maintenance/requests');
+    return items.map((e) => MaintenanceRequestResponseDto.fromJson(e)).toList();
   }
 
   /// GET /api/maintenance/requests/club/{clubId} - Получение заявок по клубу
   Future<List<MaintenanceRequestResponseDto>> getMaintenanceRequestsByClub(int clubId) async {
-    final response = await _dio.get('/api/maintenance/requests/club/$clubId');
-    return (response.data as List)
-        .map((e) => MaintenanceRequestResponseDto.fromJson(e))
-        .toList();
+    final items = await _getAllPages('/api/maintenance/requests/club/$clubId');
+    return items.map((e) => MaintenanceRequestResponseDto.fromJson(e)).toList();
   }
 
   /// GET /api/maintenance/requests/status/{status} - Получение заявок по статусу
   Future<List<MaintenanceRequestResponseDto>> getMaintenanceRequestsByStatus(String status) async {
-    final response = await _dio.get('/api/maintenance/requests/status/$status');
-    return (response.data as List)
-        .map((e) => MaintenanceRequestResponseDto.fromJson(e))
-        .toList();
+    final items = await _getAllPages('/api/maintenance/requests/status/$status');
+    return items.map((e) => MaintenanceRequestResponseDto.fromJson(e)).toList();
   }
 
   /// GET /api/maintenance/requests/mechanic/{mechanicId} - Получение заявок механика
   Future<List<MaintenanceRequestResponseDto>> getMaintenanceRequestsByMechanic(int mechanicId) async {
-    final response = await _dio.get('/api/maintenance/requests/mechanic/$mechanicId');
-    return (response.data as List)
-        .map((e) => MaintenanceRequestResponseDto.fromJson(e))
-        .toList();
+    final items = await _getAllPages('/api/maintenance/requests/mechanic/$mechanicId');
+    return items.map((e) => MaintenanceRequestResponseDto.fromJson(e)).toList();
   }
 
   /// PUT /api/maintenance/requests/{requestId}/approve - Одобрение заявки
@@ -419,7 +411,7 @@ class ApiService {
     DateTime? from,
     DateTime? to,
   }) async {
-    final response = await _dio.get(
+    final items = await _getAllPages(
       '/api/purchase-orders',
       queryParameters: {
         if (clubId != null) 'clubId': clubId,
@@ -432,9 +424,7 @@ class ApiService {
         if (to != null) 'to': to.toIso8601String(),
       },
     );
-    return (response.data as List)
-        .map((e) => PurchaseOrderSummaryDto.fromJson(Map<String, dynamic>.from(e as Map)))
-        .toList();
+    return items.map(PurchaseOrderSummaryDto.fromJson).toList();
   }
 
   /// GET /api/admin/staff/status-requests - заявки на изменение статуса/доступа механиков
@@ -773,4 +763,26 @@ class ApiService {
   Future<void> clearTokens() async {
     await _core.clearToken();
   }
+
+  /// Собирает постраничный список целиком: следующая страница запрашивается по курсору
+  /// из заголовка X-Next-Cursor, пока сервер его присылает.
+  Future<List<Map<String, dynamic>>> _getAllPages(
+    String path, {
+    Map<String, dynamic>? queryParameters,
+  }) async {
+    final items = <Map<String, dynamic>>[];
+    String? cursor;
+    do {
+      final response = await _dio.get(
+        path,
+        queryParameters: {
+          ...?queryParameters,
+          if (cursor != null) 'cursor': cursor,
+        },
+      );
+      items.addAll((response.data as List).map((e) => Map<String, dynamic>.from(e as Map)));
+      cursor = response.headers.value('X-Next-Cursor');
+    } while (cursor != null && cursor.isNotEmpty);
+    return items;
+  }
 }